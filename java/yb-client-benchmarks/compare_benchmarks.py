@@ -0,0 +1,91 @@
+#!/usr/bin/env python3
+
+# Copyright (c) YugaByte, Inc.
+#
+# Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+# in compliance with the License.  You may obtain a copy of the License at
+#
+# http://www.apache.org/licenses/LICENSE-2.0
+#
+# Unless required by applicable law or agreed to in writing, software distributed under the License
+# is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+# or implied.  See the License for the specific language governing permissions and limitations
+# under the License.
+#
+
+# Compares JMH results written with -rf json against a baseline, printing the change of the score
+# and of the bytes allocated per operation (when run with -prof gc) of every benchmark, positive
+# changes being regressions. Exits with 1 if any of them got worse by more than the threshold.
+
+import argparse
+import json
+import sys
+
+ALLOC_METRIC = 'gc.alloc.rate.norm'
+
+
+def load(path):
+    with open(path) as f:
+        results = json.load(f)
+    by_key = {}
+    for result in results:
+        params = ','.join(
+            '%s=%s' % (name, value) for name, value in sorted(result.get('params', {}).items()))
+        key = result['benchmark'].rsplit('.', 2)[-2:]
+        key = '.'.join(key) + ('(%s)' % params if params else '')
+        alloc = None
+        for name, metric in result.get('secondaryMetrics', {}).items():
+            # The gc profiler metrics are prefixed with a middle dot.
+            if name.lstrip('·') == ALLOC_METRIC:
+                alloc = metric['score']
+        by_key[key] = (result['primaryMetric'], result['mode'], alloc)
+    return by_key
+
+
+def change(old, new):
+    if not old:
+        return 0.0
+    return (new - old) * 100.0 / old
+
+
+def main():
+    parser = argparse.ArgumentParser(
+        description='Compares JMH json results against a baseline.')
+    parser.add_argument('baseline', help='JMH json results to compare against')
+    parser.add_argument('results', help='JMH json results of the change')
+    parser.add_argument('--threshold', type=float, default=10.0,
+                        help='percentage by which a benchmark may get worse, 10 by default')
+    args = parser.parse_args()
+
+    baseline = load(args.baseline)
+    results = load(args.results)
+    regressions = []
+    print('%-70s %14s %14s %8s %10s' % ('benchmark', 'baseline', 'result', 'change', 'alloc'))
+    for key in sorted(results):
+        metric, mode, alloc = results[key]
+        if key not in baseline:
+            print('%-70s %14s %14.3f' % (key, '-', metric['score']))
+            continue
+        base_metric, _, base_alloc = baseline[key]
+        score_change = change(base_metric['score'], metric['score'])
+        # Higher is better only for throughput.
+        if mode == 'thrpt':
+            score_change = -score_change
+        alloc_change = 0.0
+        alloc_text = '-'
+        if alloc is not None and base_alloc is not None:
+            alloc_change = change(base_alloc, alloc)
+            alloc_text = '%+.1f%%' % alloc_change
+        print('%-70s %14.3f %14.3f %+7.1f%% %10s %s' % (
+            key, base_metric['score'], metric['score'], score_change, alloc_text,
+            metric['scoreUnit']))
+        if score_change > args.threshold or alloc_change > args.threshold:
+            regressions.append(key)
+
+    if regressions:
+        print('\nWorse by more than %.0f%%:\n  %s' % (args.threshold, '\n  '.join(regressions)))
+        sys.exit(1)
+
+
+if __name__ == '__main__':
+    main()
@@ -0,0 +1,112 @@
+// Copyright (c) YugaByte, Inc.
+//
+// Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+// in compliance with the License.  You may obtain a copy of the License at
+//
+// http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software distributed under the License
+// is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+// or implied.  See the License for the specific language governing permissions and limitations
+// under the License.
+//
+package org.yb.client;
+
+import java.io.ByteArrayOutputStream;
+import java.util.concurrent.TimeUnit;
+
+import com.google.protobuf.ByteString;
+import org.jboss.netty.buffer.ChannelBuffer;
+import org.jboss.netty.buffer.ChannelBuffers;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.yb.Value.QLValuePB;
+import org.yb.cdc.CdcService.CDCRecordPB;
+import org.yb.cdc.CdcService.GetChangesResponsePB;
+import org.yb.cdc.CdcService.KeyValuePairPB;
+import org.yb.rpc.RpcHeader;
+import org.yb.util.Slice;
+
+/**
+ * Response decoding as done by {@link TabletClient} for every RPC received: slicing the header and
+ * message out of the received buffer and parsing them, for a GetChanges response carrying the
+ * given number of CDC records. The "heap" and "direct" benchmarks decode from a heap and a direct
+ * buffer without copying, "copyingHeap" copies the message out first as was done before
+ * responses were sliced. Run with {@code -prof gc} to see the allocation rate.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class CallResponseDecodingBenchmark {
+
+  @Param({ "10", "1000", "10000" })
+  private int numRecords;
+
+  private ChannelBuffer heapBuffer;
+  private ChannelBuffer directBuffer;
+
+  @Setup
+  public void setUp() throws Exception {
+    GetChangesResponsePB.Builder response = GetChangesResponsePB.newBuilder();
+    for (int i = 0; i < numRecords; i++) {
+      response.addRecords(CDCRecordPB.newBuilder()
+          .setTime(6751231234567890L + i)
+          .setOperation(CDCRecordPB.OperationType.WRITE)
+          .addKey(KeyValuePairPB.newBuilder()
+              .setKey(ByteString.copyFromUtf8("id"))
+              .setValue(QLValuePB.newBuilder().setInt64Value(i)))
+          .addChanges(KeyValuePairPB.newBuilder()
+              .setKey(ByteString.copyFromUtf8("payload"))
+              .setValue(QLValuePB.newBuilder()
+                  .setStringValue(ByteString.copyFromUtf8("value-of-record-" + i)))));
+    }
+    ByteArrayOutputStream out = new ByteArrayOutputStream();
+    IPCUtil.write(out, RpcHeader.ResponseHeader.newBuilder().setCallId(1).build(),
+                  response.build());
+    byte[] bytes = out.toByteArray();
+
+    heapBuffer = ChannelBuffers.wrappedBuffer(bytes);
+    directBuffer = ChannelBuffers.directBuffer(bytes.length);
+    directBuffer.writeBytes(bytes);
+  }
+
+  private static GetChangesResponsePB decode(ChannelBuffer buf, boolean copy) {
+    buf.readerIndex(0);
+    CallResponse response = new CallResponse(buf);
+    Slice message = response.getPBMessage();
+    if (copy) {
+      message = message.copySlice();
+    }
+    GetChangesResponsePB.Builder builder = GetChangesResponsePB.newBuilder();
+    YRpc.readProtobuf(message, builder);
+    response.release();
+    return builder.build();
+  }
+
+  @Benchmark
+  public GetChangesResponsePB heap() {
+    return decode(heapBuffer, false);
+  }
+
+  @Benchmark
+  public GetChangesResponsePB direct() {
+    return decode(directBuffer, false);
+  }
+
+  @Benchmark
+  public GetChangesResponsePB copyingHeap() {
+    return decode(heapBuffer, true);
+  }
+}
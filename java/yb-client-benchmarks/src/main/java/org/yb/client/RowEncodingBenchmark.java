@@ -0,0 +1,157 @@
+// Copyright (c) YugaByte, Inc.
+//
+// Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+// in compliance with the License.  You may obtain a copy of the License at
+//
+// http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software distributed under the License
+// is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+// or implied.  See the License for the specific language governing permissions and limitations
+// under the License.
+//
+package org.yb.client;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import com.google.common.collect.ImmutableList;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.yb.ColumnSchema;
+import org.yb.ColumnSchema.ColumnSchemaBuilder;
+import org.yb.ColumnSchema.SortOrder;
+import org.yb.Common.PartitionSchemaPB.HashSchema;
+import org.yb.Schema;
+import org.yb.Type;
+import org.yb.client.PartitionSchema.HashBucketSchema;
+import org.yb.client.PartitionSchema.RangeSchema;
+
+/**
+ * The per-row work of the client: setting the columns of a {@link PartialRow}, and encoding its
+ * primary key and partition key with {@link KeyEncoder}. The table has a hash key of a bigint and
+ * a string, a range key of a bigint and a binary, followed by the given number of value columns
+ * cycling through string, bigint, binary and double. Strings and binaries are valueLength bytes
+ * long, the binaries containing zero bytes which the key encoding has to escape. Run with
+ * {@code -prof gc} to see the allocation rate.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class RowEncodingBenchmark {
+
+  private static final int NUM_KEY_COLUMNS = 4;
+
+  @Param({ "4", "64" })
+  private int numValueColumns;
+
+  @Param({ "16", "1024" })
+  private int valueLength;
+
+  private Schema schema;
+  private PartitionSchema partitionSchema;
+  private String stringValue;
+  private byte[] binaryValue;
+  private PartialRow row;
+  private final KeyEncoder encoder = new KeyEncoder();
+
+  @Setup
+  public void setUp() {
+    List<ColumnSchema> columns = new ArrayList<>();
+    columns.add(new ColumnSchemaBuilder("tenant_id", Type.INT64).hashKey(true).build());
+    columns.add(new ColumnSchemaBuilder("device", Type.STRING).hashKey(true).build());
+    columns.add(new ColumnSchemaBuilder("ts", Type.INT64)
+        .rangeKey(true, SortOrder.ASC).build());
+    columns.add(new ColumnSchemaBuilder("seq", Type.BINARY)
+        .rangeKey(true, SortOrder.ASC).build());
+    Type[] valueTypes = { Type.STRING, Type.INT64, Type.BINARY, Type.DOUBLE };
+    for (int i = 0; i < numValueColumns; i++) {
+      columns.add(new ColumnSchemaBuilder("v" + i, valueTypes[i % valueTypes.length])
+          .nullable(true).build());
+    }
+    List<Integer> columnIds = new ArrayList<>();
+    for (int i = 0; i < columns.size(); i++) {
+      columnIds.add(i);
+    }
+    schema = new Schema(columns, columnIds, Schema.defaultTTL);
+    partitionSchema = new PartitionSchema(
+        new RangeSchema(ImmutableList.of(2, 3)),
+        ImmutableList.of(new HashBucketSchema(ImmutableList.of(0, 1), 16, 0)),
+        schema, HashSchema.MULTI_COLUMN_HASH_SCHEMA);
+
+    char[] chars = new char[valueLength];
+    Arrays.fill(chars, 'x');
+    stringValue = new String(chars);
+    binaryValue = new byte[valueLength];
+    for (int i = 0; i < valueLength; i++) {
+      binaryValue[i] = (byte) (i % 8 == 0 ? 0 : i);
+    }
+    row = fillRow();
+  }
+
+  @Benchmark
+  public PartialRow fillRow() {
+    PartialRow newRow = schema.newPartialRow();
+    newRow.addLong(0, 42L);
+    newRow.addString(1, stringValue);
+    newRow.addLong(2, 6751231234567890L);
+    newRow.addBinary(3, binaryValue);
+    for (int i = NUM_KEY_COLUMNS; i < NUM_KEY_COLUMNS + numValueColumns; i++) {
+      switch (schema.getColumnByIndex(i).getType()) {
+        case STRING:
+          newRow.addString(i, stringValue);
+          break;
+        case INT64:
+          newRow.addLong(i, i);
+          break;
+        case BINARY:
+          newRow.addBinary(i, binaryValue);
+          break;
+        default:
+          newRow.addDouble(i, i);
+          break;
+      }
+    }
+    return newRow;
+  }
+
+  @Benchmark
+  public PartialRow fillKeyByName() {
+    PartialRow newRow = schema.newPartialRow();
+    newRow.addLong("tenant_id", 42L);
+    newRow.addString("device", stringValue);
+    newRow.addLong("ts", 6751231234567890L);
+    newRow.addBinary("seq", binaryValue);
+    return newRow;
+  }
+
+  @Benchmark
+  public byte[] encodePrimaryKey() {
+    return encoder.encodePrimaryKey(row);
+  }
+
+  /** Through the public API, which creates an encoder for every row. */
+  @Benchmark
+  public byte[] encodePartitionKey() {
+    return partitionSchema.encodePartitionKey(row);
+  }
+
+  @Benchmark
+  public byte[] encodePartitionKeyReusedEncoder() {
+    return encoder.encodePartitionKey(row, partitionSchema);
+  }
+}
@@ -0,0 +1,97 @@
+// Copyright (c) YugaByte, Inc.
+//
+// Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+// in compliance with the License.  You may obtain a copy of the License at
+//
+// http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software distributed under the License
+// is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+// or implied.  See the License for the specific language governing permissions and limitations
+// under the License.
+//
+package org.yb.client;
+
+import java.util.concurrent.TimeUnit;
+
+import org.jboss.netty.buffer.ChannelBuffer;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.yb.rpc.RpcHeader;
+
+/**
+ * Request encoding as done by {@link TabletClient} for every RPC sent: building the request
+ * header and serializing header and request into a length-prefixed buffer. The "UncachedHeader"
+ * variants build the header protobuf from scratch for every call, as was done before header
+ * templates. Run with {@code -prof gc} to see the allocation rate.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class YRpcEncodingBenchmark {
+
+  private static final int TIMEOUT_MS = 60000;
+
+  private GetChangesRequest getChangesRequest;
+  private GetTableLocationsRequest getTableLocationsRequest;
+  private int callId;
+
+  @Setup
+  public void setUp() {
+    byte[] checkpointKey = new byte[32];
+    getChangesRequest = new GetChangesRequest(
+        null, "a0c8b3d6e1f94f2d8c5b7a6e9d3f1c2b", "4a5e2c7d9b1f4e8a9c3d6b2f1e7a8c5d",
+        /* term */ 3, /* index */ 123456, checkpointKey, /* write_id */ 17,
+        /* time */ 6751231234567890L);
+    getTableLocationsRequest = new GetTableLocationsRequest(
+        null, new byte[] { 0x12, 0x34 }, new byte[] { (byte) 0xab, (byte) 0xcd },
+        "000030af000030008000000000004000", /* maxTablets */ 100);
+  }
+
+  private ChannelBuffer encode(YRpc<?> rpc) {
+    RequestHeaderTemplate template = RequestHeaderTemplate.get(rpc.serviceName(), rpc.method());
+    return rpc.serialize(template.toHeader(++callId, TIMEOUT_MS));
+  }
+
+  private ChannelBuffer encodeWithUncachedHeader(YRpc<?> rpc) {
+    RpcHeader.RequestHeader header = RpcHeader.RequestHeader.newBuilder()
+        .setCallId(++callId)
+        .setRemoteMethod(RpcHeader.RemoteMethodPB.newBuilder()
+            .setServiceName(rpc.serviceName())
+            .setMethodName(rpc.method()))
+        .setTimeoutMillis(TIMEOUT_MS)
+        .build();
+    return rpc.serialize(header);
+  }
+
+  @Benchmark
+  public ChannelBuffer getChanges() {
+    return encode(getChangesRequest);
+  }
+
+  @Benchmark
+  public ChannelBuffer getChangesUncachedHeader() {
+    return encodeWithUncachedHeader(getChangesRequest);
+  }
+
+  @Benchmark
+  public ChannelBuffer getTableLocations() {
+    return encode(getTableLocationsRequest);
+  }
+
+  @Benchmark
+  public ChannelBuffer getTableLocationsUncachedHeader() {
+    return encodeWithUncachedHeader(getTableLocationsRequest);
+  }
+}
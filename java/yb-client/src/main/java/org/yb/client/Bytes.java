@@ -40,6 +40,8 @@
 //
 package org.yb.client;
 
+import com.google.common.primitives.Longs;
+import com.google.common.primitives.UnsignedBytes;
 import org.yb.annotations.InterfaceAudience;
 import org.yb.util.Slice;
 import org.jboss.netty.buffer.ChannelBuffer;
@@ -872,6 +874,12 @@ public final class Bytes {
       return "null";
     }
     byte[] array;
+    if (buf.getClass() != ReplayingDecoderBuffer && !buf.hasArray()) {
+      // Direct buffers, e.g. serialized requests, have no backing array to show.
+      array = new byte[buf.readableBytes()];
+      buf.getBytes(buf.readerIndex(), array);
+      return pretty(array);
+    }
     try {
       if (buf.getClass() != ReplayingDecoderBuffer) {
         array = buf.array();
@@ -916,19 +924,32 @@ public final class Bytes {
 
   }
 
+  // Compares eight bytes at a time through Unsafe where available. On little endian platforms it
+  // returns exactly what the loop in memcmp() below would, on big endian ones only the sign is the
+  // same.
+  private static final Comparator<byte[]> LEXICOGRAPHICAL_COMPARATOR =
+      UnsignedBytes.lexicographicalComparator();
+
+  // Below this many bytes a plain loop is cheaper than setting up a word-at-a-time comparison.
+  private static final int MIN_WORD_COMPARE_LENGTH = 16;
+
   /**
    * {@code memcmp} in Java, hooray.
    * @param a First non-{@code null} byte array to compare.
    * @param b Second non-{@code null} byte array to compare.
    * @return 0 if the two arrays are identical, otherwise the difference
    * between the first two different bytes, otherwise the different between
-   * their lengths.
+   * their lengths. Only the sign is guaranteed for arrays of 16 bytes or more
+   * on big endian platforms.
    */
   public static int memcmp(final byte[] a, final byte[] b) {
     final int length = Math.min(a.length, b.length);
     if (a == b) {  // Do this after accessing a.length and b.length
       return 0;    // in order to NPE if either a or b is null.
     }
+    if (length >= MIN_WORD_COMPARE_LENGTH) {
+      return LEXICOGRAPHICAL_COMPARATOR.compare(a, b);
+    }
     for (int i = 0; i < length; i++) {
       if (a[i] != b[i]) {
         return (a[i] & 0xFF) - (b[i] & 0xFF);  // "promote" to unsigned.
@@ -954,7 +975,14 @@ public final class Bytes {
       return 0;
     }
     length += offset;
-    for (int i = offset; i < length; i++) {
+    int i = offset;
+    // Skips the equal words, the first different one is then compared a byte at a time.
+    for (; i + Longs.BYTES <= length; i += Longs.BYTES) {
+      if (readLong(a, i) != readLong(b, i)) {
+        break;
+      }
+    }
+    for (; i < length; i++) {
       if (a[i] != b[i]) {
         return (a[i] & 0xFF) - (b[i] & 0xFF);  // "promote" to unsigned.
       }
@@ -962,6 +990,12 @@ public final class Bytes {
     return 0;
   }
 
+  // Reads 8 bytes of the array as a big endian long.
+  private static long readLong(final byte[] b, final int offset) {
+    return Longs.fromBytes(b[offset], b[offset + 1], b[offset + 2], b[offset + 3],
+                           b[offset + 4], b[offset + 5], b[offset + 6], b[offset + 7]);
+  }
+
   /**
    * De-duplicates two byte arrays.
    * <p>
@@ -1061,6 +1095,16 @@ public final class Bytes {
     return getString(b, 0, b.length);
   }
 
+  /**
+   * {@code memcmp(3)} for slices, which may be backed by arrays or by direct buffers.
+   * @return 0 if the two slices are identical, otherwise the difference
+   * between the first two different bytes (treated as unsigned), otherwise
+   * the difference between their lengths.
+   */
+  public static int memcmp(final Slice a, final Slice b) {
+    return a.compareTo(b);
+  }
+
   public static String getString(Slice slice) {
     return slice.toString(CharsetUtil.UTF_8);
   }
@@ -42,12 +42,21 @@ import org.jboss.netty.buffer.ChannelBuffer;
 /**
  * This class handles information received from an RPC response, providing
  * access to sidecars and decoded protobufs from the message.
+ * <p>
+ * The slices handed out are views of the buffer the response was decoded
+ * from, not copies, so they are only valid until whoever decoded the
+ * response {@link #release()}s it. Anything that outlives the response has
+ * to be copied out, which parsing a protobuf does.
  */
 @InterfaceAudience.Private
 final class CallResponse {
-  private final ChannelBuffer buf;
   private final RpcHeader.ResponseHeader header;
   private final int totalResponseSize;
+  private boolean released = false;
+
+  // The rest of the response after the header, a view of the decoder's buffer. Dropped once the
+  // response is released.
+  private ChannelBuffer buf;
 
   // Non-header main message slice is generated upon request and cached.
   private Slice message = null;
@@ -66,15 +75,16 @@ final class CallResponse {
    * the amount of bytes specified by its length prefix.
    */
   public CallResponse(final ChannelBuffer buf) {
-    this.buf = buf;
-
     this.totalResponseSize = buf.readInt();
     if (this.totalResponseSize > 0) {
       YRpc.checkArrayLength(buf, this.totalResponseSize);
       TabletClient.ensureReadable(buf, this.totalResponseSize);
 
-      final int headerSize = Bytes.readVarInt32(buf);
-      final Slice headerSlice = nextBytes(buf, headerSize);
+      // Consume the whole response at once, as a view of the underlying buffer. Header, message
+      // and sidecars are then sliced out of that view without copying.
+      this.buf = buf.readSlice(this.totalResponseSize);
+      final int headerSize = Bytes.readVarInt32(this.buf);
+      final Slice headerSlice = nextBytes(this.buf, headerSize);
       RpcHeader.ResponseHeader.Builder builder = RpcHeader.ResponseHeader.newBuilder();
       YRpc.readProtobuf(headerSlice, builder);
       this.header = builder.build();
@@ -83,6 +93,17 @@ final class CallResponse {
     }
   }
 
+  /**
+   * Lets go of the buffer the response was decoded from. The slices obtained
+   * from this response must not be used anymore. Releasing a response again
+   * has no effect.
+   */
+  public void release() {
+    this.released = true;
+    this.buf = null;
+    this.message = null;
+  }
+
   public boolean isEmpty() {
     return this.totalResponseSize == 0;
   }
@@ -157,29 +178,27 @@ final class CallResponse {
   // Reads the message after the header if not read yet
   private void cacheMessage() {
     if (this.message != null) return;
+    if (released) {
+      throw new IllegalStateException("Response was already released");
+    }
     final int length = Bytes.readVarInt32(buf);
     this.message = nextBytes(buf, length);
   }
 
   // Accounts for a parent slice's offset when making a new one with relative offsets.
   private static Slice subslice(Slice parent, int offset, int length) {
-    return new Slice(parent.getRawArray(), parent.getRawOffset() + offset, length);
+    return parent.slice(offset, length);
   }
 
   // After checking the length, generates a slice for the next 'length'
-  // bytes of 'buf'.
+  // bytes of 'buf' and moves past them.
   private static Slice nextBytes(final ChannelBuffer buf, final int length) {
     YRpc.checkArrayLength(buf, length);
-    byte[] payload;
-    int offset;
-    if (buf.hasArray()) {  // Zero copy.
-      payload = buf.array();
-      offset = buf.arrayOffset() + buf.readerIndex();
-    } else {  // We have to copy the entire payload out of the buffer :(
-      payload = new byte[length];
-      buf.readBytes(payload);
-      offset = 0;
+    final ChannelBuffer bytes = buf.readSlice(length);
+    if (bytes.hasArray()) {  // Zero copy.
+      return new Slice(bytes.array(), bytes.arrayOffset() + bytes.readerIndex(), length);
     }
-    return new Slice(payload, offset, length);
+    // Also zero copy for direct buffers, composite ones get merged into a single buffer.
+    return new Slice(bytes.toByteBuffer());
   }
 }
@@ -0,0 +1,139 @@
+// Copyright (c) YugaByte, Inc.
+//
+// Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+// in compliance with the License.  You may obtain a copy of the License at
+//
+// http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software distributed under the License
+// is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+// or implied.  See the License for the specific language governing permissions and limitations
+// under the License.
+//
+
+package org.yb.client;
+
+import com.google.protobuf.CodedOutputStream;
+import org.yb.annotations.InterfaceAudience;
+import org.yb.rpc.RpcHeader;
+
+import java.io.IOException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * The part of an RPC {@link RpcHeader.RequestHeader} that is constant for a given service method,
+ * serialized once. Only the call id and the timeout change between calls, so the header is written
+ * as those two fields around the cached remote method bytes. The output is byte-for-byte what
+ * {@link RpcHeader.RequestHeader#writeTo} would produce, since fields are written in field number
+ * order.
+ */
+@InterfaceAudience.Private
+final class RequestHeaderTemplate {
+
+  /** Value of the timeout argument for calls that do not propagate a timeout to the server. */
+  static final int NO_TIMEOUT = -1;
+
+  // Service name -> method name -> template. Two levels so that lookups do not allocate.
+  private static final ConcurrentMap<String, ConcurrentMap<String, RequestHeaderTemplate>>
+      templatesByName = new ConcurrentHashMap<>();
+
+  // Lets the serialization code find the template of a header built by toHeader(). The remote
+  // method message is shared by all those headers and memoizes its hash code.
+  private static final ConcurrentMap<RpcHeader.RemoteMethodPB, RequestHeaderTemplate>
+      templatesByRemoteMethod = new ConcurrentHashMap<>();
+
+  private final RpcHeader.RemoteMethodPB remoteMethod;
+
+  // Tag, length and contents of the remote_method field.
+  private final byte[] remoteMethodField;
+
+  private RequestHeaderTemplate(String service, String method) {
+    this.remoteMethod = RpcHeader.RemoteMethodPB.newBuilder()
+        .setServiceName(service)
+        .setMethodName(method)
+        .build();
+    this.remoteMethodField = RpcHeader.RequestHeader.newBuilder()
+        .setRemoteMethod(remoteMethod)
+        .build()
+        .toByteArray();
+  }
+
+  /**
+   * @return the cached template for the given service method
+   */
+  static RequestHeaderTemplate get(String service, String method) {
+    ConcurrentMap<String, RequestHeaderTemplate> byMethod = templatesByName.get(service);
+    if (byMethod == null) {
+      byMethod = templatesByName.computeIfAbsent(service, s -> new ConcurrentHashMap<>());
+    }
+    RequestHeaderTemplate template = byMethod.get(method);
+    if (template == null) {
+      template = byMethod.computeIfAbsent(method, m -> {
+        RequestHeaderTemplate newTemplate = new RequestHeaderTemplate(service, m);
+        templatesByRemoteMethod.put(newTemplate.remoteMethod, newTemplate);
+        return newTemplate;
+      });
+    }
+    return template;
+  }
+
+  /**
+   * @return the template the given header was built from, or null if it was built some other way
+   */
+  static RequestHeaderTemplate forHeader(RpcHeader.RequestHeader header) {
+    if (!header.hasRemoteMethod()) {
+      return null;
+    }
+    RequestHeaderTemplate template = templatesByRemoteMethod.get(header.getRemoteMethod());
+    // Only trust headers that share our remote method instance, anything else may carry fields
+    // the template does not know how to write.
+    return template != null && template.remoteMethod == header.getRemoteMethod() ?
+        template : null;
+  }
+
+  /**
+   * Builds the header protobuf for one call, sharing the cached remote method message. This is
+   * what gets handed to {@link YRpc#serialize}.
+   */
+  RpcHeader.RequestHeader toHeader(int callId, int timeoutMs) {
+    RpcHeader.RequestHeader.Builder builder = RpcHeader.RequestHeader.newBuilder()
+        .setCallId(callId)
+        .setRemoteMethod(remoteMethod);
+    if (timeoutMs != NO_TIMEOUT) {
+      builder.setTimeoutMillis(timeoutMs);
+    }
+    return builder.build();
+  }
+
+  /**
+   * @return the serialized size of the given header, without the length prefix
+   */
+  int getSerializedSize(RpcHeader.RequestHeader header) {
+    int size = remoteMethodField.length;
+    if (header.hasCallId()) {
+      size += CodedOutputStream.computeInt32Size(
+          RpcHeader.RequestHeader.CALL_ID_FIELD_NUMBER, header.getCallId());
+    }
+    if (header.hasTimeoutMillis()) {
+      size += CodedOutputStream.computeUInt32Size(
+          RpcHeader.RequestHeader.TIMEOUT_MILLIS_FIELD_NUMBER, header.getTimeoutMillis());
+    }
+    return size;
+  }
+
+  /**
+   * Writes the given header, which must have been built by {@link #toHeader}, without the length
+   * prefix.
+   */
+  void writeTo(RpcHeader.RequestHeader header, CodedOutputStream out) throws IOException {
+    if (header.hasCallId()) {
+      out.writeInt32(RpcHeader.RequestHeader.CALL_ID_FIELD_NUMBER, header.getCallId());
+    }
+    out.writeRawBytes(remoteMethodField);
+    if (header.hasTimeoutMillis()) {
+      out.writeUInt32(
+          RpcHeader.RequestHeader.TIMEOUT_MILLIS_FIELD_NUMBER, header.getTimeoutMillis());
+    }
+  }
+}
@@ -206,10 +206,8 @@ public class TabletClient extends ReplayingDecoder<VoidEnum> {
     final String service = rpc.serviceName();
     final String method = rpc.method();
     try {
-      final RpcHeader.RequestHeader.Builder headerBuilder = RpcHeader.RequestHeader.newBuilder()
-          .setCallId(rpcid)
-          .setRemoteMethod(
-              RpcHeader.RemoteMethodPB.newBuilder().setServiceName(service).setMethodName(method));
+      final RequestHeaderTemplate headerTemplate = RequestHeaderTemplate.get(service, method);
+      int timeoutMs = RequestHeaderTemplate.NO_TIMEOUT;
 
       // If any timeout is set, find the lowest non-zero one, since this will be the deadline that
       // the server must respect.
@@ -224,10 +222,10 @@ public class TabletClient extends ReplayingDecoder<VoidEnum> {
           localRpcTimeoutMs = socketReadTimeoutMs;
         }
 
-        headerBuilder.setTimeoutMillis((int) Math.min(millisBeforeDeadline, localRpcTimeoutMs));
+        timeoutMs = (int) Math.min(millisBeforeDeadline, localRpcTimeoutMs);
       }
 
-      payload = rpc.serialize(headerBuilder.build());
+      payload = rpc.serialize(headerTemplate.toHeader(rpcid, timeoutMs));
     } catch (Exception e) {
         LOG.error("Uncaught exception while serializing RPC: " + rpc, e);
         rpc.errback(e);  // Make the RPC fail with the exception.
@@ -343,6 +341,7 @@ public class TabletClient extends ReplayingDecoder<VoidEnum> {
       final String msg = getPeerUuidLoggingString() + "RPC response (size: " + size + ") doesn't"
           + " have a call ID: " + header + ", buf=" + Bytes.pretty(buf);
       LOG.error(msg);
+      response.release();
       throw new NonRecoverableException(msg);
     }
     final int rpcid = header.getCallId();
@@ -361,6 +360,7 @@ public class TabletClient extends ReplayingDecoder<VoidEnum> {
       // and throw this outside of our Netty handler, so Netty will call our
       // exception handler where we'll close this channel, which will cause
       // all RPCs in flight to be failed.
+      response.release();
       throw new NonRecoverableException(msg);
     }
 
@@ -388,6 +388,9 @@ public class TabletClient extends ReplayingDecoder<VoidEnum> {
         exception = ex;
       }
     }
+    // Everything has been parsed out of the response, its slices of the buffer are not needed
+    // anymore.
+    response.release();
     if (LOG.isDebugEnabled()) {
       LOG.debug(getPeerUuidLoggingString() + "rpcid=" + rpcid
           + ", response size=" + (buf.readerIndex() - rdx) + " bytes"
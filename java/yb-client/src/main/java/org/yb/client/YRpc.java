@@ -40,19 +40,23 @@
 //
 package org.yb.client;
 
+import com.google.protobuf.CodedInputStream;
 import com.google.protobuf.CodedOutputStream;
-import com.google.protobuf.InvalidProtocolBufferException;
 import com.google.protobuf.Message;
 import com.stumbleupon.async.Deferred;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.yb.annotations.InterfaceAudience;
+import org.yb.rpc.RpcHeader;
 import org.yb.util.Pair;
 import org.yb.util.Slice;
 import org.jboss.netty.buffer.ChannelBuffer;
+import org.jboss.netty.buffer.ChannelBufferFactory;
 import org.jboss.netty.buffer.ChannelBuffers;
+import org.jboss.netty.buffer.DirectChannelBufferFactory;
 
 import java.io.IOException;
+import java.nio.ByteBuffer;
 
 /**
  * Abstract base class for all RPC requests going out to YB.
@@ -259,39 +263,79 @@ public abstract class YRpc<R> {
   static void readProtobuf(final Slice slice,
                            final Message.Builder builder) {
     final int length = slice.length();
-    final byte[] payload = slice.getRawArray();
-    final int offset = slice.getRawOffset();
     try {
-      builder.mergeFrom(payload, offset, length);
+      if (slice.hasArray()) {
+        builder.mergeFrom(slice.getRawArray(), slice.getRawOffset(), length);
+      } else {
+        // Parse straight from the direct buffer, fields are copied out of it as they are read.
+        builder.mergeFrom(CodedInputStream.newInstance(slice.toByteBuffer()));
+      }
       if (!builder.isInitialized()) {
         throw new RuntimeException("Could not deserialize the response," +
                 " incompatible RPC? Error is: " + builder.getInitializationErrorString());
       }
-    } catch (InvalidProtocolBufferException e) {
+    } catch (IOException e) {
+      final byte[] payload = slice.hasArray() ? slice.getRawArray() : slice.getBytes();
       final String msg = "Invalid RPC response: length=" + length
               + ", payload=" + Bytes.pretty(payload);
       throw new InvalidResponseException(msg, e);
     }
   }
 
+  /**
+   * Requests up to this size (including the length prefix) are serialized into direct buffers
+   * carved out of shared preallocated chunks, which Netty can write to the socket without another
+   * copy. Larger requests are rare and get a heap buffer of their own.
+   */
+  static final int MAX_POOLED_REQUEST_SIZE = 64 * 1024;
+
+  private static final ChannelBufferFactory requestBufferFactory =
+      DirectChannelBufferFactory.getInstance();
+
   static ChannelBuffer toChannelBuffer(Message header, Message pb) {
-    int totalSize = IPCUtil.getTotalSizeWhenWrittenDelimited(header, pb);
-    byte[] buf = new byte[totalSize+4];
-    ChannelBuffer chanBuf = ChannelBuffers.wrappedBuffer(buf);
-    chanBuf.clear();
-    chanBuf.writeInt(totalSize);
-    final CodedOutputStream out = CodedOutputStream.newInstance(buf, 4, totalSize);
+    // Headers built by TabletClient come from a per-method template that already holds the
+    // serialized service and method names.
+    final RequestHeaderTemplate template = header instanceof RpcHeader.RequestHeader ?
+        RequestHeaderTemplate.forHeader((RpcHeader.RequestHeader) header) : null;
+    final int headerSize = template != null ?
+        template.getSerializedSize((RpcHeader.RequestHeader) header) :
+        header.getSerializedSize();
+    final int pbSize = pb.getSerializedSize();
+    final int totalSize =
+        CodedOutputStream.computeUInt32SizeNoTag(headerSize) + headerSize +
+        CodedOutputStream.computeUInt32SizeNoTag(pbSize) + pbSize;
+
+    final ChannelBuffer chanBuf;
+    final CodedOutputStream out;
+    if (totalSize + 4 <= MAX_POOLED_REQUEST_SIZE) {
+      chanBuf = requestBufferFactory.getBuffer(totalSize + 4);
+      chanBuf.clear();
+      chanBuf.writeInt(totalSize);
+      ByteBuffer body = chanBuf.toByteBuffer(4, totalSize);
+      out = CodedOutputStream.newInstance(body);
+    } else {
+      byte[] buf = new byte[totalSize + 4];
+      chanBuf = ChannelBuffers.wrappedBuffer(buf);
+      chanBuf.clear();
+      chanBuf.writeInt(totalSize);
+      out = CodedOutputStream.newInstance(buf, 4, totalSize);
+    }
     try {
-      out.writeRawVarint32(header.getSerializedSize());
-      header.writeTo(out);
+      out.writeUInt32NoTag(headerSize);
+      if (template != null) {
+        template.writeTo((RpcHeader.RequestHeader) header, out);
+      } else {
+        header.writeTo(out);
+      }
 
-      out.writeRawVarint32(pb.getSerializedSize());
+      out.writeUInt32NoTag(pbSize);
       pb.writeTo(out);
+      out.flush();
       out.checkNoSpaceLeft();
     } catch (IOException e) {
       throw new NonRecoverableException("Cannot serialize the following message " + pb, e);
     }
-    chanBuf.writerIndex(buf.length);
+    chanBuf.writerIndex(totalSize + 4);
     return chanBuf;
   }
 
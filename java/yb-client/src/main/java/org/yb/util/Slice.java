@@ -39,6 +39,7 @@ import org.yb.annotations.InterfaceAudience;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.OutputStream;
+import java.nio.Buffer;
 import java.nio.ByteBuffer;
 import java.nio.channels.ClosedChannelException;
 import java.nio.channels.FileChannel;
@@ -50,12 +51,20 @@ import java.util.Arrays;
 import static java.nio.ByteOrder.LITTLE_ENDIAN;
 
 /**
- * Little Endian slice of a byte array.
+ * Little Endian slice of a byte array, or of a {@link ByteBuffer} that is not backed by one, such
+ * as a direct buffer. A buffer backed slice does not own its memory, so it is only valid for as
+ * long as whoever handed it out keeps that memory around.
  */
 @InterfaceAudience.Private
 public final class Slice implements Comparable<Slice>
 {
+  // Slices shorter than this are compared a byte at a time, setting up the word-at-a-time
+  // comparison is not worth it for them.
+  private static final int MIN_WORD_COMPARE_LENGTH = 2 * Longs.BYTES;
+
+  // Exactly one of data and buffer is set. Offsets are absolute indexes in either of them.
   private final byte[] data;
+  private final ByteBuffer buffer;
   private final int offset;
   private final int length;
 
@@ -64,6 +73,7 @@ public final class Slice implements Comparable<Slice>
   public Slice(int length)
   {
     data = new byte[length];
+    this.buffer = null;
     this.offset = 0;
     this.length = length;
   }
@@ -72,6 +82,7 @@ public final class Slice implements Comparable<Slice>
   {
     Preconditions.checkNotNull(data, "array is null");
     this.data = data;
+    this.buffer = null;
     this.offset = 0;
     this.length = data.length;
   }
@@ -80,6 +91,36 @@ public final class Slice implements Comparable<Slice>
   {
     Preconditions.checkNotNull(data, "array is null");
     this.data = data;
+    this.buffer = null;
+    this.offset = offset;
+    this.length = length;
+  }
+
+  /**
+   * Creates a slice of the remaining bytes of the specified buffer, without copying them. The
+   * slice uses the buffer's backing array if it has one. The buffer's position and limit are not
+   * modified.
+   */
+  public Slice(ByteBuffer buffer)
+  {
+    Preconditions.checkNotNull(buffer, "buffer is null");
+    if (buffer.hasArray()) {
+      this.data = buffer.array();
+      this.buffer = null;
+      this.offset = buffer.arrayOffset() + buffer.position();
+    }
+    else {
+      this.data = null;
+      this.buffer = buffer.duplicate().order(LITTLE_ENDIAN);
+      this.offset = buffer.position();
+    }
+    this.length = buffer.remaining();
+  }
+
+  private Slice(ByteBuffer buffer, int offset, int length)
+  {
+    this.data = null;
+    this.buffer = buffer;
     this.offset = offset;
     this.length = length;
   }
@@ -92,11 +133,25 @@ public final class Slice implements Comparable<Slice>
     return length;
   }
 
+  /**
+   * Returns {@code true} if this slice is backed by a byte array, in which case
+   * {@link #getRawArray()} and {@link #getRawOffset()} can be used.
+   */
+  public boolean hasArray()
+  {
+    return data != null;
+  }
+
   /**
    * Gets the array underlying this slice.
+   *
+   * @throws UnsupportedOperationException if this slice is not backed by an array
    */
   public byte[] getRawArray()
   {
+    if (data == null) {
+      throw new UnsupportedOperationException("Slice is not backed by an array");
+    }
     return data;
   }
 
@@ -118,6 +173,9 @@ public final class Slice implements Comparable<Slice>
   {
     Preconditions.checkPositionIndexes(index, index + 1, this.length);
     index += offset;
+    if (buffer != null) {
+      return buffer.get(index);
+    }
     return data[index];
   }
 
@@ -144,6 +202,9 @@ public final class Slice implements Comparable<Slice>
   {
     Preconditions.checkPositionIndexes(index, index + Shorts.BYTES, this.length);
     index += offset;
+    if (buffer != null) {
+      return buffer.getShort(index);
+    }
     return (short) (data[index] & 0xFF | data[index + 1] << 8);
   }
 
@@ -158,6 +219,9 @@ public final class Slice implements Comparable<Slice>
   {
     Preconditions.checkPositionIndexes(index, index + Ints.BYTES, this.length);
     index += offset;
+    if (buffer != null) {
+      return buffer.getInt(index);
+    }
     return (data[index] & 0xff) |
         (data[index + 1] & 0xff) << 8 |
         (data[index + 2] & 0xff) << 16 |
@@ -175,6 +239,9 @@ public final class Slice implements Comparable<Slice>
   {
     Preconditions.checkPositionIndexes(index, index + Longs.BYTES, this.length);
     index += offset;
+    if (buffer != null) {
+      return buffer.getLong(index);
+    }
     return ((long) data[index] & 0xff) |
         ((long) data[index + 1] & 0xff) << 8 |
         ((long) data[index + 2] & 0xff) << 16 |
@@ -200,6 +267,10 @@ public final class Slice implements Comparable<Slice>
    */
   public void getBytes(int index, Slice dst, int dstIndex, int length)
   {
+    if (dst.data == null) {
+      dst.setBytes(dstIndex, this, index, length);
+      return;
+    }
     getBytes(index, dst.data, dstIndex, length);
   }
 
@@ -221,6 +292,10 @@ public final class Slice implements Comparable<Slice>
     Preconditions.checkPositionIndexes(index, index + length, this.length);
     Preconditions.checkPositionIndexes(destinationIndex, destinationIndex + length, destination.length);
     index += offset;
+    if (buffer != null) {
+      range(index, length).get(destination, destinationIndex, length);
+      return;
+    }
     System.arraycopy(data, index, destination, destinationIndex, length);
   }
 
@@ -232,6 +307,9 @@ public final class Slice implements Comparable<Slice>
   public byte[] getBytes(int index, int length)
   {
     index += offset;
+    if (buffer != null) {
+      return copyOut(index, length);
+    }
     if (index == 0) {
       return Arrays.copyOf(data, length);
     } else {
@@ -254,6 +332,10 @@ public final class Slice implements Comparable<Slice>
   {
     Preconditions.checkPositionIndex(index, this.length);
     index += offset;
+    if (buffer != null) {
+      destination.put(range(index, Math.min(length, destination.remaining())));
+      return;
+    }
     destination.put(data, index, Math.min(length, destination.remaining()));
   }
 
@@ -272,6 +354,10 @@ public final class Slice implements Comparable<Slice>
   {
     Preconditions.checkPositionIndexes(index, index + length, this.length);
     index += offset;
+    if (buffer != null) {
+      out.write(copyOut(index, length));
+      return;
+    }
     out.write(data, index, length);
   }
 
@@ -291,7 +377,7 @@ public final class Slice implements Comparable<Slice>
   {
     Preconditions.checkPositionIndexes(index, index + length, this.length);
     index += offset;
-    return out.write(ByteBuffer.wrap(data, index, length));
+    return out.write(range(index, length));
   }
 
   /**
@@ -306,6 +392,10 @@ public final class Slice implements Comparable<Slice>
   {
     Preconditions.checkPositionIndexes(index, index + Shorts.BYTES, this.length);
     index += offset;
+    if (buffer != null) {
+      buffer.putShort(index, (short) value);
+      return;
+    }
     data[index] = (byte) (value);
     data[index + 1] = (byte) (value >>> 8);
   }
@@ -321,6 +411,10 @@ public final class Slice implements Comparable<Slice>
   {
     Preconditions.checkPositionIndexes(index, index + Ints.BYTES, this.length);
     index += offset;
+    if (buffer != null) {
+      buffer.putInt(index, value);
+      return;
+    }
     data[index] = (byte) (value);
     data[index + 1] = (byte) (value >>> 8);
     data[index + 2] = (byte) (value >>> 16);
@@ -338,6 +432,10 @@ public final class Slice implements Comparable<Slice>
   {
     Preconditions.checkPositionIndexes(index, index + Longs.BYTES, this.length);
     index += offset;
+    if (buffer != null) {
+      buffer.putLong(index, value);
+      return;
+    }
     data[index] = (byte) (value);
     data[index + 1] = (byte) (value >>> 8);
     data[index + 2] = (byte) (value >>> 16);
@@ -359,6 +457,10 @@ public final class Slice implements Comparable<Slice>
   {
     Preconditions.checkPositionIndexes(index, index + 1, this.length);
     index += offset;
+    if (buffer != null) {
+      buffer.put(index, (byte) value);
+      return;
+    }
     data[index] = (byte) value;
   }
 
@@ -377,6 +479,10 @@ public final class Slice implements Comparable<Slice>
    */
   public void setBytes(int index, Slice src, int srcIndex, int length)
   {
+    if (src.data == null) {
+      setBytes(index, src.toByteBuffer(srcIndex, length));
+      return;
+    }
     setBytes(index, src.data, src.offset + srcIndex, length);
   }
 
@@ -395,6 +501,10 @@ public final class Slice implements Comparable<Slice>
     Preconditions.checkPositionIndexes(index, index + length, this.length);
     Preconditions.checkPositionIndexes(sourceIndex, sourceIndex + length, source.length);
     index += offset;
+    if (buffer != null) {
+      range(index, length).put(source, sourceIndex, length);
+      return;
+    }
     System.arraycopy(source, sourceIndex, data, index, length);
   }
 
@@ -411,6 +521,10 @@ public final class Slice implements Comparable<Slice>
   {
     Preconditions.checkPositionIndexes(index, index + source.remaining(), this.length);
     index += offset;
+    if (buffer != null) {
+      range(index, source.remaining()).put(source);
+      return;
+    }
     source.get(data, index, source.remaining());
   }
 
@@ -429,6 +543,14 @@ public final class Slice implements Comparable<Slice>
       throws IOException
   {
     Preconditions.checkPositionIndexes(index, index + length, this.length);
+    if (buffer != null) {
+      byte[] bytes = new byte[length];
+      int readBytes = new Slice(bytes).setBytes(0, in, length);
+      if (readBytes > 0) {
+        range(offset + index, readBytes).put(bytes, 0, readBytes);
+      }
+      return readBytes;
+    }
     index += offset;
     int readBytes = 0;
     do {
@@ -465,7 +587,7 @@ public final class Slice implements Comparable<Slice>
   {
     Preconditions.checkPositionIndexes(index, index + length, this.length);
     index += offset;
-    ByteBuffer buf = ByteBuffer.wrap(data, index, length);
+    ByteBuffer buf = range(index, length);
     int readBytes = 0;
 
     do {
@@ -498,7 +620,7 @@ public final class Slice implements Comparable<Slice>
   {
     Preconditions.checkPositionIndexes(index, index + length, this.length);
     index += offset;
-    ByteBuffer buf = ByteBuffer.wrap(data, index, length);
+    ByteBuffer buf = range(index, length);
     int readBytes = 0;
 
     do {
@@ -540,6 +662,9 @@ public final class Slice implements Comparable<Slice>
     Preconditions.checkPositionIndexes(index, index + length, this.length);
 
     index += offset;
+    if (buffer != null) {
+      return new Slice(copyOut(index, length));
+    }
     byte[] copiedArray = new byte[length];
     System.arraycopy(data, index, copiedArray, 0, length);
     return new Slice(copiedArray);
@@ -554,6 +679,9 @@ public final class Slice implements Comparable<Slice>
   {
     Preconditions.checkPositionIndexes(index, index + length, this.length);
     index += offset;
+    if (buffer != null) {
+      return copyOut(index, length);
+    }
     if (index == 0) {
       return Arrays.copyOf(data, length);
     } else {
@@ -588,6 +716,9 @@ public final class Slice implements Comparable<Slice>
     if (index >= 0 && length == 0) {
       return Slices.EMPTY_SLICE;
     }
+    if (buffer != null) {
+      return new Slice(buffer, offset + index, length);
+    }
     return new Slice(data, offset + index, length);
   }
 
@@ -608,7 +739,27 @@ public final class Slice implements Comparable<Slice>
   {
     Preconditions.checkPositionIndexes(index, index + length, this.length);
     index += offset;
-    return ByteBuffer.wrap(data, index, length).order(LITTLE_ENDIAN);
+    return range(index, length).order(LITTLE_ENDIAN);
+  }
+
+  // A NIO buffer over the bytes [index, index + length) of the backing array or buffer, index
+  // being absolute. Positions are set through Buffer so that the code also runs on Java 8 when
+  // built with a newer JDK.
+  private ByteBuffer range(int index, int length)
+  {
+    if (buffer == null) {
+      return ByteBuffer.wrap(data, index, length);
+    }
+    ByteBuffer range = buffer.duplicate();
+    ((Buffer) range).limit(index + length).position(index);
+    return range;
+  }
+
+  private byte[] copyOut(int index, int length)
+  {
+    byte[] value = new byte[length];
+    range(index, length).get(value);
+    return value;
   }
 
   @Override
@@ -629,9 +780,12 @@ public final class Slice implements Comparable<Slice>
     }
 
     // if arrays have same base offset, some optimizations can be taken...
-    if (offset == slice.offset && data == slice.data) {
+    if (offset == slice.offset && data == slice.data && buffer == slice.buffer) {
       return true;
     }
+    if (data == null || slice.data == null || length >= MIN_WORD_COMPARE_LENGTH) {
+      return compareTo(slice) == 0;
+    }
     for (int i = 0; i < length; i++) {
       if (data[offset + i] != slice.data[slice.offset + i]) {
         return false;
@@ -649,7 +803,7 @@ public final class Slice implements Comparable<Slice>
 
     int result = length;
     for (int i = offset; i < offset + length; i++) {
-      result = 31 * result + data[i];
+      result = 31 * result + (data != null ? data[i] : buffer.get(i));
     }
     if (result == 0) {
       result = 1;
@@ -660,17 +814,22 @@ public final class Slice implements Comparable<Slice>
 
   /**
    * Compares the content of the specified buffer to the content of this
-   * buffer.  This comparison is performed byte by byte using an unsigned
-   * comparison.
+   * buffer.  This comparison is performed using an unsigned comparison of
+   * the bytes, eight at a time for all but short slices.
    */
   public int compareTo(Slice that)
   {
     if (this == that) {
       return 0;
     }
-    if (this.data == that.data && length == that.length && offset == that.offset) {
+    if (this.data == that.data && this.buffer == that.buffer &&
+        length == that.length && offset == that.offset) {
       return 0;
     }
+    if (this.data == null || that.data == null ||
+        Math.min(this.length, that.length) >= MIN_WORD_COMPARE_LENGTH) {
+      return Slices.compareUnsigned(range(offset, length), that.range(that.offset, that.length));
+    }
 
     int minLength = Math.min(this.length, that.length);
     for (int i = 0; i < minLength; i++) {
@@ -39,6 +39,7 @@
 package org.yb.util;
 
 import com.google.common.base.Preconditions;
+import com.google.common.primitives.Longs;
 import org.yb.annotations.InterfaceAudience;
 
 import java.nio.Buffer;
@@ -109,6 +110,18 @@ public final class Slices
     return new Slice(array);
   }
 
+  /**
+   * Wraps the remaining bytes of the specified buffer without copying them, see
+   * {@link Slice#Slice(ByteBuffer)}.
+   */
+  public static Slice wrappedBuffer(ByteBuffer buffer)
+  {
+    if (!buffer.hasRemaining()) {
+      return EMPTY_SLICE;
+    }
+    return new Slice(buffer);
+  }
+
   public static Slice copiedBuffer(ByteBuffer source, int sourceOffset, int length)
   {
     Preconditions.checkNotNull(source, "source is null");
@@ -177,6 +190,35 @@ public final class Slices
     return ((Buffer)dst).flip().toString();
   }
 
+  /**
+   * Compares the remaining bytes of two buffers as unsigned bytes, without modifying their
+   * positions. Bytes are compared eight at a time until the first word that differs, which works
+   * for buffers of either byte order since only equality of the words is tested.
+   *
+   * @return 0 if the contents are identical, otherwise the difference between the first two
+   * different bytes, otherwise the difference between the numbers of remaining bytes
+   */
+  public static int compareUnsigned(ByteBuffer a, ByteBuffer b)
+  {
+    final int aPosition = a.position();
+    final int bPosition = b.position();
+    final int minLength = Math.min(a.remaining(), b.remaining());
+    int i = 0;
+    for (; i + Longs.BYTES <= minLength; i += Longs.BYTES) {
+      if (a.getLong(aPosition + i) != b.getLong(bPosition + i)) {
+        break;
+      }
+    }
+    for (; i < minLength; i++) {
+      int aByte = a.get(aPosition + i) & 0xFF;
+      int bByte = b.get(bPosition + i) & 0xFF;
+      if (aByte != bByte) {
+        return aByte - bByte;
+      }
+    }
+    return a.remaining() - b.remaining();
+  }
+
   /**
    * Toggles the endianness of the specified 16-bit short integer.
    */
@@ -31,13 +31,20 @@
 //
 package org.yb.client;
 
+import static org.yb.AssertionWrappers.assertArrayEquals;
 import static org.yb.AssertionWrappers.assertEquals;
+import static org.yb.AssertionWrappers.assertFalse;
+import static org.yb.AssertionWrappers.assertTrue;
 
 import org.junit.Test;
 
 import java.math.BigInteger;
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+import java.util.Random;
 
 import org.yb.YBTestRunner;
+import org.yb.util.Slice;
 
 import org.junit.runner.RunWith;
 
@@ -114,4 +121,77 @@ public class TestBytes {
     Bytes.setDouble(bytes, aDouble);
     assertEquals(aDouble, Bytes.getDouble(bytes), 0.001);
   }
+
+  // Sign of the byte-at-a-time comparison the word-at-a-time ones must agree with.
+  private static int referenceCompare(byte[] a, byte[] b) {
+    for (int i = 0; i < Math.min(a.length, b.length); i++) {
+      if (a[i] != b[i]) {
+        return Integer.signum((a[i] & 0xFF) - (b[i] & 0xFF));
+      }
+    }
+    return Integer.signum(a.length - b.length);
+  }
+
+  private static Slice directSlice(byte[] bytes) {
+    ByteBuffer buffer = ByteBuffer.allocateDirect(bytes.length + 3);
+    buffer.position(3);
+    buffer.put(bytes);
+    buffer.position(3);
+    return new Slice(buffer);
+  }
+
+  @Test
+  public void testMemcmp() {
+    Random random = new Random(42);
+    for (int i = 0; i < 1000; i++) {
+      byte[] a = new byte[random.nextInt(40)];
+      random.nextBytes(a);
+      byte[] b = a.clone();
+      if (b.length > 0 && random.nextBoolean()) {
+        // Differ in a single byte, possibly one with the high bit set.
+        b[random.nextInt(b.length)] = (byte) random.nextInt(256);
+      } else if (random.nextBoolean()) {
+        b = Arrays.copyOf(b, random.nextInt(b.length + 1));
+      }
+      int expected = referenceCompare(a, b);
+
+      assertEquals(expected, Integer.signum(Bytes.memcmp(a, b)));
+      if (a.length == b.length) {
+        assertEquals(expected, Integer.signum(Bytes.memcmp(a, b, 0, a.length)));
+        int offset = random.nextInt(a.length + 1);
+        assertEquals(
+            referenceCompare(Arrays.copyOfRange(a, offset, a.length),
+                             Arrays.copyOfRange(b, offset, b.length)),
+            Integer.signum(Bytes.memcmp(a, b, offset, a.length - offset)));
+      }
+      assertEquals(expected, Integer.signum(new Slice(a).compareTo(new Slice(b))));
+      assertEquals(expected, Integer.signum(directSlice(a).compareTo(new Slice(b))));
+      assertEquals(expected, Integer.signum(Bytes.memcmp(directSlice(a), directSlice(b))));
+      assertEquals(expected == 0, directSlice(a).equals(new Slice(b)));
+    }
+  }
+
+  @Test
+  public void testDirectSlice() {
+    byte[] bytes = new byte[32];
+    for (int i = 0; i < bytes.length; i++) {
+      bytes[i] = (byte) (i * 7);
+    }
+    Slice heap = new Slice(bytes).slice(4, 20);
+    Slice direct = directSlice(bytes).slice(4, 20);
+    assertFalse(direct.hasArray());
+    assertTrue(heap.equals(direct));
+    assertEquals(heap.hashCode(), direct.hashCode());
+    assertEquals(heap.getLong(3), direct.getLong(3));
+    assertEquals(heap.getInt(5), direct.getInt(5));
+    assertEquals(heap.getShort(7), direct.getShort(7));
+    assertArrayEquals(heap.copyBytes(), direct.copyBytes());
+    assertArrayEquals(heap.getBytes(2, 9), direct.getBytes(2, 9));
+
+    direct.setLong(0, 0x0102030405060708L);
+    assertEquals(0x0102030405060708L, direct.getLong(0));
+    assertEquals(0x08, direct.getByte(0));
+    direct.setBytes(8, heap, 0, 8);
+    assertArrayEquals(heap.getBytes(0, 8), direct.getBytes(8, 8));
+  }
 }
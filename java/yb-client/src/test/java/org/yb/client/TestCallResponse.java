@@ -0,0 +1,117 @@
+// Copyright (c) YugaByte, Inc.
+//
+// Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+// in compliance with the License.  You may obtain a copy of the License at
+//
+// http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software distributed under the License
+// is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+// or implied.  See the License for the specific language governing permissions and limitations
+// under the License.
+//
+package org.yb.client;
+
+import static org.yb.AssertionWrappers.assertEquals;
+import static org.yb.AssertionWrappers.assertFalse;
+import static org.yb.AssertionWrappers.assertSame;
+import static org.yb.AssertionWrappers.fail;
+
+import java.io.ByteArrayOutputStream;
+
+import com.google.protobuf.ByteString;
+import org.jboss.netty.buffer.ChannelBuffer;
+import org.jboss.netty.buffer.ChannelBuffers;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.yb.YBTestRunner;
+import org.yb.cdc.CdcService;
+import org.yb.cdc.CdcService.GetChangesResponsePB;
+import org.yb.rpc.RpcHeader;
+import org.yb.util.Slice;
+
+@RunWith(value=YBTestRunner.class)
+public class TestCallResponse {
+
+  private static final GetChangesResponsePB RESPONSE = GetChangesResponsePB.newBuilder()
+      .setSafeHybridTime(6751231234567890L)
+      .build();
+
+  // A response as sent by the server: total size, then the length-delimited header and message.
+  private static byte[] responseBytes(int callId, GetChangesResponsePB pb) throws Exception {
+    ByteArrayOutputStream out = new ByteArrayOutputStream();
+    IPCUtil.write(out, RpcHeader.ResponseHeader.newBuilder().setCallId(callId).build(), pb);
+    return out.toByteArray();
+  }
+
+  private static byte[] responseBytes(int callId) throws Exception {
+    return responseBytes(callId, RESPONSE);
+  }
+
+  private static GetChangesResponsePB parse(CallResponse response) {
+    GetChangesResponsePB.Builder builder = GetChangesResponsePB.newBuilder();
+    YRpc.readProtobuf(response.getPBMessage(), builder);
+    return builder.build();
+  }
+
+  @Test
+  public void testHeapBufferIsNotCopied() throws Exception {
+    byte[] bytes = responseBytes(12);
+    ChannelBuffer buf = ChannelBuffers.wrappedBuffer(bytes);
+    CallResponse response = new CallResponse(buf);
+
+    assertEquals(12, response.getHeader().getCallId());
+    assertEquals(bytes.length, buf.readerIndex());
+    Slice message = response.getPBMessage();
+    assertSame(bytes, message.getRawArray());
+    assertEquals(RESPONSE, parse(response));
+    response.release();
+  }
+
+  @Test
+  public void testDirectBuffer() throws Exception {
+    byte[] bytes = responseBytes(13);
+    ChannelBuffer buf = ChannelBuffers.directBuffer(bytes.length);
+    buf.writeBytes(bytes);
+    CallResponse response = new CallResponse(buf);
+
+    assertEquals(13, response.getHeader().getCallId());
+    assertFalse(response.getPBMessage().hasArray());
+    assertEquals(RESPONSE, parse(response));
+    response.release();
+  }
+
+  @Test
+  public void testRelease() throws Exception {
+    CallResponse response = new CallResponse(ChannelBuffers.wrappedBuffer(responseBytes(14)));
+    response.getPBMessage();
+    response.release();
+    try {
+      response.getPBMessage();
+      fail("Expected the released response to be unusable");
+    } catch (IllegalStateException e) {
+      // Expected.
+    }
+    // Releasing again has no effect.
+    response.release();
+  }
+
+  @Test
+  public void testProtobufFieldsOutliveResponse() throws Exception {
+    GetChangesResponsePB withBytes = RESPONSE.toBuilder()
+        .setCdcSdkCheckpoint(CdcService.CDCSDKCheckpointPB.newBuilder()
+            .setKey(ByteString.copyFromUtf8("reverse-index-key")))
+        .build();
+    byte[] bytes = responseBytes(15, withBytes);
+    ChannelBuffer buf = ChannelBuffers.directBuffer(bytes.length);
+    buf.writeBytes(bytes);
+    CallResponse response = new CallResponse(buf);
+    GetChangesResponsePB.Builder builder = GetChangesResponsePB.newBuilder();
+    YRpc.readProtobuf(response.getPBMessage(), builder);
+    response.release();
+
+    // Parsing copies the fields out, overwriting the buffer must not change them.
+    buf.setZero(0, bytes.length);
+    assertEquals(withBytes, builder.build());
+  }
+}
@@ -0,0 +1,102 @@
+// Copyright (c) YugaByte, Inc.
+//
+// Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+// in compliance with the License.  You may obtain a copy of the License at
+//
+// http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software distributed under the License
+// is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+// or implied.  See the License for the specific language governing permissions and limitations
+// under the License.
+//
+package org.yb.client;
+
+import static org.yb.AssertionWrappers.assertArrayEquals;
+import static org.yb.AssertionWrappers.assertNull;
+import static org.yb.AssertionWrappers.assertSame;
+
+import java.io.ByteArrayOutputStream;
+
+import com.google.protobuf.ByteString;
+import com.google.protobuf.Message;
+import org.jboss.netty.buffer.ChannelBuffer;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.yb.YBTestRunner;
+import org.yb.cdc.CdcService.GetChangesRequestPB;
+import org.yb.rpc.RpcHeader;
+
+@RunWith(value=YBTestRunner.class)
+public class TestRequestHeaderTemplate {
+
+  private static byte[] expectedBytes(Message header, Message pb) throws Exception {
+    ByteArrayOutputStream out = new ByteArrayOutputStream();
+    IPCUtil.write(out, header, pb);
+    return out.toByteArray();
+  }
+
+  private static byte[] readableBytes(ChannelBuffer buf) {
+    byte[] bytes = new byte[buf.readableBytes()];
+    buf.getBytes(buf.readerIndex(), bytes);
+    return bytes;
+  }
+
+  @Test
+  public void testSameBytesAsProtobufHeader() throws Exception {
+    RequestHeaderTemplate template =
+        RequestHeaderTemplate.get("yb.cdc.CDCService", "GetChanges");
+    GetChangesRequestPB pb = GetChangesRequestPB.newBuilder()
+        .setDbStreamId(ByteString.copyFromUtf8("stream"))
+        .setTabletId(ByteString.copyFromUtf8("tablet"))
+        .build();
+
+    for (int callId : new int[] { 0, 1, 300, Integer.MAX_VALUE, -3 }) {
+      for (int timeoutMs : new int[] { RequestHeaderTemplate.NO_TIMEOUT, 1, 60000 }) {
+        RpcHeader.RequestHeader.Builder reference = RpcHeader.RequestHeader.newBuilder()
+            .setCallId(callId)
+            .setRemoteMethod(RpcHeader.RemoteMethodPB.newBuilder()
+                .setServiceName("yb.cdc.CDCService")
+                .setMethodName("GetChanges"));
+        if (timeoutMs != RequestHeaderTemplate.NO_TIMEOUT) {
+          reference.setTimeoutMillis(timeoutMs);
+        }
+
+        RpcHeader.RequestHeader header = template.toHeader(callId, timeoutMs);
+        assertSame(template, RequestHeaderTemplate.forHeader(header));
+        assertArrayEquals(expectedBytes(reference.build(), pb),
+                          readableBytes(YRpc.toChannelBuffer(header, pb)));
+      }
+    }
+  }
+
+  @Test
+  public void testTemplateIsCachedPerMethod() {
+    assertSame(RequestHeaderTemplate.get("yb.master.MasterService", "GetTableLocations"),
+               RequestHeaderTemplate.get("yb.master.MasterService", "GetTableLocations"));
+  }
+
+  @Test
+  public void testForeignHeaderUsesGenericPath() throws Exception {
+    RpcHeader.RequestHeader header = RpcHeader.RequestHeader.newBuilder()
+        .setCallId(7)
+        .setRemoteMethod(RpcHeader.RemoteMethodPB.newBuilder()
+            .setServiceName("yb.master.MasterService")
+            .setMethodName("GetTableLocations"))
+        .build();
+    assertNull(RequestHeaderTemplate.forHeader(header));
+    assertArrayEquals(expectedBytes(header, header),
+                      readableBytes(YRpc.toChannelBuffer(header, header)));
+  }
+
+  @Test
+  public void testLargeRequestUsesHeapBuffer() throws Exception {
+    RpcHeader.RequestHeader header =
+        RequestHeaderTemplate.get("yb.cdc.CDCService", "GetChanges").toHeader(42, 1000);
+    GetChangesRequestPB pb = GetChangesRequestPB.newBuilder()
+        .setDbStreamId(ByteString.copyFrom(new byte[YRpc.MAX_POOLED_REQUEST_SIZE]))
+        .build();
+    assertArrayEquals(expectedBytes(header, pb),
+                      readableBytes(YRpc.toChannelBuffer(header, pb)));
+  }
+}
@@ -24,6 +24,7 @@ import java.util.Map;
 import java.util.Scanner;
 import java.util.Set;
 import java.util.TreeMap;
+import java.util.concurrent.TimeUnit;
 import java.util.function.Consumer;
 
 import org.junit.AfterClass;
@@ -34,8 +35,10 @@ import org.slf4j.LoggerFactory;
 import org.yb.BaseYBTest;
 import org.yb.client.TestUtils;
 import org.yb.util.BuildTypeUtil;
+import org.yb.util.EnvAndSysPropertyUtil;
 import org.yb.util.Timeouts;
 
+import com.google.common.base.Stopwatch;
 import com.google.common.net.HostAndPort;
 import com.google.gson.JsonElement;
 import com.google.gson.JsonObject;
@@ -86,6 +89,22 @@ public class BaseMiniClusterTest extends BaseYBTest {
    */
   private static boolean clusterNeedsRecreation = false;
 
+  /**
+   * If set, a cluster is not shut down at the end of a test class, but handed over to the next
+   * test class that requests a cluster with exactly the same configuration. Test classes sharing
+   * a cluster this way must not depend on starting from an empty cluster.
+   */
+  private static final boolean REUSE_CLUSTER_BETWEEN_TEST_CLASSES =
+      EnvAndSysPropertyUtil.isEnvVarOrSystemPropertyTrue("YB_REUSE_MINICLUSTER_BETWEEN_CLASSES");
+
+  /** Configuration signature of {@link #miniCluster}, used to decide whether it can be reused. */
+  private static String miniClusterSignature;
+
+  /** A cluster kept running by a previous test class, waiting to be reused or shut down. */
+  private static MiniYBCluster reusableMiniCluster;
+  private static String reusableMiniClusterSignature;
+  private static boolean reusableMiniClusterShutdownHookAdded = false;
+
   protected int getReplicationFactor() {
     return -1;
   }
@@ -168,12 +187,17 @@ public class BaseMiniClusterTest extends BaseYBTest {
       destroyMiniCluster();
       clusterNeedsRecreation = false;
     }
+    Stopwatch stopwatch = Stopwatch.createStarted();
     if (miniCluster == null) {
       createMiniCluster();
     } else if (shouldRestartMiniClusterBetweenTests()) {
       LOG.info("Restarting the MiniCluster");
       miniCluster.restart();
+    } else {
+      return;
     }
+    LOG.info("Mini cluster setup for test {}.{} took {} ms",
+        getClass().getName(), getCurrentTestMethodName(), stopwatch.elapsed(TimeUnit.MILLISECONDS));
   }
 
   protected boolean shouldRestartMiniClusterBetweenTests() {
@@ -259,6 +283,40 @@ public class BaseMiniClusterTest extends BaseYBTest {
         MiniYBClusterParameters.DEFAULT_NUM_TSERVERS);
 
     LOG.info("BaseMiniClusterTest.createMiniCluster is running");
+    MiniYBClusterBuilder clusterBuilder = newMiniClusterBuilder(
+        numMasters, numTservers, additionalMasterFlags, additionalTserverFlags);
+    if (customize != null) {
+      customize.accept(clusterBuilder);
+    }
+
+    final String signature = clusterBuilder.getConfigurationSignature();
+    if (takeReusableMiniCluster(signature)) {
+      masterAddresses = miniCluster.getMasterAddresses();
+      masterHostPorts = miniCluster.getMasterHostPorts();
+      afterStartingMiniCluster();
+      return;
+    }
+
+    miniCluster = clusterBuilder.build();
+    miniClusterSignature = signature;
+    masterAddresses = miniCluster.getMasterAddresses();
+    masterHostPorts = miniCluster.getMasterHostPorts();
+
+    LOG.info("Started cluster with {} masters and {} tservers in {} ms. " +
+             "Waiting for all tablet servers to heartbeat to masters...",
+             numMasters, numTservers, miniCluster.getStartupTimeMs());
+    if (!miniCluster.waitForTabletServers(numTservers)) {
+      fail("Couldn't get " + numTservers + " tablet servers running, aborting.");
+    }
+
+    afterStartingMiniCluster();
+  }
+
+  private MiniYBClusterBuilder newMiniClusterBuilder(
+      int numMasters,
+      int numTservers,
+      Map<String, String> additionalMasterFlags,
+      Map<String, String> additionalTserverFlags) {
     MiniYBClusterBuilder clusterBuilder = new MiniYBClusterBuilder()
                       .numMasters(numMasters)
                       .numTservers(numTservers)
@@ -270,28 +328,85 @@ public class BaseMiniClusterTest extends BaseYBTest {
                       .addCommonTServerFlags(additionalTserverFlags)
                       .numShardsPerTServer(getNumShardsPerTServer())
                       .useIpWithCertificate(useIpWithCertificate)
-                      .replicationFactor(replicationFactor)
+                      .replicationFactor(getReplicationFactor())
                       .sslCertFile(certFile)
                       .sslClientCertFiles(clientCertFile, clientKeyFile)
                       .bindHostAddress(clientHost, clientPort);
 
     customizeMiniClusterBuilder(clusterBuilder);
-    if (customize != null) {
-      customize.accept(clusterBuilder);
-    }
-
-    miniCluster = clusterBuilder.build();
-    masterAddresses = miniCluster.getMasterAddresses();
-    masterHostPorts = miniCluster.getMasterHostPorts();
+    return clusterBuilder;
+  }
 
-    LOG.info("Started cluster with {} masters and {} tservers. " +
-             "Waiting for all tablet servers to heartbeat to masters...",
-             numMasters, numTservers);
-    if (!miniCluster.waitForTabletServers(numTservers)) {
+  /**
+   * Starts another cluster with the default configuration of the test class, isolated from
+   * {@link #miniCluster}, for tests which run on several clusters at once. The caller has to shut
+   * it down.
+   */
+  protected MiniYBCluster createIsolatedMiniCluster() throws Exception {
+    final int replicationFactor = getReplicationFactor();
+    int numMasters = TestUtils.getFirstPositiveNumber(
+        getInitialNumMasters(), replicationFactor, MiniYBClusterParameters.DEFAULT_NUM_MASTERS);
+    int numTservers = TestUtils.getFirstPositiveNumber(
+        getInitialNumTServers(), replicationFactor, MiniYBClusterParameters.DEFAULT_NUM_TSERVERS);
+    MiniYBCluster cluster = newMiniClusterBuilder(
+        numMasters, numTservers, Collections.emptyMap(), Collections.emptyMap()).build();
+    if (!cluster.waitForTabletServers(numTservers)) {
+      cluster.shutdown();
       fail("Couldn't get " + numTservers + " tablet servers running, aborting.");
     }
+    return cluster;
+  }
 
-    afterStartingMiniCluster();
+  /**
+   * Makes the cluster kept by a previous test class the current one if it was built with the
+   * given configuration signature, otherwise shuts the kept cluster down.
+   *
+   * @return true if the kept cluster is now {@link #miniCluster}
+   */
+  private static boolean takeReusableMiniCluster(String signature) throws Exception {
+    if (reusableMiniCluster == null) {
+      return false;
+    }
+    MiniYBCluster cluster = reusableMiniCluster;
+    reusableMiniCluster = null;
+    if (signature.equals(reusableMiniClusterSignature)) {
+      LOG.info("Reusing the mini cluster kept by a previous test class");
+      miniCluster = cluster;
+      miniClusterSignature = signature;
+      return true;
+    }
+    LOG.info("Kept mini cluster has a different configuration, shutting it down");
+    cluster.shutdown();
+    return false;
+  }
+
+  /**
+   * Called at the end of a test class: either keeps the cluster for the next test class (see
+   * {@link #REUSE_CLUSTER_BETWEEN_TEST_CLASSES}) or destroys it.
+   */
+  private static void releaseMiniCluster() throws Exception {
+    if (!REUSE_CLUSTER_BETWEEN_TEST_CLASSES || miniCluster == null || clusterNeedsRecreation) {
+      destroyMiniCluster();
+      return;
+    }
+    if (!reusableMiniClusterShutdownHookAdded) {
+      reusableMiniClusterShutdownHookAdded = true;
+      // Nothing else shuts down the cluster kept by the last test class in this JVM.
+      Runtime.getRuntime().addShutdownHook(new Thread(() -> {
+        try {
+          if (reusableMiniCluster != null) {
+            reusableMiniCluster.shutdown();
+          }
+        } catch (Throwable t) {
+          LOG.warn("Failed to shut down the kept mini cluster", t);
+        }
+      }, "Kept mini cluster shutdown"));
+    }
+    LOG.info("Keeping mini cluster for the next test class");
+    reusableMiniCluster = miniCluster;
+    reusableMiniClusterSignature = miniClusterSignature;
+    miniCluster = null;
+    miniClusterSignature = null;
   }
 
   /**
@@ -305,6 +420,7 @@ public class BaseMiniClusterTest extends BaseYBTest {
       LOG.info("Destroying mini cluster");
       miniCluster.shutdown();
       miniCluster = null;
+      miniClusterSignature = null;
     }
   }
 
@@ -414,7 +530,7 @@ public class BaseMiniClusterTest extends BaseYBTest {
   @AfterClass
   public static void tearDownAfterClass() throws Exception {
     LOG.info("BaseMiniClusterTest.tearDownAfterClass is running");
-    destroyMiniCluster();
+    releaseMiniCluster();
     LOG.info("BaseMiniClusterTest.tearDownAfterClass completed");
   }
 
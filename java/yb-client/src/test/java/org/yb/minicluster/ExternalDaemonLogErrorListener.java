@@ -13,6 +13,11 @@
  */
 package org.yb.minicluster;
 
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -20,8 +25,17 @@ public class ExternalDaemonLogErrorListener implements LogErrorListener {
 
   private static final Logger LOG = LoggerFactory.getLogger(ExternalDaemonLogErrorListener.class);
 
-  private final Object serverStartEventMonitor = new Object();
-  private boolean sawServerStarting = false;
+  private static final String SERVER_STARTED_LOG_LINE = "RPC server started.";
+
+  // Logged by a tablet server heartbeater once it has found the master leader.
+  private static final String CONNECTED_TO_MASTER_LEADER_LOG_LINE =
+      "Connected to a leader master server at ";
+
+  /** Completed by the log printer thread once the RPC server start message has been seen. */
+  private final CompletableFuture<Void> serverStarted = new CompletableFuture<>();
+
+  /** Completed by the log printer thread once the daemon has connected to the master leader. */
+  private final CompletableFuture<Void> connectedToMasterLeader = new CompletableFuture<>();
 
   // These messages in the log will cause a test failure in the end.
   private static final String[] ERROR_LOG_PATTERNS = {
@@ -42,15 +56,15 @@ public class ExternalDaemonLogErrorListener implements LogErrorListener {
 
   @Override
   public void handleLine(String line) {
-    synchronized (serverStartEventMonitor) {
-      if (sawServerStarting)
-        return;
-    }
-    if (line.contains("RPC server started.")) {
-      synchronized (serverStartEventMonitor) {
-        sawServerStarting = true;
-        serverStartEventMonitor.notifyAll();
+    if (serverStarted.isDone()) {
+      if (!connectedToMasterLeader.isDone() &&
+          line.contains(CONNECTED_TO_MASTER_LEADER_LOG_LINE)) {
+        connectedToMasterLeader.complete(null);
       }
+      return;
+    }
+    if (line.contains(SERVER_STARTED_LOG_LINE)) {
+      serverStarted.complete(null);
     }
     if (errorLogLine == null) {
       for (String pattern : ERROR_LOG_PATTERNS) {
@@ -71,19 +85,30 @@ public class ExternalDaemonLogErrorListener implements LogErrorListener {
     }
   }
 
+  /**
+   * @return a future that is completed as soon as the "RPC server started" line is logged. It is
+   *         never completed exceptionally, callers are expected to apply their own deadline.
+   */
+  public CompletableFuture<Void> getServerStartedFuture() {
+    return serverStarted;
+  }
+
+  /**
+   * @return a future that is completed as soon as a tablet server reports that it has connected
+   *         to the master leader. Never completed for masters.
+   */
+  public CompletableFuture<Void> getConnectedToMasterLeaderFuture() {
+    return connectedToMasterLeader;
+  }
+
   public void waitForServerStartingLogLine(long deadlineMs) throws InterruptedException {
     long timeoutMs = deadlineMs - System.currentTimeMillis();
-    synchronized (serverStartEventMonitor) {
-      long timeLeftMs = deadlineMs - System.currentTimeMillis();
-      while (timeLeftMs > 0 && !sawServerStarting) {
-        serverStartEventMonitor.wait(timeLeftMs);
-        timeLeftMs = deadlineMs - System.currentTimeMillis();
-      }
-      if (!sawServerStarting) {
-        throw new RuntimeException(
-            "Timed out waiting for a 'server starting' message to appear. " +
-            "Waited for " + timeoutMs + ". Log: " + processDescription);
-      }
+    try {
+      serverStarted.get(Math.max(timeoutMs, 0), TimeUnit.MILLISECONDS);
+    } catch (TimeoutException | ExecutionException ex) {
+      throw new RuntimeException(
+          "Timed out waiting for a 'server starting' message to appear. " +
+          "Waited for " + timeoutMs + ". Log: " + processDescription);
     }
   }
 }
@@ -31,6 +31,7 @@ import com.google.common.base.Preconditions;
 import com.google.common.base.Stopwatch;
 import com.google.common.collect.Lists;
 import com.google.common.net.HostAndPort;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
 import org.apache.commons.io.FileUtils;
 import org.yb.client.BaseYBClientTest;
 import org.yb.client.TestUtils;
@@ -47,9 +48,16 @@ import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
 import java.util.*;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ConcurrentSkipListSet;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
 import java.util.concurrent.atomic.AtomicInteger;
 
 import static java.util.concurrent.TimeUnit.MILLISECONDS;
@@ -98,8 +106,26 @@ public class MiniYBCluster implements AutoCloseable {
   // Timeout for waiting process to terminate.
   private static final long PROCESS_TERMINATE_TIMEOUT_MS = BuildTypeUtil.adjustTimeout(180 * 1000);
 
+  // How long a freshly launched process is watched for an early exit, unless it reports that its
+  // RPC server has started before that.
+  private static final long PROCESS_EARLY_EXIT_CHECK_MS = 300;
+
+  // Interval for polling the master for registered tablet servers, only used once all tablet
+  // servers have reported in their logs that they connected to the master leader.
+  private static final long TSERVER_REGISTRATION_POLL_MS = 50;
+
+  /**
+   * Used to launch master and tablet server processes concurrently. Threads are only busy while a
+   * process is being launched and checked for an early exit.
+   */
+  private static final ExecutorService daemonLauncher = Executors.newCachedThreadPool(
+      new ThreadFactoryBuilder()
+          .setNameFormat("MiniYBCluster-daemon-launcher-%d")
+          .setDaemon(true)
+          .build());
+
   // List of threads that print log messages.
-  private final List<LogPrinter> logPrinters = new ArrayList<>();
+  private final List<LogPrinter> logPrinters = Collections.synchronizedList(new ArrayList<>());
 
   // Map of host/port pairs to master servers.
   private final Map<HostAndPort, MiniYBDaemon> masterProcesses = new ConcurrentHashMap<>();
@@ -107,11 +133,14 @@ public class MiniYBCluster implements AutoCloseable {
   // Map of host/port pairs to tablet servers.
   private final Map<HostAndPort, MiniYBDaemon> tserverProcesses = new ConcurrentHashMap<>();
 
-  private final List<String> pathsToDelete = new ArrayList<>();
+  private final List<String> pathsToDelete = Collections.synchronizedList(new ArrayList<>());
   private final List<HostAndPort> masterHostPorts = new ArrayList<>();
-  private final List<InetSocketAddress> cqlContactPoints = new ArrayList<>();
-  private final List<InetSocketAddress> redisContactPoints = new ArrayList<>();
-  private final List<InetSocketAddress> pgsqlContactPoints = new ArrayList<>();
+  private final List<InetSocketAddress> cqlContactPoints =
+      Collections.synchronizedList(new ArrayList<>());
+  private final List<InetSocketAddress> redisContactPoints =
+      Collections.synchronizedList(new ArrayList<>());
+  private final List<InetSocketAddress> pgsqlContactPoints =
+      Collections.synchronizedList(new ArrayList<>());
 
   // Client we can use for common operations.
   private YBClient syncClient;
@@ -153,6 +182,9 @@ public class MiniYBCluster implements AutoCloseable {
   private String clientHost = null;
   private int clientPort = 0;
 
+  // Wall-clock time it took to start the cluster, including waiting for the master leader.
+  private long startupTimeMs = -1;
+
   /**
    * Not to be invoked directly, but through a {@link MiniYBClusterBuilder}.
    */
@@ -179,9 +211,21 @@ public class MiniYBCluster implements AutoCloseable {
     this.clientHost = clientHost;
     this.clientPort = clientPort;
 
+    Stopwatch stopwatch = Stopwatch.createStarted();
     startCluster(
         clusterParameters.numMasters, clusterParameters.numTservers, masterFlags,
         commonTserverFlags, perTserverFlags, tserverEnvVars);
+    startupTimeMs = stopwatch.elapsed(MILLISECONDS);
+    LOG.info("Mini cluster with {} masters and {} tservers started in {} ms",
+        clusterParameters.numMasters, clusterParameters.numTservers, startupTimeMs);
+  }
+
+  /**
+   * @return the time in milliseconds it took to start this cluster's daemons and wait for the
+   *         master leader to be elected.
+   */
+  public long getStartupTimeMs() {
+    return startupTimeMs;
   }
 
   public void startSyncClientAndWaitForMasterLeader() throws Exception {
@@ -269,11 +313,29 @@ public class MiniYBCluster implements AutoCloseable {
    * @return true if there are at least as many TS as expected, otherwise false
    */
   public boolean waitForTabletServers(int expected) throws Exception {
-    int count = 0;
     Stopwatch stopwatch = Stopwatch.createStarted();
+    // Tablet servers register with the master leader in the first heartbeat after connecting to
+    // it, so there is little point in asking the master before they have logged the connection.
+    List<CompletableFuture<Void>> connectedFutures = new ArrayList<>();
+    for (MiniYBDaemon tserver : tserverProcesses.values()) {
+      connectedFutures.add(tserver.getConnectedToMasterLeaderFuture());
+    }
+    CompletableFuture<Void> allConnected =
+        CompletableFuture.allOf(connectedFutures.toArray(new CompletableFuture<?>[0]));
+    int count = syncClient.listTabletServers().getTabletServersCount();
     while (count < expected &&
         stopwatch.elapsed(MILLISECONDS) < clusterParameters.defaultTimeoutMs) {
-      Thread.sleep(200);
+      if (allConnected.isDone()) {
+        Thread.sleep(TSERVER_REGISTRATION_POLL_MS);
+      } else {
+        // Wake up as soon as the last tablet server connects, but still re-check once per
+        // heartbeat in case fewer than all of them are expected to register.
+        try {
+          allConnected.get(TSERVER_HEARTBEAT_INTERVAL_MS, MILLISECONDS);
+        } catch (TimeoutException ex) {
+          // Ask the master anyway.
+        }
+      }
       count = syncClient.listTabletServers().getTabletServersCount();
     }
     boolean success = count >= expected;
@@ -452,12 +514,68 @@ public class MiniYBCluster implements AutoCloseable {
       applyYsqlSnapshot(clusterParameters.ysqlSnapshotVersion, masterFlags);
     }
 
-    startMasters(numMasters, baseDirPath, masterFlags);
+    // Tablet servers only need the master addresses to start, and keep retrying heartbeats until
+    // the masters are up, so both kinds of daemons are launched concurrently.
+    List<CompletableFuture<MiniYBDaemon>> masterFutures =
+        startMastersAsync(numMasters, baseDirPath, masterFlags);
+
+    LOG.info("Starting {} tablet servers...", numTservers);
+    List<CompletableFuture<MiniYBDaemon>> tserverFutures =
+        startTabletServersAsync(numTservers, commonTserverFlags, perTserverFlags, tserverEnvVars);
+
+    waitForServerStartLogMessages(awaitDaemonsLaunched(masterFutures), 120000);
 
     startSyncClientAndWaitForMasterLeader();
 
-    LOG.info("Starting {} tablet servers...", numTservers);
-    startTabletServers(numTservers, commonTserverFlags, perTserverFlags, tserverEnvVars);
+    waitForServerStartLogMessages(awaitDaemonsLaunched(tserverFutures), 60000);
+  }
+
+  /**
+   * Waits for all the given daemons to report that their RPC server has started. The daemons are
+   * all starting up concurrently, so a single deadline is shared between them.
+   */
+  private static void waitForServerStartLogMessages(
+      Collection<MiniYBDaemon> daemons, long timeoutMs) throws InterruptedException {
+    long startupDeadlineMs = System.currentTimeMillis() + timeoutMs;
+    for (MiniYBDaemon daemon : daemons) {
+      daemon.waitForServerStartLogMessage(startupDeadlineMs);
+    }
+  }
+
+  /**
+   * Waits for the given daemon launches to complete, rethrowing the first launch failure.
+   */
+  private static List<MiniYBDaemon> awaitDaemonsLaunched(
+      List<CompletableFuture<MiniYBDaemon>> futures) throws Exception {
+    List<MiniYBDaemon> daemons = new ArrayList<>();
+    for (CompletableFuture<MiniYBDaemon> future : futures) {
+      try {
+        daemons.add(future.get());
+      } catch (ExecutionException ex) {
+        Throwable cause = ex.getCause();
+        if (cause instanceof CompletionException && cause.getCause() != null) {
+          cause = cause.getCause();
+        }
+        if (cause instanceof Exception) {
+          throw (Exception) cause;
+        }
+        throw ex;
+      }
+    }
+    return daemons;
+  }
+
+  /**
+   * Runs the given daemon launch on the shared launcher pool.
+   */
+  private static CompletableFuture<MiniYBDaemon> launchAsync(Callable<MiniYBDaemon> launch) {
+    return CompletableFuture.supplyAsync(() -> {
+      try {
+        return launch.call();
+      } catch (Exception ex) {
+        throw new CompletionException(ex);
+      }
+    }, daemonLauncher);
   }
 
   private String getYsqlSnapshotFilePath(YsqlSnapshotVersion ver) {
@@ -488,7 +606,11 @@ public class MiniYBCluster implements AutoCloseable {
     }
   }
 
-  private void startTabletServers(
+  /**
+   * Launches the tablet servers concurrently. Bind addresses and ports are allocated on the
+   * calling thread, only the process launches themselves run in parallel.
+   */
+  private List<CompletableFuture<MiniYBDaemon>> startTabletServersAsync(
       int numTservers,
       Map<String, String> commonTserverFlags,
       List<Map<String, String>> perTserverFlags,
@@ -496,18 +618,15 @@ public class MiniYBCluster implements AutoCloseable {
     LOG.info("startTabletServers: numTServers={}, commonTserverFlags={}, perTserverFlags={}",
         numTservers, commonTserverFlags, perTserverFlags);
 
+    List<CompletableFuture<MiniYBDaemon>> futures = new ArrayList<>();
     for (int i = 0; i < numTservers; i++) {
       Map<String, String> currTserverFlags = new TreeMap<>(commonTserverFlags);
       if (!perTserverFlags.isEmpty() && perTserverFlags.get(i) != null) {
         currTserverFlags.putAll(perTserverFlags.get(i));
       }
-      startTServer(currTserverFlags, tserverEnvVars);
-    }
-
-    long tserverStartupDeadlineMs = System.currentTimeMillis() + 60000;
-    for (MiniYBDaemon tserverProcess : tserverProcesses.values()) {
-      tserverProcess.waitForServerStartLogMessage(tserverStartupDeadlineMs);
+      futures.add(startTServerAsync(currTserverFlags, null, null, tserverEnvVars));
     }
+    return futures;
   }
 
   /**
@@ -549,6 +668,15 @@ public class MiniYBCluster implements AutoCloseable {
                            String tserverBindAddress,
                            Integer tserverRpcPort,
                            Map<String, String> tserverEnvVars) throws Exception {
+    awaitDaemonsLaunched(Collections.singletonList(
+        startTServerAsync(tserverFlags, tserverBindAddress, tserverRpcPort, tserverEnvVars)));
+  }
+
+  private CompletableFuture<MiniYBDaemon> startTServerAsync(
+      Map<String, String> tserverFlags,
+      String tserverBindAddress,
+      Integer tserverRpcPort,
+      Map<String, String> tserverEnvVars) throws Exception {
     LOG.info("Starting a tablet server: " +
         "tserverFlags={}, tserverBindAddress={}, tserverRpcPort={}",
         tserverFlags, tserverBindAddress, tserverRpcPort);
@@ -607,20 +735,24 @@ public class MiniYBCluster implements AutoCloseable {
       tsCmdLine.addAll(CommandUtil.flagsToArgs(tserverFlags));
     }
 
-    final MiniYBDaemon daemon = configureAndStartProcess(MiniYBDaemonType.TSERVER,
-        tsCmdLine.toArray(new String[tsCmdLine.size()]),
-        tserverBindAddress, rpcPort, webPort, pgsqlWebPort,
-        cqlWebPort, redisWebPort, dataDirPath, tserverEnvVars);
-    tserverProcesses.put(HostAndPort.fromParts(tserverBindAddress, rpcPort), daemon);
-    cqlContactPoints.add(new InetSocketAddress(tserverBindAddress, CQL_PORT));
-    redisContactPoints.add(new InetSocketAddress(tserverBindAddress, redisPort));
-    pgsqlContactPoints.add(new InetSocketAddress(tserverBindAddress, postgresPort));
-
     if (flagsPath.startsWith(baseDirPath)) {
       // We made a temporary copy of the flags; delete them later.
       pathsToDelete.add(flagsPath);
     }
     pathsToDelete.add(dataDirPath);
+
+    final String bindAddress = tserverBindAddress;
+    return launchAsync(() -> {
+      final MiniYBDaemon daemon = configureAndStartProcess(MiniYBDaemonType.TSERVER,
+          tsCmdLine.toArray(new String[tsCmdLine.size()]),
+          bindAddress, rpcPort, webPort, pgsqlWebPort,
+          cqlWebPort, redisWebPort, dataDirPath, tserverEnvVars);
+      tserverProcesses.put(HostAndPort.fromParts(bindAddress, rpcPort), daemon);
+      cqlContactPoints.add(new InetSocketAddress(bindAddress, CQL_PORT));
+      redisContactPoints.add(new InetSocketAddress(bindAddress, redisPort));
+      pgsqlContactPoints.add(new InetSocketAddress(bindAddress, postgresPort));
+      return daemon;
+    });
   }
 
   /**
@@ -721,14 +853,15 @@ public class MiniYBCluster implements AutoCloseable {
   /**
    * Start the specified number of master servers with ports starting from a specified
    * number. Finds free web and RPC ports up front for all of the masters first, then
-   * starts them on those ports, populating 'masters' map.
+   * launches them concurrently on those ports, populating 'masters' map.
    *
    * @param numMasters number of masters to start
    * @param baseDirPath  the base directory where the mini cluster stores its data
    * @param extraMasterFlags common command-line flags to pass to all masters
-   * @throws Exception if we are unable to start the masters
+   * @return futures completed once each master process has been launched
+   * @throws Exception if we are unable to allocate addresses for the masters
    */
-  private void startMasters(
+  private List<CompletableFuture<MiniYBDaemon>> startMastersAsync(
       int numMasters,
       String baseDirPath,
       Map<String, String> extraMasterFlags) throws Exception {
@@ -748,6 +881,7 @@ public class MiniYBCluster implements AutoCloseable {
     }
 
     updateMasterAddresses();
+    final List<CompletableFuture<MiniYBDaemon>> futures = new ArrayList<>();
     for (MasterHostPortAllocation masterAlloc : masterHostPortAlloc) {
       final String masterBindAddress = masterAlloc.bindAddress;
       final int masterRpcPort = masterAlloc.rpcPort;
@@ -766,11 +900,14 @@ public class MiniYBCluster implements AutoCloseable {
         masterCmdLine.add("--master_auto_run_initdb");
       }
       final HostAndPort masterHostAndPort = HostAndPort.fromParts(masterBindAddress, masterRpcPort);
-      masterProcesses.put(masterHostAndPort,
-          configureAndStartProcess(
-              MiniYBDaemonType.MASTER,
-              masterCmdLine.toArray(new String[masterCmdLine.size()]),
-              masterBindAddress, masterRpcPort, masterWebPort, -1, -1, -1, dataDirPath, null));
+      futures.add(launchAsync(() -> {
+        final MiniYBDaemon daemon = configureAndStartProcess(
+            MiniYBDaemonType.MASTER,
+            masterCmdLine.toArray(new String[masterCmdLine.size()]),
+            masterBindAddress, masterRpcPort, masterWebPort, -1, -1, -1, dataDirPath, null);
+        masterProcesses.put(masterHostAndPort, daemon);
+        return daemon;
+      }));
 
       if (flagsPath.startsWith(baseDirPath)) {
         // We made a temporary copy of the flags; delete them later.
@@ -778,11 +915,7 @@ public class MiniYBCluster implements AutoCloseable {
       }
       pathsToDelete.add(dataDirPath);
     }
-
-    long startupDeadlineMs = System.currentTimeMillis() + 120000;
-    for (MiniYBDaemon masterProcess : masterProcesses.values()) {
-      masterProcess.waitForServerStartLogMessage(startupDeadlineMs);
-    }
+    return futures;
   }
 
   /**
@@ -840,7 +973,7 @@ public class MiniYBCluster implements AutoCloseable {
                          pgsqlWebPort, cqlWebPort, redisWebPort, dataDirPath);
     logPrinters.add(daemon.getLogPrinter());
 
-    Thread.sleep(300);
+    waitForEarlyExitCheck(daemon);
     try {
       int ev = proc.exitValue();
       throw new Exception("We tried starting a process (" + command[0] + ") but it exited with " +
@@ -862,7 +995,7 @@ public class MiniYBCluster implements AutoCloseable {
     logPrinters.add(daemon.getLogPrinter());
 
     Process proc = daemon.getProcess();
-    Thread.sleep(300);
+    waitForEarlyExitCheck(daemon);
     try {
       int ev = proc.exitValue();
       throw new Exception("We tried starting a process (" + command[0] + ") but it exited with " +
@@ -876,6 +1009,18 @@ public class MiniYBCluster implements AutoCloseable {
     return daemon;
   }
 
+  /**
+   * Gives a freshly launched daemon a chance to exit if it is going to fail right away. Returns
+   * early if the daemon reports that its RPC server is up before that.
+   */
+  private static void waitForEarlyExitCheck(MiniYBDaemon daemon) throws Exception {
+    try {
+      daemon.getServerStartedFuture().get(PROCESS_EARLY_EXIT_CHECK_MS, MILLISECONDS);
+    } catch (TimeoutException ex) {
+      // Still starting up or already dead, the caller checks the exit value.
+    }
+  }
+
   public void restart() throws Exception {
     restart(true /* waitForMasterLeader */);
   }
@@ -892,15 +1037,22 @@ public class MiniYBCluster implements AutoCloseable {
     shutdownDaemons();
 
     LOG.info("Restarting mini cluster");
+    List<CompletableFuture<MiniYBDaemon>> masterFutures = new ArrayList<>();
     for (MiniYBDaemon master : masters) {
-      master = restart(master);
+      masterFutures.add(launchAsync(() -> restart(master)));
+    }
+    List<CompletableFuture<MiniYBDaemon>> tserverFutures = new ArrayList<>();
+    for (MiniYBDaemon tserver : tservers) {
+      tserverFutures.add(launchAsync(() -> restart(tserver)));
+    }
+
+    for (MiniYBDaemon master : awaitDaemonsLaunched(masterFutures)) {
       masterProcesses.put(master.getHostAndPort(), master);
     }
 
     startSyncClient(waitForMasterLeader);
 
-    for (MiniYBDaemon tserver : tservers) {
-      tserver = restart(tserver);
+    for (MiniYBDaemon tserver : awaitDaemonsLaunched(tserverFutures)) {
       tserverProcesses.put(tserver.getHostAndPort(), tserver);
     }
 
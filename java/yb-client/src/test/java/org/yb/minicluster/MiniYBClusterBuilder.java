@@ -229,6 +229,40 @@ public class MiniYBClusterBuilder {
     return this;
   }
 
+  /**
+   * Describes everything that affects the cluster being built except the test class name. Two
+   * builders with the same signature produce interchangeable clusters, which is what allows a
+   * cluster to be reused between test classes.
+   */
+  public String getConfigurationSignature() {
+    List<Map<String, String>> sortedPerTServerFlags = new ArrayList<>();
+    for (Map<String, String> flags : perTServerFlags) {
+      sortedPerTServerFlags.add(flags == null ? null : new TreeMap<>(flags));
+    }
+    return "numMasters=" + clusterParameters.numMasters +
+        ", numTservers=" + clusterParameters.numTservers +
+        ", numShardsPerTServer=" + clusterParameters.numShardsPerTServer +
+        ", useIpWithCertificate=" + clusterParameters.useIpWithCertificate +
+        ", defaultTimeoutMs=" + clusterParameters.defaultTimeoutMs +
+        ", defaultAdminOperationTimeoutMs=" + clusterParameters.defaultAdminOperationTimeoutMs +
+        ", replicationFactor=" + clusterParameters.replicationFactor +
+        ", startYsqlProxy=" + clusterParameters.startYsqlProxy +
+        ", pgTransactionsEnabled=" + clusterParameters.pgTransactionsEnabled +
+        ", ysqlSnapshotVersion=" + clusterParameters.ysqlSnapshotVersion +
+        ", tserverHeartbeatTimeoutMs=" + clusterParameters.tserverHeartbeatTimeoutMsOpt +
+        ", yqlSystemPartitionsVtableRefreshSecs=" +
+        clusterParameters.yqlSystemPartitionsVtableRefreshSecsOpt +
+        ", masterFlags=" + new TreeMap<>(masterFlags) +
+        ", commonTServerFlags=" + new TreeMap<>(commonTServerFlags) +
+        ", perTServerFlags=" + sortedPerTServerFlags +
+        ", tserverEnvVars=" + new TreeMap<>(tserverEnvVars) +
+        ", certFile=" + certFile +
+        ", clientCertFile=" + clientCertFile +
+        ", clientKeyFile=" + clientKeyFile +
+        ", clientHost=" + clientHost +
+        ", clientPort=" + clientPort;
+  }
+
   public MiniYBCluster build() throws Exception {
     Preconditions.checkArgument(
         perTServerFlags.isEmpty() || perTServerFlags.size() == clusterParameters.numTservers,
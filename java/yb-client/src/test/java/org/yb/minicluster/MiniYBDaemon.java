@@ -22,6 +22,7 @@ import org.yb.util.*;
 import java.io.*;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.CountDownLatch;
 import java.util.concurrent.TimeUnit;
 
@@ -336,6 +337,21 @@ public class MiniYBDaemon {
     LOG.info("Saw an 'RPC server started' message from " + this);
   }
 
+  /**
+   * @return a future completed once the daemon logs that its RPC server has started.
+   */
+  public CompletableFuture<Void> getServerStartedFuture() {
+    return logListener.getServerStartedFuture();
+  }
+
+  /**
+   * @return a future completed once a tablet server logs that it has connected to the master
+   *         leader.
+   */
+  public CompletableFuture<Void> getConnectedToMasterLeaderFuture() {
+    return logListener.getConnectedToMasterLeaderFuture();
+  }
+
   public void terminate() throws Exception {
     try {
       ProcessUtil.signalProcess(process, "TERM");
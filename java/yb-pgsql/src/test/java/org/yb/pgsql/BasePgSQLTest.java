@@ -55,6 +55,10 @@ import java.nio.charset.StandardCharsets;
 import java.sql.*;
 import java.util.*;
 import java.util.concurrent.ConcurrentSkipListSet;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 import java.util.concurrent.TimeoutException;
 import java.util.concurrent.atomic.AtomicReference;
 import java.util.function.Function;
@@ -142,6 +146,96 @@ public class BasePgSQLTest extends BaseMiniClusterTest {
     runPgRegressTest(schedule, 0 /* maxRuntimeMillis */);
   }
 
+  /**
+   * Runs the groups of the schedule split into shards, each run by its own pg_regress on its own
+   * cluster, all in parallel. The first shard runs on the cluster of the test, the others on
+   * clusters started for it with the same configuration. The groups of the schedule must not
+   * depend on each other. The shards are balanced by the run times of the tests recorded by the
+   * previous runs, see {@link PgRegressShards}.
+   */
+  public void runPgRegressTestSharded(String schedule, int numShards) throws Exception {
+    final File inputDir = PgRegressBuilder.PG_REGRESS_DIR;
+    PgRegressSchedule regressSchedule = PgRegressSchedule.read(new File(inputDir, schedule));
+    List<List<Integer>> shards = PgRegressShards.plan(
+        regressSchedule.getGroups(), numShards, PgRegressShards.readTestTimes(schedule));
+    LOG.info("Running schedule " + schedule + " in " + shards.size() + " shards: " + shards);
+
+    List<MiniYBCluster> clusters = new ArrayList<>();
+    clusters.add(miniCluster);
+    ExecutorService executor = Executors.newCachedThreadPool();
+    try {
+      List<Future<MiniYBCluster>> isolatedClusters = new ArrayList<>();
+      for (int i = 1; i < shards.size(); i++) {
+        isolatedClusters.add(executor.submit(() -> {
+          MiniYBCluster cluster = createIsolatedMiniCluster();
+          try {
+            waitForInitDb(cluster);
+            createTestRole(new ConnectionBuilder(cluster));
+          } catch (Exception ex) {
+            cluster.shutdown();
+            throw ex;
+          }
+          return cluster;
+        }));
+      }
+      Exception startException = null;
+      for (Future<MiniYBCluster> cluster : isolatedClusters) {
+        try {
+          clusters.add(cluster.get());
+        } catch (ExecutionException ex) {
+          startException = ex;
+        }
+      }
+      if (startException != null) {
+        throw startException;
+      }
+
+      File outputDir = new File(new File(TestUtils.getBaseTmpDir(), "pgregress_output"), schedule);
+      List<PgRegressRunner> runners = new ArrayList<>();
+      for (int i = 0; i < shards.size(); i++) {
+        final int tserverIndex = 0;
+        InetSocketAddress postgresAddress =
+            clusters.get(i).getPostgresContactPoints().get(tserverIndex);
+        PgRegressRunner pgRegress = new PgRegressRunner(
+            inputDir, schedule + " shard " + i, new File(outputDir, "shard_" + i),
+            0 /* maxRuntimeMillis */);
+        pgRegress.setCopyDiffsBack(false);
+        ProcessBuilder procBuilder = new PgRegressBuilder(PgRegressBuilder.PG_REGRESS_EXECUTABLE)
+            .setDirs(inputDir, pgRegress.outputDir())
+            .setSchedule(schedule, regressSchedule.toLines(shards.get(i)))
+            .setHost(postgresAddress.getHostName())
+            .setPort(postgresAddress.getPort())
+            .setUser(DEFAULT_PG_USER)
+            .setDatabase(DEFAULT_PG_DATABASE)
+            .setEnvVars(getPgRegressEnvVars(clusters.get(i).getMasterAddresses()))
+            .getProcessBuilder();
+        pgRegress.start(procBuilder);
+        runners.add(pgRegress);
+      }
+
+      // Each test has its own results file, the failures are reported in the order of the shards.
+      List<String> failures = new ArrayList<>();
+      Map<String, Long> testTimesMillis = new TreeMap<>();
+      for (PgRegressRunner pgRegress : runners) {
+        try {
+          pgRegress.stop();
+        } catch (AssertionError e) {
+          failures.add(e.getMessage());
+        }
+        testTimesMillis.putAll(pgRegress.getTestTimesMillis());
+      }
+      PgRegressShards.writeTestTimes(schedule, testTimesMillis);
+      if (!failures.isEmpty()) {
+        throw new AssertionError(String.join("\n", failures));
+      }
+    } finally {
+      executor.shutdownNow();
+      for (MiniYBCluster cluster : clusters.subList(1, clusters.size())) {
+        cluster.shutdown();
+      }
+    }
+  }
+
   public static void perfAssertLessThan(double time1, double time2) {
     if (TestUtils.isReleaseBuild()) {
       assertLessThan(time1, time2);
@@ -256,10 +350,25 @@ public class BasePgSQLTest extends BaseMiniClusterTest {
     // Postgres bin directory.
     pgBinDir = new File(TestUtils.getBuildRootDir(), "postgres/bin");
 
+    waitForInitDb(miniCluster);
+
+    if (connection != null) {
+      LOG.info("Closing previous connection");
+      connection.close();
+      connection = null;
+    }
+
+    createTestRole(getConnectionBuilder());
+
+    connection = getConnectionBuilder().connect();
+    pgInitialized = true;
+  }
+
+  private static void waitForInitDb(MiniYBCluster cluster) throws Exception {
     LOG.info("Waiting for initdb to complete on master");
     TestUtils.waitFor(
         () -> {
-          IsInitDbDoneResponse initdbStatusResp = miniCluster.getClient().getIsInitDbDone();
+          IsInitDbDoneResponse initdbStatusResp = cluster.getClient().getIsInitDbDone();
           if (initdbStatusResp.hasError()) {
             throw new RuntimeException(
                 "Could not request initdb status: " + initdbStatusResp.getServerError());
@@ -272,22 +381,14 @@ public class BasePgSQLTest extends BaseMiniClusterTest {
         },
         600000);
     LOG.info("initdb has completed successfully on master");
+  }
 
-    if (connection != null) {
-      LOG.info("Closing previous connection");
-      connection.close();
-      connection = null;
-    }
-
-    // Create test role.
-    try (Connection initialConnection = getConnectionBuilder().withUser(DEFAULT_PG_USER).connect();
+  private static void createTestRole(ConnectionBuilder connectionBuilder) throws Exception {
+    try (Connection initialConnection = connectionBuilder.withUser(DEFAULT_PG_USER).connect();
          Statement statement = initialConnection.createStatement()) {
       statement.execute(
           "CREATE ROLE " + TEST_PG_USER + " SUPERUSER CREATEROLE CREATEDB BYPASSRLS LOGIN");
     }
-
-    connection = getConnectionBuilder().connect();
-    pgInitialized = true;
   }
 
   public void restartClusterWithFlags(
@@ -326,6 +427,10 @@ public class BasePgSQLTest extends BaseMiniClusterTest {
   }
 
   protected Map<String, String> getPgRegressEnvVars() {
+    return getPgRegressEnvVars(masterAddresses);
+  }
+
+  private Map<String, String> getPgRegressEnvVars(String masterAddresses) {
     Map<String, String> pgRegressEnvVars = new TreeMap<>();
     pgRegressEnvVars.put(MASTERS_FLAG, masterAddresses);
     pgRegressEnvVars.put(YB_ENABLED_IN_PG_ENV_VAR_NAME, "1");
@@ -17,12 +17,11 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.yb.client.TestUtils;
 
-import java.io.BufferedReader;
 import java.io.File;
-import java.io.FileReader;
 import java.io.FileWriter;
 import java.io.IOException;
 import java.io.PrintWriter;
+import java.nio.file.Files;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
@@ -117,36 +116,17 @@ public class PgRegressBuilder {
   }
 
   public PgRegressBuilder setSchedule(String schedule) {
-    if (inputDir == null) {
-      throw new RuntimeException("inputDir should not be null");
-    }
-    if (outputDir == null) {
-      throw new RuntimeException("outputDir should not be null");
-    }
+    checkDirs();
 
     File scheduleInputFile = new File(inputDir, schedule);
 
     if (isRegressExecutable()) {
-      File scheduleOutputFile = new File(outputDir, schedule);
-
-      // Copy the schedule file, replacing some lines based on the operating system.
-      try (BufferedReader scheduleReader = new BufferedReader(new FileReader(scheduleInputFile));
-          PrintWriter scheduleWriter = new PrintWriter(new FileWriter(scheduleOutputFile))) {
-        String line;
-        while ((line = scheduleReader.readLine()) != null) {
-          line = line.trim();
-          if (line.equals("test: yb_pg_inet") && !TestUtils.IS_LINUX) {
-            // We only support IPv6-specific tests in yb_pg_inet.sql on Linux, not on macOS.
-            line = "test: yb_pg_inet_ipv4only";
-          }
-          LOG.info("Schedule output line: " + line);
-          scheduleWriter.println(line);
-        }
+      try {
+        writeSchedule(schedule, Files.readAllLines(scheduleInputFile.toPath()));
       } catch (IOException ex) {
-        LOG.error("Failed to write schedule to " + outputDir);
+        LOG.error("Failed to read schedule from " + scheduleInputFile);
         throw new RuntimeException(ex);
       }
-      args.add("--schedule=" + new File(outputDir, schedule));
     } else {
       args.add("--schedule=" + scheduleInputFile);
     }
@@ -154,6 +134,49 @@ public class PgRegressBuilder {
     return this;
   }
 
+  /**
+   * Runs the given lines of a schedule instead of the schedule file in inputDir, like the groups
+   * of a shard of it.
+   */
+  public PgRegressBuilder setSchedule(String schedule, List<String> scheduleLines) {
+    checkDirs();
+    if (!isRegressExecutable()) {
+      throw new RuntimeException("Schedule lines are only supported by pg_regress");
+    }
+    writeSchedule(schedule, scheduleLines);
+    return this;
+  }
+
+  private void checkDirs() {
+    if (inputDir == null) {
+      throw new RuntimeException("inputDir should not be null");
+    }
+    if (outputDir == null) {
+      throw new RuntimeException("outputDir should not be null");
+    }
+  }
+
+  private void writeSchedule(String schedule, List<String> scheduleLines) {
+    File scheduleOutputFile = new File(outputDir, schedule);
+
+    // Copy the schedule file, replacing some lines based on the operating system.
+    try (PrintWriter scheduleWriter = new PrintWriter(new FileWriter(scheduleOutputFile))) {
+      for (String line : scheduleLines) {
+        line = line.trim();
+        if (line.equals("test: yb_pg_inet") && !TestUtils.IS_LINUX) {
+          // We only support IPv6-specific tests in yb_pg_inet.sql on Linux, not on macOS.
+          line = "test: yb_pg_inet_ipv4only";
+        }
+        LOG.info("Schedule output line: " + line);
+        scheduleWriter.println(line);
+      }
+    } catch (IOException ex) {
+      LOG.error("Failed to write schedule to " + outputDir);
+      throw new RuntimeException(ex);
+    }
+    args.add("--schedule=" + scheduleOutputFile);
+  }
+
   public PgRegressBuilder setHost(String host) {
     args.add("--host=" + host);
     return this;
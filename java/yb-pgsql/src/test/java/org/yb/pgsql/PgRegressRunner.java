@@ -27,6 +27,7 @@ import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
 import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ConcurrentSkipListSet;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
@@ -51,23 +52,44 @@ public class PgRegressRunner {
 
   private Set<String> failedTests = new ConcurrentSkipListSet<>();
 
+  // Run time of every test, the tests of a parallel group all taking the time of the group.
+  private Map<String, Long> testTimesMillis = new ConcurrentHashMap<>();
+  private volatile long lastResultTimeMillis;
+  private volatile long parallelGroupMillis = -1;
+
   private long maxRuntimeMillis;
   private long startTimeMillis;
 
+  // Whether regression.diffs is copied back to the input dir, which shards of a schedule don't do
+  // to not overwrite each other's.
+  private boolean copyDiffsBack = true;
+
   public PgRegressRunner(File pgRegressInputDir, String schedule, long maxRuntimeMillis) {
+    this(pgRegressInputDir, schedule,
+         new File(new File(TestUtils.getBaseTmpDir(), "pgregress_output"), schedule),
+         maxRuntimeMillis);
+  }
+
+  public PgRegressRunner(File pgRegressInputDir, String label, File pgRegressOutputDir,
+                         long maxRuntimeMillis) {
     this.pgRegressInputDir = pgRegressInputDir;
 
-    this.label = String.format("using schedule %s at %s", schedule, pgRegressInputDir);
+    this.label = String.format("using schedule %s at %s", label, pgRegressInputDir);
     this.maxRuntimeMillis = maxRuntimeMillis;
 
-    File testDir = new File(TestUtils.getBaseTmpDir(), "pgregress_output");
-    pgRegressOutputDir = new File(testDir, schedule);
+    this.pgRegressOutputDir = pgRegressOutputDir;
     regressionDiffsPath = new File(pgRegressOutputDir, "regression.diffs");
   }
 
   private Pattern FAILED_TEST_LINE_RE =
       Pattern.compile("^test\\s+([a-zA-Z0-9_-]+)\\s+[.]+\\s+FAILED\\s*$");
 
+  // The result of a test, alone or in a parallel group.
+  private Pattern TEST_RESULT_LINE_RE =
+      Pattern.compile("^(?:test)?\\s+([a-zA-Z0-9_-]+)\\s+[.]+\\s+(ok|FAILED|failed \\(ignored\\))");
+
+  private Pattern PARALLEL_GROUP_LINE_RE = Pattern.compile("^parallel group \\(");
+
   private LogErrorListener createLogErrorListener() {
     return new ExternalDaemonLogErrorListener("pg_regress with pid " + pgRegressPid) {
       @Override
@@ -77,14 +99,49 @@ public class PgRegressRunner {
         if (matcher.matches()) {
           failedTests.add(matcher.group(1));
         }
+        recordTestTime(line);
       }
     };
   }
 
+  /**
+   * pg_regress prints the result line of a test once it is done, and the line of a parallel group
+   * once all its tests are done, before their result lines.
+   */
+  private void recordTestTime(String line) {
+    long now = System.currentTimeMillis();
+    if (PARALLEL_GROUP_LINE_RE.matcher(line).find()) {
+      parallelGroupMillis = now - lastResultTimeMillis;
+      lastResultTimeMillis = now;
+      return;
+    }
+    Matcher matcher = TEST_RESULT_LINE_RE.matcher(line);
+    if (!matcher.find()) {
+      return;
+    }
+    if (line.startsWith("test")) {
+      parallelGroupMillis = -1;
+      testTimesMillis.put(matcher.group(1), now - lastResultTimeMillis);
+      lastResultTimeMillis = now;
+    } else if (parallelGroupMillis >= 0) {
+      testTimesMillis.put(matcher.group(1), parallelGroupMillis);
+      lastResultTimeMillis = now;
+    }
+  }
+
   public File outputDir() {
     return pgRegressOutputDir;
   }
 
+  /** Returns the run time of the tests which completed, by test name. */
+  public Map<String, Long> getTestTimesMillis() {
+    return new TreeMap<>(testTimesMillis);
+  }
+
+  void setCopyDiffsBack(boolean copyDiffsBack) {
+    this.copyDiffsBack = copyDiffsBack;
+  }
+
   public void start(ProcessBuilder procBuilder)
         throws IOException, NoSuchFieldException, IllegalAccessException {
     if (regressionDiffsPath.exists()) {
@@ -92,6 +149,7 @@ public class PgRegressRunner {
     }
 
     startTimeMillis = System.currentTimeMillis();
+    lastResultTimeMillis = startTimeMillis;
     pgRegressProc = procBuilder.start();
     pgRegressPid = ProcessUtil.pidOfProcess(pgRegressProc);
     String logPrefix = "pg_regress|pid" + pgRegressPid;
@@ -156,7 +214,7 @@ public class PgRegressRunner {
       ).forEach(pathToCopy -> {
         String fileName = pathToCopy.toFile().getName();
         String relPathStr = pgRegressOutputPath.relativize(pathToCopy).toString();
-        if ((fileName.endsWith(".out") || fileName.endsWith(".diffs")) &&
+        if ((fileName.endsWith(".out") || (copyDiffsBack && fileName.endsWith(".diffs"))) &&
             !relPathStr.startsWith("expected/")) {
           File srcFile = pathToCopy.toFile();
           File destFile = new File(pgRegressInputDir, relPathStr);
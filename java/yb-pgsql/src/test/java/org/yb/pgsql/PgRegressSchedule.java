@@ -0,0 +1,66 @@
+// Copyright (c) YugaByte, Inc.
+//
+// Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+// in compliance with the License.  You may obtain a copy of the License at
+//
+// http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software distributed under the License
+// is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+// or implied.  See the License for the specific language governing permissions and limitations
+// under the License.
+//
+package org.yb.pgsql;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * The groups of a pg_regress schedule, one for every "test:" line, whose tests pg_regress runs
+ * in parallel. The other lines, like "ignore:", apply to the whole schedule.
+ */
+public class PgRegressSchedule {
+
+  private static final String TEST_PREFIX = "test:";
+
+  private final List<List<String>> groups = new ArrayList<>();
+  private final List<String> otherLines = new ArrayList<>();
+
+  public PgRegressSchedule(List<String> lines) {
+    for (String line : lines) {
+      line = line.trim();
+      if (line.isEmpty() || line.startsWith("#")) {
+        continue;
+      }
+      if (line.startsWith(TEST_PREFIX)) {
+        String tests = line.substring(TEST_PREFIX.length()).trim();
+        groups.add(Collections.unmodifiableList(Arrays.asList(tests.split("\\s+"))));
+      } else {
+        otherLines.add(line);
+      }
+    }
+  }
+
+  public static PgRegressSchedule read(File scheduleFile) throws IOException {
+    return new PgRegressSchedule(Files.readAllLines(scheduleFile.toPath(), StandardCharsets.UTF_8));
+  }
+
+  public List<List<String>> getGroups() {
+    return Collections.unmodifiableList(groups);
+  }
+
+  /** Returns the lines of a schedule running the given groups, in the order of this schedule. */
+  public List<String> toLines(Collection<Integer> groupIndexes) {
+    List<String> lines = new ArrayList<>(otherLines);
+    groupIndexes.stream().sorted().forEach(
+        i -> lines.add(TEST_PREFIX + " " + String.join(" ", groups.get(i))));
+    return lines;
+  }
+}
@@ -0,0 +1,131 @@
+// Copyright (c) YugaByte, Inc.
+//
+// Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+// in compliance with the License.  You may obtain a copy of the License at
+//
+// http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software distributed under the License
+// is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+// or implied.  See the License for the specific language governing permissions and limitations
+// under the License.
+//
+package org.yb.pgsql;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.yb.client.TestUtils;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+/**
+ * Splits the groups of a pg_regress schedule into shards of about the same run time, using the
+ * run times of the tests recorded by the previous runs. The groups of a shard keep their order in
+ * the schedule, so a shard runs the same way for the same recorded times.
+ */
+public class PgRegressShards {
+  private static final Logger LOG = LoggerFactory.getLogger(PgRegressShards.class);
+
+  // Kept in the build root, across the runs of the tests.
+  private static final File TEST_TIMES_DIR =
+      new File(TestUtils.getBuildRootDir(), "pg_regress_test_times");
+
+  // The time taken for a test which never ran, when no test of the schedule ran either.
+  private static final long DEFAULT_TEST_TIME_MILLIS = 1000;
+
+  /**
+   * Returns the groups of each shard by their index in the schedule. There are fewer shards than
+   * requested if there are fewer groups.
+   */
+  public static List<List<Integer>> plan(
+      List<List<String>> groups, int numShards, Map<String, Long> testTimesMillis) {
+    long defaultMillis = (long) testTimesMillis.values().stream()
+        .mapToLong(Long::longValue).average().orElse(DEFAULT_TEST_TIME_MILLIS);
+    // The tests of a group run in parallel.
+    long[] groupMillis = groups.stream()
+        .mapToLong(tests -> tests.stream()
+            .mapToLong(test -> testTimesMillis.getOrDefault(test, defaultMillis))
+            .max().orElse(0))
+        .toArray();
+
+    numShards = Math.max(1, Math.min(numShards, groups.size()));
+    List<List<Integer>> shards = new ArrayList<>();
+    long[] shardMillis = new long[numShards];
+    for (int i = 0; i < numShards; i++) {
+      shards.add(new ArrayList<>());
+    }
+    // The longest groups first, each to the shard with the least time so far.
+    List<Integer> byTime = IntStream.range(0, groups.size()).boxed()
+        .sorted(Comparator.comparingLong((Integer i) -> -groupMillis[i])
+            .thenComparingInt(i -> i))
+        .collect(Collectors.toList());
+    for (int group : byTime) {
+      int shard = 0;
+      for (int i = 1; i < numShards; i++) {
+        if (shardMillis[i] < shardMillis[shard]) {
+          shard = i;
+        }
+      }
+      shards.get(shard).add(group);
+      shardMillis[shard] += groupMillis[group];
+    }
+    for (List<Integer> shard : shards) {
+      Collections.sort(shard);
+    }
+    return shards;
+  }
+
+  private static File getTestTimesFile(String schedule) {
+    return new File(TEST_TIMES_DIR, schedule + ".times");
+  }
+
+  /** Returns the run times of the tests of the schedule recorded by the previous runs. */
+  public static Map<String, Long> readTestTimes(String schedule) {
+    Map<String, Long> testTimesMillis = new TreeMap<>();
+    File file = getTestTimesFile(schedule);
+    if (!file.exists()) {
+      return testTimesMillis;
+    }
+    try {
+      for (String line : Files.readAllLines(file.toPath(), StandardCharsets.UTF_8)) {
+        String[] parts = line.trim().split("\\s+");
+        if (parts.length == 2) {
+          testTimesMillis.put(parts[0], Long.parseLong(parts[1]));
+        }
+      }
+    } catch (IOException | NumberFormatException ex) {
+      LOG.warn("Failed to read test times from " + file, ex);
+    }
+    return testTimesMillis;
+  }
+
+  /** Records the run times of tests of the schedule, keeping those of the other tests. */
+  public static void writeTestTimes(String schedule, Map<String, Long> newTestTimesMillis) {
+    Map<String, Long> testTimesMillis = readTestTimes(schedule);
+    testTimesMillis.putAll(newTestTimesMillis);
+    File file = getTestTimesFile(schedule);
+    if (!TEST_TIMES_DIR.isDirectory() && !TEST_TIMES_DIR.mkdirs()) {
+      LOG.warn("Failed to create directory " + TEST_TIMES_DIR);
+      return;
+    }
+    try (PrintWriter writer = new PrintWriter(file, StandardCharsets.UTF_8.name())) {
+      for (Map.Entry<String, Long> entry : testTimesMillis.entrySet()) {
+        writer.println(entry.getKey() + " " + entry.getValue());
+      }
+    } catch (IOException ex) {
+      LOG.warn("Failed to write test times to " + file, ex);
+    }
+  }
+}
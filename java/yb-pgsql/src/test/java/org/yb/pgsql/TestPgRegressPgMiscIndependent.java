@@ -40,6 +40,7 @@ public class TestPgRegressPgMiscIndependent extends BasePgSQLTest {
 
   @Test
   public void testPgRegressPgMiscIndependent() throws Exception {
-    runPgRegressTest("yb_pg_misc_independent_serial_schedule");
+    // The tests of the schedule don't depend on each other.
+    runPgRegressTestSharded("yb_pg_misc_independent_serial_schedule", 3 /* numShards */);
   }
 }
@@ -0,0 +1,76 @@
+// Copyright (c) YugaByte, Inc.
+//
+// Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+// in compliance with the License.  You may obtain a copy of the License at
+//
+// http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software distributed under the License
+// is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+// or implied.  See the License for the specific language governing permissions and limitations
+// under the License.
+//
+package org.yb.pgsql;
+
+import static org.yb.AssertionWrappers.assertEquals;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import com.google.common.collect.ImmutableMap;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.yb.YBTestRunner;
+
+@RunWith(value=YBTestRunner.class)
+public class TestPgRegressShards {
+
+  private static final PgRegressSchedule SCHEDULE = new PgRegressSchedule(Arrays.asList(
+      "# A comment",
+      "test: t0",
+      "",
+      "test: t1 t2",
+      "ignore: t3",
+      "test: t3",
+      "test: t4",
+      "test: t5"));
+
+  @Test
+  public void testSchedule() {
+    assertEquals(
+        Arrays.asList(
+            Arrays.asList("t0"), Arrays.asList("t1", "t2"), Arrays.asList("t3"),
+            Arrays.asList("t4"), Arrays.asList("t5")),
+        SCHEDULE.getGroups());
+    assertEquals(Arrays.asList("ignore: t3", "test: t1 t2", "test: t4"),
+                 SCHEDULE.toLines(Arrays.asList(3, 1)));
+  }
+
+  @Test
+  public void testPlanWithoutTimes() {
+    // The groups are spread evenly, keeping their order in the schedule.
+    assertEquals(
+        Arrays.asList(Arrays.asList(0, 2, 4), Arrays.asList(1, 3)),
+        PgRegressShards.plan(SCHEDULE.getGroups(), 2, Collections.emptyMap()));
+  }
+
+  @Test
+  public void testPlanWithTimes() {
+    // t1 and t2 run in parallel, the group takes as long as t2. The time of t5 is unknown, and
+    // taken as the average.
+    List<List<Integer>> shards = PgRegressShards.plan(
+        SCHEDULE.getGroups(), 3,
+        ImmutableMap.of("t0", 10L, "t1", 5L, "t2", 90L, "t3", 60L, "t4", 35L));
+    assertEquals(
+        Arrays.asList(Arrays.asList(1), Arrays.asList(0, 2), Arrays.asList(3, 4)),
+        shards);
+  }
+
+  @Test
+  public void testPlanMoreShardsThanGroups() {
+    assertEquals(
+        Arrays.asList(Arrays.asList(0), Arrays.asList(1)),
+        PgRegressShards.plan(SCHEDULE.getGroups().subList(0, 2), 4, Collections.emptyMap()));
+  }
+}
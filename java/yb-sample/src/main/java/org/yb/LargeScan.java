@@ -12,7 +12,12 @@ import org.slf4j.LoggerFactory;
 
 import java.io.*;
 import java.lang.InterruptedException;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 import java.util.stream.Collectors;
 
 import java.sql.Connection;
@@ -25,25 +30,57 @@ import java.sql.Statement;
 // This module insert a larger number of rows and query them in smaller batches.
 // To install and execute
 //   mvn install exec:java -Dexec.mainClass=org.yb.sample.LargeScan
+// The table is loaded with -DrowCount=<rows> -DnumLoaders=<threads> when it does not exist.
 public class LargeScan {
   private static final Logger LOG = LoggerFactory.getLogger(LargeScan.class);
 
-  private static int rowCount = 4000;
+  private static int rowCount = Integer.getInteger("rowCount", 4000);
 
-  private static void createTableUsers(Statement stmt, YbSqlUtil yb) throws Exception {
-    yb.exec(stmt,
-            "CREATE TABLE IF NOT EXISTS users" +
+  // Number of threads loading the table "users", each with its own connection.
+  private static int numLoaders = Integer.getInteger("numLoaders", 1);
+
+  // Creates the table "users" and loads rowCount rows into it, the loaders inserting disjoint
+  // ranges of the rows in parallel.
+  static void createTableUsers(YbSqlUtil yb, int rowCount, int numLoaders) throws Exception {
+    yb.exec("CREATE TABLE IF NOT EXISTS users" +
             "  (id text, ename text, age int, city text, about_me text, PRIMARY KEY(id, ename))");
 
-    String insertFormat = "INSERT INTO users VALUES ('%s', '%s', %d, '%s', '%s')";
-    for (int iter = 0; iter < rowCount; iter++) {
-      String id = String.format("user-%04096d", iter);
-      String ename = String.format("name-%d", iter);
-      int age = 20 + iter%50;
-      String city = String.format("city-%d", iter%1000);
-      String aboutMe = String.format("about_me-%d", iter);
+    ExecutorService executor = Executors.newFixedThreadPool(numLoaders);
+    try {
+      List<Future<Void>> loaders = new ArrayList<>();
+      for (int i = 0; i < numLoaders; i++) {
+        int begin = (int) ((long) rowCount * i / numLoaders);
+        int end = (int) ((long) rowCount * (i + 1) / numLoaders);
+        loaders.add(executor.submit(() -> {
+          loadUsers(begin, end);
+          return null;
+        }));
+      }
+      for (Future<Void> loader : loaders) {
+        loader.get();
+      }
+    } catch (ExecutionException e) {
+      throw new Exception("Failed to load users. " + e.getCause().getMessage(), e.getCause());
+    } finally {
+      executor.shutdownNow();
+    }
+    LOG.info(String.format("Loaded %d rows with %d loaders", rowCount, numLoaders));
+  }
 
-      yb.exec(stmt, String.format(insertFormat, id, ename, age, city, aboutMe));
+  private static void loadUsers(int begin, int end) throws Exception {
+    YbSqlUtil yb = new YbSqlUtil();
+    try (Connection cxn = yb.connectLocal();
+         Statement stmt = cxn.createStatement()) {
+      String insertFormat = "INSERT INTO users VALUES ('%s', '%s', %d, '%s', '%s')";
+      for (int iter = begin; iter < end; iter++) {
+        String id = String.format("user-%04096d", iter);
+        String ename = String.format("name-%d", iter);
+        int age = 20 + iter%50;
+        String city = String.format("city-%d", iter%1000);
+        String aboutMe = String.format("about_me-%d", iter);
+
+        yb.exec(stmt, String.format(insertFormat, id, ename, age, city, aboutMe));
+      }
     }
   }
 
@@ -62,8 +99,7 @@ public class LargeScan {
     try {
       // Setup large table "users" if needed.
       if (!yb.tableExists("users")) {
-        Statement createStmt = cxn.createStatement();
-        createTableUsers(createStmt, yb);
+        createTableUsers(yb, rowCount, numLoaders);
       }
 
       // Start transaction.
@@ -0,0 +1,177 @@
+// Copyright (c) YugaByte, Inc.
+//
+// Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+// in compliance with the License.  You may obtain a copy of the License at
+//
+// http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software distributed under the License
+// is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+// or implied.  See the License for the specific language governing permissions and limitations
+// under the License.
+//
+package org.yb.sample;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+
+// ParallelScan.
+// This module scans the table "users" of LargeScan with several workers, splitting it into ranges
+// of yb_hash_code(id) which the workers take one at a time. It reports the rows per second, the
+// latency percentiles of the ranges and how skewed the ranges and the workers are.
+// To install and execute
+//   mvn install exec:java -Dexec.mainClass=org.yb.sample.ParallelScan \
+//       -DnumWorkers=4 -DnumRanges=64 -DfetchSize=100
+// The table is loaded with -DrowCount=<rows> -DnumLoaders=<threads> when it does not exist.
+public class ParallelScan {
+  private static final Logger LOG = LoggerFactory.getLogger(ParallelScan.class);
+
+  // yb_hash_code() returns values in [0, 65536).
+  private static final int NUM_HASH_CODES = 65536;
+
+  private static int numWorkers = Integer.getInteger("numWorkers", 4);
+  private static int numRanges = Integer.getInteger("numRanges", 64);
+  private static int fetchSize = Integer.getInteger("fetchSize", 100);
+  private static int rowCount = Integer.getInteger("rowCount", 4000);
+  private static int numLoaders = Integer.getInteger("numLoaders", 4);
+
+  // The scan of a range of hash codes, as done by a worker.
+  private static class RangeScan {
+    final int lowerHashCode;
+    final int upperHashCode;
+    long rows;
+    long latencyNanos;
+
+    RangeScan(int lowerHashCode, int upperHashCode) {
+      this.lowerHashCode = lowerHashCode;
+      this.upperHashCode = upperHashCode;
+    }
+  }
+
+  // The rows and the time spent scanning by a worker.
+  private static class WorkerStats {
+    long rows;
+    long busyNanos;
+  }
+
+  // Scans ranges from the queue until it is empty, using its own connection.
+  private static WorkerStats scanRanges(ConcurrentLinkedQueue<RangeScan> ranges) throws Exception {
+    WorkerStats stats = new WorkerStats();
+    YbSqlUtil yb = new YbSqlUtil();
+    try (Connection cxn = yb.connectLocal()) {
+      // The fetch size is only honored within a transaction.
+      cxn.setAutoCommit(false);
+      try (PreparedStatement stmt = cxn.prepareStatement(
+               "SELECT id, ename, age, city FROM users" +
+               "  WHERE yb_hash_code(id) >= ? AND yb_hash_code(id) < ?")) {
+        stmt.setFetchSize(fetchSize);
+        RangeScan range;
+        while ((range = ranges.poll()) != null) {
+          long startNanos = System.nanoTime();
+          stmt.setInt(1, range.lowerHashCode);
+          stmt.setInt(2, range.upperHashCode);
+          try (ResultSet rs = stmt.executeQuery()) {
+            while (rs.next()) {
+              range.rows++;
+            }
+          }
+          cxn.commit();
+          range.latencyNanos = System.nanoTime() - startNanos;
+          stats.rows += range.rows;
+          stats.busyNanos += range.latencyNanos;
+        }
+      }
+    }
+    return stats;
+  }
+
+  // Returns the value below which the given percentage of the sorted values fall.
+  private static long percentile(long[] sortedValues, double percent) {
+    int rank = (int) Math.ceil(percent / 100 * sortedValues.length);
+    return sortedValues[Math.max(0, rank - 1)];
+  }
+
+  // Returns the ratio of the largest value to the mean, 1 when the values are even.
+  private static double skew(long[] values) {
+    double mean = Arrays.stream(values).average().orElse(0);
+    return mean == 0 ? 1 : Arrays.stream(values).max().getAsLong() / mean;
+  }
+
+  private static void report(List<RangeScan> ranges, List<WorkerStats> workers, long elapsedNanos) {
+    long totalRows = workers.stream().mapToLong(worker -> worker.rows).sum();
+    LOG.info(String.format("Scanned %d rows in %d ms with %d workers, fetch size %d: %.0f rows/sec",
+                           totalRows, elapsedNanos / 1000000, workers.size(), fetchSize,
+                           totalRows * 1e9 / Math.max(1, elapsedNanos)));
+
+    long[] latencies = ranges.stream().mapToLong(range -> range.latencyNanos).sorted().toArray();
+    LOG.info(String.format("Latency of %d ranges: p50 = %.2f ms, p90 = %.2f ms, p99 = %.2f ms," +
+                           " max = %.2f ms",
+                           ranges.size(), percentile(latencies, 50) / 1e6,
+                           percentile(latencies, 90) / 1e6, percentile(latencies, 99) / 1e6,
+                           latencies[latencies.length - 1] / 1e6));
+
+    LOG.info(String.format("Skew (max / mean): range rows = %.2f, range latency = %.2f," +
+                           " worker rows = %.2f, worker time = %.2f",
+                           skew(ranges.stream().mapToLong(range -> range.rows).toArray()),
+                           skew(latencies),
+                           skew(workers.stream().mapToLong(worker -> worker.rows).toArray()),
+                           skew(workers.stream().mapToLong(worker -> worker.busyNanos).toArray())));
+  }
+
+  public static void main(String[] args) throws Exception {
+    if (numWorkers < 1 || numRanges < 1 || numRanges > NUM_HASH_CODES || fetchSize < 0) {
+      throw new IllegalArgumentException(String.format(
+          "Invalid numWorkers = %d, numRanges = %d or fetchSize = %d",
+          numWorkers, numRanges, fetchSize));
+    }
+
+    YbSqlUtil yb = new YbSqlUtil();
+
+    // Connect to local YB database.
+    yb.connectLocal();
+
+    // Setup large table "users" if needed.
+    if (!yb.tableExists("users")) {
+      LargeScan.createTableUsers(yb, rowCount, numLoaders);
+    }
+
+    List<RangeScan> ranges = new ArrayList<>();
+    for (int i = 0; i < numRanges; i++) {
+      ranges.add(new RangeScan(NUM_HASH_CODES * i / numRanges,
+                               NUM_HASH_CODES * (i + 1) / numRanges));
+    }
+    ConcurrentLinkedQueue<RangeScan> pendingRanges = new ConcurrentLinkedQueue<>(ranges);
+
+    ExecutorService executor = Executors.newFixedThreadPool(numWorkers);
+    try {
+      long startNanos = System.nanoTime();
+      List<Future<WorkerStats>> futures = new ArrayList<>();
+      for (int i = 0; i < numWorkers; i++) {
+        futures.add(executor.submit(() -> scanRanges(pendingRanges)));
+      }
+      List<WorkerStats> workers = new ArrayList<>();
+      for (Future<WorkerStats> future : futures) {
+        workers.add(future.get());
+      }
+      report(ranges, workers, System.nanoTime() - startNanos);
+
+    } catch (ExecutionException e) {
+      LOG.info("Failed to execute ParallelScan. " + e.getCause().getMessage());
+    } finally {
+      executor.shutdownNow();
+    }
+  }
+}
@@ -29,10 +29,14 @@ import static com.yugabyte.yw.cloud.PublicCloudConstants.VOLUME_API_NAME_IO1;
 import static com.yugabyte.yw.cloud.PublicCloudConstants.VOLUME_TYPE_PROVISIONED_IOPS;
 import static play.mvc.Http.Status.INTERNAL_SERVER_ERROR;
 
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
 import com.fasterxml.jackson.databind.JsonNode;
-import com.fasterxml.jackson.databind.ObjectMapper;
+import com.google.common.collect.ImmutableSet;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
 import com.google.inject.Inject;
 import com.google.inject.Singleton;
+import com.typesafe.config.Config;
 import com.yugabyte.yw.cloud.PublicCloudConstants.Architecture;
 import com.yugabyte.yw.common.ConfigHelper;
 import com.yugabyte.yw.common.PlatformServiceException;
@@ -40,14 +44,27 @@ import com.yugabyte.yw.models.InstanceType;
 import com.yugabyte.yw.models.InstanceType.InstanceTypeDetails;
 import com.yugabyte.yw.models.InstanceType.VolumeType;
 import com.yugabyte.yw.models.PriceComponent;
+import com.yugabyte.yw.models.PriceComponentKey;
 import com.yugabyte.yw.models.Provider;
 import com.yugabyte.yw.models.Region;
+import io.ebean.Ebean;
+import io.ebean.Transaction;
 import java.io.IOException;
 import java.io.InputStream;
+import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
 import java.util.Map;
+import java.util.Set;
 import java.util.UUID;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 import org.apache.commons.compress.archivers.tar.TarArchiveEntry;
 import org.apache.commons.compress.archivers.tar.TarArchiveInputStream;
 import org.apache.commons.compress.compressors.gzip.GzipCompressorInputStream;
@@ -58,16 +75,33 @@ import play.libs.Json;
 @Singleton
 public class AWSInitializer extends AbstractInitializer {
 
+  static final String PRICING_PARALLELISM = "yb.aws.pricing_parallelism";
+
   private static final boolean enableVerboseLogging = false;
 
+  // Families of the products which are priced or become instance types, the others are skipped
+  // while parsing.
+  private static final Set<String> PRODUCT_FAMILIES =
+      ImmutableSet.of(
+          PRODUCT_FAMILY_COMPUTE_INSTANCE,
+          PRODUCT_FAMILY_STORAGE,
+          PRODUCT_FAMILY_SYSTEM_OPERATION,
+          PRODUCT_FAMILY_PROVISIONED_THROUGHPUT);
+
   @Inject Environment environment;
 
   @Inject ConfigHelper configHelper;
 
+  @Inject Config config;
+
   /**
    * Entry point to initialize AWS. This will create the various InstanceTypes and their
    * corresponding PriceComponents per Region for AWS as well as the EBS pricing info.
    *
+   * <p>The pricing files of the regions are imported in parallel, up to
+   * yb.aws.pricing_parallelism at a time, each storing the PriceComponents of its region in one
+   * transaction. The InstanceTypes found in all the regions are stored once they are all done.
+   *
    * @param customerUUID UUID of the Customer.
    * @param providerUUID UUID of the Customer's configured AWS.
    */
@@ -78,71 +112,205 @@ public class AWSInitializer extends AbstractInitializer {
 
     LOG.info("Initializing AWS instance type and pricing info.");
     LOG.info("This operation may take a few minutes...");
+    // The products of the pricing files name their region, rather than its code.
+    Map<String, Region> regionsByName =
+        Region.getByProvider(provider.uuid)
+            .stream()
+            .collect(Collectors.toMap(region -> region.name, Function.identity(), (r1, r2) -> r1));
+    List<Region> regions = new ArrayList<>(provider.regions);
+    if (regions.isEmpty()) {
+      LOG.info("Successfully finished parsing pricing info.");
+      return;
+    }
+    ExecutorService executor =
+        Executors.newFixedThreadPool(
+            Math.min(config.getInt(PRICING_PARALLELISM), regions.size()),
+            new ThreadFactoryBuilder().setNameFormat("AWS-Pricing-%d").build());
+    try {
+      List<Future<List<Map<String, String>>>> futures = new ArrayList<>();
+      for (Region region : regions) {
+        futures.add(
+            executor.submit(() -> initializeRegion(context.provider, regionsByName, region)));
+      }
+      // Collected in the order of the regions, so the result does not depend on which region
+      // finishes first.
+      for (Future<List<Map<String, String>>> future : futures) {
+        context.availableInstances.addAll(future.get());
+      }
+    } catch (ExecutionException e) {
+      if (e.getCause() instanceof RuntimeException) {
+        throw (RuntimeException) e.getCause();
+      }
+      throw new RuntimeException(e.getCause());
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new RuntimeException("Interrupted while importing AWS pricing info", e);
+    } finally {
+      executor.shutdownNow();
+    }
+
+    // Create the instance types.
+    storeInstanceTypeInfoToDB(context);
+    LOG.info("Successfully finished parsing pricing info.");
+  }
+
+  /**
+   * Imports the pricing file of a region: stores the PriceComponents of its products and returns
+   * the attributes of its products which are available instance types.
+   */
+  private List<Map<String, String>> initializeRegion(
+      Provider provider, Map<String, Region> regionsByName, Region region) {
+    RegionPricing pricing;
     // Get the price Json object stored locally at conf/aws_pricing.
-    for (Region region : provider.regions) {
-      JsonNode regionJson = null;
-
-      String pricingFileName = "aws_pricing/" + region.code + ".tar.gz";
-      try (InputStream pricingStream = environment.resourceAsStream(pricingFileName);
-          GzipCompressorInputStream gzipStream = new GzipCompressorInputStream(pricingStream);
-          TarArchiveInputStream regionStream = new TarArchiveInputStream(gzipStream)) {
-        TarArchiveEntry currentEntry;
-        boolean pricingFileFound = false;
-        while ((currentEntry = regionStream.getNextTarEntry()) != null) {
-          if (currentEntry.getName().equals(region.code)) {
-            pricingFileFound = true;
-            break;
-          } else {
-            LOG.warn("Unexpected file in pricing archive {}", currentEntry.getName());
-          }
-        }
-        if (!pricingFileFound) {
-          LOG.error("Failed to get region pricing file from {}", pricingFileName);
-          throw new PlatformServiceException(
-              INTERNAL_SERVER_ERROR, "Failed to get region pricing file");
+    String pricingFileName = "aws_pricing/" + region.code + ".tar.gz";
+    try (InputStream pricingStream = environment.resourceAsStream(pricingFileName);
+        GzipCompressorInputStream gzipStream = new GzipCompressorInputStream(pricingStream);
+        TarArchiveInputStream regionStream = new TarArchiveInputStream(gzipStream)) {
+      TarArchiveEntry currentEntry;
+      boolean pricingFileFound = false;
+      while ((currentEntry = regionStream.getNextTarEntry()) != null) {
+        if (currentEntry.getName().equals(region.code)) {
+          pricingFileFound = true;
+          break;
+        } else {
+          LOG.warn("Unexpected file in pricing archive {}", currentEntry.getName());
         }
-        ObjectMapper mapper = new ObjectMapper();
-        regionJson = mapper.readTree(regionStream);
-      } catch (IOException e) {
-        LOG.error("Failed to parse region metadata from region {}", region.code);
+      }
+      if (!pricingFileFound) {
+        LOG.error("Failed to get region pricing file from {}", pricingFileName);
         throw new PlatformServiceException(
-            INTERNAL_SERVER_ERROR,
-            "Failed to parse region metadata from region " + region.code + ". " + e.getMessage());
+            INTERNAL_SERVER_ERROR, "Failed to get region pricing file");
       }
+      pricing = parseRegionPricing(regionStream);
+    } catch (IOException e) {
+      LOG.error("Failed to parse region metadata from region {}", region.code);
+      throw new PlatformServiceException(
+          INTERNAL_SERVER_ERROR,
+          "Failed to parse region metadata from region " + region.code + ". " + e.getMessage());
+    }
+
+    Map<PriceComponentKey, PriceComponent.PriceDetails> priceComponents = new LinkedHashMap<>();
+    storeEBSPriceComponents(provider, regionsByName, pricing, priceComponents);
+    storeInstancePriceComponents(provider, regionsByName, pricing, priceComponents, region);
+    PriceComponent.upsertAll(priceComponents);
+    List<Map<String, String>> availableInstances = parseProductDetailsList(pricing, region);
+    LOG.info("Successfully stored pricing info for region {}", region.code);
+    return availableInstances;
+  }
+
+  /**
+   * The parts of the pricing file of a region which are used: the attributes of the products of
+   * the PRODUCT_FAMILIES and the first on demand price of each SKU. The file has the format:
+   *
+   * <pre>
+   *    {
+   *      ...
+   *      "products" : {
+   *        <list of product details, by SKU>
+   *      },
+   *      "terms" : {
+   *        "OnDemand" : {
+   *          <list of price details objects, by SKU>
+   *        }
+   *      }
+   *    }
+   * </pre>
+   */
+  static class RegionPricing {
+    // The attributes of each product, see extractAllAttributes.
+    final List<Map<String, String>> products = new ArrayList<>();
+    final Map<String, OnDemandPrice> onDemandPrices = new HashMap<>();
+  }
 
-      // The products sub-document has the list of EC2 products along with the SKU, its format is:
-      //    {
-      //      ...
-      //      "products" : {
-      //        <productDetailsJson, which is a list of product details>
-      //      }
-      //    }
-      JsonNode productDetailsListJson = regionJson.get("products");
-
-      // The "terms" or price details json object has the following format:
-      //  "terms" : {
-      //    "OnDemand" : {
-      //      <onDemandJson, which is a list of price details objects>
-      //    }
-      //  }
-      JsonNode onDemandJson = regionJson.get("terms").get("OnDemand");
-
-      storeEBSPriceComponents(context, productDetailsListJson, onDemandJson);
-      storeInstancePriceComponents(context, productDetailsListJson, onDemandJson, region);
-      parseProductDetailsList(context, productDetailsListJson, region);
-
-      // Create the instance types.
-      storeInstanceTypeInfoToDB(context);
-      LOG.info("Successfully stored pricing info for region {}", region.code);
+  /** The fields of the price dimension of an on demand term which go into a PriceComponent. */
+  static class OnDemandPrice {
+    String currency;
+    String pricePerUnit;
+    String unit;
+    String description;
+    String effectiveDate;
+
+    static OnDemandPrice fromTerm(JsonNode termJson) {
+      // The first item should be the only one.
+      JsonNode priceDimensions = termJson.get("priceDimensions").elements().next();
+      OnDemandPrice price = new OnDemandPrice();
+      price.currency = priceDimensions.get("pricePerUnit").fields().next().getKey();
+      price.pricePerUnit = priceDimensions.get("pricePerUnit").get(price.currency).textValue();
+      price.unit = priceDimensions.get("unit").textValue().toUpperCase();
+      price.description = priceDimensions.get("description").textValue();
+      price.effectiveDate = termJson.get("effectiveDate").textValue();
+      return price;
     }
-    LOG.info("Successfully finished parsing pricing info.");
   }
 
   /**
-   * This will store the PriceComponents corresponding to EBS. Example IO1 size json blobs:
-   * "KA7RG53ZHMXMZFAF" : { "KA7RG53ZHMXMZFAF.JRTCKXETXF" : { "offerTermCode" : "JRTCKXETXF", "sku"
-   * : "KA7RG53ZHMXMZFAF", "effectiveDate" : "2017-06-01T00:00:00Z", "priceDimensions" : {
-   * "KA7RG53ZHMXMZFAF.JRTCKXETXF.6YS6EN2CT7" : { "rateCode" :
+   * Parses a pricing file as a stream. Only one product or term is read into a tree at a time, and
+   * only the fields kept in RegionPricing outlive it, so the memory used does not grow with the
+   * size of the file beyond them.
+   */
+  static RegionPricing parseRegionPricing(InputStream pricingStream) throws IOException {
+    RegionPricing pricing = new RegionPricing();
+    try (JsonParser parser = Json.mapper().getFactory().createParser(pricingStream)) {
+      if (parser.nextToken() != JsonToken.START_OBJECT) {
+        throw new IOException("Pricing file is not a JSON object");
+      }
+      while (parser.nextToken() == JsonToken.FIELD_NAME) {
+        String fieldName = parser.getCurrentName();
+        parser.nextToken();
+        if (fieldName.equals("products")) {
+          parseProducts(parser, pricing);
+        } else if (fieldName.equals("terms")) {
+          parseTerms(parser, pricing);
+        } else {
+          parser.skipChildren();
+        }
+      }
+    }
+    return pricing;
+  }
+
+  private static void parseProducts(JsonParser parser, RegionPricing pricing) throws IOException {
+    while (parser.nextToken() == JsonToken.FIELD_NAME) {
+      parser.nextToken();
+      JsonNode productDetailsJson = parser.readValueAsTree();
+      JsonNode productFamily = productDetailsJson.get("productFamily");
+      if (productFamily != null && PRODUCT_FAMILIES.contains(productFamily.textValue())) {
+        pricing.products.add(extractAllAttributes(productDetailsJson));
+      }
+    }
+  }
+
+  private static void parseTerms(JsonParser parser, RegionPricing pricing) throws IOException {
+    while (parser.nextToken() == JsonToken.FIELD_NAME) {
+      String termType = parser.getCurrentName();
+      parser.nextToken();
+      if (!termType.equals("OnDemand")) {
+        parser.skipChildren();
+        continue;
+      }
+      // The terms of each SKU, by term code.
+      while (parser.nextToken() == JsonToken.FIELD_NAME) {
+        String sku = parser.getCurrentName();
+        parser.nextToken();
+        if (parser.nextToken() != JsonToken.FIELD_NAME) {
+          continue;
+        }
+        parser.nextToken();
+        pricing.onDemandPrices.put(sku, OnDemandPrice.fromTerm(parser.readValueAsTree()));
+        // Only the first term is used.
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+          parser.nextToken();
+          parser.skipChildren();
+        }
+      }
+    }
+  }
+
+  /**
+   * This will add the PriceComponents corresponding to EBS to priceComponents. Example IO1 size
+   * json blobs: "KA7RG53ZHMXMZFAF" : { "KA7RG53ZHMXMZFAF.JRTCKXETXF" : { "offerTermCode" :
+   * "JRTCKXETXF", "sku" : "KA7RG53ZHMXMZFAF", "effectiveDate" : "2017-06-01T00:00:00Z",
+   * "priceDimensions" : { "KA7RG53ZHMXMZFAF.JRTCKXETXF.6YS6EN2CT7" : { "rateCode" :
    * "KA7RG53ZHMXMZFAF.JRTCKXETXF.6YS6EN2CT7", "description" : "$0.145 per GB-month of Provisioned
    * IOPS SSD (io1) provisioned storage - EU (London)", "beginRange" : "0", "endRange" : "Inf",
    * "unit" : "GB-Mo", "pricePerUnit" : { "USD" : "0.1450000000" }, "appliesTo" : [ ] } },
@@ -152,304 +320,203 @@ public class AWSInitializer extends AbstractInitializer {
    * IOPS", "maxVolumeSize" : "16 TiB", "maxIopsvolume" : "20000", "maxThroughputvolume" : "320
    * MB/sec", "usagetype" : "EUW2-EBS:VolumeUsage.piops", "operation" : "" } },
    *
-   * @param productDetailsListJson Products sub-document with list of EC2 products along with SKU.
-   * @param onDemandJson Price details json object.
+   * @param regionsByName Regions of the provider, by name.
+   * @param pricing Products and on demand prices of the pricing file.
+   * @param priceComponents PriceComponents to store, by key.
    */
   private void storeEBSPriceComponents(
-      InitializationContext context, JsonNode productDetailsListJson, JsonNode onDemandJson) {
+      Provider provider,
+      Map<String, Region> regionsByName,
+      RegionPricing pricing,
+      Map<PriceComponentKey, PriceComponent.PriceDetails> priceComponents) {
     LOG.info("Parsing product details list to store pricing info");
-    for (JsonNode productDetailsJson : productDetailsListJson) {
-      String sku = productDetailsJson.get("sku").textValue();
-      JsonNode attributesJson = productDetailsJson.get("attributes");
-      JsonNode regionJson = attributesJson.get("location");
-      if (regionJson == null) {
+    for (Map<String, String> productAttrs : pricing.products) {
+      String sku = productAttrs.get("sku");
+      String regionName = productAttrs.get("location");
+      if (regionName == null) {
         if (enableVerboseLogging) {
           LOG.error("No region available for product SKU " + sku + ". Skipping.");
         }
         continue;
       }
-      Region region =
-          Region.find
-              .query()
-              .where()
-              .eq("provider_uuid", context.provider.uuid)
-              .eq("name", regionJson.textValue())
-              .findOne();
+      Region region = regionsByName.get(regionName);
       if (region == null) {
         if (enableVerboseLogging) {
-          LOG.error("No region " + regionJson.textValue() + " available");
+          LOG.error("No region " + regionName + " available");
         }
         continue;
       }
-      if (productDetailsJson.get("productFamily") != null) {
-        switch (productDetailsJson.get("productFamily").textValue()) {
-          case PRODUCT_FAMILY_STORAGE:
-            JsonNode volumeType = attributesJson.get("volumeType");
-            if (VOLUME_TYPE_PROVISIONED_IOPS.equals(volumeType.textValue())) {
-              storeEBSPriceComponent(context, sku, IO1_SIZE, region, onDemandJson);
-            } else if (VOLUME_API_GENERAL_PURPOSE.equals(volumeType.textValue())) {
-              JsonNode volumeApiName = attributesJson.get("volumeApiName");
-              if (VOLUME_API_NAME_GP2.equals(volumeApiName.textValue())) {
-                storeEBSPriceComponent(context, sku, GP2_SIZE, region, onDemandJson);
-              } else if (VOLUME_API_NAME_GP3.equals(volumeApiName.textValue())) {
-                storeEBSPriceComponent(context, sku, GP3_SIZE, region, onDemandJson);
-              }
+      String componentCode = null;
+      switch (productAttrs.getOrDefault("productFamily", "")) {
+        case PRODUCT_FAMILY_STORAGE:
+          String volumeType = productAttrs.get("volumeType");
+          if (VOLUME_TYPE_PROVISIONED_IOPS.equals(volumeType)) {
+            componentCode = IO1_SIZE;
+          } else if (VOLUME_API_GENERAL_PURPOSE.equals(volumeType)) {
+            String volumeApiName = productAttrs.get("volumeApiName");
+            if (VOLUME_API_NAME_GP2.equals(volumeApiName)) {
+              componentCode = GP2_SIZE;
+            } else if (VOLUME_API_NAME_GP3.equals(volumeApiName)) {
+              componentCode = GP3_SIZE;
             }
-            break;
-          case PRODUCT_FAMILY_SYSTEM_OPERATION:
-            if (GROUP_EBS_IOPS.equals(attributesJson.get("group").textValue())) {
-              JsonNode volumeApiName = attributesJson.get("volumeApiName");
-              if (VOLUME_API_NAME_IO1.equals(volumeApiName.textValue())) {
-                storeEBSPriceComponent(context, sku, IO1_PIOPS, region, onDemandJson);
-              } else if (VOLUME_API_NAME_GP3.equals(volumeApiName.textValue())) {
-                storeEBSPriceComponent(context, sku, GP3_PIOPS, region, onDemandJson);
-              }
+          }
+          break;
+        case PRODUCT_FAMILY_SYSTEM_OPERATION:
+          if (GROUP_EBS_IOPS.equals(productAttrs.get("group"))) {
+            String volumeApiName = productAttrs.get("volumeApiName");
+            if (VOLUME_API_NAME_IO1.equals(volumeApiName)) {
+              componentCode = IO1_PIOPS;
+            } else if (VOLUME_API_NAME_GP3.equals(volumeApiName)) {
+              componentCode = GP3_PIOPS;
             }
-            break;
-          case PRODUCT_FAMILY_PROVISIONED_THROUGHPUT:
-            if (GROUP_EBS_THROUGHPUT.equals(attributesJson.get("group").textValue())) {
-              JsonNode volumeApiName = attributesJson.get("volumeApiName");
-              if (VOLUME_API_NAME_GP3.equals(volumeApiName.textValue())) {
-                storeEBSPriceComponent(context, sku, GP3_THROUGHPUT, region, onDemandJson);
-              }
+          }
+          break;
+        case PRODUCT_FAMILY_PROVISIONED_THROUGHPUT:
+          if (GROUP_EBS_THROUGHPUT.equals(productAttrs.get("group"))) {
+            if (VOLUME_API_NAME_GP3.equals(productAttrs.get("volumeApiName"))) {
+              componentCode = GP3_THROUGHPUT;
             }
-            break;
-          default:
-            break;
-        }
+          }
+          break;
+        default:
+          break;
+      }
+      if (componentCode != null) {
+        priceComponents.put(
+            PriceComponentKey.create(provider.uuid, region.code, componentCode),
+            ebsPriceDetails(getOnDemandPrice(pricing, sku)));
       }
     }
   }
 
   /**
-   * Given info about a single EBS item (size/piops) in a specific region, store its PriceComponent.
+   * Given the on demand price of a single EBS item (size/piops), get its PriceDetails.
    *
-   * @param sku SKU of the EBS item in its region.
-   * @param componentCode Code for the EBS item (e.g. io1.size).
-   * @param region The region the EBS item is in (e.g. us-west2).
-   * @param onDemandJson Price details json object.
+   * @param price On demand price of the EBS item in its region.
    */
-  private void storeEBSPriceComponent(
-      InitializationContext context,
-      String sku,
-      String componentCode,
-      Region region,
-      JsonNode onDemandJson) {
-    // Then create the pricing component object by grabbing the first item (should only have one)
-    // and populating the PriceDetails with all the relevant information
+  private static PriceComponent.PriceDetails ebsPriceDetails(OnDemandPrice price) {
     PriceComponent.PriceDetails priceDetails = new PriceComponent.PriceDetails();
-    JsonNode product = onDemandJson.get(sku).elements().next();
-    JsonNode priceDimensions = product.get("priceDimensions").elements().next();
 
     // Get the currency & price per unit
-    String currency = priceDimensions.get("pricePerUnit").fields().next().getKey();
-    String pricePerUnit = priceDimensions.get("pricePerUnit").get(currency).textValue();
-    String unit = priceDimensions.get("unit").textValue().toUpperCase();
+    String unit = price.unit;
     if (!(unit.endsWith("-MO") || unit.endsWith("MONTH"))) {
       throw new RuntimeException("Unit is not per month: " + unit);
     }
-    priceDetails.currency = PriceComponent.PriceDetails.Currency.valueOf(currency);
+    priceDetails.currency = PriceComponent.PriceDetails.Currency.valueOf(price.currency);
     priceDetails.setUnitFromString(unit);
-    priceDetails.pricePerUnit = Double.parseDouble(pricePerUnit);
+    priceDetails.pricePerUnit = Double.parseDouble(price.pricePerUnit);
     priceDetails.pricePerMonth = priceDetails.pricePerUnit;
     priceDetails.pricePerDay = priceDetails.pricePerMonth / 30.0;
     priceDetails.pricePerHour = priceDetails.pricePerDay / 24.0;
 
     // Get everything else
-    priceDetails.description = priceDimensions.get("description").textValue();
-    priceDetails.effectiveDate = product.get("effectiveDate").textValue();
-
-    // Save to db
-    PriceComponent.upsert(context.provider.uuid, region.code, componentCode, priceDetails);
+    priceDetails.description = price.description;
+    priceDetails.effectiveDate = price.effectiveDate;
+    return priceDetails;
   }
 
   /**
-   * This will store the PriceComponent corresponding to the InstanceType itself. Each price detail
-   * object has the format: "DQ578CGN99KG6ECF" : { "DQ578CGN99KG6ECF.JRTCKXETXF" : { "offerTermCode"
-   * : "JRTCKXETXF", "sku" : "DQ578CGN99KG6ECF", "effectiveDate" : "2016-08-01T00:00:00Z",
-   * "priceDimensions" : { "DQ578CGN99KG6ECF.JRTCKXETXF.6YS6EN2CT7" : { "rateCode" :
-   * "DQ578CGN99KG6ECF.JRTCKXETXF.6YS6EN2CT7", "description" : "$4.931 per On Demand Windows
-   * hs1.8xlarge Instance Hour", "beginRange" : "0", "endRange" : "Inf", "unit" : "Hrs",
+   * This will add the PriceComponent corresponding to the InstanceType itself to priceComponents.
+   * Each price detail object has the format: "DQ578CGN99KG6ECF" : { "DQ578CGN99KG6ECF.JRTCKXETXF"
+   * : { "offerTermCode" : "JRTCKXETXF", "sku" : "DQ578CGN99KG6ECF", "effectiveDate" :
+   * "2016-08-01T00:00:00Z", "priceDimensions" : { "DQ578CGN99KG6ECF.JRTCKXETXF.6YS6EN2CT7" : {
+   * "rateCode" : "DQ578CGN99KG6ECF.JRTCKXETXF.6YS6EN2CT7", "description" : "$4.931 per On Demand
+   * Windows hs1.8xlarge Instance Hour", "beginRange" : "0", "endRange" : "Inf", "unit" : "Hrs",
    * "pricePerUnit" : { "USD" : "4.9310000000" }, "appliesTo" : [ ] } }, "termAttributes" : { } } }
    *
-   * @param productDetailsListJson Products sub-document with list of EC2 products along with SKU.
-   * @param onDemandJson Price details json object.
+   * @param regionsByName Regions of the provider, by name.
+   * @param pricing Products and on demand prices of the pricing file.
+   * @param priceComponents PriceComponents to store, by key.
    * @param region The region instance type is in.
    */
   private void storeInstancePriceComponents(
-      InitializationContext context,
-      JsonNode productDetailsListJson,
-      JsonNode onDemandJson,
+      Provider provider,
+      Map<String, Region> regionsByName,
+      RegionPricing pricing,
+      Map<PriceComponentKey, PriceComponent.PriceDetails> priceComponents,
       Region region) {
 
-    Architecture regionArch = region.getArchitecture();
     // Get SKUs associated with Instances
     LOG.info("Parsing product details list to store pricing info");
-    for (JsonNode productDetailsJson : productDetailsListJson) {
-
-      Map<String, String> productAttrs = extractAllAttributes(productDetailsJson);
-      boolean include = true;
-
-      // Make sure this is a compute instance.
-      include &=
-          matches(productAttrs, "productFamily", FilterOp.Equals, PRODUCT_FAMILY_COMPUTE_INSTANCE);
-      // The service code should be 'AmazonEC2'.
-      include &= matches(productAttrs, "servicecode", FilterOp.Equals, "AmazonEC2");
-      // Filter by the OS we support.
-      include &= (matches(productAttrs, "operatingSystem", FilterOp.Equals, "Linux"));
-      // Pick the supported license models.
-      include &=
-          (matches(productAttrs, "licenseModel", FilterOp.Equals, "No License required")
-              || matches(productAttrs, "licenseModel", FilterOp.Equals, "NA"));
-      // Pick the valid disk drive types.
-      include &=
-          (matches(productAttrs, "storage", FilterOp.Contains, "SSD")
-              || matches(productAttrs, "storage", FilterOp.Contains, "EBS"));
-      // Make sure it is current generation.
-      include &= matches(productAttrs, "currentGeneration", FilterOp.Equals, "Yes");
-      // Make sure tenancy is shared.
-      include &= matches(productAttrs, "tenancy", FilterOp.Equals, "Shared");
-      // Make sure it is the base instance type.
-      include &= matches(productAttrs, "preInstalledSw", FilterOp.Equals, "NA");
-      // Make sure instance type is supported.
-      include &= isInstanceTypeSupported(productAttrs);
-
-      // Make sure architecture matches.
-      if (regionArch == Architecture.x86_64) {
-        include &= matches(productAttrs, "physicalProcessor", FilterOp.Contains, "Intel");
-      } else if (regionArch == Architecture.arm64) {
-        include &= matches(productAttrs, "physicalProcessor", FilterOp.Contains, "Graviton");
-      }
-      if (include) {
-        JsonNode attributesJson = productDetailsJson.get("attributes");
-        storeInstancePriceComponent(
-            context,
-            productDetailsJson.get("sku").textValue(),
-            attributesJson.get("instanceType").textValue(),
-            attributesJson.get("location").textValue(),
-            onDemandJson);
+    for (Map<String, String> productAttrs : pricing.products) {
+      if (isAvailableInstance(productAttrs, region)) {
+        String sku = productAttrs.get("sku");
+        String instanceCode = productAttrs.get("instanceType");
+        String regionName = productAttrs.get("location");
+
+        // First check that region exists
+        Region productRegion = regionsByName.get(regionName);
+        if (productRegion == null) {
+          LOG.error("Region " + regionName + " not found. Skipping.");
+          continue;
+        }
+        PriceComponent.PriceDetails priceDetails =
+            instancePriceDetails(getOnDemandPrice(pricing, sku));
+        if (priceDetails.pricePerUnit != 0.0) {
+          priceComponents.put(
+              PriceComponentKey.create(provider.uuid, productRegion.code, instanceCode),
+              priceDetails);
+        }
       }
     }
   }
 
   /**
-   * Given info about a single AWS InstanceType in a specific region, store its PriceComponent.
+   * Given the on demand price of a single AWS InstanceType in a specific region, get its
+   * PriceDetails.
    *
-   * @param sku SKU of the InstanceType in its region.
-   * @param instanceCode Code for the InstanceType (e.g. m3.medium).
-   * @param regionName Name for the region the InstanceType is in (e.g. "US West (Oregon)").
-   * @param onDemandJson Price details json object.
+   * @param price On demand price of the InstanceType in its region.
    */
-  private void storeInstancePriceComponent(
-      InitializationContext context,
-      String sku,
-      String instanceCode,
-      String regionName,
-      JsonNode onDemandJson) {
-
-    // First check that region exists
-    Region region =
-        Region.find
-            .query()
-            .where()
-            .eq("provider_uuid", context.provider.uuid)
-            .eq("name", regionName)
-            .findOne();
-    if (region == null) {
-      LOG.error("Region " + regionName + " not found. Skipping.");
-      return;
-    }
-
-    // Then create the pricing component object by grabbing the first item (should only have one)
-    // and populating the PriceDetails with all the relevant information
+  private static PriceComponent.PriceDetails instancePriceDetails(OnDemandPrice price) {
     PriceComponent.PriceDetails priceDetails = new PriceComponent.PriceDetails();
-    JsonNode product = onDemandJson.get(sku).elements().next();
-    JsonNode priceDimensions = product.get("priceDimensions").elements().next();
 
     // Get the currency & price per unit
-    String currency = priceDimensions.get("pricePerUnit").fields().next().getKey();
-    String pricePerUnit = priceDimensions.get("pricePerUnit").get(currency).textValue();
-    String unit = priceDimensions.get("unit").textValue().toUpperCase();
+    String unit = price.unit;
     if (!(unit.equals("HRS") || unit.equals("HOURS"))) {
       throw new RuntimeException("Unit is not per hour: " + unit);
     }
     priceDetails.setUnitFromString(unit);
-    priceDetails.currency = PriceComponent.PriceDetails.Currency.valueOf(currency);
-    priceDetails.pricePerUnit = Double.parseDouble(pricePerUnit);
+    priceDetails.currency = PriceComponent.PriceDetails.Currency.valueOf(price.currency);
+    priceDetails.pricePerUnit = Double.parseDouble(price.pricePerUnit);
     priceDetails.pricePerHour = priceDetails.pricePerUnit;
     priceDetails.pricePerDay = priceDetails.pricePerUnit * 24.0;
     priceDetails.pricePerMonth = priceDetails.pricePerDay * 30.0;
 
     // Get everything else
-    priceDetails.description = priceDimensions.get("description").textValue();
-    priceDetails.effectiveDate = product.get("effectiveDate").textValue();
+    priceDetails.description = price.description;
+    priceDetails.effectiveDate = price.effectiveDate;
+    return priceDetails;
+  }
 
-    // Save to db
-    if (Double.parseDouble(pricePerUnit) != 0.0) {
-      PriceComponent.upsert(context.provider.uuid, region.code, instanceCode, priceDetails);
+  private static OnDemandPrice getOnDemandPrice(RegionPricing pricing, String sku) {
+    OnDemandPrice price = pricing.onDemandPrices.get(sku);
+    if (price == null) {
+      throw new RuntimeException("No on demand price for product sku=" + sku);
     }
+    return price;
   }
 
   /**
-   * Given a JSON blob containing details on various EC2 products, update the ec2AvailableInstances
-   * map, which contains information on the various instances available through EC2. Each entry in
-   * the product details map looks like: "DQ578CGN99KG6ECF" : { "sku" : "DQ578CGN99KG6ECF",
-   * "productFamily" : "Compute Instance", "attributes" : { "servicecode" : "AmazonEC2", "location"
-   * : "US East (N. Virginia)", "locationType" : "AWS Region", "instanceType" : "hs1.8xlarge",
-   * "currentGeneration" : "No", "instanceFamily" : "Storage optimized", "vcpu" : "17",
-   * "physicalProcessor" : "Intel Xeon E5-2650", "clockSpeed" : "2 GHz", "memory" : "117 GiB",
-   * "storage" : "24 x 2000", "networkPerformance" : "10 Gigabit", "processorArchitecture" :
-   * "64-bit", "tenancy" : "Shared", "operatingSystem" : "Windows", "licenseModel" : "License
-   * Included", "usagetype" : "BoxUsage:hs1.8xlarge", "operation" : "RunInstances:0002",
-   * "preInstalledSw" : "NA" } }
+   * Given the products of a pricing file, get the ones describing the instances available through
+   * EC2. Each entry in the product details map looks like: "DQ578CGN99KG6ECF" : { "sku" :
+   * "DQ578CGN99KG6ECF", "productFamily" : "Compute Instance", "attributes" : { "servicecode" :
+   * "AmazonEC2", "location" : "US East (N. Virginia)", "locationType" : "AWS Region",
+   * "instanceType" : "hs1.8xlarge", "currentGeneration" : "No", "instanceFamily" : "Storage
+   * optimized", "vcpu" : "17", "physicalProcessor" : "Intel Xeon E5-2650", "clockSpeed" : "2 GHz",
+   * "memory" : "117 GiB", "storage" : "24 x 2000", "networkPerformance" : "10 Gigabit",
+   * "processorArchitecture" : "64-bit", "tenancy" : "Shared", "operatingSystem" : "Windows",
+   * "licenseModel" : "License Included", "usagetype" : "BoxUsage:hs1.8xlarge", "operation" :
+   * "RunInstances:0002", "preInstalledSw" : "NA" } }
    *
-   * @param productDetailsListJson A JSON blob as described above.
+   * @param pricing Products and on demand prices of the pricing file.
    * @param region The region EC2 product is in.
+   * @return The attributes of the available instances.
    */
-  private void parseProductDetailsList(
-      InitializationContext context, JsonNode productDetailsListJson, Region region) {
+  private List<Map<String, String>> parseProductDetailsList(RegionPricing pricing, Region region) {
     LOG.info("Parsing product details list");
-    Iterator<JsonNode> productDetailsListIter = productDetailsListJson.elements();
-    Architecture regionArch = region.getArchitecture();
-    while (productDetailsListIter.hasNext()) {
-      JsonNode productDetailsJson = productDetailsListIter.next();
-
-      Map<String, String> productAttrs = extractAllAttributes(productDetailsJson);
-
-      boolean include = true;
-
-      // Make sure this is a compute instance.
-      include &=
-          matches(productAttrs, "productFamily", FilterOp.Equals, PRODUCT_FAMILY_COMPUTE_INSTANCE);
-      // The service code should be 'AmazonEC2'.
-      include &= matches(productAttrs, "servicecode", FilterOp.Equals, "AmazonEC2");
-      // Filter by the OS we support.
-      include &= (matches(productAttrs, "operatingSystem", FilterOp.Equals, "Linux"));
-      // Pick the supported license models.
-      include &=
-          (matches(productAttrs, "licenseModel", FilterOp.Equals, "No License required")
-              || matches(productAttrs, "licenseModel", FilterOp.Equals, "NA"));
-      // Pick the valid disk drive types.
-      include &=
-          (matches(productAttrs, "storage", FilterOp.Contains, "SSD")
-              || matches(productAttrs, "storage", FilterOp.Contains, "EBS"));
-      // Make sure it is current generation.
-      include &= matches(productAttrs, "currentGeneration", FilterOp.Equals, "Yes");
-      // Make sure tenancy is shared.
-      include &= matches(productAttrs, "tenancy", FilterOp.Equals, "Shared");
-      // Make sure it is the base instance type.
-      include &= matches(productAttrs, "preInstalledSw", FilterOp.Equals, "NA");
-      // Make sure instance type is supported.
-      include &= isInstanceTypeSupported(productAttrs);
-
-      // Make sure architecture matches.
-      if (regionArch == Architecture.x86_64) {
-        include &= matches(productAttrs, "physicalProcessor", FilterOp.Contains, "Intel");
-      } else if (regionArch == Architecture.arm64) {
-        include &= matches(productAttrs, "physicalProcessor", FilterOp.Contains, "Graviton");
-      }
-
-      if (!include) {
+    List<Map<String, String>> availableInstances = new ArrayList<>();
+    for (Map<String, String> productAttrs : pricing.products) {
+      if (!isAvailableInstance(productAttrs, region)) {
         if (enableVerboseLogging) {
           LOG.info("Skipping product");
         }
@@ -462,8 +529,47 @@ public class AWSInitializer extends AbstractInitializer {
             productAttrs.get("sku"),
             productAttrs.get("instanceType"));
       }
-      context.availableInstances.add(productAttrs);
+      availableInstances.add(productAttrs);
     }
+    return availableInstances;
+  }
+
+  /** Whether the product is an instance type which can be used in the region. */
+  private boolean isAvailableInstance(Map<String, String> productAttrs, Region region) {
+    boolean include = true;
+
+    // Make sure this is a compute instance.
+    include &=
+        matches(productAttrs, "productFamily", FilterOp.Equals, PRODUCT_FAMILY_COMPUTE_INSTANCE);
+    // The service code should be 'AmazonEC2'.
+    include &= matches(productAttrs, "servicecode", FilterOp.Equals, "AmazonEC2");
+    // Filter by the OS we support.
+    include &= (matches(productAttrs, "operatingSystem", FilterOp.Equals, "Linux"));
+    // Pick the supported license models.
+    include &=
+        (matches(productAttrs, "licenseModel", FilterOp.Equals, "No License required")
+            || matches(productAttrs, "licenseModel", FilterOp.Equals, "NA"));
+    // Pick the valid disk drive types.
+    include &=
+        (matches(productAttrs, "storage", FilterOp.Contains, "SSD")
+            || matches(productAttrs, "storage", FilterOp.Contains, "EBS"));
+    // Make sure it is current generation.
+    include &= matches(productAttrs, "currentGeneration", FilterOp.Equals, "Yes");
+    // Make sure tenancy is shared.
+    include &= matches(productAttrs, "tenancy", FilterOp.Equals, "Shared");
+    // Make sure it is the base instance type.
+    include &= matches(productAttrs, "preInstalledSw", FilterOp.Equals, "NA");
+    // Make sure instance type is supported.
+    include &= isInstanceTypeSupported(productAttrs);
+
+    // Make sure architecture matches.
+    Architecture regionArch = region.getArchitecture();
+    if (regionArch == Architecture.x86_64) {
+      include &= matches(productAttrs, "physicalProcessor", FilterOp.Contains, "Intel");
+    } else if (regionArch == Architecture.arm64) {
+      include &= matches(productAttrs, "physicalProcessor", FilterOp.Contains, "Graviton");
+    }
+    return include;
   }
 
   /**
@@ -472,7 +578,7 @@ public class AWSInitializer extends AbstractInitializer {
    * @param productDetailsJson An entry in the EC2 product details JSON list.
    * @return A KVP Map for the attributes of the provided entry.
    */
-  private Map<String, String> extractAllAttributes(JsonNode productDetailsJson) {
+  private static Map<String, String> extractAllAttributes(JsonNode productDetailsJson) {
     Map<String, String> productAttrs = new HashMap<>();
     productAttrs.put("sku", productDetailsJson.get("sku").textValue());
     productAttrs.put(
@@ -501,10 +607,17 @@ public class AWSInitializer extends AbstractInitializer {
 
   /**
    * Store information about the various instance types to the database. Uses UPSERT semantics if
-   * the row for the instance type already exists.
+   * the row for the instance type already exists. All of them are stored in one transaction.
    */
   private void storeInstanceTypeInfoToDB(InitializationContext context) {
     LOG.info("Storing AWS instance type and pricing info in Yugaware DB");
+    try (Transaction transaction = Ebean.beginTransaction()) {
+      storeInstanceTypes(context);
+      transaction.commit();
+    }
+  }
+
+  private void storeInstanceTypes(InitializationContext context) {
     Provider provider = context.provider;
     // First reset all the JSON details of all entries in the table, as we are about to refresh it.
     InstanceType.resetInstanceTypeDetailsForProvider(provider.uuid);
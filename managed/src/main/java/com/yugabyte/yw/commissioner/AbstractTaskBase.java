@@ -10,10 +10,12 @@ import com.google.common.util.concurrent.ThreadFactoryBuilder;
 import com.typesafe.config.Config;
 import com.yugabyte.yw.commissioner.TaskExecutor.RunnableTask;
 import com.yugabyte.yw.commissioner.TaskExecutor.SubTaskGroup;
+import com.yugabyte.yw.common.ClusterConfigCache;
 import com.yugabyte.yw.common.ConfigHelper;
 import com.yugabyte.yw.common.PlatformExecutorFactory;
 import com.yugabyte.yw.common.RestoreManagerYb;
 import com.yugabyte.yw.common.ShellResponse;
+import com.yugabyte.yw.common.TableCatalogCache;
 import com.yugabyte.yw.common.TableManager;
 import com.yugabyte.yw.common.TableManagerYb;
 import com.yugabyte.yw.common.Util;
@@ -65,6 +67,8 @@ public abstract class AbstractTaskBase implements ITask {
   protected final MetricService metricService;
   protected final AlertConfigurationService alertConfigurationService;
   protected final YBClientService ybService;
+  protected final ClusterConfigCache clusterConfigCache;
+  protected final TableCatalogCache tableCatalogCache;
   protected final RestoreManagerYb restoreManagerYb;
   protected final TableManager tableManager;
   protected final TableManagerYb tableManagerYb;
@@ -81,6 +85,8 @@ public abstract class AbstractTaskBase implements ITask {
     this.metricService = baseTaskDependencies.getMetricService();
     this.alertConfigurationService = baseTaskDependencies.getAlertConfigurationService();
     this.ybService = baseTaskDependencies.getYbService();
+    this.clusterConfigCache = baseTaskDependencies.getClusterConfigCache();
+    this.tableCatalogCache = baseTaskDependencies.getTableCatalogCache();
     this.restoreManagerYb = baseTaskDependencies.getRestoreManagerYb();
     this.tableManager = baseTaskDependencies.getTableManager();
     this.tableManagerYb = baseTaskDependencies.getTableManagerYb();
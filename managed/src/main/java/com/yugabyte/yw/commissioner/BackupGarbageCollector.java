@@ -5,8 +5,10 @@ import com.amazonaws.SDKGlobalConfiguration;
 import com.cronutils.utils.VisibleForTesting;
 import com.fasterxml.jackson.databind.JsonNode;
 import com.google.common.collect.ImmutableList;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
 import com.google.inject.Inject;
 import com.google.inject.Singleton;
+import com.typesafe.config.Config;
 import com.yugabyte.yw.common.AWSUtil;
 import com.yugabyte.yw.common.AZUtil;
 import com.yugabyte.yw.common.GCPUtil;
@@ -25,9 +27,18 @@ import com.yugabyte.yw.models.CustomerConfig;
 import com.yugabyte.yw.models.Universe;
 import java.time.Duration;
 import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Queue;
 import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicBoolean;
 import lombok.extern.slf4j.Slf4j;
@@ -52,6 +63,14 @@ public class BackupGarbageCollector {
 
   private static final String YB_BACKUP_GARBAGE_COLLECTOR_INTERVAL = "yb.backupGC.gc_run_interval";
 
+  private static final String YB_BACKUP_GARBAGE_COLLECTOR_PARALLELISM = "yb.backupGC.parallelism";
+
+  private static final String YB_BACKUP_GARBAGE_COLLECTOR_CONFIG_PARALLELISM =
+      "yb.backupGC.storage_config_parallelism";
+
+  private static final String YB_BACKUP_GARBAGE_COLLECTOR_DELETE_PARALLELISM =
+      "yb.backupGC.delete_parallelism";
+
   private AtomicBoolean running = new AtomicBoolean(false);
 
   private static final String AZ = Util.AZ;
@@ -96,7 +115,22 @@ public class BackupGarbageCollector {
     }
 
     log.info("Running Backup Garbage Collector");
+    GcRun run;
     try {
+      run = new GcRun(runtimeConfigFactory.staticApplicationConf());
+    } catch (Exception e) {
+      log.error("Error starting backup garbage collector", e);
+      running.set(false);
+      return;
+    }
+    try {
+      // Disable cert checking while connecting with s3
+      // Enabling it can potentially fail when s3 compatible storages like
+      // Dell ECS are provided and custom certs are needed to connect
+      // Reference: https://yugabyte.atlassian.net/browse/PLAT-2497
+      // Set for the whole run as backups are deleted concurrently and the property is global.
+      System.setProperty(SDKGlobalConfiguration.DISABLE_CERT_CHECKING_SYSTEM_PROPERTY, "true");
+
       List<Customer> customersList = Customer.getAll();
 
       // Delete the backups associated with customer storage config which are in QueuedForDeletion
@@ -110,9 +144,9 @@ public class BackupGarbageCollector {
                 (config) -> {
                   try {
                     List<Backup> backupList =
-                        Backup.findAllBackupsQueuedForDeletionWithCustomerConfig(
+                        Backup.findAllBackupsPendingDeletionWithCustomerConfig(
                             config.configUUID, customer.uuid);
-                    backupList.forEach(backup -> deleteBackup(customer.uuid, backup.backupUUID));
+                    deleteBackups(backupList, run);
                   } catch (Exception e) {
                     log.error(
                         "Error occured while deleting backups associated with {} storage config",
@@ -124,21 +158,69 @@ public class BackupGarbageCollector {
                 });
           });
 
+      List<Backup> backupList = new ArrayList<>();
       customersList.forEach(
-          (customer) -> {
-            List<Backup> backupList = Backup.findAllBackupsQueuedForDeletion(customer.uuid);
-            if (backupList != null) {
-              backupList.forEach((backup) -> deleteBackup(customer.uuid, backup.backupUUID));
-            }
-          });
+          (customer) -> backupList.addAll(Backup.findAllBackupsPendingDeletion(customer.uuid)));
+      deleteBackups(backupList, run);
     } catch (Exception e) {
       log.error("Error running backup garbage collector", e);
     } finally {
+      // Re-enable cert checking as it applies globally
+      System.setProperty(SDKGlobalConfiguration.DISABLE_CERT_CHECKING_SYSTEM_PROPERTY, "false");
+      run.shutdown();
       running.set(false);
     }
   }
 
-  public synchronized void deleteBackup(UUID customerUUID, UUID backupUUID) {
+  /**
+   * Deletes the backups on the GC workers and waits for all of them. No more than
+   * storage_config_parallelism backups of the same storage config are deleted at a time, so that a
+   * single bucket with a lot of expired backups neither takes all the workers nor gets throttled.
+   */
+  private void deleteBackups(List<Backup> backups, GcRun run) throws InterruptedException {
+    if (backups.isEmpty()) {
+      return;
+    }
+    log.info("Deleting {} backups", backups.size());
+    Map<UUID, Queue<Backup>> backupsByConfig = new HashMap<>();
+    for (Backup backup : backups) {
+      backupsByConfig
+          .computeIfAbsent(
+              backup.getBackupInfo().storageConfigUUID, k -> new ConcurrentLinkedQueue<>())
+          .add(backup);
+    }
+    // Each storage config gets up to storage_config_parallelism workers taking its backups one
+    // after the other. They are submitted round robin so that every config gets going early.
+    Map<Queue<Backup>, Integer> workersByQueue = new HashMap<>();
+    backupsByConfig
+        .values()
+        .forEach(q -> workersByQueue.put(q, Math.min(q.size(), run.storageConfigParallelism)));
+    List<Future<?>> futures = new ArrayList<>();
+    for (int i = 0; i < run.storageConfigParallelism; i++) {
+      for (Map.Entry<Queue<Backup>, Integer> entry : workersByQueue.entrySet()) {
+        Queue<Backup> queue = entry.getKey();
+        if (i < entry.getValue()) {
+          futures.add(
+              run.gcExecutor.submit(
+                  () -> {
+                    Backup backup;
+                    while ((backup = queue.poll()) != null) {
+                      deleteBackup(backup.customerUUID, backup.backupUUID, run);
+                    }
+                  }));
+        }
+      }
+    }
+    for (Future<?> future : futures) {
+      try {
+        future.get();
+      } catch (ExecutionException e) {
+        log.error("Error in backup garbage collector worker", e.getCause());
+      }
+    }
+  }
+
+  private void deleteBackup(UUID customerUUID, UUID backupUUID, GcRun run) {
     Backup backup = Backup.maybeGet(customerUUID, backupUUID).orElse(null);
     // Backup is already deleted.
     if (backup == null || backup.state == BackupState.Deleted) {
@@ -148,37 +230,35 @@ public class BackupGarbageCollector {
       return;
     }
     try {
-      // Disable cert checking while connecting with s3
-      // Enabling it can potentially fail when s3 compatible storages like
-      // Dell ECS are provided and custom certs are needed to connect
-      // Reference: https://yugabyte.atlassian.net/browse/PLAT-2497
-      System.setProperty(SDKGlobalConfiguration.DISABLE_CERT_CHECKING_SYSTEM_PROPERTY, "true");
-
       UUID storageConfigUUID = backup.getBackupInfo().storageConfigUUID;
       CustomerConfig customerConfig =
           customerConfigService.getOrBadRequest(backup.customerUUID, storageConfigUUID);
-      if (isCredentialUsable(customerConfig)) {
+      if (run.isCredentialUsable(customerConfig)) {
         List<String> backupLocations = null;
-        log.info("Backup {} deletion started", backupUUID);
-        backup.transitionState(BackupState.DeleteInProgress);
+        if (backup.state == BackupState.DeleteInProgress) {
+          log.info("Backup {} deletion resumed", backupUUID);
+        } else {
+          log.info("Backup {} deletion started", backupUUID);
+          backup.transitionState(BackupState.DeleteInProgress);
+        }
         try {
           switch (customerConfig.name) {
             case S3:
               backupLocations = getBackupLocations(backup);
               AWSUtil.deleteKeyIfExists(customerConfig.data, backupLocations.get(0));
-              AWSUtil.deleteStorage(customerConfig.data, backupLocations);
+              AWSUtil.deleteStorage(customerConfig.data, backupLocations, run.deleteExecutor);
               backup.delete();
               break;
             case GCS:
               backupLocations = getBackupLocations(backup);
               GCPUtil.deleteKeyIfExists(customerConfig.data, backupLocations.get(0));
-              GCPUtil.deleteStorage(customerConfig.data, backupLocations);
+              GCPUtil.deleteStorage(customerConfig.data, backupLocations, run.deleteExecutor);
               backup.delete();
               break;
             case AZ:
               backupLocations = getBackupLocations(backup);
               AZUtil.deleteKeyIfExists(customerConfig.data, backupLocations.get(0));
-              AZUtil.deleteStorage(customerConfig.data, backupLocations);
+              AZUtil.deleteStorage(customerConfig.data, backupLocations, run.deleteExecutor);
               backup.delete();
               break;
             case NFS:
@@ -212,7 +292,7 @@ public class BackupGarbageCollector {
         }
       } else {
         log.error(
-            "Error while deleting backup {} due to invalid storage config {} : {}",
+            "Error while deleting backup {} due to invalid storage config {}",
             backup.backupUUID,
             storageConfigUUID);
         backup.transitionState(BackupState.FailedToDelete);
@@ -220,9 +300,6 @@ public class BackupGarbageCollector {
     } catch (Exception e) {
       log.error("Error while deleting backup " + backup.backupUUID, e);
       backup.transitionState(BackupState.FailedToDelete);
-    } finally {
-      // Re-enable cert checking as it applies globally
-      System.setProperty(SDKGlobalConfiguration.DISABLE_CERT_CHECKING_SYSTEM_PROPERTY, "false");
     }
   }
 
@@ -280,13 +357,46 @@ public class BackupGarbageCollector {
     return backupLocations;
   }
 
-  private Boolean isCredentialUsable(CustomerConfig config) {
-    Boolean isValid = true;
-    try {
-      backupUtil.validateStorageConfig(config);
-    } catch (PlatformServiceException e) {
-      isValid = false;
+  @VisibleForTesting
+  ExecutorService newExecutor(String nameFormat, int threads) {
+    return Executors.newFixedThreadPool(
+        threads, new ThreadFactoryBuilder().setNameFormat(nameFormat).build());
+  }
+
+  /** Executors and state of a single garbage collector run. */
+  private class GcRun {
+    private final int storageConfigParallelism;
+    private final ExecutorService gcExecutor;
+    // The GC workers wait for the deletes, so they have to run on their own threads.
+    private final ExecutorService deleteExecutor;
+    // Storage configs are validated once per run rather than for each of their backups.
+    private final Map<UUID, Boolean> usableConfigs = new ConcurrentHashMap<>();
+
+    private GcRun(Config config) {
+      this.storageConfigParallelism = config.getInt(YB_BACKUP_GARBAGE_COLLECTOR_CONFIG_PARALLELISM);
+      this.gcExecutor =
+          newExecutor("backup-gc-%d", config.getInt(YB_BACKUP_GARBAGE_COLLECTOR_PARALLELISM));
+      this.deleteExecutor =
+          newExecutor(
+              "backup-gc-delete-%d", config.getInt(YB_BACKUP_GARBAGE_COLLECTOR_DELETE_PARALLELISM));
+    }
+
+    private boolean isCredentialUsable(CustomerConfig config) {
+      return usableConfigs.computeIfAbsent(
+          config.configUUID,
+          uuid -> {
+            try {
+              backupUtil.validateStorageConfig(config);
+              return true;
+            } catch (PlatformServiceException e) {
+              return false;
+            }
+          });
+    }
+
+    private void shutdown() {
+      gcExecutor.shutdownNow();
+      deleteExecutor.shutdownNow();
     }
-    return isValid;
   }
 }
@@ -10,9 +10,11 @@
 package com.yugabyte.yw.commissioner;
 
 import com.typesafe.config.Config;
+import com.yugabyte.yw.common.ClusterConfigCache;
 import com.yugabyte.yw.common.ConfigHelper;
 import com.yugabyte.yw.common.PlatformExecutorFactory;
 import com.yugabyte.yw.common.RestoreManagerYb;
+import com.yugabyte.yw.common.TableCatalogCache;
 import com.yugabyte.yw.common.TableManager;
 import com.yugabyte.yw.common.TableManagerYb;
 import com.yugabyte.yw.common.alerts.AlertConfigurationService;
@@ -38,6 +40,8 @@ public class BaseTaskDependencies {
   private final MetricService metricService;
   private final AlertConfigurationService alertConfigurationService;
   private final YBClientService ybService;
+  private final ClusterConfigCache clusterConfigCache;
+  private final TableCatalogCache tableCatalogCache;
   private final RestoreManagerYb restoreManagerYb;
   private final TableManager tableManager;
   private final TableManagerYb tableManagerYb;
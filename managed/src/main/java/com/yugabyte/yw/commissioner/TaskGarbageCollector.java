@@ -3,9 +3,11 @@ package com.yugabyte.yw.commissioner;
 import akka.actor.ActorSystem;
 import akka.actor.Scheduler;
 import com.google.common.annotations.VisibleForTesting;
+import com.typesafe.config.Config;
 import com.yugabyte.yw.common.config.RuntimeConfigFactory;
 import com.yugabyte.yw.models.Customer;
 import com.yugabyte.yw.models.CustomerTask;
+import com.yugabyte.yw.models.CustomerTask.DeletedTasks;
 import io.prometheus.client.CollectorRegistry;
 import io.prometheus.client.Counter;
 import java.time.Duration;
@@ -37,6 +39,8 @@ public class TaskGarbageCollector {
   // Config names
   static final String YB_TASK_GC_GC_CHECK_INTERVAL = "yb.taskGC.gc_check_interval";
   static final String YB_TASK_GC_TASK_RETENTION_DURATION = "yb.taskGC.task_retention_duration";
+  static final String YB_TASK_GC_DELETE_CHUNK_SIZE = "yb.taskGC.delete_chunk_size";
+  static final String YB_TASK_GC_DELETE_CHUNK_PAUSE = "yb.taskGC.delete_chunk_pause";
 
   static {
     registerMetrics();
@@ -101,27 +105,56 @@ public class TaskGarbageCollector {
   }
 
   private void checkCustomer(Customer c) {
-    List<CustomerTask> staleTasks = CustomerTask.findOlderThan(c, taskRetentionDuration(c));
-    purgeStaleTasks(c, staleTasks);
+    purgeStaleTasks(c, taskRetentionDuration(c));
   }
 
+  /**
+   * Purges the stale tasks of the customer in chunks of yb.taskGC.delete_chunk_size tasks, each
+   * deleted with a few statements in a transaction of its own, pausing for
+   * yb.taskGC.delete_chunk_pause between chunks so a large backlog does not hold the DB.
+   */
   @VisibleForTesting
-  void purgeStaleTasks(Customer c, List<CustomerTask> staleTasks) {
+  void purgeStaleTasks(Customer c, Duration retentionDuration) {
     NUM_TASK_GC_RUNS_COUNT.inc();
+    Config config = runtimeConfigFactory.globalRuntimeConf();
+    int chunkSize = config.getInt(YB_TASK_GC_DELETE_CHUNK_SIZE);
+    Duration chunkPause = config.getDuration(YB_TASK_GC_DELETE_CHUNK_PAUSE);
     int numRowsGCdInThisRun = 0;
-    for (CustomerTask customerTask : staleTasks) {
-      int numRowsDeleted = customerTask.cascadeDeleteCompleted();
-      numRowsGCdInThisRun += numRowsDeleted;
-      if (numRowsDeleted > 0) {
-        PURGED_CUSTOMER_TASK_COUNT.labels(c.getUuid().toString()).inc();
-        PURGED_TASK_INFO_COUNT.labels(c.getUuid().toString()).inc(numRowsDeleted - 1);
-      } else {
-        NUM_TASK_GC_ERRORS_COUNT.inc();
+    // Skipped tasks stay in the table, so chunks are read after the last id instead of from the
+    // start.
+    long lastId = 0;
+    while (true) {
+      List<CustomerTask> staleTasks =
+          CustomerTask.findOlderThan(c, retentionDuration, lastId, chunkSize);
+      if (staleTasks.isEmpty()) {
+        break;
+      }
+      numRowsGCdInThisRun += purgeStaleTasks(c, staleTasks);
+      if (staleTasks.size() < chunkSize) {
+        break;
+      }
+      lastId = staleTasks.get(staleTasks.size() - 1).getId();
+      try {
+        Thread.sleep(chunkPause.toMillis());
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+        log.warn("Interrupted while garbage collecting tasks");
+        break;
       }
     }
     log.info("Garbage collected {} rows", numRowsGCdInThisRun);
   }
 
+  private int purgeStaleTasks(Customer c, List<CustomerTask> staleTasks) {
+    DeletedTasks deleted = CustomerTask.cascadeDeleteCompleted(staleTasks);
+    if (deleted.numCustomerTasks > 0) {
+      PURGED_CUSTOMER_TASK_COUNT.labels(c.getUuid().toString()).inc(deleted.numCustomerTasks);
+      PURGED_TASK_INFO_COUNT.labels(c.getUuid().toString()).inc(deleted.numTaskInfos);
+    }
+    NUM_TASK_GC_ERRORS_COUNT.inc(deleted.numSkipped);
+    return deleted.numCustomerTasks + deleted.numTaskInfos;
+  }
+
   /** The interval at which the gc checker will run. */
   private Duration gcCheckInterval() {
     return runtimeConfigFactory.staticApplicationConf().getDuration(YB_TASK_GC_GC_CHECK_INTERVAL);
@@ -2,6 +2,7 @@ package com.yugabyte.yw.commissioner.tasks;
 
 import com.google.inject.Inject;
 import com.google.common.base.Throwables;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
 import com.yugabyte.yw.commissioner.AbstractTaskBase;
 import com.yugabyte.yw.commissioner.BaseTaskDependencies;
 import com.yugabyte.yw.commissioner.tasks.params.SupportBundleTaskParams;
@@ -13,27 +14,26 @@ import com.yugabyte.yw.models.SupportBundle;
 import com.yugabyte.yw.models.Universe;
 import com.yugabyte.yw.models.SupportBundle.SupportBundleStatusType;
 import com.yugabyte.yw.models.helpers.BundleDetails;
+import com.yugabyte.yw.common.supportbundle.SupportBundleArchive;
 import com.yugabyte.yw.common.supportbundle.SupportBundleComponent;
 import com.yugabyte.yw.common.supportbundle.SupportBundleComponentFactory;
 import com.yugabyte.yw.common.SupportBundleUtil;
-import java.io.BufferedInputStream;
-import java.io.BufferedOutputStream;
-import java.io.File;
-import java.io.FileInputStream;
-import java.io.FileOutputStream;
 import java.io.IOException;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
 import java.text.SimpleDateFormat;
+import java.util.ArrayList;
 import java.util.Date;
+import java.util.List;
+import java.util.Set;
 import java.util.UUID;
-import java.util.zip.GZIPOutputStream;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 import java.text.ParseException;
 import lombok.extern.slf4j.Slf4j;
-import org.apache.commons.compress.archivers.tar.TarArchiveEntry;
-import org.apache.commons.compress.archivers.tar.TarArchiveOutputStream;
-import org.apache.commons.compress.utils.IOUtils;
 import org.apache.commons.io.FileUtils;
 
 @Slf4j
@@ -74,69 +74,107 @@ public class CreateSupportBundle extends AbstractTaskBase {
     Customer customer = taskParams().customer;
     Universe universe = taskParams().universe;
     Path bundlePath = generateBundlePath(universe);
-    Files.createDirectories(bundlePath);
     Path gzipPath =
         Paths.get(bundlePath.toAbsolutePath().toString().concat(".tar.gz")); // test this path
     log.debug("gzip support bundle path: {}", gzipPath.toString());
     log.debug("Fetching Universe {} logs", universe.name);
 
-    // Downloads each type of support bundle component type into the bundle path
-    for (BundleDetails.ComponentType componentType : supportBundle.getBundleDetails().components) {
-      SupportBundleComponent supportBundleComponent =
-          supportBundleComponentFactory.getComponent(componentType);
+    // The components are collected in parallel and so are the nodes of each component. All the
+    // node downloads share a bounded pool, which also bounds the disk space used by downloaded
+    // files waiting to be added to the archive. The bundle path only holds those files.
+    Set<BundleDetails.ComponentType> componentTypes = supportBundle.getBundleDetails().components;
+    ExecutorService downloadExecutor =
+        Executors.newFixedThreadPool(
+            config.getInt("yb.support_bundle.download_parallelism"),
+            new ThreadFactoryBuilder().setNameFormat("SupportBundle-Download-%d").build());
+    ExecutorService componentExecutor =
+        Executors.newFixedThreadPool(
+            Math.max(1, componentTypes.size()),
+            new ThreadFactoryBuilder().setNameFormat("SupportBundle-Component-%d").build());
+    boolean success = false;
+    try (SupportBundleArchive archive =
+        new SupportBundleArchive(
+            gzipPath, bundlePath.getFileName().toString(), bundlePath, downloadExecutor)) {
+      List<Future<?>> futures = new ArrayList<>();
+      for (BundleDetails.ComponentType componentType : componentTypes) {
+        futures.add(
+            componentExecutor.submit(
+                () -> {
+                  downloadComponent(supportBundle, componentType, customer, universe, archive);
+                  return null;
+                }));
+      }
       try {
-        // If both of the dates are given and valid
-        if (supportBundleUtil.isValidDate(supportBundle.getStartDate())
-            && supportBundleUtil.isValidDate(supportBundle.getEndDate())) {
-          supportBundleComponent.downloadComponentBetweenDates(
-              customer,
-              universe,
-              bundlePath,
-              supportBundle.getStartDate(),
-              supportBundle.getEndDate());
-        }
-        // If only the start date is valid, filter from startDate till the end
-        else if (supportBundleUtil.isValidDate(supportBundle.getStartDate())) {
-          supportBundleComponent.downloadComponentBetweenDates(
-              customer,
-              universe,
-              bundlePath,
-              supportBundle.getStartDate(),
-              new Date(Long.MAX_VALUE));
-        }
-        // If only the end date is valid, filter from the beginning till endDate
-        else if (supportBundleUtil.isValidDate(supportBundle.getEndDate())) {
-          supportBundleComponent.downloadComponentBetweenDates(
-              customer, universe, bundlePath, new Date(Long.MIN_VALUE), supportBundle.getEndDate());
+        for (Future<?> future : futures) {
+          future.get();
         }
-        // Default : If no dates are specified, download all the files from last n days
-        else {
-          int default_date_range = config.getInt("yb.support_bundle.default_date_range");
-          Date defaultEndDate = supportBundleUtil.getTodaysDate();
-          Date defaultStartDate =
-              supportBundleUtil.getDateNDaysAgo(defaultEndDate, default_date_range);
-          supportBundleComponent.downloadComponentBetweenDates(
-              customer, universe, bundlePath, defaultStartDate, defaultEndDate);
-        }
-      } catch (ParseException e) {
-        throw new RuntimeException(
-            String.format("Error while trying to parse the universe files : %s", e.getMessage()));
+      } catch (ExecutionException e) {
+        Throwables.throwIfInstanceOf(e.getCause(), IOException.class);
+        Throwables.throwIfUnchecked(e.getCause());
+        throw new RuntimeException(e.getCause());
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+        throw new RuntimeException("Interrupted while generating support bundle", e);
+      } finally {
+        futures.forEach(future -> future.cancel(true));
+        archive.logProgress();
+      }
+      success = true;
+    } finally {
+      componentExecutor.shutdownNow();
+      downloadExecutor.shutdownNow();
+      FileUtils.deleteDirectory(bundlePath.toFile());
+      if (!success) {
+        Files.deleteIfExists(gzipPath);
       }
-    }
-
-    try (FileOutputStream fos = new FileOutputStream(gzipPath.toString()); // need to test this path
-        GZIPOutputStream gos = new GZIPOutputStream(new BufferedOutputStream(fos));
-        TarArchiveOutputStream tarOS = new TarArchiveOutputStream(gos)) {
-
-      tarOS.setLongFileMode(TarArchiveOutputStream.LONGFILE_POSIX);
-      addFilesToTarGZ(bundlePath.toString(), "", tarOS);
-      FileUtils.deleteDirectory(new File(bundlePath.toAbsolutePath().toString()));
     }
     log.debug(
         "Finished aggregating logs for support bundle with UUID {}", supportBundle.getBundleUUID());
     return gzipPath;
   }
 
+  // Adds the files of the given component type to the bundle archive
+  private void downloadComponent(
+      SupportBundle supportBundle,
+      BundleDetails.ComponentType componentType,
+      Customer customer,
+      Universe universe,
+      SupportBundleArchive archive)
+      throws IOException {
+    SupportBundleComponent supportBundleComponent =
+        supportBundleComponentFactory.getComponent(componentType);
+    try {
+      // If both of the dates are given and valid
+      if (supportBundleUtil.isValidDate(supportBundle.getStartDate())
+          && supportBundleUtil.isValidDate(supportBundle.getEndDate())) {
+        supportBundleComponent.downloadComponentBetweenDates(
+            customer, universe, archive, supportBundle.getStartDate(), supportBundle.getEndDate());
+      }
+      // If only the start date is valid, filter from startDate till the end
+      else if (supportBundleUtil.isValidDate(supportBundle.getStartDate())) {
+        supportBundleComponent.downloadComponentBetweenDates(
+            customer, universe, archive, supportBundle.getStartDate(), new Date(Long.MAX_VALUE));
+      }
+      // If only the end date is valid, filter from the beginning till endDate
+      else if (supportBundleUtil.isValidDate(supportBundle.getEndDate())) {
+        supportBundleComponent.downloadComponentBetweenDates(
+            customer, universe, archive, new Date(Long.MIN_VALUE), supportBundle.getEndDate());
+      }
+      // Default : If no dates are specified, download all the files from last n days
+      else {
+        int default_date_range = config.getInt("yb.support_bundle.default_date_range");
+        Date defaultEndDate = supportBundleUtil.getTodaysDate();
+        Date defaultStartDate =
+            supportBundleUtil.getDateNDaysAgo(defaultEndDate, default_date_range);
+        supportBundleComponent.downloadComponentBetweenDates(
+            customer, universe, archive, defaultStartDate, defaultEndDate);
+      }
+    } catch (ParseException e) {
+      throw new RuntimeException(
+          String.format("Error while trying to parse the universe files : %s", e.getMessage()));
+    }
+  }
+
   private Path generateBundlePath(Universe universe) {
     String storagePath = runtimeConfigFactory.staticApplicationConf().getString("yb.storage.path");
     String datePrefix = new SimpleDateFormat("yyyyMMddHHmmss.SSS").format(new Date());
@@ -144,24 +182,4 @@ public class CreateSupportBundle extends AbstractTaskBase {
     Path bundlePath = Paths.get(storagePath + "/" + bundleName);
     return bundlePath;
   }
-
-  private static void addFilesToTarGZ(
-      String filePath, String parent, TarArchiveOutputStream tarArchive) throws IOException {
-    File file = new File(filePath);
-    String entryName = parent + file.getName();
-    tarArchive.putArchiveEntry(new TarArchiveEntry(file, entryName));
-    if (file.isFile()) {
-      try (FileInputStream fis = new FileInputStream(file);
-          BufferedInputStream bis = new BufferedInputStream(fis)) {
-        IOUtils.copy(bis, tarArchive);
-        tarArchive.closeArchiveEntry();
-      }
-    } else if (file.isDirectory()) {
-      // no content to copy so close archive entry
-      tarArchive.closeArchiveEntry();
-      for (File f : file.listFiles()) {
-        addFilesToTarGZ(f.getAbsolutePath(), entryName + File.separator, tarArchive);
-      }
-    }
-  }
 }
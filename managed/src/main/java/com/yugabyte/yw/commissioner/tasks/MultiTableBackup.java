@@ -28,6 +28,7 @@ import com.yugabyte.yw.commissioner.Commissioner;
 import com.yugabyte.yw.commissioner.ITask.Abortable;
 import com.yugabyte.yw.commissioner.SubTaskGroupQueue;
 import com.yugabyte.yw.commissioner.UserTaskDetails;
+import com.yugabyte.yw.common.BackupPlanner;
 import com.yugabyte.yw.common.metrics.MetricLabelsBuilder;
 import com.yugabyte.yw.forms.BackupTableParams;
 import com.yugabyte.yw.forms.BackupTableParams.ActionType;
@@ -247,8 +248,9 @@ public class MultiTableBackup extends UniverseTaskBase {
         }
         log.info("Successfully started scheduled backup of tables.");
         if (params().getKeyspace() == null && params().tableUUIDList.size() == 0) {
-          // Full universe backup, each table to be sequentially backed up
-
+          // Full universe backup, the tables of a keyspace are backed up from a single snapshot
+          // and the keyspaces in parallel.
+          backupParamsList = BackupPlanner.groupByKeyspace(backupParamsList);
           tableBackupParams.backupList = backupParamsList;
           tableBackupParams.storageConfigUUID = params().storageConfigUUID;
           tableBackupParams.actionType = BackupTableParams.ActionType.CREATE;
@@ -294,9 +296,10 @@ public class MultiTableBackup extends UniverseTaskBase {
 
             createEncryptedUniverseKeyBackupTask(tableParams)
                 .setSubTaskGroupType(UserTaskDetails.SubTaskGroupType.CreatingTableBackup);
-            createTableBackupTask(tableParams)
-                .setSubTaskGroupType(UserTaskDetails.SubTaskGroupType.CreatingTableBackup);
           }
+          // One backup for each table, the tables are backed up in parallel.
+          createTableBackupTasks(backupParamsList)
+              .setSubTaskGroupType(UserTaskDetails.SubTaskGroupType.CreatingTableBackup);
         }
 
         // Marks the update of this universe as a success only if all the tasks before it succeeded.
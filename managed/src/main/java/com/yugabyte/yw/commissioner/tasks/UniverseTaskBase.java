@@ -69,6 +69,7 @@ import com.yugabyte.yw.commissioner.tasks.subtasks.WaitForMasterLeader;
 import com.yugabyte.yw.commissioner.tasks.subtasks.WaitForServer;
 import com.yugabyte.yw.commissioner.tasks.subtasks.WaitForServerReady;
 import com.yugabyte.yw.commissioner.tasks.subtasks.nodes.UpdateNodeProcess;
+import com.yugabyte.yw.common.ClusterConfigCache;
 import com.yugabyte.yw.common.DnsManager;
 import com.yugabyte.yw.common.NodeManager;
 import com.yugabyte.yw.common.ShellResponse;
@@ -119,6 +120,7 @@ import org.apache.commons.collections.MapUtils;
 import org.slf4j.MDC;
 import org.yb.ColumnSchema.SortOrder;
 import org.yb.CommonTypes.TableType;
+import org.yb.client.GetMasterClusterConfigResponse;
 import org.yb.client.ModifyClusterConfigIncrementVersion;
 import org.yb.client.YBClient;
 import play.api.Play;
@@ -1418,6 +1420,19 @@ public abstract class UniverseTaskBase extends AbstractTaskBase {
     return subTaskGroup;
   }
 
+  /** Creates a single group of backup tasks, which run in parallel within the backup limits. */
+  public SubTaskGroup createTableBackupTasks(List<BackupTableParams> taskParamsList) {
+    SubTaskGroup subTaskGroup = new SubTaskGroup("BackupTable", executor);
+    for (BackupTableParams taskParams : taskParamsList) {
+      BackupTable task = createTask(BackupTable.class);
+      task.initialize(taskParams);
+      task.setUserTaskUUID(userTaskUUID);
+      subTaskGroup.addTask(task);
+    }
+    subTaskGroupQueue.add(subTaskGroup);
+    return subTaskGroup;
+  }
+
   public SubTaskGroup createTableBackupTaskYb(BackupTableParams taskParams) {
     SubTaskGroup subTaskGroup =
         new SubTaskGroup("BackupTableYb", executor, taskParams.ignoreErrors);
@@ -1936,13 +1951,22 @@ public abstract class UniverseTaskBase extends AbstractTaskBase {
   //  Use of transactions may be better.
   private static synchronized int getClusterConfigVersion(Universe universe) {
     final YBClientService ybService = Play.current().injector().instanceOf(YBClientService.class);
+    final ClusterConfigCache clusterConfigCache =
+        Play.current().injector().instanceOf(ClusterConfigCache.class);
     final String hostPorts = universe.getMasterAddresses();
     final String certificate = universe.getCertificateNodetoNode();
     YBClient client = null;
     int version;
     try {
       client = ybService.getClient(hostPorts, certificate);
-      version = client.getMasterClusterConfig().getConfig().getVersion();
+      // The version guards against changes made by other platforms or by yb-admin, which don't
+      // invalidate the cache, so it is always read from the master.
+      GetMasterClusterConfigResponse response =
+          clusterConfigCache.refresh(universe.universeUUID, client);
+      if (response.hasError()) {
+        throw new RuntimeException("Failed to get cluster config: " + response.errorMessage());
+      }
+      version = response.getConfig().getVersion();
       ybService.closeClient(client, hostPorts);
     } catch (Exception e) {
       log.error("Error occurred retrieving cluster config version", e);
@@ -2006,6 +2030,8 @@ public abstract class UniverseTaskBase extends AbstractTaskBase {
   private static synchronized void incrementClusterConfigVersion(UUID universeUUID) {
     Universe universe = Universe.getOrBadRequest(universeUUID);
     YBClientService ybService = Play.current().injector().instanceOf(YBClientService.class);
+    ClusterConfigCache clusterConfigCache =
+        Play.current().injector().instanceOf(ClusterConfigCache.class);
     final String hostPorts = universe.getMasterAddresses();
     String certificate = universe.getCertificateNodetoNode();
     YBClient client = null;
@@ -2026,6 +2052,7 @@ public abstract class UniverseTaskBase extends AbstractTaskBase {
           "Error occurred incrementing cluster config version for universe " + universeUUID, e);
       throw new RuntimeException("Error incrementing cluster config version", e);
     } finally {
+      clusterConfigCache.invalidate(universeUUID, "increment_version");
       ybService.closeClient(client, hostPorts);
     }
   }
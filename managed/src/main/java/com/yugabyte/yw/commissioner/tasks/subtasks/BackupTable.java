@@ -14,6 +14,7 @@ import com.fasterxml.jackson.databind.JsonNode;
 import com.google.api.client.util.Throwables;
 import com.yugabyte.yw.commissioner.AbstractTaskBase;
 import com.yugabyte.yw.commissioner.BaseTaskDependencies;
+import com.yugabyte.yw.common.BackupPlanner;
 import com.yugabyte.yw.common.BackupUtil;
 import com.yugabyte.yw.common.ShellResponse;
 import com.yugabyte.yw.forms.BackupTableParams;
@@ -28,6 +29,8 @@ import lombok.extern.slf4j.Slf4j;
 @Slf4j
 public class BackupTable extends AbstractTaskBase {
 
+  @Inject BackupPlanner backupPlanner;
+
   @Inject
   public BackupTable(BaseTaskDependencies baseTaskDependencies) {
     super(baseTaskDependencies);
@@ -58,62 +61,34 @@ public class BackupTable extends AbstractTaskBase {
       if (config.isEmpty() || config.getOrDefault(Universe.TAKE_BACKUPS, "true").equals("true")) {
         BackupTableParams.ActionType actionType = taskParams().actionType;
         if (taskParams().backupList != null) {
-          long totalBackupSize = 0L;
-          int backupIdx = 0;
           for (BackupTableParams backupParams : taskParams().backupList) {
             backupParams.backupUuid = taskParams().backupUuid;
-            ShellResponse response = tableManager.createBackup(backupParams);
-            processShellResponse(response);
-            JsonNode jsonNode = null;
-            try {
-              jsonNode = Json.parse(response.message);
-            } catch (Exception e) {
-              log.error("Response code={}, output={}.", response.code, response.message);
-              throw e;
-            }
-            if (response.code != 0 || jsonNode.has("error")) {
-              log.error("Response code={}, hasError={}.", response.code, jsonNode.has("error"));
-              throw new RuntimeException(response.message);
-            }
-
-            log.info("[" + getName() + "] STDOUT: " + response.message);
-            if (actionType == BackupTableParams.ActionType.CREATE) {
-              long backupSize = BackupUtil.extractBackupSize(jsonNode);
-              backup.setBackupSizeInBackupList(backupIdx, backupSize);
-              totalBackupSize += backupSize;
-            }
-            backupIdx++;
           }
-
           if (actionType == BackupTableParams.ActionType.CREATE) {
+            // Backed up in parallel, the size of each entry is saved as soon as it is done.
+            long totalBackupSize =
+                backupPlanner.runAll(
+                    taskParams().backupList,
+                    this::backupTable,
+                    (backupIdx, backupSize) ->
+                        backup.setBackupSizeInBackupList(backupIdx, backupSize));
             backup.save();
             backup.setCompletionTime(backup.getUpdateTime());
             backup.setTotalBackupSize(totalBackupSize);
+          } else {
+            for (BackupTableParams backupParams : taskParams().backupList) {
+              backupPlanner.run(backupParams, () -> backupTable(backupParams));
+            }
           }
           backup.transitionState(Backup.BackupState.Completed);
         } else {
-          ShellResponse response = tableManager.createBackup(taskParams());
-          processShellResponse(response);
-          JsonNode jsonNode = null;
-          try {
-            jsonNode = Json.parse(response.message);
-          } catch (Exception e) {
-            log.error("Response code={}, output={}.", response.code, response.message);
-            throw e;
-          }
-          if (response.code != 0 || jsonNode.has("error")) {
-            log.error("Response code={}, hasError={}.", response.code, jsonNode.has("error"));
-            throw new RuntimeException(response.message);
-          } else {
-            log.info("[" + getName() + "] STDOUT: " + response.message);
-            if (actionType == BackupTableParams.ActionType.CREATE) {
-              long backupSize = BackupUtil.extractBackupSize(jsonNode);
-              backup.save();
-              backup.setCompletionTime(backup.getUpdateTime());
-              backup.setTotalBackupSize(backupSize);
-            }
-            backup.transitionState(Backup.BackupState.Completed);
+          long backupSize = backupPlanner.run(taskParams(), () -> backupTable(taskParams()));
+          if (actionType == BackupTableParams.ActionType.CREATE) {
+            backup.save();
+            backup.setCompletionTime(backup.getUpdateTime());
+            backup.setTotalBackupSize(backupSize);
           }
+          backup.transitionState(Backup.BackupState.Completed);
         }
       } else {
         log.info("Skipping table {}:{}", taskParams().getKeyspace(), taskParams().getTableName());
@@ -126,4 +101,26 @@ public class BackupTable extends AbstractTaskBase {
       Throwables.propagate(e);
     }
   }
+
+  private long backupTable(BackupTableParams backupParams) {
+    ShellResponse response = tableManager.createBackup(backupParams);
+    processShellResponse(response);
+    JsonNode jsonNode = null;
+    try {
+      jsonNode = Json.parse(response.message);
+    } catch (Exception e) {
+      log.error("Response code={}, output={}.", response.code, response.message);
+      throw e;
+    }
+    if (response.code != 0 || jsonNode.has("error")) {
+      log.error("Response code={}, hasError={}.", response.code, jsonNode.has("error"));
+      throw new RuntimeException(response.message);
+    }
+
+    log.info("[" + getName() + "] STDOUT: " + response.message);
+    if (taskParams().actionType != BackupTableParams.ActionType.CREATE) {
+      return 0L;
+    }
+    return BackupUtil.extractBackupSize(jsonNode);
+  }
 }
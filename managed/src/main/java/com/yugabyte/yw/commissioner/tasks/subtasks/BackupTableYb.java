@@ -14,6 +14,7 @@ import com.fasterxml.jackson.databind.JsonNode;
 import com.google.api.client.util.Throwables;
 import com.yugabyte.yw.commissioner.AbstractTaskBase;
 import com.yugabyte.yw.commissioner.BaseTaskDependencies;
+import com.yugabyte.yw.common.BackupPlanner;
 import com.yugabyte.yw.common.BackupUtil;
 import com.yugabyte.yw.common.ShellResponse;
 import com.yugabyte.yw.forms.BackupTableParams;
@@ -28,6 +29,8 @@ import play.libs.Json;
 @Slf4j
 public class BackupTableYb extends AbstractTaskBase {
 
+  @Inject BackupPlanner backupPlanner;
+
   @Inject
   public BackupTableYb(BaseTaskDependencies baseTaskDependencies) {
     super(baseTaskDependencies);
@@ -47,29 +50,13 @@ public class BackupTableYb extends AbstractTaskBase {
       Universe universe = Universe.getOrBadRequest(taskParams().universeUUID);
       Map<String, String> config = universe.getConfig();
       if (config.isEmpty() || config.getOrDefault(Universe.TAKE_BACKUPS, "true").equals("true")) {
-        long totalBackupSize = 0L;
-        int backupIdx = 0;
-        for (BackupTableParams backupParams : taskParams().backupList) {
-          ShellResponse response = tableManagerYb.createBackup(backupParams);
-          processShellResponse(response);
-          JsonNode jsonNode = null;
-          try {
-            jsonNode = Json.parse(response.message);
-          } catch (Exception e) {
-            log.error("Response code={}, output={}.", response.code, response.message);
-            throw e;
-          }
-          if (response.code != 0 || jsonNode.has("error")) {
-            log.error("Response code={}, hasError={}.", response.code, jsonNode.has("error"));
-            throw new RuntimeException(response.message);
-          }
-
-          log.info("[" + getName() + "] STDOUT: " + response.message);
-          long backupSize = BackupUtil.extractBackupSize(jsonNode);
-          backup.setBackupSizeInBackupList(backupIdx, backupSize);
-          totalBackupSize += backupSize;
-          backupIdx++;
-        }
+        // Keyspaces are backed up in parallel, the size of each is saved as soon as it is done.
+        long totalBackupSize =
+            backupPlanner.runAll(
+                taskParams().backupList,
+                this::backupKeyspace,
+                (backupIdx, backupSize) ->
+                    backup.setBackupSizeInBackupList(backupIdx, backupSize));
         backup.setCompletionTime(backup.getUpdateTime());
         backup.setTotalBackupSize(totalBackupSize);
         backup.transitionState(Backup.BackupState.Completed);
@@ -83,4 +70,23 @@ public class BackupTableYb extends AbstractTaskBase {
       Throwables.propagate(e);
     }
   }
+
+  private long backupKeyspace(BackupTableParams backupParams) {
+    ShellResponse response = tableManagerYb.createBackup(backupParams);
+    processShellResponse(response);
+    JsonNode jsonNode = null;
+    try {
+      jsonNode = Json.parse(response.message);
+    } catch (Exception e) {
+      log.error("Response code={}, output={}.", response.code, response.message);
+      throw e;
+    }
+    if (response.code != 0 || jsonNode.has("error")) {
+      log.error("Response code={}, hasError={}.", response.code, jsonNode.has("error"));
+      throw new RuntimeException(response.message);
+    }
+
+    log.info("[" + getName() + "] STDOUT: " + response.message);
+    return BackupUtil.extractBackupSize(jsonNode);
+  }
 }
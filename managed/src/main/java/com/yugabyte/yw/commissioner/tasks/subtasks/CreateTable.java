@@ -229,6 +229,8 @@ public class CreateTable extends AbstractTaskBase {
       String msg = "Error " + e.getMessage() + " while creating table " + taskParams().tableName;
       log.error(msg, e);
       throw new RuntimeException(msg);
+    } finally {
+      tableCatalogCache.invalidate(taskParams().universeUUID);
     }
   }
 }
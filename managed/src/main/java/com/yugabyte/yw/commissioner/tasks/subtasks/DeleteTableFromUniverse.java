@@ -59,6 +59,7 @@ public class DeleteTableFromUniverse extends AbstractTaskBase {
       log.error(msg, e);
       throw new RuntimeException(msg);
     } finally {
+      tableCatalogCache.invalidate(params.universeUUID);
       ybService.closeClient(client, params.masterAddresses);
     }
   }
@@ -66,6 +66,7 @@ public class LoadBalancerStateChange extends UniverseTaskBase {
       log.error("{} hit exception : {}", getName(), e.getMessage());
       throw new RuntimeException(e);
     } finally {
+      clusterConfigCache.invalidate(universe.universeUUID, "load_balancer_state");
       ybService.closeClient(client, masterHostPorts);
     }
 
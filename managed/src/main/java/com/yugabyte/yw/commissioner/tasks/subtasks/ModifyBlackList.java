@@ -89,6 +89,7 @@ public class ModifyBlackList extends UniverseTaskBase {
       log.error("{} hit error : {}", getName(), e.getMessage());
       throw new RuntimeException(e);
     } finally {
+      clusterConfigCache.invalidate(universe.universeUUID, "blacklist");
       ybService.closeClient(client, masterHostPorts);
     }
   }
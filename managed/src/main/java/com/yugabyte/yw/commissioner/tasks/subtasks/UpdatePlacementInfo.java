@@ -83,6 +83,7 @@ public class UpdatePlacementInfo extends UniverseTaskBase {
       log.error("{} hit error : {}", getName(), e.getMessage());
       throw new RuntimeException(e);
     } finally {
+      clusterConfigCache.invalidate(universe.universeUUID, "placement_info");
       ybService.closeClient(client, hostPorts);
     }
   }
@@ -56,6 +56,7 @@ public class XClusterConfigDelete extends XClusterConfigTaskBase {
       log.error("{} hit error : {}", getName(), e.getMessage());
       throw new RuntimeException(e);
     } finally {
+      clusterConfigCache.invalidate(targetUniverse.universeUUID, "xcluster_delete");
       ybService.closeClient(client, targetUniverseMasterAddresses);
     }
 
@@ -96,6 +96,7 @@ public class XClusterConfigModifyTables extends XClusterConfigTaskBase {
       log.error("{} hit error : {}", getName(), e.getMessage());
       throw new RuntimeException(e);
     } finally {
+      clusterConfigCache.invalidate(targetUniverse.universeUUID, "xcluster_modify_tables");
       ybService.closeClient(client, targetUniverseMasterAddresses);
     }
 
@@ -63,6 +63,7 @@ public class XClusterConfigRename extends XClusterConfigTaskBase {
       log.error("{} hit error : {}", getName(), e.getMessage());
       throw new RuntimeException(e);
     } finally {
+      clusterConfigCache.invalidate(targetUniverse.universeUUID, "xcluster_rename");
       ybService.closeClient(client, targetUniverseMasterAddresses);
     }
 
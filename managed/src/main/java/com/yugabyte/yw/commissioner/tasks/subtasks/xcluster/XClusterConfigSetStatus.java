@@ -69,6 +69,7 @@ public class XClusterConfigSetStatus extends XClusterConfigTaskBase {
       log.error("{} hit error : {}", getName(), e.getMessage());
       throw new RuntimeException(e);
     } finally {
+      clusterConfigCache.invalidate(targetUniverse.universeUUID, "xcluster_set_status");
       ybService.closeClient(client, targetUniverseMasterAddresses);
     }
 
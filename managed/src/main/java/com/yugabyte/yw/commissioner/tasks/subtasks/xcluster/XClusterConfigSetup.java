@@ -67,6 +67,7 @@ public class XClusterConfigSetup extends XClusterConfigTaskBase {
       log.error("{} hit error : {}", getName(), e.getMessage());
       throw new RuntimeException(e);
     } finally {
+      clusterConfigCache.invalidate(targetUniverse.universeUUID, "xcluster_setup");
       ybService.closeClient(client, targetUniverseMasterAddresses);
     }
 
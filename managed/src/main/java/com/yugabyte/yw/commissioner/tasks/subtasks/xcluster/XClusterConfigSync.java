@@ -45,7 +45,8 @@ public class XClusterConfigSync extends XClusterConfigTaskBase {
     YBClient client = ybService.getClient(targetUniverseMasterAddresses, targetUniverseCertificate);
 
     try {
-      GetMasterClusterConfigResponse resp = client.getMasterClusterConfig();
+      GetMasterClusterConfigResponse resp =
+          clusterConfigCache.refresh(targetUniverse.universeUUID, client);
       if (resp.hasError()) {
         String errMsg =
             String.format(
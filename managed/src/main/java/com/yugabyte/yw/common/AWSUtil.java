@@ -16,15 +16,17 @@ import com.amazonaws.services.s3.AmazonS3;
 import com.amazonaws.services.s3.AmazonS3Client;
 import com.amazonaws.services.s3.model.DeleteObjectsRequest;
 import com.amazonaws.services.s3.model.DeleteObjectsRequest.KeyVersion;
-import com.amazonaws.services.s3.model.DeleteObjectsResult;
+import com.amazonaws.services.s3.model.ListObjectsV2Request;
 import com.amazonaws.services.s3.model.ListObjectsV2Result;
 import com.amazonaws.services.s3.model.MultiObjectDeleteException;
 import com.amazonaws.services.s3.model.MultiObjectDeleteException.DeleteError;
 import com.fasterxml.jackson.databind.JsonNode;
+import com.google.common.util.concurrent.MoreExecutors;
 import org.apache.commons.lang3.StringUtils;
+import java.util.Collections;
 import java.util.List;
 import java.util.ArrayList;
-import java.util.stream.Collectors;
+import java.util.concurrent.Executor;
 import lombok.extern.slf4j.Slf4j;
 
 @Singleton
@@ -130,26 +132,39 @@ public class AWSUtil {
 
   public static void deleteStorage(JsonNode configData, List<String> backupLocations)
       throws Exception {
+    deleteStorage(configData, backupLocations, MoreExecutors.directExecutor());
+  }
+
+  /**
+   * Deletes all the objects under the backup locations. Every page of the listing is removed with a
+   * single multi-object delete on the delete executor while the next page is being listed.
+   */
+  public static void deleteStorage(
+      JsonNode configData, List<String> backupLocations, Executor deleteExecutor)
+      throws Exception {
+    AmazonS3 s3Client = createS3Client(configData);
     for (String backupLocation : backupLocations) {
       try {
-        AmazonS3 s3Client = createS3Client(configData);
         String[] splitLocation = getSplitLocationValue(backupLocation);
         String bucketName = splitLocation[0];
         String objectPrefix = splitLocation[1];
-        String nextContinuationToken = null;
+        BulkDeletePipeline pipeline = new BulkDeletePipeline(deleteExecutor);
+        ListObjectsV2Request listRequest =
+            new ListObjectsV2Request().withBucketName(bucketName).withPrefix(objectPrefix);
+        ListObjectsV2Result listObjectsResult;
         do {
-          ListObjectsV2Result listObjectsResult = s3Client.listObjectsV2(bucketName, objectPrefix);
-          if (listObjectsResult.getKeyCount() == 0) {
-            break;
-          }
-          nextContinuationToken = null;
-          if (listObjectsResult.isTruncated()) {
-            nextContinuationToken = listObjectsResult.getContinuationToken();
+          listObjectsResult = s3Client.listObjectsV2(listRequest);
+          if (listObjectsResult.getKeyCount() > 0) {
+            log.debug(
+                "Retrieved blobs info for bucket " + bucketName + " with prefix " + objectPrefix);
+            ListObjectsV2Result page = listObjectsResult;
+            pipeline.submit(
+                Collections.singletonList(
+                    () -> retrieveAndDeleteObjects(page, bucketName, s3Client)));
           }
-          log.debug(
-              "Retrieved blobs info for bucket " + bucketName + " with prefix " + objectPrefix);
-          retrieveAndDeleteObjects(listObjectsResult, bucketName, s3Client);
-        } while (nextContinuationToken != null);
+          listRequest.setContinuationToken(listObjectsResult.getNextContinuationToken());
+        } while (listObjectsResult.isTruncated());
+        pipeline.await();
       } catch (Exception e) {
         log.error(" Error in deleting objects at location " + backupLocation, e);
         throw e;
@@ -157,17 +172,19 @@ public class AWSUtil {
     }
   }
 
+  // A listing page holds at most 1000 keys, which is also the limit of a multi-object delete.
   public static void retrieveAndDeleteObjects(
       ListObjectsV2Result listObjectsResult, String bucketName, AmazonS3 s3Client)
       throws Exception {
     List<S3ObjectSummary> objectSummary = listObjectsResult.getObjectSummaries();
-    List<DeleteObjectsRequest.KeyVersion> objectKeys =
-        objectSummary
-            .parallelStream()
-            .map(o -> new KeyVersion(o.getKey()))
-            .collect(Collectors.toList());
+    List<DeleteObjectsRequest.KeyVersion> objectKeys = new ArrayList<>(objectSummary.size());
+    for (S3ObjectSummary summary : objectSummary) {
+      objectKeys.add(new KeyVersion(summary.getKey()));
+    }
+    // Failed keys are reported by a MultiObjectDeleteException, no need to have the deleted ones
+    // echoed back.
     DeleteObjectsRequest deleteRequest =
-        new DeleteObjectsRequest(bucketName).withKeys(objectKeys).withQuiet(false);
-    DeleteObjectsResult response = s3Client.deleteObjects(deleteRequest);
+        new DeleteObjectsRequest(bucketName).withKeys(objectKeys).withQuiet(true);
+    s3Client.deleteObjects(deleteRequest);
   }
 }
@@ -9,15 +9,19 @@ import java.time.Duration;
 import java.util.Iterator;
 import java.util.List;
 import java.util.ArrayList;
+import java.util.concurrent.Executor;
 import lombok.extern.slf4j.Slf4j;
 import com.azure.storage.blob.BlobClient;
 import com.azure.storage.blob.BlobClientBuilder;
 import com.fasterxml.jackson.databind.JsonNode;
+import com.google.common.collect.Lists;
+import com.google.common.util.concurrent.MoreExecutors;
 import com.yugabyte.yw.forms.BackupTableParams;
 import com.azure.storage.blob.models.DeleteSnapshotsOptionType;
 import com.azure.storage.blob.BlobContainerClient;
 import com.azure.storage.blob.BlobContainerClientBuilder;
 import com.azure.storage.blob.models.BlobItem;
+import com.azure.storage.blob.models.BlobStorageException;
 import com.azure.core.http.rest.PagedIterable;
 import com.azure.core.http.rest.PagedResponse;
 import com.azure.storage.blob.models.ListBlobsOptions;
@@ -27,6 +31,7 @@ import com.azure.storage.blob.models.ListBlobsOptions;
 public class AZUtil {
   public static final String AZURE_STORAGE_SAS_TOKEN_FIELDNAME = "AZURE_STORAGE_SAS_TOKEN";
   private static final String KEY_LOCATION_SUFFIX = Util.KEY_LOCATION_SUFFIX;
+  private static final int DELETE_CHUNK_SIZE = 250;
 
   public static String[] getSplitLocationValue(String backupLocation, Boolean isConfigLocation) {
     backupLocation = backupLocation.substring(8);
@@ -99,6 +104,16 @@ public class AZUtil {
 
   public static void deleteStorage(JsonNode configData, List<String> backupLocations)
       throws Exception {
+    deleteStorage(configData, backupLocations, MoreExecutors.directExecutor());
+  }
+
+  /**
+   * Deletes all the blobs under the backup locations. The blobs of every page of the listing are
+   * deleted in parallel on the delete executor while the next page is being listed.
+   */
+  public static void deleteStorage(
+      JsonNode configData, List<String> backupLocations, Executor deleteExecutor)
+      throws Exception {
     for (String backupLocation : backupLocations) {
       try {
         String[] splitLocation = getSplitLocationValue(backupLocation, false);
@@ -113,7 +128,7 @@ public class AZUtil {
             blobContainerClient.listBlobs(blobsOptions, Duration.ofHours(4));
         Iterator<PagedResponse<BlobItem>> pagedResponse = pagedIterable.iterableByPage().iterator();
         log.debug("Retrieved blobs info for container " + container + " with prefix " + blob);
-        retrieveAndDeleteObjects(pagedResponse, blobContainerClient);
+        retrieveAndDeleteObjects(pagedResponse, blobContainerClient, deleteExecutor);
       } catch (Exception e) {
         log.error(" Error in deleting objects at location " + backupLocation, e);
         throw e;
@@ -124,18 +139,43 @@ public class AZUtil {
   public static void retrieveAndDeleteObjects(
       Iterator<PagedResponse<BlobItem>> pagedResponse, BlobContainerClient blobContainerClient)
       throws Exception {
+    retrieveAndDeleteObjects(pagedResponse, blobContainerClient, MoreExecutors.directExecutor());
+  }
+
+  // The blob batch API is not available in this SDK, so blobs are deleted one by one, a page split
+  // into chunks deleted in parallel.
+  private static void retrieveAndDeleteObjects(
+      Iterator<PagedResponse<BlobItem>> pagedResponse,
+      BlobContainerClient blobContainerClient,
+      Executor deleteExecutor)
+      throws Exception {
+    BulkDeletePipeline pipeline = new BulkDeletePipeline(deleteExecutor);
     while (pagedResponse.hasNext()) {
-      PagedResponse<BlobItem> response = pagedResponse.next();
+      List<BlobItem> blobItems = pagedResponse.next().getValue();
+      List<BulkDeletePipeline.Delete> deletes = new ArrayList<>();
+      for (List<BlobItem> chunk : Lists.partition(blobItems, DELETE_CHUNK_SIZE)) {
+        deletes.add(() -> deleteBlobs(chunk, blobContainerClient));
+      }
+      pipeline.submit(deletes);
+    }
+    pipeline.await();
+  }
+
+  private static void deleteBlobs(
+      List<BlobItem> blobItems, BlobContainerClient blobContainerClient) {
+    for (BlobItem blobItem : blobItems) {
       BlobClient blobClient;
-      for (BlobItem blobItem : response.getValue()) {
-        if (blobItem.getSnapshot() != null) {
-          blobClient =
-              blobContainerClient.getBlobClient(blobItem.getName(), blobItem.getSnapshot());
-        } else {
-          blobClient = blobContainerClient.getBlobClient(blobItem.getName());
-        }
-        if (blobClient.exists()) {
-          blobClient.delete();
+      if (blobItem.getSnapshot() != null) {
+        blobClient = blobContainerClient.getBlobClient(blobItem.getName(), blobItem.getSnapshot());
+      } else {
+        blobClient = blobContainerClient.getBlobClient(blobItem.getName());
+      }
+      try {
+        blobClient.delete();
+      } catch (BlobStorageException e) {
+        // Already gone, saves checking for existence before every delete.
+        if (e.getStatusCode() != 404) {
+          throw e;
         }
       }
     }
@@ -14,7 +14,6 @@ import java.time.Duration;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
-import java.util.UUID;
 import java.util.concurrent.CompletionStage;
 import java.util.concurrent.ExecutionException;
 import play.libs.Json;
@@ -156,16 +155,6 @@ public class ApiHelper {
     return baseUrl;
   }
 
-  public String replaceProxyLinks(String responseBody, UUID universeUUID, String proxyAddr) {
-    String prefix = String.format("/universes/%s/proxy/%s/", universeUUID.toString(), proxyAddr);
-    return responseBody
-        .replaceAll("src='/", String.format("src='%s", prefix))
-        .replaceAll("src=\"/", String.format("src=\"%s", prefix))
-        .replaceAll("href=\"/", String.format("href=\"%s", prefix))
-        .replaceAll("href='/", String.format("href='%s", prefix))
-        .replaceAll("http://", String.format("/universes/%s/proxy/", universeUUID.toString()));
-  }
-
   public JsonNode multipartRequest(
       String url,
       Map<String, String> headers,
@@ -0,0 +1,208 @@
+// Copyright (c) YugaByte, Inc.
+
+package com.yugabyte.yw.common;
+
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import com.google.inject.Inject;
+import com.google.inject.Singleton;
+import com.typesafe.config.Config;
+import com.yugabyte.yw.forms.BackupTableParams;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.BiConsumer;
+import java.util.function.Supplier;
+import java.util.function.ToLongFunction;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Plans and schedules the yb_backup.py runs of backup tasks.
+ *
+ * <p>Each run snapshots its tables and uploads the snapshot files from every tserver of the
+ * universe to the storage of the backup. Runs are limited by two sets of permits:
+ *
+ * <ul>
+ *   <li>yb.backup.node_parallelism runs at a time for a universe, which bounds the concurrent
+ *       uploads from each of its nodes.
+ *   <li>yb.backup.storage_config_parallelism runs at a time for a storage config, whatever the
+ *       universe, which bounds the concurrent uploads to each bucket.
+ * </ul>
+ *
+ * <p>The runs of all the backups share the threads of the yb.backup pool, which grows up to
+ * yb.backup.max_threads. The permits are the limits, the pool only bounds the threads of the
+ * backups of many universes running at the same time.
+ */
+@Singleton
+@Slf4j
+public class BackupPlanner {
+
+  static final String NODE_PARALLELISM = "yb.backup.node_parallelism";
+  static final String STORAGE_CONFIG_PARALLELISM = "yb.backup.storage_config_parallelism";
+
+  private final Config config;
+
+  private final ExecutorService executor;
+
+  private final Map<UUID, Semaphore> universePermits = new ConcurrentHashMap<>();
+
+  private final Map<UUID, Semaphore> storageConfigPermits = new ConcurrentHashMap<>();
+
+  @Inject
+  public BackupPlanner(Config config, PlatformExecutorFactory platformExecutorFactory) {
+    this.config = config;
+    this.executor =
+        platformExecutorFactory.createExecutor(
+            "backup",
+            new ThreadFactoryBuilder().setNameFormat("backup-%d").setDaemon(true).build());
+  }
+
+  /**
+   * Merges the entries backing up tables of the same keyspace into one, for the tables of a
+   * keyspace to be backed up from a single snapshot. Keyspace entries, like YSQL ones, are kept as
+   * they are.
+   */
+  public static List<BackupTableParams> groupByKeyspace(List<BackupTableParams> backupList) {
+    Map<String, BackupTableParams> keyspaces = new LinkedHashMap<>();
+    List<BackupTableParams> result = new ArrayList<>();
+    for (BackupTableParams params : backupList) {
+      if (params.tableUUID == null) {
+        result.add(params);
+        continue;
+      }
+      String key = params.backupType + ":" + params.getKeyspace();
+      BackupTableParams keyspaceParams = keyspaces.get(key);
+      if (keyspaceParams == null) {
+        keyspaces.put(key, params);
+        result.add(params);
+        continue;
+      }
+      if (keyspaceParams.tableUUIDList == null) {
+        keyspaceParams.tableNameList = new ArrayList<>();
+        keyspaceParams.tableUUIDList = new ArrayList<>();
+        keyspaceParams.tableNameList.add(keyspaceParams.getTableName());
+        keyspaceParams.tableUUIDList.add(keyspaceParams.tableUUID);
+        keyspaceParams.setTableName(null);
+        keyspaceParams.tableUUID = null;
+      }
+      keyspaceParams.tableNameList.add(params.getTableName());
+      keyspaceParams.tableUUIDList.add(params.tableUUID);
+    }
+    return result;
+  }
+
+  /** Runs a single backup once there are permits for its universe and storage config. */
+  public <T> T run(BackupTableParams params, Supplier<T> backup) {
+    Semaphore universe = permits(universePermits, params.universeUUID, NODE_PARALLELISM);
+    Semaphore storageConfig =
+        permits(storageConfigPermits, params.storageConfigUUID, STORAGE_CONFIG_PARALLELISM);
+    // Always taken in the same order, to not deadlock with the other runs.
+    acquire(universe);
+    try {
+      acquire(storageConfig);
+      try {
+        return backup.get();
+      } finally {
+        storageConfig.release();
+      }
+    } finally {
+      universe.release();
+    }
+  }
+
+  /**
+   * Runs the backups of the entries of a backup list in parallel, within the limits, and returns
+   * their total size. onCompleted is called with the index and size of each entry as soon as it
+   * completes, for the progress of the backup to be saved.
+   *
+   * <p>Once an entry fails, the entries not started yet are skipped and the failure is thrown when
+   * the running ones complete.
+   */
+  public long runAll(
+      List<BackupTableParams> backupList,
+      ToLongFunction<BackupTableParams> backup,
+      BiConsumer<Integer, Long> onCompleted) {
+    if (backupList.isEmpty()) {
+      return 0;
+    }
+    AtomicInteger next = new AtomicInteger();
+    AtomicBoolean failed = new AtomicBoolean();
+    // No need for more workers than there are permits for the universe.
+    int workerCount = Math.min(backupList.size(), config.getInt(NODE_PARALLELISM));
+    List<Future<Long>> workers = new ArrayList<>(workerCount);
+    for (int i = 0; i < workerCount; i++) {
+      workers.add(
+          executor.submit(
+              () -> {
+                long size = 0;
+                int idx;
+                while (!failed.get() && (idx = next.getAndIncrement()) < backupList.size()) {
+                  BackupTableParams params = backupList.get(idx);
+                  try {
+                    long entrySize =
+                        run(params, () -> failed.get() ? 0L : backup.applyAsLong(params));
+                    if (failed.get()) {
+                      break;
+                    }
+                    onCompleted.accept(idx, entrySize);
+                    size += entrySize;
+                    log.info("Backed up entry {} of {}", idx + 1, backupList.size());
+                  } catch (RuntimeException e) {
+                    failed.set(true);
+                    throw e;
+                  }
+                }
+                return size;
+              }));
+    }
+    long totalSize = 0;
+    RuntimeException failure = null;
+    for (Future<Long> worker : workers) {
+      try {
+        totalSize += worker.get();
+      } catch (ExecutionException e) {
+        if (failure == null) {
+          failure =
+              e.getCause() instanceof RuntimeException
+                  ? (RuntimeException) e.getCause()
+                  : new RuntimeException(e.getCause());
+        }
+      } catch (InterruptedException e) {
+        failed.set(true);
+        workers.forEach(w -> w.cancel(true));
+        Thread.currentThread().interrupt();
+        throw new CancellationException("Interrupted while waiting for the backups");
+      }
+    }
+    if (failure != null) {
+      throw failure;
+    }
+    return totalSize;
+  }
+
+  private Semaphore permits(Map<UUID, Semaphore> permits, UUID uuid, String path) {
+    if (uuid == null) {
+      // Not limited.
+      return new Semaphore(1);
+    }
+    return permits.computeIfAbsent(uuid, k -> new Semaphore(config.getInt(path), true));
+  }
+
+  private static void acquire(Semaphore permits) {
+    try {
+      permits.acquire();
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new CancellationException("Interrupted while waiting for backup permits");
+    }
+  }
+}
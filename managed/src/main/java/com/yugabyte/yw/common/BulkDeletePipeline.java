@@ -0,0 +1,75 @@
+// Copyright (c) YugaByte, Inc.
+
+package com.yugabyte.yw.common;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+
+/**
+ * Deletes the objects under a storage prefix page by page as they are listed: the caller lists the
+ * next page while the deletes of the previous one run on the executor. At most one page is being
+ * deleted at a time, which bounds both the listing kept in memory and the request rate against the
+ * store. With a direct executor the pages are simply deleted one after the other.
+ */
+public class BulkDeletePipeline {
+
+  /** A delete request for some of the objects of a page. */
+  @FunctionalInterface
+  public interface Delete {
+    void run() throws Exception;
+  }
+
+  private final Executor executor;
+
+  private CompletableFuture<Void> pending = CompletableFuture.completedFuture(null);
+
+  public BulkDeletePipeline(Executor executor) {
+    this.executor = executor;
+  }
+
+  /**
+   * Waits for the deletes of the previous page, then starts the deletes of this one. The deletes of
+   * a page run in parallel.
+   *
+   * @throws Exception the first failure of the deletes of the previous page
+   */
+  public void submit(List<Delete> deletes) throws Exception {
+    await();
+    CompletableFuture<?>[] futures = new CompletableFuture<?>[deletes.size()];
+    for (int i = 0; i < deletes.size(); i++) {
+      Delete delete = deletes.get(i);
+      futures[i] =
+          CompletableFuture.runAsync(
+              () -> {
+                try {
+                  delete.run();
+                } catch (RuntimeException e) {
+                  throw e;
+                } catch (Exception e) {
+                  throw new CompletionException(e);
+                }
+              },
+              executor);
+    }
+    pending = CompletableFuture.allOf(futures);
+  }
+
+  /**
+   * Waits for all the deletes submitted so far.
+   *
+   * @throws Exception the first failure of the deletes
+   */
+  public void await() throws Exception {
+    try {
+      pending.get();
+    } catch (ExecutionException e) {
+      if (e.getCause() instanceof Exception) {
+        throw (Exception) e.getCause();
+      }
+      throw e;
+    }
+  }
+}
@@ -0,0 +1,147 @@
+/*
+ * Copyright 2021 YugaByte, Inc. and Contributors
+ *
+ * Licensed under the Polyform Free Trial License 1.0.0 (the "License"); you
+ * may not use this file except in compliance with the License. You
+ * may obtain a copy of the License at
+ *
+ * http://github.com/YugaByte/yugabyte-db/blob/master/licenses/POLYFORM-FREE-TRIAL-LICENSE-1.0.0.txt
+ */
+package com.yugabyte.yw.common;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.typesafe.config.Config;
+import io.prometheus.client.CollectorRegistry;
+import io.prometheus.client.Counter;
+import java.time.Duration;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import javax.inject.Inject;
+import javax.inject.Singleton;
+import lombok.extern.slf4j.Slf4j;
+import org.yb.client.GetMasterClusterConfigResponse;
+import org.yb.client.YBClient;
+import org.yb.master.CatalogEntityInfo.SysClusterConfigEntryPB;
+
+/**
+ * Cluster configs of the universes, as last fetched from their master leader. The cluster config
+ * holds the consumer registry of the universe, which lists every replicated table, so the xCluster
+ * APIs reading it share a copy instead of fetching and parsing it every time.
+ *
+ * <p>Only XClusterConfigController reads through {@link #get}. Tasks need the current config, to
+ * increment its version or to sync the xCluster configs with it, and go through {@link #refresh},
+ * which still keeps the cached copy up to date. The ModifyClusterConfig* helpers of the client read
+ * the config on their own before changing it.
+ *
+ * <p>Copies are kept with their version and expire after yb.cluster_config_cache.ttl, a TTL of 0
+ * disables the cache. A fetched config never replaces a cached one of a higher version. Whatever
+ * changes the cluster config of a universe, like the ModifyClusterConfig* helpers, the load
+ * balancer state change or the xCluster replication RPCs, has to invalidate the universe, the TTL
+ * only bounds how long changes made outside of the platform go unnoticed.
+ */
+@Singleton
+@Slf4j
+public class ClusterConfigCache {
+
+  static final String CACHE_TTL = "yb.cluster_config_cache.ttl";
+
+  private static final Counter CACHE_REQUESTS =
+      Counter.build(
+              "ybp_cluster_config_cache_requests",
+              "Count of cluster config lookups in the cluster config cache")
+          .labelNames("result")
+          .register(CollectorRegistry.defaultRegistry);
+  private static final Counter CACHE_INVALIDATIONS =
+      Counter.build(
+              "ybp_cluster_config_cache_invalidations",
+              "Count of cluster config cache invalidations by reason")
+          .labelNames("reason")
+          .register(CollectorRegistry.defaultRegistry);
+
+  private final Cache<UUID, SysClusterConfigEntryPB> cache;
+
+  // Bumped by every invalidation. A config fetched while an invalidation happened may have been
+  // read before the change and is not cached.
+  private long generation = 0;
+
+  @Inject
+  public ClusterConfigCache(Config config) {
+    Duration ttl = config.getDuration(CACHE_TTL);
+    if (ttl.isZero()) {
+      cache = null;
+    } else {
+      cache =
+          CacheBuilder.newBuilder().expireAfterWrite(ttl.toMillis(), TimeUnit.MILLISECONDS).build();
+    }
+  }
+
+  /**
+   * Returns the cluster config of the universe, fetching it with the client if it is not cached.
+   *
+   * @throws RuntimeException if the master returns an error.
+   */
+  public SysClusterConfigEntryPB get(UUID universeUUID, YBClient client) throws Exception {
+    if (cache != null) {
+      SysClusterConfigEntryPB config = cache.getIfPresent(universeUUID);
+      if (config != null) {
+        CACHE_REQUESTS.labels("hit").inc();
+        return config;
+      }
+    }
+    CACHE_REQUESTS.labels("miss").inc();
+    GetMasterClusterConfigResponse response = fetch(universeUUID, client);
+    if (response.hasError()) {
+      throw new RuntimeException("Failed to get cluster config: " + response.errorMessage());
+    }
+    return response.getConfig();
+  }
+
+  /**
+   * Fetches the cluster config of the universe, whether it is cached or not, for the callers which
+   * need the current config. The fetched config is cached unless the master returned an error.
+   */
+  public GetMasterClusterConfigResponse refresh(UUID universeUUID, YBClient client)
+      throws Exception {
+    CACHE_REQUESTS.labels("refresh").inc();
+    return fetch(universeUUID, client);
+  }
+
+  /** Drops the cluster config of the universe, to be called when it is changed. */
+  public synchronized void invalidate(UUID universeUUID, String reason) {
+    generation++;
+    CACHE_INVALIDATIONS.labels(reason).inc();
+    if (cache != null) {
+      cache.invalidate(universeUUID);
+    }
+  }
+
+  private GetMasterClusterConfigResponse fetch(UUID universeUUID, YBClient client)
+      throws Exception {
+    long fetchGeneration;
+    synchronized (this) {
+      fetchGeneration = generation;
+    }
+    GetMasterClusterConfigResponse response = client.getMasterClusterConfig();
+    if (cache == null || response.hasError()) {
+      return response;
+    }
+    SysClusterConfigEntryPB config = response.getConfig();
+    synchronized (this) {
+      if (generation != fetchGeneration) {
+        return response;
+      }
+      SysClusterConfigEntryPB cached = cache.getIfPresent(universeUUID);
+      if (cached != null && cached.getVersion() > config.getVersion()) {
+        log.debug(
+            "Not caching cluster config version {} of universe {}, version {} is cached",
+            config.getVersion(),
+            universeUUID,
+            cached.getVersion());
+      } else {
+        cache.put(universeUUID, config);
+      }
+    }
+    return response;
+  }
+}
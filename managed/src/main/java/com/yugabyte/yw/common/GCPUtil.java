@@ -6,13 +6,16 @@ import com.google.inject.Singleton;
 import com.yugabyte.yw.forms.BackupTableParams;
 import com.yugabyte.yw.models.Backup;
 import com.yugabyte.yw.models.helpers.CustomerConfigConsts;
+import java.util.Collections;
 import java.util.List;
+import java.util.concurrent.Executor;
 import java.util.stream.Collectors;
 import lombok.extern.slf4j.Slf4j;
 import java.io.IOException;
-import java.util.stream.StreamSupport;
 import com.fasterxml.jackson.databind.JsonNode;
+import com.google.common.util.concurrent.MoreExecutors;
 import com.google.cloud.storage.Blob;
+import com.google.cloud.storage.BlobId;
 import com.google.cloud.storage.BlobInfo;
 import com.google.cloud.storage.Storage;
 import com.google.cloud.storage.StorageBatch;
@@ -99,41 +102,55 @@ public class GCPUtil {
   }
 
   public static void deleteStorage(JsonNode data, List<String> backupLocations) throws Exception {
+    deleteStorage(data, backupLocations, MoreExecutors.directExecutor());
+  }
+
+  /**
+   * Deletes all the objects under the backup locations. Every page of the listing is removed with a
+   * batch request on the delete executor while the next page is being listed.
+   */
+  public static void deleteStorage(
+      JsonNode data, List<String> backupLocations, Executor deleteExecutor) throws Exception {
+    String gcpCredentials = data.get(GCS_CREDENTIALS_JSON_FIELDNAME).asText();
+    Storage storage = getStorageService(gcpCredentials);
     for (String backupLocation : backupLocations) {
       try {
         String[] splitLocation = getSplitLocationValue(backupLocation);
         String bucketName = splitLocation[0];
         String objectPrefix = splitLocation[1];
-        String gcpCredentials = data.get(GCS_CREDENTIALS_JSON_FIELDNAME).asText();
-        Storage storage = getStorageService(gcpCredentials);
-
-        List<StorageBatchResult<Boolean>> results = new ArrayList<>();
-        StorageBatch storageBatch = storage.batch();
-        try {
-          Page<Blob> blobs = storage.list(bucketName, Storage.BlobListOption.prefix(objectPrefix));
-          log.debug(
-              "Retrieved blobs info for bucket " + bucketName + " with prefix " + objectPrefix);
-          StreamSupport.stream(blobs.iterateAll().spliterator(), true)
-              .forEach(
-                  blob -> {
-                    results.add(storageBatch.delete(blob.getBlobId()));
-                  });
-        } finally {
-          if (!results.isEmpty()) {
-            storageBatch.submit();
-            if (!results.stream().allMatch(r -> r != null && r.get())) {
-              throw new RuntimeException(
-                  "Error in deleting objects in bucket "
-                      + bucketName
-                      + " with prefix "
-                      + objectPrefix);
-            }
+        BulkDeletePipeline pipeline = new BulkDeletePipeline(deleteExecutor);
+        Page<Blob> blobs = storage.list(bucketName, Storage.BlobListOption.prefix(objectPrefix));
+        while (blobs != null) {
+          List<BlobId> blobIds = new ArrayList<>();
+          for (Blob blob : blobs.getValues()) {
+            blobIds.add(blob.getBlobId());
+          }
+          if (!blobIds.isEmpty()) {
+            log.debug(
+                "Retrieved blobs info for bucket " + bucketName + " with prefix " + objectPrefix);
+            pipeline.submit(Collections.singletonList(() -> deleteBlobs(storage, blobIds)));
           }
+          blobs = blobs.hasNextPage() ? blobs.getNextPage() : null;
         }
+        pipeline.await();
       } catch (Exception e) {
         log.error(" Error in deleting objects at location " + backupLocation, e);
         throw e;
       }
     }
   }
+
+  // The batch is sent as one HTTP request per 100 blobs.
+  private static void deleteBlobs(Storage storage, List<BlobId> blobIds) {
+    StorageBatch storageBatch = storage.batch();
+    List<StorageBatchResult<Boolean>> results = new ArrayList<>(blobIds.size());
+    for (BlobId blobId : blobIds) {
+      results.add(storageBatch.delete(blobId));
+    }
+    storageBatch.submit();
+    for (StorageBatchResult<Boolean> result : results) {
+      // False when the blob is already gone, which is fine. Any other failure is thrown.
+      result.get();
+    }
+  }
 }
@@ -0,0 +1,233 @@
+// Copyright (c) YugaByte, Inc.
+
+package com.yugabyte.yw.common;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.MappingIterator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.google.common.collect.ImmutableList;
+import io.fabric8.kubernetes.api.model.HasMetadata;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Supplier;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Objects of one kind in a namespace, kept up to date by a long running kubectl get --watch. The
+ * watch is started before the objects are listed, and its events are applied after the list
+ * only when they are newer than the listed objects, so that no change in between is missed. Reads
+ * are only answered once the list was applied, callers should run kubectl themselves before that
+ * and after the watch ends.
+ */
+class KubectlInformer<T extends HasMetadata> {
+
+  public static final Logger LOG = LoggerFactory.getLogger(KubectlInformer.class);
+
+  private final List<String> watchCommand;
+  private final Map<String, String> config;
+  private final String devopsHome;
+  private final Class<T> type;
+  private final Supplier<List<T>> lister;
+  private final String description;
+  private final ObjectMapper mapper = new ObjectMapper();
+
+  private final Map<String, T> objects = new HashMap<>();
+  private boolean synced = false;
+  private boolean running = false;
+  private Process process;
+
+  private volatile long lastStartMs = 0;
+  private volatile long lastReadMs = System.currentTimeMillis();
+
+  /**
+   * @param kubectl the kubectl executable.
+   * @param config the env vars of the kubectl commands, like the KUBECONFIG.
+   * @param resource the kind of the objects, as given to kubectl get.
+   * @param lister lists the objects of the namespace when the watch is started.
+   */
+  KubectlInformer(
+      String kubectl,
+      Map<String, String> config,
+      String devopsHome,
+      String namespace,
+      String resource,
+      Class<T> type,
+      Supplier<List<T>> lister) {
+    this.watchCommand =
+        ImmutableList.of(
+            kubectl,
+            "get",
+            resource,
+            "--namespace",
+            namespace,
+            "--watch-only",
+            "--output-watch-events",
+            "-o",
+            "json");
+    this.config = config;
+    this.devopsHome = devopsHome;
+    this.type = type;
+    this.lister = lister;
+    this.description = resource + " in namespace " + namespace;
+  }
+
+  /** Starts the watch unless it is running or was started less than minRestartMs ago. */
+  synchronized void start(long minRestartMs) {
+    long now = System.currentTimeMillis();
+    if (running || now - lastStartMs < minRestartMs) {
+      return;
+    }
+    lastStartMs = now;
+    ProcessBuilder pb = new ProcessBuilder(watchCommand);
+    pb.environment().putAll(config);
+    if (devopsHome != null) {
+      pb.directory(new File(devopsHome));
+    }
+    File errFile;
+    Process watchProcess;
+    try {
+      errFile = File.createTempFile("kubectl_watch_err", "tmp");
+      pb.redirectError(errFile);
+      watchProcess = pb.start();
+    } catch (IOException e) {
+      LOG.warn("Failed to start the watch of {}", description, e);
+      return;
+    }
+    process = watchProcess;
+    running = true;
+    objects.clear();
+    Thread thread = new Thread(() -> run(watchProcess, errFile), "kubectl-watch-" + description);
+    thread.setDaemon(true);
+    thread.start();
+  }
+
+  synchronized void stop() {
+    if (process != null) {
+      process.destroy();
+    }
+  }
+
+  synchronized boolean isRunning() {
+    return running;
+  }
+
+  /** Returns whether the objects are up to date, in which case they can be read. */
+  synchronized boolean isSynced() {
+    return synced;
+  }
+
+  long getLastReadMs() {
+    return lastReadMs;
+  }
+
+  /** Returns all the objects, or null if they are not synced. */
+  synchronized List<T> list() {
+    if (!synced) {
+      return null;
+    }
+    lastReadMs = System.currentTimeMillis();
+    return new ArrayList<>(objects.values());
+  }
+
+  /** Returns the object with the name, or null if there is none or they are not synced. */
+  synchronized T get(String name) {
+    if (!synced) {
+      return null;
+    }
+    lastReadMs = System.currentTimeMillis();
+    return objects.get(name);
+  }
+
+  private void run(Process watchProcess, File errFile) {
+    LOG.info("Started the watch of {}", description);
+    try (InputStream events = watchProcess.getInputStream()) {
+      // The events meanwhile wait in the pipe.
+      List<T> listed = lister.get();
+      synchronized (this) {
+        listed.forEach(object -> objects.put(object.getMetadata().getName(), object));
+        synced = true;
+      }
+      MappingIterator<JsonNode> iterator = mapper.readerFor(JsonNode.class).readValues(events);
+      while (iterator.hasNextValue()) {
+        applyEvent(iterator.nextValue());
+      }
+    } catch (Exception e) {
+      LOG.warn("Failed watching {}", description, e);
+    } finally {
+      watchProcess.destroy();
+      synchronized (this) {
+        if (process == watchProcess) {
+          synced = false;
+          running = false;
+          process = null;
+          objects.clear();
+        }
+      }
+      String errors = "";
+      try {
+        errors = new String(Files.readAllBytes(errFile.toPath()), StandardCharsets.UTF_8).trim();
+      } catch (IOException e) {
+        LOG.debug("Failed to read the errors of the watch of {}", description, e);
+      }
+      errFile.delete();
+      LOG.info("Stopped the watch of {} {}", description, errors);
+    }
+  }
+
+  private void applyEvent(JsonNode event) throws IOException {
+    String eventType = event.path("type").asText();
+    if (!event.has("object")) {
+      return;
+    }
+    if (eventType.equals("ERROR")) {
+      // The watch can't go on, for example because the resource version expired.
+      throw new IOException("Error event: " + event.get("object"));
+    }
+    T object = mapper.treeToValue(event.get("object"), type);
+    String name = object.getMetadata().getName();
+    String version = object.getMetadata().getResourceVersion();
+    synchronized (this) {
+      T current = objects.get(name);
+      // Events from before the list, like of a pod since deleted and created again with the same
+      // name, are older than the listed objects.
+      boolean isNewer =
+          current == null
+              || compareVersions(version, current.getMetadata().getResourceVersion()) >= 0;
+      switch (eventType) {
+        case "ADDED":
+        case "MODIFIED":
+          if (isNewer) {
+            objects.put(name, object);
+          }
+          break;
+        case "DELETED":
+          if (isNewer) {
+            objects.remove(name);
+          }
+          break;
+        default:
+          break;
+      }
+    }
+  }
+
+  /**
+   * Resource versions are meant to be opaque, but are increasing numbers in practice. Versions
+   * which are not numbers are taken as newer.
+   */
+  private static int compareVersions(String version, String otherVersion) {
+    try {
+      return Long.compare(Long.parseLong(version), Long.parseLong(otherVersion));
+    } catch (NumberFormatException e) {
+      return 1;
+    }
+  }
+}
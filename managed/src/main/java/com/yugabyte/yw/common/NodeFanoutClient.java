@@ -0,0 +1,121 @@
+// Copyright (c) YugaByte, Inc.
+
+package com.yugabyte.yw.common;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.google.inject.Inject;
+import com.google.inject.Singleton;
+import io.prometheus.client.CollectorRegistry;
+import io.prometheus.client.Counter;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.BiFunction;
+import java.util.function.Function;
+import play.libs.ws.WSClient;
+
+/**
+ * Sends the same kind of HTTP request to many nodes of a universe without blocking a thread per
+ * node. Every request has its own deadline, a node which does not respond in time fails alone and
+ * the responses of the others are still returned. Responses are handled as they arrive.
+ *
+ * <p>Concurrent GETs of the same URL, like several users looking at the live queries of the same
+ * universe, share a single request to the node. The JSON returned for them is shared as well and
+ * must not be modified.
+ */
+@Singleton
+public class NodeFanoutClient {
+
+  private static final Counter REQUESTS =
+      Counter.build("ybp_node_fanout_requests", "Count of node requests, sent or collapsed")
+          .labelNames("result")
+          .register(CollectorRegistry.defaultRegistry);
+
+  private final WSClient wsClient;
+
+  private final Map<String, CompletableFuture<JsonNode>> inFlight = new ConcurrentHashMap<>();
+
+  @Inject
+  public NodeFanoutClient(WSClient wsClient) {
+    this.wsClient = wsClient;
+  }
+
+  /**
+   * Gets the JSON at the given URL, joining the request already in flight for the URL if there is
+   * one.
+   */
+  public CompletableFuture<JsonNode> getJson(String url, Duration timeout) {
+    CompletableFuture<JsonNode> request = new CompletableFuture<>();
+    CompletableFuture<JsonNode> existing = inFlight.putIfAbsent(url, request);
+    if (existing != null) {
+      REQUESTS.labels("collapsed").inc();
+      // Callers must not be able to complete the shared request.
+      return existing.thenApply(Function.identity());
+    }
+    REQUESTS.labels("sent").inc();
+    try {
+      wsClient
+          .url(url)
+          .setRequestTimeout(timeout)
+          .get()
+          .whenComplete(
+              (response, error) -> {
+                inFlight.remove(url, request);
+                if (error != null) {
+                  request.completeExceptionally(error);
+                  return;
+                }
+                try {
+                  request.complete(response.asJson());
+                } catch (RuntimeException e) {
+                  request.completeExceptionally(e);
+                }
+              });
+    } catch (RuntimeException e) {
+      inFlight.remove(url, request);
+      request.completeExceptionally(e);
+    }
+    return request.thenApply(Function.identity());
+  }
+
+  /**
+   * Gets the JSON at the URL of each of the keys. Each response is passed to onResponse as soon as
+   * it arrives, and each failure, including timeouts, to onFailure. The returned future completes
+   * with the results in the order of the keys once every node has responded or failed.
+   */
+  public <K, T> CompletableFuture<List<T>> getAll(
+      Map<K, String> urls,
+      Duration timeout,
+      BiFunction<K, JsonNode, T> onResponse,
+      BiFunction<K, Throwable, T> onFailure) {
+    List<CompletableFuture<T>> results = new ArrayList<>(urls.size());
+    for (Map.Entry<K, String> entry : urls.entrySet()) {
+      K key = entry.getKey();
+      results.add(
+          getJson(entry.getValue(), timeout)
+              .handle(
+                  (response, error) ->
+                      error == null
+                          ? onResponse.apply(key, response)
+                          : onFailure.apply(key, unwrap(error))));
+    }
+    return CompletableFuture.allOf(results.toArray(new CompletableFuture<?>[0]))
+        .thenApply(
+            v -> {
+              List<T> list = new ArrayList<>(results.size());
+              results.forEach(result -> list.add(result.join()));
+              return list;
+            });
+  }
+
+  private static Throwable unwrap(Throwable error) {
+    while (error instanceof CompletionException && error.getCause() != null) {
+      error = error.getCause();
+    }
+    return error;
+  }
+}
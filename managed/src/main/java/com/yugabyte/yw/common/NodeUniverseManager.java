@@ -1,6 +1,12 @@
 package com.yugabyte.yw.common;
 
+import com.google.common.base.Supplier;
+import com.google.common.base.Suppliers;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.cache.CacheLoader;
+import com.google.common.cache.LoadingCache;
 import com.google.inject.Singleton;
+import com.typesafe.config.Config;
 import com.yugabyte.yw.commissioner.Common;
 import com.yugabyte.yw.forms.UniverseDefinitionTaskParams;
 import com.yugabyte.yw.forms.UniverseDefinitionTaskParams.Cluster;
@@ -9,13 +15,24 @@ import com.yugabyte.yw.models.AccessKey;
 import com.yugabyte.yw.models.AvailabilityZone;
 import com.yugabyte.yw.models.Provider;
 import com.yugabyte.yw.models.Universe;
+import com.yugabyte.yw.models.helpers.KnownAlertLabels;
 import com.yugabyte.yw.models.helpers.NodeDetails;
+import io.prometheus.client.CollectorRegistry;
+import io.prometheus.client.Summary;
 import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
 import java.util.UUID;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.Semaphore;
 import java.util.concurrent.TimeUnit;
 
+/**
+ * Runs actions on the nodes of universes, over SSH or kubectl. An action takes a permit of its node
+ * and one of the platform, at most yb.node_actions.per_node_parallelism actions run on a node and
+ * yb.node_actions.max_parallelism on all the nodes at a time, so a slow node only holds up the
+ * actions on itself.
+ */
 @Singleton
 public class NodeUniverseManager extends DevopsBase {
   public static final int YSQL_COMMAND_DEFAULT_TIMEOUT_SEC = 20;
@@ -23,12 +40,43 @@ public class NodeUniverseManager extends DevopsBase {
   public static final String CERTS_DIR = "/yugabyte-tls-config";
   public static final String K8S_CERTS_DIR = "/opt/certs/yugabyte";
 
+  static final String PER_NODE_PARALLELISM = "yb.node_actions.per_node_parallelism";
+  static final String MAX_PARALLELISM = "yb.node_actions.max_parallelism";
+
+  private static final Summary NODE_ACTION_WAITING_SEC =
+      buildSummary("ybp_node_action_waiting_sec", "Duration of the wait for node action permits");
+
+  private static final Summary NODE_ACTION_EXECUTION_SEC =
+      buildSummary("ybp_node_action_execution_sec", "Duration of node action execution");
+
+  // Permits of the nodes, by universe and node name. Only weakly referenced, permits which no
+  // action holds or waits for are dropped and created again when needed.
+  private final LoadingCache<String, Semaphore> nodePermits =
+      CacheBuilder.newBuilder()
+          .weakValues()
+          .build(CacheLoader.from(key -> new Semaphore(getConfig().getInt(PER_NODE_PARALLELISM))));
+
+  private final Supplier<Semaphore> permits =
+      Suppliers.memoize(() -> new Semaphore(getConfig().getInt(MAX_PARALLELISM), true));
+
+  private static Summary buildSummary(String name, String description) {
+    return Summary.build(name, description)
+        .quantile(0.5, 0.05)
+        .quantile(0.9, 0.01)
+        .maxAgeSeconds(TimeUnit.HOURS.toSeconds(1))
+        .labelNames(
+            KnownAlertLabels.UNIVERSE_UUID.labelName(),
+            KnownAlertLabels.NODE_NAME.labelName(),
+            "action")
+        .register(CollectorRegistry.defaultRegistry);
+  }
+
   @Override
   protected String getCommandType() {
     return null;
   }
 
-  public synchronized ShellResponse downloadNodeLogs(
+  public ShellResponse downloadNodeLogs(
       NodeDetails node, Universe universe, String targetLocalFile) {
     List<String> actionArgs = new ArrayList<>();
     actionArgs.add("--yb_home_dir");
@@ -38,7 +86,7 @@ public class NodeUniverseManager extends DevopsBase {
     return executeNodeAction(UniverseNodeAction.DOWNLOAD_LOGS, universe, node, actionArgs);
   }
 
-  public synchronized ShellResponse downloadNodeFile(
+  public ShellResponse downloadNodeFile(
       NodeDetails node,
       Universe universe,
       String ybHomeDir,
@@ -55,7 +103,7 @@ public class NodeUniverseManager extends DevopsBase {
     return executeNodeAction(UniverseNodeAction.DOWNLOAD_FILE, universe, node, actionArgs);
   }
 
-  public synchronized ShellResponse runCommand(
+  public ShellResponse runCommand(
       NodeDetails node, Universe universe, String command) {
     List<String> actionArgs = new ArrayList<>();
     actionArgs.add("--command");
@@ -63,7 +111,7 @@ public class NodeUniverseManager extends DevopsBase {
     return executeNodeAction(UniverseNodeAction.RUN_COMMAND, universe, node, actionArgs);
   }
 
-  public synchronized ShellResponse runYbAdminCommand(
+  public ShellResponse runYbAdminCommand(
       NodeDetails node, Universe universe, String ybAdminCommand, long timeoutSec) {
     List<String> command = new ArrayList<>();
     command.add("/usr/bin/timeout");
@@ -82,12 +130,12 @@ public class NodeUniverseManager extends DevopsBase {
     return runCommand(node, universe, String.join(" ", command));
   }
 
-  public synchronized ShellResponse runYsqlCommand(
+  public ShellResponse runYsqlCommand(
       NodeDetails node, Universe universe, String dbName, String ysqlCommand) {
     return runYsqlCommand(node, universe, dbName, ysqlCommand, YSQL_COMMAND_DEFAULT_TIMEOUT_SEC);
   }
 
-  public synchronized ShellResponse runYsqlCommand(
+  public ShellResponse runYsqlCommand(
       NodeDetails node, Universe universe, String dbName, String ysqlCommand, int timeoutSec) {
     List<String> command = new ArrayList<>();
     command.add("timeout");
@@ -212,7 +260,48 @@ public class NodeUniverseManager extends DevopsBase {
     commandArgs.add(nodeAction.name().toLowerCase());
     commandArgs.addAll(actionArgs);
     LOG.debug("Executing command: " + commandArgs);
-    return shellProcessHandler.run(commandArgs, new HashMap<>(), true);
+    String[] labels = {
+      universe.universeUUID.toString(), node.nodeName, nodeAction.name().toLowerCase()
+    };
+    long waitStart = System.nanoTime();
+    Semaphore nodePermit = nodePermits.getUnchecked(universe.universeUUID + "/" + node.nodeName);
+    acquire(nodePermit, nodeAction, node);
+    try {
+      acquire(permits.get(), nodeAction, node);
+      try {
+        long runStart = System.nanoTime();
+        NODE_ACTION_WAITING_SEC.labels(labels).observe(secondsBetween(waitStart, runStart));
+        try {
+          return shellProcessHandler.run(commandArgs, new HashMap<>(), true);
+        } finally {
+          NODE_ACTION_EXECUTION_SEC
+              .labels(labels)
+              .observe(secondsBetween(runStart, System.nanoTime()));
+        }
+      } finally {
+        permits.get().release();
+      }
+    } finally {
+      nodePermit.release();
+    }
+  }
+
+  private static void acquire(Semaphore permits, UniverseNodeAction nodeAction, NodeDetails node) {
+    try {
+      permits.acquire();
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new CancellationException(
+          "Interrupted while waiting to run " + nodeAction + " on node " + node.nodeName);
+    }
+  }
+
+  private static double secondsBetween(long startNanos, long endNanos) {
+    return (endNanos - startNanos) / (double) TimeUnit.SECONDS.toNanos(1);
+  }
+
+  private Config getConfig() {
+    return runtimeConfigFactory.staticApplicationConf();
   }
 
   private String getCertsDir(Universe universe, NodeDetails node) {
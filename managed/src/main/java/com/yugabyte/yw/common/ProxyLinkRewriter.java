@@ -0,0 +1,148 @@
+// Copyright (c) YugaByte, Inc.
+
+package com.yugabyte.yw.common;
+
+import akka.NotUsed;
+import akka.stream.javadsl.Flow;
+import akka.stream.javadsl.Source;
+import akka.util.ByteString;
+import akka.util.ByteStringBuilder;
+import java.nio.charset.StandardCharsets;
+import java.util.Collections;
+import java.util.Optional;
+import java.util.UUID;
+
+/**
+ * Rewrites the links of the pages of the master and tserver web UIs so that they go through the
+ * platform proxy: absolute src and href attributes are prefixed with the proxy path of the node and
+ * "http://" links are sent to the proxy of the host they point to.
+ *
+ * <p>The page is rewritten in a single pass over its bytes as they are received. A rewriter only
+ * holds back the few bytes at the end of a chunk which may be the beginning of a link, so that
+ * links split between chunks are still rewritten. All the patterns are ASCII, which never appears
+ * within a multi-byte UTF-8 sequence, so the page does not need to be decoded.
+ */
+public class ProxyLinkRewriter {
+
+  private final byte[][] patterns;
+  private final byte[][] replacements;
+  // Whether a byte starts any of the patterns, indexed by unsigned byte value.
+  private final boolean[] startsPattern = new boolean[256];
+
+  // Bytes received so far which are a prefix of some pattern.
+  private final byte[] pending;
+  private int pendingLength = 0;
+
+  public ProxyLinkRewriter(UUID universeUUID, String proxyAddr) {
+    String universeProxy = String.format("/universes/%s/proxy/", universeUUID.toString());
+    String nodeProxy = universeProxy + proxyAddr + "/";
+    String[][] rules = {
+      {"src='/", "src='" + nodeProxy},
+      {"src=\"/", "src=\"" + nodeProxy},
+      {"href=\"/", "href=\"" + nodeProxy},
+      {"href='/", "href='" + nodeProxy},
+      {"http://", universeProxy}
+    };
+    patterns = new byte[rules.length][];
+    replacements = new byte[rules.length][];
+    int maxLength = 0;
+    for (int i = 0; i < rules.length; i++) {
+      patterns[i] = rules[i][0].getBytes(StandardCharsets.US_ASCII);
+      replacements[i] = rules[i][1].getBytes(StandardCharsets.UTF_8);
+      startsPattern[patterns[i][0] & 0xff] = true;
+      maxLength = Math.max(maxLength, patterns[i].length);
+    }
+    pending = new byte[maxLength];
+  }
+
+  /**
+   * Rewrites the given chunk of the page. Bytes which may start a link are held back until the
+   * next chunk, or until {@link #finish()}.
+   */
+  public ByteString rewrite(ByteString chunk) {
+    byte[] bytes = chunk.toArray();
+    ByteStringBuilder out = new ByteStringBuilder();
+    out.sizeHint(bytes.length + 256);
+    int copyFrom = 0;
+    for (int i = 0; i < bytes.length; i++) {
+      byte b = bytes[i];
+      if (pendingLength == 0 && !startsPattern[b & 0xff]) {
+        continue;
+      }
+      out.putBytes(bytes, copyFrom, i - copyFrom);
+      copyFrom = i + 1;
+      pending[pendingLength++] = b;
+      matchPending(out);
+    }
+    out.putBytes(bytes, copyFrom, bytes.length - copyFrom);
+    return out.result();
+  }
+
+  /** Returns the bytes held back at the end of the page. */
+  public ByteString finish() {
+    ByteString rest = ByteString.fromArray(pending, 0, pendingLength);
+    pendingLength = 0;
+    return rest;
+  }
+
+  /** Rewrites the whole page at once. */
+  public static String rewrite(String page, UUID universeUUID, String proxyAddr) {
+    ProxyLinkRewriter rewriter = new ProxyLinkRewriter(universeUUID, proxyAddr);
+    return rewriter
+        .rewrite(ByteString.fromString(page, StandardCharsets.UTF_8.name()))
+        .concat(rewriter.finish())
+        .utf8String();
+  }
+
+  /** Returns a flow rewriting the page streamed through it. */
+  public static Flow<ByteString, ByteString, NotUsed> flow(UUID universeUUID, String proxyAddr) {
+    // An empty element marks the end of the page, to emit what was held back.
+    return Flow.<ByteString>create()
+        .map(Optional::of)
+        .concat(Source.single(Optional.<ByteString>empty()))
+        .statefulMapConcat(
+            () -> {
+              ProxyLinkRewriter rewriter = new ProxyLinkRewriter(universeUUID, proxyAddr);
+              return chunk ->
+                  Collections.singletonList(
+                      chunk.isPresent() ? rewriter.rewrite(chunk.get()) : rewriter.finish());
+            });
+  }
+
+  /**
+   * Writes the replacement of the pending bytes if they are a pattern, keeps them if they may still
+   * become one and otherwise writes the first of them as is and tries again with the others.
+   */
+  private void matchPending(ByteStringBuilder out) {
+    while (pendingLength > 0) {
+      boolean prefix = false;
+      for (int i = 0; i < patterns.length; i++) {
+        byte[] pattern = patterns[i];
+        if (pendingLength > pattern.length || !startsWithPending(pattern)) {
+          continue;
+        }
+        if (pendingLength == pattern.length) {
+          out.putBytes(replacements[i]);
+          pendingLength = 0;
+          return;
+        }
+        prefix = true;
+      }
+      if (prefix) {
+        return;
+      }
+      out.putByte(pending[0]);
+      pendingLength--;
+      System.arraycopy(pending, 1, pending, 0, pendingLength);
+    }
+  }
+
+  private boolean startsWithPending(byte[] pattern) {
+    for (int i = 0; i < pendingLength; i++) {
+      if (pattern[i] != pending[i]) {
+        return false;
+      }
+    }
+    return true;
+  }
+}
@@ -3,17 +3,27 @@
 package com.yugabyte.yw.common;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.google.common.annotations.VisibleForTesting;
 import com.google.common.collect.ImmutableList;
 import com.google.inject.Inject;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Objects;
 import java.util.concurrent.CancellationException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
 
 import javax.inject.Singleton;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import io.fabric8.kubernetes.api.model.HasMetadata;
+import io.fabric8.kubernetes.api.model.KubernetesResourceList;
 import io.fabric8.kubernetes.api.model.Node;
 import io.fabric8.kubernetes.api.model.NodeList;
 import io.fabric8.kubernetes.api.model.Pod;
@@ -34,6 +44,19 @@ public class ShellKubernetesManager extends KubernetesManager {
 
   public static final Logger LOG = LoggerFactory.getLogger(ShellKubernetesManager.class);
 
+  static final String WATCH_CACHE_ENABLED = "yb.kubectl_watch_cache.enabled";
+  static final String WATCH_CACHE_IDLE_TIMEOUT = "yb.kubectl_watch_cache.idle_timeout";
+
+  // A watch which failed is started again at most this often, reads run kubectl meanwhile.
+  private static final long WATCH_RESTART_INTERVAL_MS = TimeUnit.SECONDS.toMillis(10);
+
+  @VisibleForTesting String kubectl = "kubectl";
+
+  // Pods and services by the config and the namespace, read from kubectl watches.
+  private final Map<List<Object>, KubectlInformer<Pod>> podInformers = new ConcurrentHashMap<>();
+  private final Map<List<Object>, KubectlInformer<Service>> serviceInformers =
+      new ConcurrentHashMap<>();
+
   private ShellResponse execCommand(Map<String, String> config, List<String> command) {
     String description = String.join(" ", command);
     return shellProcessHandler.run(command, config, description);
@@ -56,6 +79,104 @@ public class ShellKubernetesManager extends KubernetesManager {
     }
   }
 
+  /** Returns the objects cached by the watch of the namespace, or null if they are not synced. */
+  private <T extends HasMetadata> List<T> getCached(
+      Map<List<Object>, KubectlInformer<T>> informers,
+      Map<String, String> config,
+      String namespace,
+      String resource,
+      Class<T> type,
+      Class<? extends KubernetesResourceList<T>> listType) {
+    KubectlInformer<T> informer =
+        getInformer(informers, config, namespace, resource, type, listType);
+    return informer == null ? null : informer.list();
+  }
+
+  private <T extends HasMetadata> T getCached(
+      Map<List<Object>, KubectlInformer<T>> informers,
+      Map<String, String> config,
+      String namespace,
+      String resource,
+      Class<T> type,
+      Class<? extends KubernetesResourceList<T>> listType,
+      String name) {
+    KubectlInformer<T> informer =
+        getInformer(informers, config, namespace, resource, type, listType);
+    return informer == null ? null : informer.get(name);
+  }
+
+  private <T extends HasMetadata> KubectlInformer<T> getInformer(
+      Map<List<Object>, KubectlInformer<T>> informers,
+      Map<String, String> config,
+      String namespace,
+      String resource,
+      Class<T> type,
+      Class<? extends KubernetesResourceList<T>> listType) {
+    if (!appConfig.getBoolean(WATCH_CACHE_ENABLED, false)) {
+      return null;
+    }
+    stopIdleInformers(informers);
+    Map<String, String> watchConfig =
+        config == null ? Collections.emptyMap() : new HashMap<>(config);
+    KubectlInformer<T> informer =
+        informers.computeIfAbsent(
+            Arrays.asList(watchConfig, namespace),
+            key ->
+                new KubectlInformer<>(
+                    kubectl,
+                    watchConfig,
+                    appConfig.getString("yb.devops.home"),
+                    namespace,
+                    resource,
+                    type,
+                    () -> {
+                      List<String> commandList =
+                          ImmutableList.of(
+                              "kubectl", "get", resource, "--namespace", namespace, "-o", "json");
+                      ShellResponse response = execCommand(config, commandList);
+                      processShellResponse(response);
+                      return deserialize(response.message, listType).getItems();
+                    }));
+    informer.start(WATCH_RESTART_INTERVAL_MS);
+    return informer.isSynced() ? informer : null;
+  }
+
+  // Stops the watches of namespaces which are not read anymore, like of deleted universes.
+  private void stopIdleInformers(Map<List<Object>, ? extends KubectlInformer<?>> informers) {
+    long idleTimeoutMs =
+        appConfig.getMilliseconds(WATCH_CACHE_IDLE_TIMEOUT, TimeUnit.MINUTES.toMillis(10));
+    long now = System.currentTimeMillis();
+    informers
+        .values()
+        .removeIf(
+            informer -> {
+              if (now - informer.getLastReadMs() <= idleTimeoutMs) {
+                return false;
+              }
+              informer.stop();
+              return true;
+            });
+  }
+
+  private void stopInformers(
+      Map<List<Object>, ? extends KubectlInformer<?>> informers, String namespace) {
+    informers
+        .entrySet()
+        .removeIf(
+            entry -> {
+              if (!Objects.equals(entry.getKey().get(1), namespace)) {
+                return false;
+              }
+              entry.getValue().stop();
+              return true;
+            });
+  }
+
+  private static boolean isRelease(HasMetadata object, String universePrefix) {
+    Map<String, String> labels = object.getMetadata().getLabels();
+    return labels != null && universePrefix.equals(labels.get("release"));
+  }
+
   @Override
   public void createNamespace(Map<String, String> config, String universePrefix) {
     List<String> commandList = ImmutableList.of("kubectl", "create", "namespace", universePrefix);
@@ -78,6 +199,12 @@ public class ShellKubernetesManager extends KubernetesManager {
   @Override
   public List<Pod> getPodInfos(
       Map<String, String> config, String universePrefix, String namespace) {
+    List<Pod> pods = getCached(podInformers, config, namespace, "pods", Pod.class, PodList.class);
+    if (pods != null) {
+      return pods.stream()
+          .filter(pod -> isRelease(pod, universePrefix))
+          .collect(Collectors.toList());
+    }
     List<String> commandList =
         ImmutableList.of(
             "kubectl",
@@ -96,6 +223,15 @@ public class ShellKubernetesManager extends KubernetesManager {
   @Override
   public List<Service> getServices(
       Map<String, String> config, String universePrefix, String namespace) {
+    List<Service> services =
+        getCached(
+            serviceInformers, config, namespace, "services", Service.class, ServiceList.class);
+    if (services != null) {
+      return services
+          .stream()
+          .filter(service -> isRelease(service, universePrefix))
+          .collect(Collectors.toList());
+    }
     List<String> commandList =
         ImmutableList.of(
             "kubectl",
@@ -113,6 +249,11 @@ public class ShellKubernetesManager extends KubernetesManager {
 
   @Override
   public PodStatus getPodStatus(Map<String, String> config, String namespace, String podName) {
+    Pod pod =
+        getCached(podInformers, config, namespace, "pods", Pod.class, PodList.class, podName);
+    if (pod != null) {
+      return pod.getStatus();
+    }
     List<String> commandList =
         ImmutableList.of("kubectl", "get", "pod", "--namespace", namespace, "-o", "json", podName);
     String response = execCommand(config, commandList).message;
@@ -123,6 +264,18 @@ public class ShellKubernetesManager extends KubernetesManager {
   public String getPreferredServiceIP(
       Map<String, String> config, String namespace, boolean isMaster) {
     String serviceName = isMaster ? "yb-master-service" : "yb-tserver-service";
+    Service cachedService =
+        getCached(
+            serviceInformers,
+            config,
+            namespace,
+            "services",
+            Service.class,
+            ServiceList.class,
+            serviceName);
+    if (cachedService != null) {
+      return getIp(cachedService);
+    }
     List<String> commandList =
         ImmutableList.of(
             "kubectl", "get", "svc", serviceName, "--namespace", namespace, "-o", "json");
@@ -210,6 +363,8 @@ public class ShellKubernetesManager extends KubernetesManager {
   @Override
   public void deleteNamespace(Map<String, String> config, String namespace) {
     // Delete Namespace
+    stopInformers(podInformers, namespace);
+    stopInformers(serviceInformers, namespace);
     List<String> masterCommandList = ImmutableList.of("kubectl", "delete", "namespace", namespace);
     execCommand(config, masterCommandList);
   }
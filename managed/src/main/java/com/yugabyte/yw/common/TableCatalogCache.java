@@ -0,0 +1,127 @@
+/*
+ * Copyright 2021 YugaByte, Inc. and Contributors
+ *
+ * Licensed under the Polyform Free Trial License 1.0.0 (the "License"); you
+ * may not use this file except in compliance with the License. You
+ * may obtain a copy of the License at
+ *
+ * http://github.com/YugaByte/yugabyte-db/blob/master/licenses/POLYFORM-FREE-TRIAL-LICENSE-1.0.0.txt
+ */
+package com.yugabyte.yw.common;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.util.concurrent.ExecutionError;
+import com.google.common.util.concurrent.UncheckedExecutionException;
+import com.typesafe.config.Config;
+import io.prometheus.client.CollectorRegistry;
+import io.prometheus.client.Counter;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import javax.inject.Inject;
+import javax.inject.Singleton;
+import org.yb.master.MasterDdlOuterClass.ListTablesResponsePB.TableInfo;
+
+/**
+ * Table lists of the universes as last fetched from their masters, and the table sizes as last
+ * queried from prometheus, so that the UI refreshing the tables of large universes doesn't fetch
+ * them on every request.
+ *
+ * <p>Table lists expire after yb.table_catalog_cache.ttl and sizes after
+ * yb.table_catalog_cache.sizes_ttl, a TTL of 0 disables the caching. Concurrent requests for a
+ * universe which is not cached wait for a single fetch. Tables created or dropped through the
+ * platform invalidate the universe, the TTL bounds how long the other changes go unnoticed.
+ */
+@Singleton
+public class TableCatalogCache {
+
+  static final String CACHE_TTL = "yb.table_catalog_cache.ttl";
+  static final String SIZES_CACHE_TTL = "yb.table_catalog_cache.sizes_ttl";
+
+  private static final Counter CACHE_REQUESTS =
+      Counter.build(
+              "ybp_table_catalog_cache_requests",
+              "Count of lookups in the table catalog cache by kind and result")
+          .labelNames("kind", "result")
+          .register(CollectorRegistry.defaultRegistry);
+
+  private final Cache<UUID, List<TableInfo>> tables;
+  private final Cache<UUID, Map<String, Double>> tableSizes;
+
+  @Inject
+  public TableCatalogCache(Config config) {
+    tables = newCache(config.getDuration(CACHE_TTL));
+    tableSizes = newCache(config.getDuration(SIZES_CACHE_TTL));
+  }
+
+  private static <V> Cache<UUID, V> newCache(Duration ttl) {
+    if (ttl.isZero()) {
+      return null;
+    }
+    return CacheBuilder.newBuilder()
+        .expireAfterWrite(ttl.toMillis(), TimeUnit.MILLISECONDS)
+        .build();
+  }
+
+  /** Returns the tables of the universe, listing them with the loader if they are not cached. */
+  public List<TableInfo> getTables(UUID universeUUID, Callable<List<TableInfo>> loader) {
+    return get(tables, "tables", universeUUID, loader);
+  }
+
+  /**
+   * Returns the sizes of the tables of the universe by table id, querying them with the loader if
+   * they are not cached.
+   */
+  public Map<String, Double> getTableSizes(
+      UUID universeUUID, Callable<Map<String, Double>> loader) {
+    return get(tableSizes, "sizes", universeUUID, loader);
+  }
+
+  /** Drops the tables of the universe, to be called when they change. */
+  public void invalidate(UUID universeUUID) {
+    if (tables != null) {
+      tables.invalidate(universeUUID);
+    }
+  }
+
+  private static <V> V get(
+      Cache<UUID, V> cache, String kind, UUID universeUUID, Callable<V> loader) {
+    if (cache == null) {
+      return call(loader);
+    }
+    V value = cache.getIfPresent(universeUUID);
+    if (value != null) {
+      CACHE_REQUESTS.labels(kind, "hit").inc();
+      return value;
+    }
+    CACHE_REQUESTS.labels(kind, "miss").inc();
+    try {
+      // Waits for the load of another request if there is one.
+      return cache.get(universeUUID, loader);
+    } catch (ExecutionException | UncheckedExecutionException | ExecutionError e) {
+      Throwable cause = e.getCause();
+      if (cause instanceof RuntimeException) {
+        throw (RuntimeException) cause;
+      }
+      if (cause instanceof Error) {
+        throw (Error) cause;
+      }
+      throw new RuntimeException(cause);
+    }
+  }
+
+  private static <V> V call(Callable<V> loader) {
+    try {
+      return loader.call();
+    } catch (RuntimeException e) {
+      throw e;
+    } catch (Exception e) {
+      throw new RuntimeException(e);
+    }
+  }
+}
@@ -82,6 +82,7 @@ public class AlertConfigurationService {
   private final AlertDefinitionService alertDefinitionService;
   private final MaintenanceService maintenanceService;
   private final RuntimeConfigFactory runtimeConfigFactory;
+  private final FiringAlertIndex firingAlertIndex;
   private final MultiKeyLock<UUID> configUuidLock =
       new MultiKeyLock<>(Comparator.comparing(Function.<UUID>identity()));
 
@@ -90,11 +91,13 @@ public class AlertConfigurationService {
       BeanValidator beanValidator,
       AlertDefinitionService alertDefinitionService,
       MaintenanceService maintenanceService,
-      RuntimeConfigFactory runtimeConfigFactory) {
+      RuntimeConfigFactory runtimeConfigFactory,
+      FiringAlertIndex firingAlertIndex) {
     this.beanValidator = beanValidator;
     this.alertDefinitionService = alertDefinitionService;
     this.maintenanceService = maintenanceService;
     this.runtimeConfigFactory = runtimeConfigFactory;
+    this.firingAlertIndex = firingAlertIndex;
   }
 
   @Transactional
@@ -150,6 +153,8 @@ public class AlertConfigurationService {
       if (!CollectionUtils.isEmpty(toUpdate)) {
         AlertConfiguration.db().updateAll(toUpdate);
       }
+      firingAlertIndex.invalidateConfigurations(
+          configurations.stream().map(AlertConfiguration::getUuid).collect(Collectors.toSet()));
 
       manageDefinitions(configurations, beforeConfigurations);
 
@@ -245,6 +250,7 @@ public class AlertConfigurationService {
       manageDefinitions(Collections.emptyList(), toDelete);
 
       int deleted = createQueryByFilter(filter).delete();
+      firingAlertIndex.invalidateConfigurations(toDeleteUuids);
       log.debug("{} alert definition configurations deleted", deleted);
     } finally {
       configUuidLock.releaseLocks(toDeleteUuids);
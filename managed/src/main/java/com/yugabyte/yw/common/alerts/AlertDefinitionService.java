@@ -40,11 +40,14 @@ public class AlertDefinitionService {
 
   private final BeanValidator beanValidator;
   private final AlertService alertService;
+  private final FiringAlertIndex firingAlertIndex;
 
   @Inject
-  public AlertDefinitionService(BeanValidator beanValidator, AlertService alertService) {
+  public AlertDefinitionService(
+      BeanValidator beanValidator, AlertService alertService, FiringAlertIndex firingAlertIndex) {
     this.beanValidator = beanValidator;
     this.alertService = alertService;
+    this.firingAlertIndex = firingAlertIndex;
   }
 
   @Transactional
@@ -86,6 +89,8 @@ public class AlertDefinitionService {
       List<AlertDefinition> toUpdate = toCreateAndUpdate.get(UPDATE);
       AlertDefinition.db().updateAll(toUpdate);
     }
+    firingAlertIndex.invalidateDefinitions(
+        definitions.stream().map(AlertDefinition::getUuid).collect(Collectors.toSet()));
 
     log.debug("{} alert definitions saved", definitions.size());
     return definitions;
@@ -137,13 +142,12 @@ public class AlertDefinitionService {
   @Transactional
   public void delete(AlertDefinitionFilter filter) {
     List<AlertDefinition> toDelete = list(filter);
-    AlertFilter alertFilter =
-        AlertFilter.builder()
-            .definitionUuids(
-                toDelete.stream().map(AlertDefinition::getUuid).collect(Collectors.toList()))
-            .build();
+    List<UUID> toDeleteUuids =
+        toDelete.stream().map(AlertDefinition::getUuid).collect(Collectors.toList());
+    AlertFilter alertFilter = AlertFilter.builder().definitionUuids(toDeleteUuids).build();
     alertService.markResolved(alertFilter);
     int deleted = createQueryByFilter(filter).delete();
+    firingAlertIndex.invalidateDefinitions(toDeleteUuids);
     log.debug("{} alert definitions deleted", deleted);
   }
 
@@ -0,0 +1,178 @@
+/*
+ * Copyright 2021 YugaByte, Inc. and Contributors
+ *
+ * Licensed under the Polyform Free Trial License 1.0.0 (the "License"); you
+ * may not use this file except in compliance with the License. You
+ * may obtain a copy of the License at
+ *
+ * http://github.com/YugaByte/yugabyte-db/blob/master/licenses/POLYFORM-FREE-TRIAL-LICENSE-1.0.0.txt
+ */
+package com.yugabyte.yw.common.alerts;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.yugabyte.yw.models.AlertConfiguration;
+import com.yugabyte.yw.models.AlertDefinition;
+import io.ebean.Ebean;
+import io.ebean.Transaction;
+import io.ebean.TransactionCallbackAdapter;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import javax.inject.Singleton;
+import lombok.Value;
+
+/**
+ * What QueryAlerts knows about firing alerts between its runs, so that a run only goes to the DB
+ * for alerts which are new, changed or resolved.
+ *
+ * <p>Alert definitions and configurations are cached by UUID. AlertDefinitionService and
+ * AlertConfigurationService invalidate them on every write, once the write is committed, entries
+ * also expire after {@link #ENTITY_TTL_MINUTES} to bound the effect of changes made around them,
+ * like cascade deletes.
+ *
+ * <p>Firing alerts are indexed by their key, along with the labels and message they were last saved
+ * with. Only QueryAlerts updates them.
+ */
+@Singleton
+public class FiringAlertIndex {
+
+  static final long ENTITY_TTL_MINUTES = 10;
+
+  @Value
+  public static class AlertKey {
+    String definitionUuid;
+    String sourceUuid;
+  }
+
+  /** Firing alert, as last saved by QueryAlerts. */
+  @Value
+  public static class IndexedAlert {
+    UUID alertUuid;
+    Map<String, String> labels;
+    String message;
+
+    public boolean isSavedFrom(Map<String, String> labels, String message) {
+      return this.labels.equals(labels) && Objects.equals(this.message, message);
+    }
+  }
+
+  private final Cache<UUID, AlertDefinition> definitions =
+      CacheBuilder.newBuilder().expireAfterWrite(ENTITY_TTL_MINUTES, TimeUnit.MINUTES).build();
+
+  private final Cache<UUID, AlertConfiguration> configurations =
+      CacheBuilder.newBuilder().expireAfterWrite(ENTITY_TTL_MINUTES, TimeUnit.MINUTES).build();
+
+  private final Map<AlertKey, IndexedAlert> alerts = new ConcurrentHashMap<>();
+
+  // Bumped by every invalidation. Entities loaded while an invalidation happened may have been read
+  // before the change and are not cached.
+  private long generation = 0;
+
+  /** Returns the definitions with the given UUIDs, loading the missing ones with the loader. */
+  public Map<UUID, AlertDefinition> getDefinitions(
+      Set<UUID> uuids, Function<Set<UUID>, List<AlertDefinition>> loader) {
+    return get(definitions, uuids, loader, AlertDefinition::getUuid);
+  }
+
+  /** Returns the configurations with the given UUIDs, loading the missing ones with the loader. */
+  public Map<UUID, AlertConfiguration> getConfigurations(
+      Set<UUID> uuids, Function<Set<UUID>, List<AlertConfiguration>> loader) {
+    return get(configurations, uuids, loader, AlertConfiguration::getUuid);
+  }
+
+  /**
+   * Drops the cached definitions, once the current transaction commits if there is one. Their
+   * alerts are dropped as well, for the next run to check them against the DB.
+   */
+  public void invalidateDefinitions(Collection<UUID> uuids) {
+    Set<UUID> definitionUuids = new HashSet<>(uuids);
+    afterCommit(() -> doInvalidateDefinitions(definitionUuids));
+  }
+
+  /** Drops the cached configurations, once the current transaction commits if there is one. */
+  public void invalidateConfigurations(Collection<UUID> uuids) {
+    Set<UUID> configurationUuids = new HashSet<>(uuids);
+    afterCommit(() -> doInvalidateConfigurations(configurationUuids));
+  }
+
+  // Invalidating before the commit would let a run load and cache the rows about to be changed.
+  private static void afterCommit(Runnable invalidation) {
+    Transaction transaction = Ebean.currentTransaction();
+    if (transaction == null) {
+      invalidation.run();
+      return;
+    }
+    transaction.register(
+        new TransactionCallbackAdapter() {
+          @Override
+          public void postCommit() {
+            invalidation.run();
+          }
+        });
+  }
+
+  private synchronized void doInvalidateDefinitions(Set<UUID> uuids) {
+    generation++;
+    definitions.invalidateAll(uuids);
+    Set<String> definitionUuids = uuids.stream().map(UUID::toString).collect(Collectors.toSet());
+    alerts.keySet().removeIf(key -> definitionUuids.contains(key.getDefinitionUuid()));
+  }
+
+  private synchronized void doInvalidateConfigurations(Set<UUID> uuids) {
+    generation++;
+    configurations.invalidateAll(uuids);
+  }
+
+  public IndexedAlert getAlert(AlertKey key) {
+    return alerts.get(key);
+  }
+
+  public void putAlert(AlertKey key, UUID alertUuid, Map<String, String> labels, String message) {
+    alerts.put(key, new IndexedAlert(alertUuid, new HashMap<>(labels), message));
+  }
+
+  /** Drops the alerts which are not firing anymore. */
+  public void retainAlerts(Set<AlertKey> firing) {
+    alerts.keySet().retainAll(firing);
+  }
+
+  public void clearAlerts() {
+    alerts.clear();
+  }
+
+  private <T> Map<UUID, T> get(
+      Cache<UUID, T> cache,
+      Set<UUID> uuids,
+      Function<Set<UUID>, List<T>> loader,
+      Function<T, UUID> uuidGetter) {
+    Map<UUID, T> result = new HashMap<>(cache.getAllPresent(uuids));
+    Set<UUID> missing = new HashSet<>(uuids);
+    missing.removeAll(result.keySet());
+    if (missing.isEmpty()) {
+      return result;
+    }
+    long loadGeneration;
+    synchronized (this) {
+      loadGeneration = generation;
+    }
+    Map<UUID, T> loaded =
+        loader.apply(missing).stream().collect(Collectors.toMap(uuidGetter, Function.identity()));
+    synchronized (this) {
+      if (generation == loadGeneration) {
+        cache.putAll(loaded);
+      }
+    }
+    result.putAll(loaded);
+    return result;
+  }
+}
@@ -18,6 +18,8 @@ import com.google.common.collect.Lists;
 import com.google.inject.Inject;
 import com.google.inject.Singleton;
 import com.yugabyte.yw.common.AlertManager;
+import com.yugabyte.yw.common.alerts.FiringAlertIndex.AlertKey;
+import com.yugabyte.yw.common.alerts.FiringAlertIndex.IndexedAlert;
 import com.yugabyte.yw.common.metrics.MetricService;
 import com.yugabyte.yw.metrics.MetricQueryHelper;
 import com.yugabyte.yw.metrics.data.AlertData;
@@ -37,10 +39,10 @@ import java.util.ArrayList;
 import java.util.Collections;
 import java.util.Comparator;
 import java.util.Date;
+import java.util.HashSet;
 import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
-import java.util.Objects;
 import java.util.Optional;
 import java.util.Set;
 import java.util.UUID;
@@ -48,7 +50,6 @@ import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.function.Function;
 import java.util.stream.Collectors;
-import lombok.Value;
 import lombok.extern.slf4j.Slf4j;
 import org.apache.commons.collections.MapUtils;
 import org.apache.commons.lang3.StringUtils;
@@ -62,6 +63,9 @@ public class QueryAlerts {
   private static final int YB_QUERY_ALERTS_INTERVAL_SEC = 30;
   private static final int ALERTS_BATCH = 1000;
   private static final String SUMMARY_ANNOTATION_NAME = "summary";
+  // Firing alerts are checked against the DB every that many runs, in case they were changed by
+  // something other than QueryAlerts.
+  private static final int ALERT_INDEX_REFRESH_RUNS = 10;
 
   private AtomicBoolean running = new AtomicBoolean(false);
 
@@ -81,6 +85,13 @@ public class QueryAlerts {
 
   private final AlertManager alertManager;
 
+  private final FiringAlertIndex firingAlertIndex;
+
+  private int runsSinceIndexRefresh = 0;
+
+  // DB queries issued by the current run.
+  private int dbReads;
+
   @Inject
   public QueryAlerts(
       ExecutionContext executionContext,
@@ -90,7 +101,8 @@ public class QueryAlerts {
       MetricService metricService,
       AlertDefinitionService alertDefinitionService,
       AlertConfigurationService alertConfigurationService,
-      AlertManager alertManager) {
+      AlertManager alertManager,
+      FiringAlertIndex firingAlertIndex) {
     this.actorSystem = actorSystem;
     this.executionContext = executionContext;
     this.queryHelper = queryHelper;
@@ -99,6 +111,7 @@ public class QueryAlerts {
     this.alertDefinitionService = alertDefinitionService;
     this.alertConfigurationService = alertConfigurationService;
     this.alertManager = alertManager;
+    this.firingAlertIndex = firingAlertIndex;
   }
 
   public void start() {
@@ -122,17 +135,30 @@ public class QueryAlerts {
     try {
       if (HighAvailabilityConfig.isFollower()) {
         log.debug("Skipping querying for alerts for follower platform");
+        firingAlertIndex.clearAlerts();
         return;
       }
+      long startTime = System.currentTimeMillis();
+      dbReads = 0;
+      if (++runsSinceIndexRefresh >= ALERT_INDEX_REFRESH_RUNS) {
+        firingAlertIndex.clearAlerts();
+        runsSinceIndexRefresh = 0;
+      }
       try {
         List<UUID> activeAlertsUuids = processActiveAlerts();
         resolveAlerts(activeAlertsUuids);
         metricService.setOkStatusMetric(buildMetricTemplate(PlatformMetrics.ALERT_QUERY_STATUS));
       } catch (Exception e) {
+        // Don't know which of the alerts were saved.
+        firingAlertIndex.clearAlerts();
         metricService.setFailureStatusMetric(
             buildMetricTemplate(PlatformMetrics.ALERT_QUERY_STATUS));
         log.error("Error querying for alerts", e);
       }
+      metricService.setMetric(buildMetricTemplate(PlatformMetrics.ALERT_QUERY_DB_READS), dbReads);
+      metricService.setMetric(
+          buildMetricTemplate(PlatformMetrics.ALERT_QUERY_DURATION),
+          System.currentTimeMillis() - startTime);
       alertManager.sendNotifications();
     } catch (Exception e) {
       log.error("Error processing alerts", e);
@@ -188,6 +214,10 @@ public class QueryAlerts {
                 .values());
 
     List<UUID> activeAlertUuids = new ArrayList<>();
+    Set<AlertKey> activeAlertKeys = new HashSet<>();
+    long unchangedAlerts = 0;
+    long newAlerts = 0;
+    long updatedAlerts = 0;
     for (List<AlertData> batch : Lists.partition(deduplicatedAlerts, ALERTS_BATCH)) {
       Set<UUID> definitionUuids =
           batch
@@ -195,25 +225,8 @@ public class QueryAlerts {
               .map(this::getDefinitionUuid)
               .map(UUID::fromString)
               .collect(Collectors.toSet());
-
-      AlertFilter alertFilter =
-          AlertFilter.builder()
-              .definitionUuids(definitionUuids)
-              .states(State.getFiringStates())
-              .build();
-      Map<AlertKey, Alert> existingAlertsByKey =
-          alertService
-              .list(alertFilter)
-              .stream()
-              .collect(Collectors.toMap(this::getAlertKey, Function.identity()));
-
-      AlertDefinitionFilter definitionFilter =
-          AlertDefinitionFilter.builder().uuids(definitionUuids).build();
       Map<UUID, AlertDefinition> existingDefinitionsByUuid =
-          alertDefinitionService
-              .list(definitionFilter)
-              .stream()
-              .collect(Collectors.toMap(AlertDefinition::getUuid, Function.identity()));
+          firingAlertIndex.getDefinitions(definitionUuids, this::loadDefinitions);
 
       Set<UUID> configurationUuids =
           existingDefinitionsByUuid
@@ -221,46 +234,109 @@ public class QueryAlerts {
               .stream()
               .map(AlertDefinition::getConfigurationUUID)
               .collect(Collectors.toSet());
-      AlertConfigurationFilter configurationFilter =
-          AlertConfigurationFilter.builder().uuids(configurationUuids).build();
       Map<UUID, AlertConfiguration> existingConfigsByUuid =
-          alertConfigurationService
-              .list(configurationFilter)
-              .stream()
-              .collect(Collectors.toMap(AlertConfiguration::getUuid, Function.identity()));
+          firingAlertIndex.getConfigurations(configurationUuids, this::loadConfigurations);
+
+      // Alerts saved from the same data by one of the previous runs don't need to be saved again.
+      List<AlertData> changedBatch = new ArrayList<>();
+      for (AlertData data : batch) {
+        AlertKey alertKey = getAlertKey(data);
+        IndexedAlert indexedAlert = firingAlertIndex.getAlert(alertKey);
+        if (indexedAlert != null
+            && isConfigurationActive(data, existingDefinitionsByUuid, existingConfigsByUuid)
+            && indexedAlert.isSavedFrom(data.getLabels(), getMessage(data))) {
+          activeAlertUuids.add(indexedAlert.getAlertUuid());
+          activeAlertKeys.add(alertKey);
+          unchangedAlerts++;
+        } else {
+          changedBatch.add(data);
+        }
+      }
+      if (changedBatch.isEmpty()) {
+        continue;
+      }
 
-      List<Alert> toSave =
-          batch
+      Set<UUID> changedDefinitionUuids =
+          changedBatch
               .stream()
-              .map(
-                  data ->
-                      processAlert(
-                          data,
-                          existingAlertsByKey,
-                          existingDefinitionsByUuid,
-                          existingConfigsByUuid))
-              .filter(Objects::nonNull)
-              .collect(Collectors.toList());
-      metricService.setMetric(
-          buildMetricTemplate(PlatformMetrics.ALERT_QUERY_FILTERED_ALERTS),
-          activeAlerts.size() - toSave.size());
-      long newAlerts = toSave.stream().filter(Alert::isNew).count();
-      long updatedAlerts = toSave.size() - newAlerts;
+              .map(this::getDefinitionUuid)
+              .map(UUID::fromString)
+              .collect(Collectors.toSet());
+      AlertFilter alertFilter =
+          AlertFilter.builder()
+              .definitionUuids(changedDefinitionUuids)
+              .states(State.getFiringStates())
+              .build();
+      dbReads++;
+      Map<AlertKey, Alert> existingAlertsByKey =
+          alertService
+              .list(alertFilter)
+              .stream()
+              .collect(Collectors.toMap(this::getAlertKey, Function.identity()));
 
-      List<Alert> savedAlerts = alertService.save(toSave);
-      metricService.setMetric(
-          buildMetricTemplate(PlatformMetrics.ALERT_QUERY_NEW_ALERTS), newAlerts);
-      metricService.setMetric(
-          buildMetricTemplate(PlatformMetrics.ALERT_QUERY_UPDATED_ALERTS), updatedAlerts);
+      List<Alert> toSave = new ArrayList<>();
+      List<AlertData> toSaveData = new ArrayList<>();
+      for (AlertData data : changedBatch) {
+        Alert alert =
+            processAlert(
+                data, existingAlertsByKey, existingDefinitionsByUuid, existingConfigsByUuid);
+        if (alert != null) {
+          toSave.add(alert);
+          toSaveData.add(data);
+        }
+      }
+      long batchNewAlerts = toSave.stream().filter(Alert::isNew).count();
+      newAlerts += batchNewAlerts;
+      updatedAlerts += toSave.size() - batchNewAlerts;
 
-      activeAlertUuids.addAll(
-          savedAlerts.stream().map(Alert::getUuid).collect(Collectors.toList()));
+      List<Alert> savedAlerts = alertService.save(toSave);
+      for (int i = 0; i < savedAlerts.size(); i++) {
+        AlertData data = toSaveData.get(i);
+        AlertKey alertKey = getAlertKey(data);
+        UUID alertUuid = savedAlerts.get(i).getUuid();
+        firingAlertIndex.putAlert(alertKey, alertUuid, data.getLabels(), getMessage(data));
+        activeAlertUuids.add(alertUuid);
+        activeAlertKeys.add(alertKey);
+      }
     }
+    firingAlertIndex.retainAlerts(activeAlertKeys);
+
+    metricService.setMetric(
+        buildMetricTemplate(PlatformMetrics.ALERT_QUERY_FILTERED_ALERTS),
+        activeAlerts.size() - activeAlertUuids.size());
+    metricService.setMetric(
+        buildMetricTemplate(PlatformMetrics.ALERT_QUERY_UNCHANGED_ALERTS), unchangedAlerts);
+    metricService.setMetric(buildMetricTemplate(PlatformMetrics.ALERT_QUERY_NEW_ALERTS), newAlerts);
+    metricService.setMetric(
+        buildMetricTemplate(PlatformMetrics.ALERT_QUERY_UPDATED_ALERTS), updatedAlerts);
     return activeAlertUuids;
   }
 
+  private List<AlertDefinition> loadDefinitions(Set<UUID> uuids) {
+    dbReads++;
+    return alertDefinitionService.list(AlertDefinitionFilter.builder().uuids(uuids).build());
+  }
+
+  private List<AlertConfiguration> loadConfigurations(Set<UUID> uuids) {
+    dbReads++;
+    return alertConfigurationService.list(
+        AlertConfigurationFilter.builder().uuids(uuids).build());
+  }
+
+  private boolean isConfigurationActive(
+      AlertData alertData,
+      Map<UUID, AlertDefinition> definitionsByUuid,
+      Map<UUID, AlertConfiguration> configsByUuid) {
+    AlertDefinition definition =
+        definitionsByUuid.get(UUID.fromString(getDefinitionUuid(alertData)));
+    AlertConfiguration configuration =
+        configsByUuid.get(UUID.fromString(getConfigurationUuid(alertData)));
+    return definition != null && configuration != null && configuration.isActive();
+  }
+
   private void resolveAlerts(List<UUID> activeAlertsUuids) {
     AlertFilter toResolveFilter = AlertFilter.builder().excludeUuids(activeAlertsUuids).build();
+    dbReads++;
     List<Alert> resolved = alertService.markResolved(toResolveFilter);
     if (!resolved.isEmpty()) {
       log.info("Resolved {} alerts", resolved.size());
@@ -297,6 +373,10 @@ public class QueryAlerts {
     return alertData.getLabels().get(KnownAlertLabels.SOURCE_UUID.labelName());
   }
 
+  private String getMessage(AlertData alertData) {
+    return alertData.getAnnotations().get(SUMMARY_ANNOTATION_NAME);
+  }
+
   private AlertKey getAlertKey(AlertData alertData) {
     return new AlertKey(getDefinitionUuid(alertData), getSourceUuid(alertData));
   }
@@ -379,7 +459,7 @@ public class QueryAlerts {
     }
     AlertConfiguration.Severity severity = getSeverity(alertData);
     AlertConfiguration.TargetType configurationType = getConfigurationType(alertData);
-    String message = alertData.getAnnotations().get(SUMMARY_ANNOTATION_NAME);
+    String message = getMessage(alertData);
 
     List<AlertLabel> labels =
         alertData
@@ -404,9 +484,4 @@ public class QueryAlerts {
     return alert;
   }
 
-  @Value
-  private static class AlertKey {
-    String definitionUuid;
-    String sourceUuid;
-  }
 }
@@ -0,0 +1,204 @@
+/*
+ * Copyright 2021 YugaByte, Inc. and Contributors
+ *
+ * Licensed under the Polyform Free Trial License 1.0.0 (the "License"); you
+ * may not use this file except in compliance with the License. You
+ * may obtain a copy of the License at
+ *
+ * http://github.com/YugaByte/yugabyte-db/blob/master/licenses/POLYFORM-FREE-TRIAL-LICENSE-1.0.0.txt
+ */
+
+package com.yugabyte.yw.common.audit;
+
+import com.google.common.annotations.VisibleForTesting;
+import com.yugabyte.yw.models.Audit;
+import io.ebean.Ebean;
+import io.ebean.Transaction;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Writes audit entries from a background thread, in batches, so that API calls don't wait for the
+ * insert. Callers only block when the queue is full, i.e. when the database can't keep up with the
+ * API calls being audited. Once stopped, entries are written synchronously.
+ */
+@Slf4j
+class AuditEntryWriter {
+
+  private static final long POLL_INTERVAL_MS = 100;
+
+  private final BlockingQueue<Audit> queue;
+  private final int batchSize;
+  private final Thread writerThread;
+
+  // Counted before they are queued, so that flush() also waits for the entries of the callers
+  // waiting for room in the queue, without waiting for the room itself.
+  private final AtomicLong acceptedCount = new AtomicLong();
+
+  private final Object writtenLock = new Object();
+  private long writtenCount = 0;
+
+  private volatile boolean stopped = false;
+
+  AuditEntryWriter(int queueCapacity, int batchSize) {
+    this.queue = new ArrayBlockingQueue<>(queueCapacity);
+    this.batchSize = batchSize;
+    this.writerThread = new Thread(this::run, "audit-entry-writer");
+    this.writerThread.setDaemon(true);
+  }
+
+  void start() {
+    writerThread.start();
+  }
+
+  /** Queues the entry for writing, waiting for room in the queue if it is full. */
+  void write(Audit entry) {
+    if (stopped) {
+      entry.save();
+      return;
+    }
+    acceptedCount.incrementAndGet();
+    try {
+      queue.put(entry);
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      log.warn("Interrupted while queueing audit entry, writing it synchronously");
+      try {
+        entry.save();
+      } finally {
+        addWritten(1);
+      }
+      return;
+    }
+    if (stopped && !writerThread.isAlive()) {
+      // Queued after stop() wrote the remaining entries, nobody else is going to write it.
+      writeRemaining();
+    }
+  }
+
+  /**
+   * Waits until all the entries queued so far are written, so that they can be read back.
+   *
+   * @return false if they were not all written within the timeout
+   */
+  boolean flush(long timeoutMs) {
+    long target = acceptedCount.get();
+    long deadline = System.currentTimeMillis() + timeoutMs;
+    synchronized (writtenLock) {
+      while (writtenCount < target) {
+        long remaining = deadline - System.currentTimeMillis();
+        if (remaining <= 0) {
+          return false;
+        }
+        try {
+          writtenLock.wait(remaining);
+        } catch (InterruptedException e) {
+          Thread.currentThread().interrupt();
+          return false;
+        }
+      }
+    }
+    return true;
+  }
+
+  /** Stops the writer thread once everything queued is written. */
+  void stop(long timeoutMs) {
+    stopped = true;
+    try {
+      writerThread.join(timeoutMs);
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+    }
+    if (writerThread.isAlive()) {
+      log.warn(
+          "Audit entry writer did not stop in {} ms, {} entries pending",
+          timeoutMs,
+          queue.size());
+    }
+    writeRemaining();
+  }
+
+  @VisibleForTesting
+  int getQueueSize() {
+    return queue.size();
+  }
+
+  private void run() {
+    List<Audit> batch = new ArrayList<>(batchSize);
+    while (!stopped || !queue.isEmpty()) {
+      try {
+        Audit first = queue.poll(POLL_INTERVAL_MS, TimeUnit.MILLISECONDS);
+        if (first == null) {
+          continue;
+        }
+        batch.add(first);
+        queue.drainTo(batch, batchSize - 1);
+        writeBatch(batch);
+      } catch (InterruptedException e) {
+        // Keep going until stopped, entries must not be dropped.
+      } catch (Exception e) {
+        log.error("Unexpected error in audit entry writer", e);
+      } finally {
+        batch.clear();
+      }
+    }
+  }
+
+  private synchronized void writeRemaining() {
+    List<Audit> batch = new ArrayList<>();
+    queue.drainTo(batch);
+    if (!batch.isEmpty()) {
+      writeBatch(batch);
+    }
+  }
+
+  private void writeBatch(List<Audit> batch) {
+    try {
+      try {
+        insertBatch(batch);
+      } catch (Exception e) {
+        // One bad entry should not lose the whole batch.
+        log.warn(
+            "Failed to write {} audit entries in a batch, writing them one by one",
+            batch.size(),
+            e);
+        for (Audit entry : batch) {
+          try {
+            // Insert explicitly, the failed batch may have left the bean looking already saved.
+            Ebean.insert(entry);
+          } catch (Exception entryException) {
+            log.error(
+                "Failed to write audit entry for {} {}",
+                entry.getApiMethod(),
+                entry.getApiCall(),
+                entryException);
+          }
+        }
+      }
+    } finally {
+      addWritten(batch.size());
+    }
+  }
+
+  @VisibleForTesting
+  void insertBatch(List<Audit> batch) {
+    try (Transaction transaction = Ebean.beginTransaction()) {
+      transaction.setBatchMode(true);
+      transaction.setBatchSize(batch.size());
+      Ebean.insertAll(batch);
+      transaction.commit();
+    }
+  }
+
+  private void addWritten(int count) {
+    synchronized (writtenLock) {
+      writtenCount += count;
+      writtenLock.notifyAll();
+    }
+  }
+}
@@ -17,17 +17,29 @@ import com.jayway.jsonpath.DocumentContext;
 import com.jayway.jsonpath.JsonPath;
 import com.jayway.jsonpath.spi.json.JacksonJsonNodeJsonProvider;
 import com.jayway.jsonpath.spi.mapper.JacksonMappingProvider;
+import com.typesafe.config.Config;
 import com.yugabyte.yw.models.Audit;
 import com.yugabyte.yw.models.extended.UserWithFeatures;
+import com.yugabyte.yw.models.paging.AuditPagedQuery;
+import com.yugabyte.yw.models.paging.AuditPagedResponse;
 import java.util.List;
 import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
 import java.util.stream.Collectors;
+import javax.inject.Inject;
 import javax.inject.Singleton;
+import lombok.extern.slf4j.Slf4j;
+import play.inject.ApplicationLifecycle;
 import play.mvc.Http;
 
+@Slf4j
 @Singleton
 public class AuditService {
 
+  // How long reads wait for queued entries to be written before going ahead without them.
+  private static final long FLUSH_TIMEOUT_MS = 5000;
+  private static final long STOP_TIMEOUT_MS = 30000;
+
   public static final String SECRET_REPLACEMENT = "REDACTED";
   // List of json paths to any secret fields we want to redact in audit entries.
   // More on json path format can be found here: https://goessner.net/articles/JsonPath/
@@ -77,6 +89,27 @@ public class AuditService {
           .mappingProvider(new JacksonMappingProvider())
           .build();
 
+  // Null when entries are written synchronously.
+  private final AuditEntryWriter writer;
+
+  public AuditService() {
+    this.writer = null;
+  }
+
+  @Inject
+  public AuditService(Config config, ApplicationLifecycle lifecycle) {
+    if (config.getBoolean("yb.audit.async_write")) {
+      this.writer =
+          new AuditEntryWriter(
+              config.getInt("yb.audit.queue_capacity"), config.getInt("yb.audit.batch_size"));
+      this.writer.start();
+      lifecycle.addStopHook(
+          () -> CompletableFuture.runAsync(() -> this.writer.stop(STOP_TIMEOUT_MS)));
+    } else {
+      this.writer = null;
+    }
+  }
+
   public void createAuditEntry(Http.Context ctx, Http.Request request) {
     createAuditEntry(ctx, request, null, null, null, null, null);
   }
@@ -187,25 +220,48 @@ public class AuditService {
     String method = request.method();
     String path = request.path();
     JsonNode redactedParams = filterSecretFields(params);
-    Audit.create(user.getUser(), path, method, target, targetID, action, redactedParams, taskUUID);
+    if (writer == null) {
+      Audit.create(
+          user.getUser(), path, method, target, targetID, action, redactedParams, taskUUID);
+      return;
+    }
+    writer.write(
+        Audit.newEntry(
+            user.getUser(), path, method, target, targetID, action, redactedParams, taskUUID));
   }
 
   public List<Audit> getAll(UUID customerUUID) {
+    flushPendingEntries();
     return Audit.getAll(customerUUID);
   }
 
   public Audit getFromTaskUUID(UUID taskUUID) {
+    flushPendingEntries();
     return Audit.getFromTaskUUID(taskUUID);
   }
 
   public List<Audit> getAllUserEntries(UUID userUUID) {
+    flushPendingEntries();
     return Audit.getAllUserEntries(userUUID);
   }
 
   public Audit getOrBadRequest(UUID customerUUID, UUID taskUUID) {
+    flushPendingEntries();
     return Audit.getOrBadRequest(customerUUID, taskUUID);
   }
 
+  public AuditPagedResponse pagedList(AuditPagedQuery pagedQuery) {
+    flushPendingEntries();
+    return Audit.pagedList(pagedQuery);
+  }
+
+  // Reads should see the entries written by the API calls that came before them.
+  private void flushPendingEntries() {
+    if (writer != null && !writer.flush(FLUSH_TIMEOUT_MS)) {
+      log.warn("Audit entries still not written after {} ms", FLUSH_TIMEOUT_MS);
+    }
+  }
+
   public static JsonNode filterSecretFields(JsonNode input) {
     if (input == null) {
       return null;
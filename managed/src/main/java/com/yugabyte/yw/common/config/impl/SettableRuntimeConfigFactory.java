@@ -13,6 +13,8 @@ package com.yugabyte.yw.common.config.impl;
 import static com.yugabyte.yw.models.ScopedRuntimeConfig.GLOBAL_SCOPE_UUID;
 
 import com.google.common.annotations.VisibleForTesting;
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
 import com.typesafe.config.Config;
 import com.typesafe.config.ConfigFactory;
 import com.yugabyte.yw.common.config.RuntimeConfigFactory;
@@ -21,21 +23,70 @@ import com.yugabyte.yw.models.Provider;
 import com.yugabyte.yw.models.RuntimeConfigEntry;
 import com.yugabyte.yw.models.Universe;
 import io.ebean.Model;
+import io.prometheus.client.CollectorRegistry;
+import io.prometheus.client.Counter;
 import java.util.Map;
 import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
 import javax.inject.Inject;
 import javax.inject.Singleton;
+import lombok.Value;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import play.db.ebean.EbeanDynamicEvolutions;
 
-/** Factory to create RuntimeConfig for various scopes */
+/**
+ * Factory to create RuntimeConfig for various scopes.
+ *
+ * <p>The config of each scope is read from the DB once and cached along with the version of its
+ * entries, RuntimeConfigEntry bumps the version whenever a change to them is committed. Cached
+ * configs also expire after {@link #SCOPE_TTL_MINUTES}, to bound the effect of changes made around
+ * RuntimeConfigEntry, like restores of the DB.
+ */
 @Singleton
 public class SettableRuntimeConfigFactory implements RuntimeConfigFactory {
   private static final Logger LOG = LoggerFactory.getLogger(SettableRuntimeConfigFactory.class);
 
+  static final long SCOPE_TTL_MINUTES = 10;
+  static final long MAX_CACHED_SCOPES = 10000;
+
+  private static final Counter CACHE_REQUESTS =
+      Counter.build(
+              "ybp_runtime_config_cache_requests",
+              "Count of scoped config lookups in the runtime config cache")
+          .labelNames("result")
+          .register(CollectorRegistry.defaultRegistry);
+
+  @Value
+  private static class ScopedConfig {
+    long version;
+    Config config;
+  }
+
+  @Value
+  private static class GlobalConfig {
+    Config scopeConfig;
+    Config config;
+  }
+
   private final Config appConfig;
 
+  private final Cache<UUID, ScopedConfig> scopedConfigs =
+      CacheBuilder.newBuilder()
+          .expireAfterWrite(SCOPE_TTL_MINUTES, TimeUnit.MINUTES)
+          .maximumSize(MAX_CACHED_SCOPES)
+          .build();
+
+  // Customer UUIDs by customer id, which never change, for universes to not look up their
+  // customer every time.
+  private final Map<Long, UUID> customerUUIDs = new ConcurrentHashMap<>();
+
+  // The global config with the app config as fallback, along with the global scope config it was
+  // made from.
+  private volatile GlobalConfig globalConfig;
+
   @Inject
   public SettableRuntimeConfigFactory(
       Config appConfig, EbeanDynamicEvolutions ebeanDynamicEvolutions) {
@@ -46,7 +97,7 @@ public class SettableRuntimeConfigFactory implements RuntimeConfigFactory {
   @Override
   public RuntimeConfig<Customer> forCustomer(Customer customer) {
     Config config =
-        getConfigForScope(customer.uuid, "Scoped Config (" + customer + ")")
+        getConfigForScope(customer.uuid, () -> "Scoped Config (" + customer + ")")
             .withFallback(globalConfig());
     LOG.trace("forCustomer {}: {}", customer.uuid, config);
     return new RuntimeConfig<>(customer, config);
@@ -55,10 +106,11 @@ public class SettableRuntimeConfigFactory implements RuntimeConfigFactory {
   /** @return A RuntimeConfig instance for a given scope */
   @Override
   public RuntimeConfig<Universe> forUniverse(Universe universe) {
-    Customer customer = Customer.get(universe.customerId);
+    UUID customerUUID =
+        customerUUIDs.computeIfAbsent(universe.customerId, id -> Customer.get(id).uuid);
     Config config =
-        getConfigForScope(universe.universeUUID, "Scoped Config (" + universe + ")")
-            .withFallback(getConfigForScope(customer.uuid, "Scoped Config (" + customer + ")"))
+        getConfigForScope(universe.universeUUID, () -> "Scoped Config (" + universe + ")")
+            .withFallback(customerConfig(customerUUID))
             .withFallback(globalConfig());
     LOG.trace("forUniverse {}: {}", universe.universeUUID, config);
     return new RuntimeConfig<>(universe, config);
@@ -67,10 +119,9 @@ public class SettableRuntimeConfigFactory implements RuntimeConfigFactory {
   /** @return A RuntimeConfig instance for a given scope */
   @Override
   public RuntimeConfig<Provider> forProvider(Provider provider) {
-    Customer customer = Customer.get(provider.customerUUID);
     Config config =
-        getConfigForScope(provider.uuid, "Scoped Config (" + provider + ")")
-            .withFallback(getConfigForScope(customer.uuid, "Scoped Config (" + customer + ")"))
+        getConfigForScope(provider.uuid, () -> "Scoped Config (" + provider + ")")
+            .withFallback(customerConfig(provider.customerUUID))
             .withFallback(globalConfig());
     LOG.trace("forProvider {}: {}", provider.uuid, config);
     return new RuntimeConfig<>(provider, config);
@@ -87,16 +138,47 @@ public class SettableRuntimeConfigFactory implements RuntimeConfigFactory {
     return appConfig;
   }
 
+  private Config customerConfig(UUID customerUUID) {
+    return getConfigForScope(
+        customerUUID, () -> "Scoped Config (" + Customer.get(customerUUID) + ")");
+  }
+
   private Config globalConfig() {
-    Config config =
-        getConfigForScope(GLOBAL_SCOPE_UUID, "Global Runtime Config (" + GLOBAL_SCOPE_UUID + ")")
-            .withFallback(appConfig);
+    Config scopeConfig =
+        getConfigForScope(
+            GLOBAL_SCOPE_UUID, () -> "Global Runtime Config (" + GLOBAL_SCOPE_UUID + ")");
+    GlobalConfig cached = globalConfig;
+    if (cached != null && cached.getScopeConfig() == scopeConfig) {
+      return cached.getConfig();
+    }
+    Config config = scopeConfig.withFallback(appConfig);
     LOG.trace("globalConfig : {}", config);
+    globalConfig = new GlobalConfig(scopeConfig, config);
+    return config;
+  }
+
+  @VisibleForTesting
+  Config getConfigForScope(UUID scope, Supplier<String> description) {
+    // Read before the entries, for a change committed while reading them to not go unnoticed.
+    long version = RuntimeConfigEntry.getScopeVersion(scope);
+    ScopedConfig cached = scopedConfigs.getIfPresent(scope);
+    if (cached != null && cached.getVersion() == version) {
+      CACHE_REQUESTS.labels("hit").inc();
+      return cached.getConfig();
+    }
+    CACHE_REQUESTS.labels("miss").inc();
+    Config config = readConfigForScope(scope, description.get());
+    scopedConfigs
+        .asMap()
+        .merge(
+            scope,
+            new ScopedConfig(version, config),
+            (current, loaded) -> current.getVersion() > loaded.getVersion() ? current : loaded);
     return config;
   }
 
   @VisibleForTesting
-  Config getConfigForScope(UUID scope, String description) {
+  Config readConfigForScope(UUID scope, String description) {
     Map<String, String> values = RuntimeConfigEntry.getAsMapForScope(scope);
     Config config = ConfigFactory.parseMap(values, description);
     LOG.trace("Read from DB for {}: {}", description, config);
@@ -12,19 +12,21 @@ import java.util.ArrayList;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
-import java.nio.file.StandardCopyOption;
 import java.io.File;
 import java.io.IOException;
 import java.util.Date;
 import java.text.SimpleDateFormat;
 import java.text.ParseException;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 import lombok.extern.slf4j.Slf4j;
-import org.apache.commons.io.FileUtils;
 
 @Slf4j
 @Singleton
 public class ApplicationLogsComponent implements SupportBundleComponent {
 
+  private static final String COMPONENT_DIR = "application_logs";
+
   protected final Config config;
   private final SupportBundleUtil supportBundleUtil;
 
@@ -36,26 +38,33 @@ public class ApplicationLogsComponent implements SupportBundleComponent {
   }
 
   @Override
-  public void downloadComponent(Customer customer, Universe universe, Path bundlePath)
-      throws IOException {
+  public void downloadComponent(
+      Customer customer, Universe universe, SupportBundleArchive archive) throws IOException {
     String appHomeDir =
         config.hasPath("application.home") ? config.getString("application.home") : ".";
     String logDir =
         config.hasPath("log.override.path")
             ? config.getString("log.override.path")
             : String.format("%s/logs", appHomeDir);
-    String destDir = bundlePath.toString() + "/" + "application_logs";
-    Path destPath = Paths.get(destDir);
-    Files.createDirectories(destPath);
-    File source = new File(logDir);
-    File dest = new File(destDir);
-    FileUtils.copyDirectory(source, dest);
-    log.debug("Downloaded application logs to {}", destDir);
+    // Archive the log files in place, there's no need for a copy
+    Path source = Paths.get(logDir);
+    List<Path> sourceFiles;
+    try (Stream<Path> paths = Files.walk(source)) {
+      sourceFiles = paths.filter(Files::isRegularFile).collect(Collectors.toList());
+    }
+    for (Path sourceFile : sourceFiles) {
+      archive.addFile(COMPONENT_DIR, sourceFile, source.relativize(sourceFile).toString());
+    }
+    log.debug("Added application logs from {} to the support bundle", logDir);
   }
 
   @Override
   public void downloadComponentBetweenDates(
-      Customer customer, Universe universe, Path bundlePath, Date startDate, Date endDate)
+      Customer customer,
+      Universe universe,
+      SupportBundleArchive archive,
+      Date startDate,
+      Date endDate)
       throws IOException, ParseException {
 
     // Get application configured locations
@@ -66,11 +75,7 @@ public class ApplicationLogsComponent implements SupportBundleComponent {
             ? config.getString("log.override.path")
             : String.format("%s/logs", appHomeDir);
 
-    // Create "application_logs" folder inside the support bundle folder
-    String destDir = bundlePath.toString() + "/" + "application_logs";
-    Files.createDirectories(Paths.get(destDir));
     File source = new File(logDir);
-    File dest = new File(destDir);
 
     // Get all the log file names present in source directory
     List<String> logFiles = new ArrayList<String>();
@@ -106,13 +111,16 @@ public class ApplicationLogsComponent implements SupportBundleComponent {
       }
     }
 
-    // Copy individual files from source directory to the support bundle folder
+    // Add individual files from source directory to the support bundle
     for (String filteredLogFile : filteredLogFiles) {
       Path sourceFilePath = Paths.get(source.toString(), filteredLogFile);
-      Path destFilePath = Paths.get(dest.toString(), filteredLogFile);
-      Files.copy(sourceFilePath, destFilePath, StandardCopyOption.REPLACE_EXISTING);
+      archive.addFile(COMPONENT_DIR, sourceFilePath, filteredLogFile);
     }
 
-    log.debug("Downloaded application logs to {}, between {} and {}", destDir, startDate, endDate);
+    log.debug(
+        "Added application logs from {} to the support bundle, between {} and {}",
+        logDir,
+        startDate,
+        endDate);
   };
 }
@@ -10,12 +10,7 @@ import com.yugabyte.yw.common.SupportBundleUtil;
 import com.yugabyte.yw.models.helpers.NodeDetails;
 import com.yugabyte.yw.models.Universe;
 import com.yugabyte.yw.models.InstanceType;
-import java.nio.file.Files;
-import java.nio.file.Path;
-import java.nio.file.Paths;
 import java.util.Date;
-import java.util.List;
-import java.util.stream.Collectors;
 import java.util.UUID;
 import java.io.IOException;
 import java.text.ParseException;
@@ -43,33 +38,25 @@ class InstanceComponent implements SupportBundleComponent {
   }
 
   @Override
-  public void downloadComponent(Customer customer, Universe universe, Path bundlePath)
-      throws IOException {
-    List<NodeDetails> nodes = universe.getNodes().stream().collect(Collectors.toList());
-
-    String destDir = bundlePath.toString() + "/" + "instance";
-    Path destPath = Paths.get(destDir);
-    Files.createDirectories(destPath);
-
+  public void downloadComponent(
+      Customer customer, Universe universe, SupportBundleArchive archive) throws IOException {
     // Downloads the /mnt/d0/master/instance and /mnt/d0/tserver/instance from each node in the
-    // universe into the bundle path
-    for (NodeDetails node : nodes) {
-      // Get source file path prefix
-      String mountPath =
-          supportBundleUtil.getDataDirPath(universe, node, nodeUniverseManager, config);
-      String nodeHomeDir = mountPath + "/yb-data";
+    // universe into the bundle
+    archive.downloadFromNodes(
+        "instance",
+        universe.getNodes(),
+        (node, nodeTargetFile) -> {
+          // Get source file path prefix
+          String mountPath =
+              supportBundleUtil.getDataDirPath(universe, node, nodeUniverseManager, config);
+          String nodeHomeDir = mountPath + "/yb-data";
 
-      // Get target file path
-      String nodeName = node.getNodeName();
-      Path nodeTargetFile = Paths.get(destDir, nodeName + ".tar.gz");
-
-      log.debug(
-          "Gathering instance file for node: {}, source path: {}, target path: {}",
-          nodeName,
-          nodeHomeDir,
-          nodeTargetFile.toString());
+          log.debug(
+              "Gathering instance file for node: {}, source path: {}, target path: {}",
+              node.getNodeName(),
+              nodeHomeDir,
+              nodeTargetFile.toString());
 
-      Path targetFile =
           universeInfoHandler.downloadNodeFile(
               customer,
               universe,
@@ -77,13 +64,17 @@ class InstanceComponent implements SupportBundleComponent {
               nodeHomeDir,
               "master/instance;tserver/instance",
               nodeTargetFile);
-    }
+        });
   }
 
   @Override
   public void downloadComponentBetweenDates(
-      Customer customer, Universe universe, Path bundlePath, Date startDate, Date endDate)
+      Customer customer,
+      Universe universe,
+      SupportBundleArchive archive,
+      Date startDate,
+      Date endDate)
       throws IOException, ParseException {
-    this.downloadComponent(customer, universe, bundlePath);
+    this.downloadComponent(customer, universe, archive);
   }
 }
@@ -0,0 +1,216 @@
+package com.yugabyte.yw.common.supportbundle;
+
+import com.google.common.base.Throwables;
+import com.google.common.io.ByteStreams;
+import com.yugabyte.yw.models.helpers.NodeDetails;
+import java.io.BufferedOutputStream;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Date;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.zip.GZIPOutputStream;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.commons.compress.archivers.tar.TarArchiveEntry;
+import org.apache.commons.compress.archivers.tar.TarArchiveOutputStream;
+
+/**
+ * The support bundle being written. Components add their files to it as soon as they have them,
+ * so the bundle is never staged on disk as a whole: files downloaded from the nodes are appended
+ * to the archive and deleted right away, local files are read in place.
+ *
+ * <p>Node downloads are run in parallel on the given executor, which bounds the number of
+ * downloads in flight and so the disk space used for them.
+ */
+@Slf4j
+public class SupportBundleArchive implements Closeable {
+
+  /** Downloads the files of a component from one node into the given local file. */
+  @FunctionalInterface
+  public interface NodeFileDownloader {
+    void download(NodeDetails node, Path targetFile) throws Exception;
+  }
+
+  private final String rootName;
+  private final Path stagingDir;
+  private final ExecutorService downloadExecutor;
+  private final TarArchiveOutputStream tarOS;
+  private final Set<String> directories = new HashSet<>();
+  private final Map<String, ComponentProgress> progress = new ConcurrentHashMap<>();
+
+  /**
+   * @param archivePath the .tar.gz file to write
+   * @param rootName name of the top level directory of the archive
+   * @param stagingDir where files downloaded from the nodes are kept until they are archived
+   * @param downloadExecutor runs the node downloads
+   */
+  public SupportBundleArchive(
+      Path archivePath, String rootName, Path stagingDir, ExecutorService downloadExecutor)
+      throws IOException {
+    this.rootName = rootName;
+    this.stagingDir = stagingDir;
+    this.downloadExecutor = downloadExecutor;
+    Files.createDirectories(stagingDir);
+    OutputStream os = Files.newOutputStream(archivePath);
+    try {
+      this.tarOS =
+          new TarArchiveOutputStream(new GZIPOutputStream(new BufferedOutputStream(os), 65536));
+    } catch (IOException e) {
+      os.close();
+      throw e;
+    }
+    tarOS.setLongFileMode(TarArchiveOutputStream.LONGFILE_POSIX);
+    tarOS.setBigNumberMode(TarArchiveOutputStream.BIGNUMBER_POSIX);
+    addDirectory(rootName);
+  }
+
+  /**
+   * Downloads the component files from each of the nodes in parallel, adding every node's file to
+   * the archive as {@code <component>/<node name>.tar.gz} as soon as it is downloaded. Waits for
+   * all the nodes, fails if any of the downloads failed. Downloads not started yet are skipped
+   * after a failure.
+   */
+  public void downloadFromNodes(
+      String component, Collection<NodeDetails> nodes, NodeFileDownloader downloader)
+      throws IOException {
+    ComponentProgress componentProgress = getProgress(component);
+    componentProgress.total.addAndGet(nodes.size());
+    Path componentStagingDir = stagingDir.resolve(component);
+    Files.createDirectories(componentStagingDir);
+
+    List<Future<?>> futures = new ArrayList<>();
+    for (NodeDetails node : nodes) {
+      futures.add(
+          downloadExecutor.submit(
+              () -> {
+                String fileName = node.getNodeName() + ".tar.gz";
+                Path targetFile = componentStagingDir.resolve(fileName);
+                try {
+                  downloader.download(node, targetFile);
+                  addFile(component, targetFile, fileName);
+                } finally {
+                  Files.deleteIfExists(targetFile);
+                }
+                return null;
+              }));
+    }
+    Throwable failure = null;
+    for (Future<?> future : futures) {
+      try {
+        future.get();
+      } catch (CancellationException e) {
+        // Skipped after a failure.
+      } catch (ExecutionException e) {
+        if (failure == null) {
+          failure = e.getCause();
+          // No point in starting the rest, but wait for the ones running to clean up.
+          futures.forEach(f -> f.cancel(false));
+        }
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+        futures.forEach(f -> f.cancel(true));
+        throw new RuntimeException("Interrupted while downloading " + component, e);
+      }
+    }
+    if (failure != null) {
+      Throwables.throwIfInstanceOf(failure, IOException.class);
+      Throwables.throwIfUnchecked(failure);
+      throw new RuntimeException(failure);
+    }
+  }
+
+  /** Adds a file to the archive as {@code <component>/<entryName>}. */
+  public void addFile(String component, Path file, String entryName) throws IOException {
+    long size = Files.size(file);
+    try (InputStream is = Files.newInputStream(file)) {
+      addEntry(component, entryName, size, Files.getLastModifiedTime(file).toMillis(), is);
+    }
+  }
+
+  public Map<String, ComponentProgress> getProgress() {
+    return progress;
+  }
+
+  /** Logs how far each of the components got and how fast. */
+  public void logProgress() {
+    progress.forEach((component, p) -> log.info("Support bundle component {}: {}", component, p));
+  }
+
+  @Override
+  public synchronized void close() throws IOException {
+    tarOS.close();
+  }
+
+  private synchronized void addEntry(
+      String component, String entryName, long size, long modTime, InputStream is)
+      throws IOException {
+    String componentDir = rootName + "/" + component;
+    addDirectory(componentDir);
+    TarArchiveEntry entry = new TarArchiveEntry(componentDir + "/" + entryName);
+    entry.setSize(size);
+    entry.setModTime(modTime);
+    tarOS.putArchiveEntry(entry);
+    // Don't trust the file to not have grown since we got its size.
+    ByteStreams.copy(ByteStreams.limit(is, size), tarOS);
+    tarOS.closeArchiveEntry();
+
+    ComponentProgress componentProgress = getProgress(component);
+    componentProgress.files.incrementAndGet();
+    componentProgress.bytes.addAndGet(size);
+    log.debug("Added {} to support bundle, {}", entry.getName(), componentProgress);
+  }
+
+  private synchronized void addDirectory(String name) throws IOException {
+    if (directories.add(name)) {
+      TarArchiveEntry entry = new TarArchiveEntry(name + "/");
+      entry.setModTime(new Date());
+      tarOS.putArchiveEntry(entry);
+      tarOS.closeArchiveEntry();
+    }
+  }
+
+  private ComponentProgress getProgress(String component) {
+    return progress.computeIfAbsent(component, c -> new ComponentProgress());
+  }
+
+  /** Files and bytes archived so far for a component. */
+  public static class ComponentProgress {
+    private final long startTimeMs = System.currentTimeMillis();
+    private final AtomicInteger files = new AtomicInteger();
+    private final AtomicInteger total = new AtomicInteger();
+    private final AtomicLong bytes = new AtomicLong();
+
+    public int getFiles() {
+      return files.get();
+    }
+
+    public long getBytes() {
+      return bytes.get();
+    }
+
+    @Override
+    public String toString() {
+      long elapsedMs = Math.max(1, System.currentTimeMillis() - startTimeMs);
+      String count =
+          total.get() > 0 ? files.get() + "/" + total.get() + " nodes" : files.get() + " files";
+      return String.format(
+          "%s, %d bytes in %d ms (%.2f MB/s)",
+          count, bytes.get(), elapsedMs, bytes.get() * 1000.0 / elapsedMs / (1024 * 1024));
+    }
+  }
+}
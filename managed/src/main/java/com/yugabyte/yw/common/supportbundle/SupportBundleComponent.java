@@ -3,15 +3,21 @@ package com.yugabyte.yw.common.supportbundle;
 import com.yugabyte.yw.models.Customer;
 import com.yugabyte.yw.models.Universe;
 import java.util.Date;
-import java.nio.file.Path;
 import java.io.IOException;
 import java.text.ParseException;
 
 public interface SupportBundleComponent {
 
-  void downloadComponent(Customer customer, Universe universe, Path bundlePath) throws IOException;
+  // Adds the component files to the bundle archive. Components downloading files from the nodes
+  // should use SupportBundleArchive.downloadFromNodes(), which does the downloads in parallel.
+  void downloadComponent(Customer customer, Universe universe, SupportBundleArchive archive)
+      throws IOException;
 
   void downloadComponentBetweenDates(
-      Customer customer, Universe universe, Path bundlePath, Date startDate, Date endDate)
+      Customer customer,
+      Universe universe,
+      SupportBundleArchive archive,
+      Date startDate,
+      Date endDate)
       throws IOException, ParseException;
 }
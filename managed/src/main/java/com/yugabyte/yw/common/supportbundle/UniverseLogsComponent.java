@@ -11,9 +11,6 @@ import com.yugabyte.yw.common.SupportBundleUtil;
 import com.yugabyte.yw.models.helpers.NodeDetails;
 import com.yugabyte.yw.models.Universe;
 import com.yugabyte.yw.models.InstanceType;
-import java.nio.file.Files;
-import java.nio.file.Path;
-import java.nio.file.Paths;
 import java.util.Collections;
 import java.util.Date;
 import java.util.List;
@@ -51,93 +48,82 @@ class UniverseLogsComponent implements SupportBundleComponent {
   }
 
   @Override
-  public void downloadComponent(Customer customer, Universe universe, Path bundlePath)
-      throws IOException {
-    List<NodeDetails> nodes = universe.getNodes().stream().collect(Collectors.toList());
-
-    String destDir = bundlePath.toString() + "/" + "universe_logs";
-    Path destPath = Paths.get(destDir);
-    Files.createDirectories(destPath);
-
+  public void downloadComponent(
+      Customer customer, Universe universe, SupportBundleArchive archive) throws IOException {
     // Downloads the /mnt/d0/yb-data/master/logs and /mnt/d0/yb-data/tserver/logs from each node
-    // in the universe into the bundle path
-    for (NodeDetails node : nodes) {
-      // Get source file path prefix
-      String mountPath =
-          supportBundleUtil.getDataDirPath(universe, node, nodeUniverseManager, config);
-      String nodeHomeDir = mountPath + "/yb-data";
-
-      // Get target file path
-      String nodeName = node.getNodeName();
-      Path nodeTargetFile = Paths.get(destDir, nodeName + ".tar.gz");
-
-      log.debug(
-          "Gathering universe logs for node: {}, source path: {}, target path: {}",
-          nodeName,
-          nodeHomeDir,
-          nodeTargetFile.toString());
-
-      Path targetFile =
+    // in the universe into the bundle
+    archive.downloadFromNodes(
+        "universe_logs",
+        universe.getNodes(),
+        (node, nodeTargetFile) -> {
+          // Get source file path prefix
+          String mountPath =
+              supportBundleUtil.getDataDirPath(universe, node, nodeUniverseManager, config);
+          String nodeHomeDir = mountPath + "/yb-data";
+
+          log.debug(
+              "Gathering universe logs for node: {}, source path: {}, target path: {}",
+              node.getNodeName(),
+              nodeHomeDir,
+              nodeTargetFile.toString());
+
           universeInfoHandler.downloadNodeFile(
               customer, universe, node, nodeHomeDir, "master/logs;tserver/logs", nodeTargetFile);
-    }
+        });
   }
 
   @Override
   public void downloadComponentBetweenDates(
-      Customer customer, Universe universe, Path bundlePath, Date startDate, Date endDate)
+      Customer customer,
+      Universe universe,
+      SupportBundleArchive archive,
+      Date startDate,
+      Date endDate)
       throws IOException, ParseException {
-    List<NodeDetails> nodes = universe.getNodes().stream().collect(Collectors.toList());
-
-    String destDir = bundlePath.toString() + "/" + "universe_logs";
-    Path destPath = Paths.get(destDir);
-    Files.createDirectories(destPath);
-
     // Downloads the /mnt/d0/yb-data/master/logs and /mnt/d0/yb-data/tserver/logs from each node
-    // in the universe into the bundle path
-    for (NodeDetails node : nodes) {
-      // Get source file path prefix
-      String mountPath =
-          supportBundleUtil.getDataDirPath(universe, node, nodeUniverseManager, config);
-      String nodeHomeDir = mountPath + "/yb-data";
-
-      // Get target file path
-      String nodeName = node.getNodeName();
-      Path nodeTargetFile = Paths.get(destDir, nodeName + ".tar.gz");
-
-      log.debug(
-          "Gathering universe logs for node: {}, source path: {}, target path: {}, "
-              + "between start date: {}, end date: {}",
-          nodeName,
-          nodeHomeDir,
-          nodeTargetFile.toString(),
-          startDate,
-          endDate);
-
-      String universeLogsRegexPattern =
-          String.format(
-              config.getString("yb.support_bundle.universe_logs_regex_pattern"), node.nodeName);
-
-      // Get and filter master log files that fall within given dates
-      List<String> masterLogFilePaths =
-          getNodeFilePaths(node, universe, nodeHomeDir + "/master/logs", 1, "f");
-      masterLogFilePaths =
-          filterFilePathsBetweenDates(
-              masterLogFilePaths, universeLogsRegexPattern, startDate, endDate);
-
-      // Get and filter tserver log files that fall within given dates
-      List<String> tserverLogFilePaths =
-          getNodeFilePaths(node, universe, nodeHomeDir + "/tserver/logs", 1, "f");
-      tserverLogFilePaths =
-          filterFilePathsBetweenDates(
-              tserverLogFilePaths, universeLogsRegexPattern, startDate, endDate);
-
-      // Combine both master and tserver files to download all the files together
-      List<String> allLogFilePaths =
-          Stream.concat(masterLogFilePaths.stream(), tserverLogFilePaths.stream())
-              .collect(Collectors.toList());
-
-      Path targetFile =
+    // in the universe into the bundle
+    archive.downloadFromNodes(
+        "universe_logs",
+        universe.getNodes(),
+        (node, nodeTargetFile) -> {
+          // Get source file path prefix
+          String mountPath =
+              supportBundleUtil.getDataDirPath(universe, node, nodeUniverseManager, config);
+          String nodeHomeDir = mountPath + "/yb-data";
+
+          log.debug(
+              "Gathering universe logs for node: {}, source path: {}, target path: {}, "
+                  + "between start date: {}, end date: {}",
+              node.getNodeName(),
+              nodeHomeDir,
+              nodeTargetFile.toString(),
+              startDate,
+              endDate);
+
+          String universeLogsRegexPattern =
+              String.format(
+                  config.getString("yb.support_bundle.universe_logs_regex_pattern"),
+                  node.nodeName);
+
+          // Get and filter master log files that fall within given dates
+          List<String> masterLogFilePaths =
+              getNodeFilePaths(node, universe, nodeHomeDir + "/master/logs", 1, "f");
+          masterLogFilePaths =
+              filterFilePathsBetweenDates(
+                  masterLogFilePaths, universeLogsRegexPattern, startDate, endDate);
+
+          // Get and filter tserver log files that fall within given dates
+          List<String> tserverLogFilePaths =
+              getNodeFilePaths(node, universe, nodeHomeDir + "/tserver/logs", 1, "f");
+          tserverLogFilePaths =
+              filterFilePathsBetweenDates(
+                  tserverLogFilePaths, universeLogsRegexPattern, startDate, endDate);
+
+          // Combine both master and tserver files to download all the files together
+          List<String> allLogFilePaths =
+              Stream.concat(masterLogFilePaths.stream(), tserverLogFilePaths.stream())
+                  .collect(Collectors.toList());
+
           universeInfoHandler.downloadNodeFile(
               customer,
               universe,
@@ -145,7 +131,7 @@ class UniverseLogsComponent implements SupportBundleComponent {
               nodeHomeDir,
               String.join(";", allLogFilePaths),
               nodeTargetFile);
-    }
+        });
   }
 
   // Gets a list of all the absolute file paths at a given remote directory
@@ -0,0 +1,137 @@
+/*
+ * Copyright 2021 YugaByte, Inc. and Contributors
+ *
+ * Licensed under the Polyform Free Trial License 1.0.0 (the "License"); you
+ * may not use this file except in compliance with the License. You
+ * may obtain a copy of the License at
+ *
+ * http://github.com/YugaByte/yugabyte-db/blob/master/licenses/POLYFORM-FREE-TRIAL-LICENSE-1.0.0.txt
+ */
+package com.yugabyte.yw.common.user;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.typesafe.config.Config;
+import com.yugabyte.yw.models.Customer;
+import com.yugabyte.yw.models.Users;
+import io.prometheus.client.CollectorRegistry;
+import io.prometheus.client.Counter;
+import java.time.Duration;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+import java.util.function.Predicate;
+import javax.inject.Inject;
+import javax.inject.Singleton;
+import lombok.Value;
+
+/**
+ * Users authenticated by auth or API token, along with their customer and features, so that API
+ * calls don't look them up in the database every time. Entries expire after
+ * yb.security.token_cache.ttl, a TTL of 0 disables the cache. Anything changing a token or the
+ * role of a user has to invalidate the user, the TTL only bounds how long a missed invalidation
+ * goes unnoticed.
+ */
+@Singleton
+public class AuthTokenCache {
+
+  public enum TokenType {
+    AUTH,
+    API
+  }
+
+  /** What a request authenticated by a token needs to know about its user. */
+  @Value
+  public static class AuthenticatedUser {
+    Users user;
+    Customer customer;
+    // Shared by all the requests of the user, has to be copied before being modified.
+    JsonNode features;
+  }
+
+  static final String TOKEN_CACHE_TTL = "yb.security.token_cache.ttl";
+  static final String TOKEN_CACHE_MAX_SIZE = "yb.security.token_cache.max_size";
+
+  private static final Counter CACHE_REQUESTS =
+      Counter.build("ybp_auth_token_cache_requests", "Count of token lookups in the token cache")
+          .labelNames("result")
+          .register(CollectorRegistry.defaultRegistry);
+  private static final Counter CACHE_INVALIDATIONS =
+      Counter.build(
+              "ybp_auth_token_cache_invalidations", "Count of token cache invalidations by reason")
+          .labelNames("reason")
+          .register(CollectorRegistry.defaultRegistry);
+
+  private final Cache<String, AuthenticatedUser> cache;
+
+  // Bumped by every invalidation. An entry loaded while an invalidation happened may have been read
+  // before the change and is not cached.
+  private long generation = 0;
+
+  @Inject
+  public AuthTokenCache(Config config) {
+    Duration ttl = config.getDuration(TOKEN_CACHE_TTL);
+    if (ttl.isZero()) {
+      cache = null;
+    } else {
+      cache =
+          CacheBuilder.newBuilder()
+              .expireAfterWrite(ttl.toMillis(), TimeUnit.MILLISECONDS)
+              .maximumSize(config.getLong(TOKEN_CACHE_MAX_SIZE))
+              .build();
+    }
+  }
+
+  /**
+   * Returns the user authenticated by the token, loading it with the given function if it is not
+   * cached. Tokens not authenticating anybody, for which the loader returns null, are not cached.
+   */
+  public AuthenticatedUser get(
+      TokenType tokenType, String token, Function<String, AuthenticatedUser> loader) {
+    if (token == null) {
+      return null;
+    }
+    if (cache == null) {
+      return loader.apply(token);
+    }
+    String key = tokenType + ":" + token;
+    AuthenticatedUser authenticatedUser = cache.getIfPresent(key);
+    if (authenticatedUser != null) {
+      CACHE_REQUESTS.labels("hit").inc();
+      return authenticatedUser;
+    }
+    CACHE_REQUESTS.labels("miss").inc();
+    long loadGeneration;
+    synchronized (this) {
+      loadGeneration = generation;
+    }
+    authenticatedUser = loader.apply(token);
+    if (authenticatedUser != null) {
+      synchronized (this) {
+        if (generation == loadGeneration) {
+          cache.put(key, authenticatedUser);
+        }
+      }
+    }
+    return authenticatedUser;
+  }
+
+  /** Drops the tokens of the user, to be called when its tokens or role change. */
+  public void invalidateUser(UUID userUUID, String reason) {
+    invalidate(reason, u -> u.getUser().uuid.equals(userUUID));
+  }
+
+  /** Drops the tokens of all the users of the customer. */
+  public void invalidateCustomer(UUID customerUUID, String reason) {
+    invalidate(reason, u -> u.getCustomer().uuid.equals(customerUUID));
+  }
+
+  private synchronized void invalidate(String reason, Predicate<AuthenticatedUser> filter) {
+    generation++;
+    CACHE_INVALIDATIONS.labels(reason).inc();
+    if (cache != null) {
+      cache.asMap().values().removeIf(filter);
+    }
+  }
+}
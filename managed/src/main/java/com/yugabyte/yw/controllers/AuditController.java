@@ -3,10 +3,17 @@
 package com.yugabyte.yw.controllers;
 
 import com.yugabyte.yw.forms.PlatformResults;
+import com.yugabyte.yw.forms.filters.AuditApiFilter;
+import com.yugabyte.yw.forms.paging.AuditPagedApiQuery;
 import com.yugabyte.yw.models.Audit;
 import com.yugabyte.yw.models.Customer;
 import com.yugabyte.yw.models.Users;
+import com.yugabyte.yw.models.filters.AuditFilter;
+import com.yugabyte.yw.models.paging.AuditPagedQuery;
+import com.yugabyte.yw.models.paging.AuditPagedResponse;
 import io.swagger.annotations.Api;
+import io.swagger.annotations.ApiImplicitParam;
+import io.swagger.annotations.ApiImplicitParams;
 import io.swagger.annotations.ApiOperation;
 import io.swagger.annotations.Authorization;
 import java.util.List;
@@ -37,6 +44,29 @@ public class AuditController extends AuthenticatedController {
     return PlatformResults.withData(auditList);
   }
 
+  @ApiOperation(
+      value = "List audit entries (paginated)",
+      response = AuditPagedResponse.class,
+      nickname = "pageAuditList")
+  @ApiImplicitParams(
+      @ApiImplicitParam(
+          name = "PageAuditRequest",
+          paramType = "body",
+          dataType = "com.yugabyte.yw.forms.paging.AuditPagedApiQuery",
+          required = true))
+  public Result pageAuditList(UUID customerUUID) {
+    Customer.getOrBadRequest(customerUUID);
+    AuditPagedApiQuery apiQuery = parseJsonAndValidate(AuditPagedApiQuery.class);
+    AuditApiFilter apiFilter = apiQuery.getFilter();
+    AuditFilter filter = apiFilter.toFilter().toBuilder().customerUUID(customerUUID).build();
+    AuditPagedQuery query = apiQuery.copyWithFilter(filter, AuditPagedQuery.class);
+    query.setLastAuditId(apiQuery.getLastAuditId());
+
+    AuditPagedResponse audits = auditService().pagedList(query);
+
+    return PlatformResults.withData(audits);
+  }
+
   @ApiOperation(value = "Get audit info for a task", response = Audit.class)
   public Result getTaskAudit(UUID customerUUID, UUID taskUUID) {
     Customer.getOrBadRequest(customerUUID);
@@ -31,6 +31,7 @@ import com.yugabyte.yw.common.PlatformServiceException;
 import com.yugabyte.yw.common.alerts.AlertConfigurationService;
 import com.yugabyte.yw.common.alerts.AlertService;
 import com.yugabyte.yw.common.metrics.MetricService;
+import com.yugabyte.yw.common.user.AuthTokenCache;
 import com.yugabyte.yw.forms.AlertingFormData;
 import com.yugabyte.yw.forms.AlertingData;
 import com.yugabyte.yw.forms.CustomerDetailsData;
@@ -91,6 +92,8 @@ public class CustomerController extends AuthenticatedController {
 
   @Inject private AlertConfigurationService alertConfigurationService;
 
+  @Inject private AuthTokenCache authTokenCache;
+
   private static boolean checkNonNullMountRoots(NodeDetails n) {
     return n.cloudInfo != null
         && n.cloudInfo.mount_roots != null
@@ -286,6 +289,7 @@ public class CustomerController extends AuthenticatedController {
       throw new PlatformServiceException(
           INTERNAL_SERVER_ERROR, "Unable to delete Customer UUID: " + customerUUID);
     }
+    authTokenCache.invalidateCustomer(customerUUID, "customer_delete");
 
     metricService.handleSourceRemoval(customerUUID, null);
 
@@ -19,6 +19,11 @@ import static com.yugabyte.yw.forms.PlatformResults.withData;
 import static com.yugabyte.yw.models.Users.Role;
 import static com.yugabyte.yw.models.Users.UserType;
 
+import akka.stream.Materializer;
+import akka.stream.javadsl.Compression;
+import akka.stream.javadsl.Sink;
+import akka.stream.javadsl.Source;
+import akka.util.ByteString;
 import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.databind.node.ObjectNode;
@@ -28,11 +33,13 @@ import com.yugabyte.yw.common.ApiHelper;
 import com.yugabyte.yw.common.ConfigHelper;
 import com.yugabyte.yw.common.LdapUtil;
 import com.yugabyte.yw.common.PlatformServiceException;
+import com.yugabyte.yw.common.ProxyLinkRewriter;
 import com.yugabyte.yw.common.ValidatingFormFactory;
 import com.yugabyte.yw.common.alerts.AlertConfigurationService;
 import com.yugabyte.yw.common.alerts.AlertDestinationService;
 import com.yugabyte.yw.common.config.RuntimeConfigFactory;
 import com.yugabyte.yw.common.password.PasswordPolicyService;
+import com.yugabyte.yw.common.user.AuthTokenCache;
 import com.yugabyte.yw.common.user.UserService;
 import com.yugabyte.yw.controllers.handlers.SessionHandler;
 import com.yugabyte.yw.forms.CustomerLoginFormData;
@@ -64,11 +71,13 @@ import java.time.Duration;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
+import java.util.Optional;
 import java.util.UUID;
 import java.util.concurrent.CompletionStage;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 import java.util.regex.PatternSyntaxException;
+import java.util.zip.Deflater;
 import lombok.Data;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -84,6 +93,7 @@ import org.slf4j.LoggerFactory;
 import play.Configuration;
 import play.Environment;
 import play.data.Form;
+import play.http.HttpEntity;
 import play.libs.Json;
 import play.libs.ws.WSClient;
 import play.libs.ws.WSRequest;
@@ -111,6 +121,8 @@ public class SessionController extends AbstractPlatformController {
 
   @Inject private WSClient ws;
 
+  @Inject private Materializer materializer;
+
   @Inject private PlaySessionStore playSessionStore;
 
   @Inject private ApiHelper apiHelper;
@@ -127,6 +139,8 @@ public class SessionController extends AbstractPlatformController {
 
   @Inject private UserService userService;
 
+  @Inject private AuthTokenCache authTokenCache;
+
   @Inject private LdapUtil ldapUtil;
 
   public static final String AUTH_TOKEN = "authToken";
@@ -308,6 +322,8 @@ public class SessionController extends AbstractPlatformController {
     Customer cust = Customer.get(user.customerUUID);
 
     String authToken = user.createAuthToken();
+    // The token may have been rotated, or the role changed by LDAP.
+    authTokenCache.invalidateUser(user.uuid, "login");
     SessionInfo sessionInfo = new SessionInfo(authToken, null, cust.uuid, user.uuid);
     response()
         .setCookie(
@@ -461,6 +477,7 @@ public class SessionController extends AbstractPlatformController {
     }
 
     String apiToken = user.upsertApiToken();
+    authTokenCache.invalidateUser(user.uuid, "api_token_rotation");
     SessionInfo sessionInfo = new SessionInfo(null, apiToken, customerUUID, user.uuid);
     response()
         .setCookie(
@@ -565,6 +582,7 @@ public class SessionController extends AbstractPlatformController {
     Users user = getCurrentUser();
     if (user != null) {
       user.deleteAuthToken();
+      authTokenCache.invalidateUser(user.uuid, "logout");
     }
     return YBPSuccess.empty();
   }
@@ -611,43 +629,58 @@ public class SessionController extends AbstractPlatformController {
         runtimeConfigFactory.globalRuntimeConf().getDuration("yb.proxy_endpoint_timeout");
     WSRequest request =
         ws.url("http://" + finalRequestUrl)
+            .setMethod("GET")
             .setRequestTimeout(timeout)
-            .addHeader(play.mvc.Http.HeaderNames.ACCEPT_ENCODING, "gzip");
+            .addHeader(Http.HeaderNames.ACCEPT_ENCODING, "gzip");
     // Accept-Encoding: gzip causes the master/tserver to typically return compressed responses,
-    // however Play doesn't return gzipped responses right now
-
+    // the WS client inflates them as they are received.
+    boolean gzipResponse =
+        request()
+            .header(Http.HeaderNames.ACCEPT_ENCODING)
+            .map(encodings -> encodings.contains("gzip"))
+            .orElse(false);
+
+    // The body is streamed to the client as it is received, so that large pages like the metrics
+    // of a tserver are never held in memory. Only HTML pages are rewritten.
     return request
-        .get()
+        .stream()
         .handle(
             (response, ex) -> {
               if (null != ex) {
                 return internalServerError(ex.getMessage());
               }
 
-              // Format the response body
               if (null != response && response.getStatus() == 200) {
-                Result result;
-                String url = request.getUrl();
-                if (url.contains(".png") || url.contains(".ico") || url.contains("fontawesome")) {
-                  result = ok(response.getBodyAsBytes().toArray());
-                } else {
-                  result = ok(apiHelper.replaceProxyLinks(response.getBody(), universeUUID, addr));
+                String contentType = response.getContentType();
+                Source<ByteString, ?> body = response.getBodyAsSource();
+                if (contentType.startsWith("text/html")) {
+                  body = body.via(ProxyLinkRewriter.flow(universeUUID, addr));
                 }
+                if (gzipResponse) {
+                  body = body.via(Compression.gzip(Deflater.BEST_SPEED));
+                }
+                HttpEntity entity =
+                    new HttpEntity.Streamed(body, Optional.empty(), Optional.of(contentType));
+                Result result = ok().sendEntity(entity);
 
                 // Set response headers
                 for (Map.Entry<String, List<String>> entry : response.getHeaders().entrySet()) {
-                  if (!entry.getKey().equals(play.mvc.Http.HeaderNames.CONTENT_LENGTH)
-                      && !entry.getKey().equals(play.mvc.Http.HeaderNames.CONTENT_TYPE)
-                      && !entry.getKey().equals(play.mvc.Http.HeaderNames.TRANSFER_ENCODING)) {
+                  if (!entry.getKey().equalsIgnoreCase(Http.HeaderNames.CONTENT_LENGTH)
+                      && !entry.getKey().equalsIgnoreCase(Http.HeaderNames.CONTENT_TYPE)
+                      && !entry.getKey().equalsIgnoreCase(Http.HeaderNames.CONTENT_ENCODING)
+                      && !entry.getKey().equalsIgnoreCase(Http.HeaderNames.TRANSFER_ENCODING)) {
                     result = result.withHeader(entry.getKey(), String.join(",", entry.getValue()));
                   }
                 }
-
-                return result.as(response.getContentType());
+                if (gzipResponse) {
+                  result = result.withHeader(Http.HeaderNames.CONTENT_ENCODING, "gzip");
+                }
+                return result;
               } else {
                 String errorMsg = "unknown error processing proxy request " + requestUrl;
                 if (null != response) {
                   errorMsg = response.getStatusText();
+                  response.getBodyAsSource().runWith(Sink.ignore(), materializer);
                 }
                 return internalServerError(errorMsg);
               }
@@ -19,6 +19,7 @@ import com.yugabyte.yw.commissioner.tasks.MultiTableBackup;
 import com.yugabyte.yw.commissioner.tasks.subtasks.DeleteTableFromUniverse;
 import com.yugabyte.yw.common.BackupUtil;
 import com.yugabyte.yw.common.PlatformServiceException;
+import com.yugabyte.yw.common.TableCatalogCache;
 import com.yugabyte.yw.common.customer.config.CustomerConfigService;
 import com.yugabyte.yw.common.services.YBClientService;
 import com.yugabyte.yw.forms.BackupRequestParams;
@@ -28,6 +29,8 @@ import com.yugabyte.yw.forms.PlatformResults;
 import com.yugabyte.yw.forms.PlatformResults.YBPSuccess;
 import com.yugabyte.yw.forms.PlatformResults.YBPTask;
 import com.yugabyte.yw.forms.TableDefinitionTaskParams;
+import com.yugabyte.yw.forms.filters.TableApiFilter;
+import com.yugabyte.yw.forms.paging.TablePagedApiQuery;
 import com.yugabyte.yw.metrics.MetricQueryHelper;
 import com.yugabyte.yw.metrics.MetricQueryResponse;
 import com.yugabyte.yw.models.Audit;
@@ -41,6 +44,9 @@ import com.yugabyte.yw.models.CustomerConfig.ConfigState;
 import com.yugabyte.yw.models.helpers.ColumnDetails;
 import com.yugabyte.yw.models.helpers.TableDetails;
 import com.yugabyte.yw.models.helpers.TaskType;
+import com.yugabyte.yw.models.paging.PagedQuery;
+import com.yugabyte.yw.models.paging.PagedQuery.SortDirection;
+import com.yugabyte.yw.models.paging.PagedResponse;
 import io.swagger.annotations.Api;
 import io.swagger.annotations.ApiImplicitParam;
 import io.swagger.annotations.ApiImplicitParams;
@@ -52,12 +58,15 @@ import io.swagger.annotations.ApiResponses;
 import io.swagger.annotations.Authorization;
 import java.util.ArrayList;
 import java.util.Collections;
+import java.util.Comparator;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.UUID;
 import java.util.stream.Collectors;
 import lombok.Builder;
+import lombok.Data;
+import lombok.EqualsAndHashCode;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.yb.CommonTypes.TableType;
@@ -84,16 +93,20 @@ public class TablesController extends AuthenticatedController {
 
   private final CustomerConfigService customerConfigService;
 
+  private final TableCatalogCache tableCatalogCache;
+
   @Inject
   public TablesController(
       Commissioner commissioner,
       YBClientService service,
       MetricQueryHelper metricQueryHelper,
-      CustomerConfigService customerConfigService) {
+      CustomerConfigService customerConfigService,
+      TableCatalogCache tableCatalogCache) {
     this.commissioner = commissioner;
     this.ybService = service;
     this.metricQueryHelper = metricQueryHelper;
     this.customerConfigService = customerConfigService;
+    this.tableCatalogCache = tableCatalogCache;
   }
 
   @ApiOperation(
@@ -280,6 +293,10 @@ public class TablesController extends AuthenticatedController {
     public final boolean isIndexTable;
   }
 
+  @Data
+  @EqualsAndHashCode(callSuper = true)
+  static class TablePagedResponse extends PagedResponse<TableInfoResp> {}
+
   @ApiOperation(
       value = "List all tables",
       nickname = "getAllTables",
@@ -299,14 +316,85 @@ public class TablesController extends AuthenticatedController {
       return ok(errMsg);
     }
 
+    return PlatformResults.withData(getTableInfoResps(universe, masterAddresses, null));
+  }
+
+  @ApiOperation(
+      value = "List tables V2",
+      notes = "Get a page of the tables in the specified universe, matching the filter",
+      response = TablePagedResponse.class,
+      nickname = "listTablesV2")
+  @ApiImplicitParams(
+      @ApiImplicitParam(
+          name = "PageTablesRequest",
+          paramType = "body",
+          dataType = "com.yugabyte.yw.forms.paging.TablePagedApiQuery",
+          required = true))
+  public Result pageTableList(UUID customerUUID, UUID universeUUID) {
+    Customer.getOrBadRequest(customerUUID);
+    Universe universe = Universe.getOrBadRequest(universeUUID);
+    TablePagedApiQuery query = parseJsonAndValidate(TablePagedApiQuery.class);
+
+    final String masterAddresses = universe.getMasterAddresses(true);
+    if (masterAddresses.isEmpty()) {
+      String errMsg = "Expected error. Masters are not currently queryable.";
+      LOG.warn(errMsg);
+      return ok(errMsg);
+    }
+
+    List<TableInfoResp> tables = getTableInfoResps(universe, masterAddresses, query.getFilter());
+    Comparator<TableInfoResp> comparator = getComparator(query.getSortBy());
+    if (query.getDirection() == SortDirection.DESC) {
+      comparator = comparator.reversed();
+    }
+    tables.sort(comparator.thenComparing(getComparator(query.getSortBy().getOrderField())));
+
+    int fromIndex = Math.min(query.getOffset(), tables.size());
+    int toIndex = Math.min(fromIndex + query.getLimit(), tables.size());
+    TablePagedResponse response = new TablePagedResponse();
+    response.setEntities(new ArrayList<>(tables.subList(fromIndex, toIndex)));
+    response.setHasPrev(fromIndex > 0);
+    response.setHasNext(toIndex < tables.size());
+    if (query.isNeedTotalCount()) {
+      response.setTotalCount(tables.size());
+    }
+    return PlatformResults.withData(response);
+  }
+
+  private static Comparator<TableInfoResp> getComparator(PagedQuery.SortByIF sortBy) {
+    switch ((TablePagedApiQuery.SortBy) sortBy) {
+      case keySpace:
+        return Comparator.comparing(table -> table.keySpace);
+      case sizeBytes:
+        return Comparator.comparingDouble(table -> table.sizeBytes);
+      case tableUUID:
+        return Comparator.comparing(table -> table.tableUUID);
+      default:
+        return Comparator.comparing(table -> table.tableName);
+    }
+  }
+
+  /**
+   * Returns the user tables of the universe matching the filter, if there is one, with their sizes.
+   * The tables and the sizes are read from the table catalog cache.
+   */
+  private List<TableInfoResp> getTableInfoResps(
+      Universe universe, String masterAddresses, TableApiFilter filter) {
     Map<String, Double> tableSizes = getTableSizesOrEmpty(universe);
 
     String certificate = universe.getCertificateNodetoNode();
-    ListTablesResponse response = listTablesOrBadRequest(masterAddresses, certificate);
-    List<TableInfo> tableInfoList = response.getTableInfoList();
+    List<TableInfo> tableInfoList =
+        tableCatalogCache.getTables(
+            universe.universeUUID,
+            () -> listTablesOrBadRequest(masterAddresses, certificate).getTableInfoList());
     List<TableInfoResp> tableInfoRespList = new ArrayList<>(tableInfoList.size());
     for (TableInfo table : tableInfoList) {
       String tableKeySpace = table.getNamespace().getName();
+      if (filter != null
+          && !filter.matches(
+              tableKeySpace, table.getName(), table.getTableType(), table.getRelationType())) {
+        continue;
+      }
       if (!isSystemTable(table) || isSystemRedis(table)) {
         String id = table.getId().toStringUtf8();
         TableInfoResp.TableInfoRespBuilder builder =
@@ -324,7 +412,7 @@ public class TablesController extends AuthenticatedController {
         tableInfoRespList.add(builder.build());
       }
     }
-    return PlatformResults.withData(tableInfoRespList);
+    return tableInfoRespList;
   }
 
   private boolean isSystemTable(TableInfo table) {
@@ -340,10 +428,12 @@ public class TablesController extends AuthenticatedController {
         && table.getName().equals("redis");
   }
 
-  // Query prometheus for table sizes.
+  // Query prometheus for table sizes, unless they are cached.
   private Map<String, Double> getTableSizesOrEmpty(Universe universe) {
     try {
-      return queryTableSizes(universe.getUniverseDetails().nodePrefix);
+      return tableCatalogCache.getTableSizes(
+          universe.universeUUID,
+          () -> queryTableSizes(universe.getUniverseDetails().nodePrefix));
     } catch (RuntimeException e) {
       LOG.error(
           "Error querying for table sizes for universe {} from prometheus",
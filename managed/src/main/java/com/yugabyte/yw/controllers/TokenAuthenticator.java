@@ -8,6 +8,9 @@ import com.google.common.collect.ImmutableSet;
 import com.google.inject.Inject;
 import com.typesafe.config.Config;
 import com.yugabyte.yw.common.config.RuntimeConfigFactory;
+import com.yugabyte.yw.common.user.AuthTokenCache;
+import com.yugabyte.yw.common.user.AuthTokenCache.AuthenticatedUser;
+import com.yugabyte.yw.common.user.AuthTokenCache.TokenType;
 import com.yugabyte.yw.common.user.UserService;
 import com.yugabyte.yw.models.Customer;
 import com.yugabyte.yw.models.Users;
@@ -43,6 +46,17 @@ public class TokenAuthenticator extends Action.Simple {
   public static final String API_TOKEN_HEADER = "X-AUTH-YW-API-TOKEN";
   public static final String COOKIE_PLAY_SESSION = "PLAY_SESSION";
 
+  private static final Pattern CUSTOMER_PATH_PATTERN =
+      Pattern.compile(".*/customers/([a-zA-Z0-9-]+)(/.*)?");
+  private static final String PATTERN_FOR_UUID =
+      "[0-9a-fA-F]{8}-[0-9a-fA-F]{4}-[0-9a-fA-F]{4}-[0-9a-fA-F]{4}-[0-9a-fA-F]{12}";
+  private static final String PATTERN_FOR_HOST = ".+:[0-9]{4,5}";
+  private static final Pattern PROXY_METRICS_PATH_PATTERN =
+      Pattern.compile(
+          String.format(
+              "^.*/universes/%s/proxy/%s/(metrics|prometheus-metrics)$",
+              PATTERN_FOR_UUID, PATTERN_FOR_HOST));
+
   private final Config config;
 
   private final PlaySessionStore playSessionStore;
@@ -51,21 +65,25 @@ public class TokenAuthenticator extends Action.Simple {
 
   private final RuntimeConfigFactory runtimeConfigFactory;
 
+  private final AuthTokenCache authTokenCache;
+
   @Inject
   public TokenAuthenticator(
       Config config,
       PlaySessionStore playSessionStore,
       UserService userService,
-      RuntimeConfigFactory runtimeConfigFactory) {
+      RuntimeConfigFactory runtimeConfigFactory,
+      AuthTokenCache authTokenCache) {
     this.config = config;
     this.playSessionStore = playSessionStore;
     this.userService = userService;
     this.runtimeConfigFactory = runtimeConfigFactory;
+    this.authTokenCache = authTokenCache;
   }
 
-  private Users getCurrentAuthenticatedUser(Http.Context ctx) {
+  private AuthenticatedUser getCurrentAuthenticatedUser(Http.Context ctx) {
     String token;
-    Users user = null;
+    AuthenticatedUser authenticatedUser = null;
     boolean useOAuth = runtimeConfigFactory.globalRuntimeConf().getBoolean("yb.security.use_oauth");
     Http.Cookie cookieValue = ctx.request().cookie(COOKIE_PLAY_SESSION);
 
@@ -81,19 +99,33 @@ public class TokenAuthenticator extends Action.Simple {
         } else {
           email = (String) profileManager.get(true).get().getAttribute(emailAttr);
         }
-        user = Users.getByEmail(email.toLowerCase());
+        authenticatedUser = loadAuthenticatedUser(Users.getByEmail(email.toLowerCase()));
       }
     } else {
       token = fetchToken(ctx, false /* isApiToken */);
-      user = Users.authWithToken(token);
+      authenticatedUser =
+          authTokenCache.get(
+              TokenType.AUTH, token, t -> loadAuthenticatedUser(Users.authWithToken(t)));
     }
-    if (user == null && cookieValue == null) {
+    if (authenticatedUser == null && cookieValue == null) {
       token = fetchToken(ctx, true /* isApiToken */);
-      if (token != null) {
-        user = Users.authWithApiToken(token);
-      }
+      authenticatedUser =
+          authTokenCache.get(
+              TokenType.API, token, t -> loadAuthenticatedUser(Users.authWithApiToken(t)));
     }
-    return user;
+    return authenticatedUser;
+  }
+
+  private AuthenticatedUser loadAuthenticatedUser(Users user) {
+    if (user == null) {
+      return null;
+    }
+    Customer cust = Customer.get(user.customerUUID);
+    if (cust == null) {
+      return null;
+    }
+    return new AuthenticatedUser(
+        user, cust, userService.getUserWithFeatures(cust, user).getFeatures());
   }
 
   @Override
@@ -101,20 +133,12 @@ public class TokenAuthenticator extends Action.Simple {
     String path = ctx.request().path();
     String endPoint = "";
     String requestType = ctx.request().method();
-    Pattern pattern = Pattern.compile(".*/customers/([a-zA-Z0-9-]+)(/.*)?");
-    Matcher matcher = pattern.matcher(path);
+    Matcher matcher = CUSTOMER_PATH_PATTERN.matcher(path);
     UUID custUUID = null;
-    String patternForUUID =
-        "[0-9a-fA-F]{8}-[0-9a-fA-F]{4}" + "-[0-9a-fA-F]{4}-[0-9a-fA-F]{4}-[0-9a-fA-F]{12}";
-    String patternForHost = ".+:[0-9]{4,5}";
 
     // Allow for disabling authentication on proxy endpoint so that
     // Prometheus can scrape database nodes.
-    if (Pattern.matches(
-            String.format(
-                "^.*/universes/%s/proxy/%s/(metrics|prometheus-metrics)$",
-                patternForUUID, patternForHost),
-            path)
+    if (PROXY_METRICS_PATH_PATTERN.matcher(path).matches()
         && !config.getBoolean("yb.security.enable_auth_for_proxy_metrics")) {
       return delegate.call(ctx);
     }
@@ -123,25 +147,28 @@ public class TokenAuthenticator extends Action.Simple {
       custUUID = UUID.fromString(matcher.group(1));
       endPoint = ((endPoint = matcher.group(2)) != null) ? endPoint : "";
     }
-    Customer cust;
-    Users user = getCurrentAuthenticatedUser(ctx);
-
-    if (user != null) {
-      cust = Customer.get(user.customerUUID);
-    } else {
+    AuthenticatedUser authenticatedUser = getCurrentAuthenticatedUser(ctx);
+    if (authenticatedUser == null) {
       return CompletableFuture.completedFuture(Results.forbidden("Unable To Authenticate User"));
     }
+    Users user = authenticatedUser.getUser();
+    Customer cust = authenticatedUser.getCustomer();
 
     // Some authenticated calls don't actually need to be authenticated
     // (e.g. /metadata/column_types). Only check auth_token is valid in that case.
-    if (cust != null && (custUUID == null || custUUID.equals(cust.uuid))) {
+    if (custUUID == null || custUUID.equals(cust.uuid)) {
       if (!checkAccessLevel(endPoint, user, requestType)) {
         return CompletableFuture.completedFuture(Results.forbidden("User doesn't have access"));
       }
       // TODO: withUsername returns new request that is ignored. Maybe a bug.
       ctx.request().withUsername(user.getEmail());
       ctx.args.put("customer", cust);
-      ctx.args.put("user", userService.getUserWithFeatures(cust, user));
+      // The features are shared with the other requests of the user, and may be modified.
+      ctx.args.put(
+          "user",
+          new UserWithFeatures()
+              .setUser(user)
+              .setFeatures(authenticatedUser.getFeatures().deepCopy()));
     } else {
       // Send Forbidden Response if Authentication Fails.
       return CompletableFuture.completedFuture(Results.forbidden("Unable To Authenticate User"));
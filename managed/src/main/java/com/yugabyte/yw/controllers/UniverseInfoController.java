@@ -33,6 +33,7 @@ import java.io.File;
 import java.io.InputStream;
 import java.nio.file.Path;
 import java.nio.file.Paths;
+import java.util.Date;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
@@ -188,6 +189,9 @@ public class UniverseInfoController extends AuthenticatedController {
    * conditions on the machines themselves, such as disk utilization, presence of FATAL or core
    * files, etc.
    *
+   * @param limit the max number of checks returned, the most recent ones
+   * @param after if not 0, only checks made after this time, in ms since the epoch, are returned
+   * @param before if not 0, only checks made before this time, in ms since the epoch, are returned
    * @return result of the checker script
    */
   @ApiOperation(
@@ -196,11 +200,17 @@ public class UniverseInfoController extends AuthenticatedController {
           "Checks the health of all tablet servers and masters in the universe, as well as certain conditions on the machines themselves, including disk utilization, presence of FATAL or core files, and more.",
       nickname = "healthCheckUniverse",
       response = Object.class)
-  public Result healthCheck(UUID customerUUID, UUID universeUUID) {
+  public Result healthCheck(
+      UUID customerUUID, UUID universeUUID, Integer limit, Long after, Long before) {
     Customer customer = Customer.getOrBadRequest(customerUUID);
     Universe.getValidUniverseOrBadRequest(universeUUID, customer);
 
-    List<Details> detailsList = universeInfoHandler.healthCheck(universeUUID);
+    List<Details> detailsList =
+        universeInfoHandler.healthCheck(
+            universeUUID,
+            limit,
+            after == 0 ? null : new Date(after),
+            before == 0 ? null : new Date(before));
     return PlatformResults.withData(detailsList);
   }
 
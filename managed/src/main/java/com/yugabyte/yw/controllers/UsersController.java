@@ -7,6 +7,7 @@ import static com.yugabyte.yw.models.Users.UserType;
 
 import com.yugabyte.yw.common.PlatformServiceException;
 import com.yugabyte.yw.common.password.PasswordPolicyService;
+import com.yugabyte.yw.common.user.AuthTokenCache;
 import com.yugabyte.yw.common.user.UserService;
 import com.yugabyte.yw.forms.PlatformResults;
 import com.yugabyte.yw.forms.PlatformResults.YBPSuccess;
@@ -42,11 +43,16 @@ public class UsersController extends AuthenticatedController {
 
   private final PasswordPolicyService passwordPolicyService;
   private final UserService userService;
+  private final AuthTokenCache authTokenCache;
 
   @Inject
-  public UsersController(PasswordPolicyService passwordPolicyService, UserService userService) {
+  public UsersController(
+      PasswordPolicyService passwordPolicyService,
+      UserService userService,
+      AuthTokenCache authTokenCache) {
     this.passwordPolicyService = passwordPolicyService;
     this.userService = userService;
+    this.authTokenCache = authTokenCache;
   }
 
   /**
@@ -139,6 +145,7 @@ public class UsersController extends AuthenticatedController {
               "Cannot delete primary user %s for customer %s", userUUID.toString(), customerUUID));
     }
     if (user.delete()) {
+      authTokenCache.invalidateUser(userUUID, "user_delete");
       auditService()
           .createAuditEntryWithReqBody(
               ctx(), Audit.TargetType.User, userUUID.toString(), Audit.ActionType.Delete);
@@ -180,6 +187,7 @@ public class UsersController extends AuthenticatedController {
     }
     user.setRole(Role.valueOf(role));
     user.save();
+    authTokenCache.invalidateUser(userUUID, "role_change");
     auditService()
         .createAuditEntryWithReqBody(
             ctx(),
@@ -286,6 +294,7 @@ public class UsersController extends AuthenticatedController {
               Json.toJson(formData));
     }
     user.save();
+    authTokenCache.invalidateUser(userUUID, "profile_update");
     return ok(Json.toJson(user));
   }
 }
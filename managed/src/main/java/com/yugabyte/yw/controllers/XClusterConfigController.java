@@ -14,6 +14,7 @@ import com.fasterxml.jackson.databind.node.ObjectNode;
 import com.google.common.collect.Sets;
 import com.google.inject.Inject;
 import com.yugabyte.yw.commissioner.Commissioner;
+import com.yugabyte.yw.common.ClusterConfigCache;
 import com.yugabyte.yw.common.PlatformServiceException;
 import com.yugabyte.yw.common.services.YBClientService;
 import com.yugabyte.yw.forms.PlatformResults;
@@ -61,15 +62,18 @@ public class XClusterConfigController extends AuthenticatedController {
 
   private final Commissioner commissioner;
   private final YBClientService ybClientService;
+  private final ClusterConfigCache clusterConfigCache;
   private final MetricQueryHelper metricQueryHelper;
 
   @Inject
   public XClusterConfigController(
       Commissioner commissioner,
       YBClientService ybClientService,
+      ClusterConfigCache clusterConfigCache,
       MetricQueryHelper metricQueryHelper) {
     this.commissioner = commissioner;
     this.ybClientService = ybClientService;
+    this.clusterConfigCache = clusterConfigCache;
     this.metricQueryHelper = metricQueryHelper;
   }
 
@@ -404,7 +408,7 @@ public class XClusterConfigController extends AuthenticatedController {
         ybClientService.getClient(targetUniverseMasterAddresses, targetUniverseCertificate);
     CatalogEntityInfo.SysClusterConfigEntryPB config;
     try {
-      config = client.getMasterClusterConfig().getConfig();
+      config = clusterConfigCache.get(targetUniverse.universeUUID, client);
     } catch (Exception e) {
       String errorMsg =
           String.format("Failed to get universe config, skipping cache update: %s", e.getMessage());
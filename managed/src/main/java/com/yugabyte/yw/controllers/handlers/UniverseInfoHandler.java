@@ -36,6 +36,7 @@ import com.yugabyte.yw.queries.QueryHelper;
 import java.nio.file.Path;
 import java.nio.file.Paths;
 import java.util.ArrayList;
+import java.util.Date;
 import java.util.List;
 import java.util.Set;
 import java.util.UUID;
@@ -112,10 +113,13 @@ public class UniverseInfoHandler {
     return result;
   }
 
-  public List<Details> healthCheck(UUID universeUUID) {
+  public List<Details> healthCheck(UUID universeUUID, int limit, Date after, Date before) {
+    if (limit <= 0) {
+      throw new PlatformServiceException(BAD_REQUEST, "Invalid limit " + limit);
+    }
     List<Details> detailsList = new ArrayList<>();
     try {
-      List<HealthCheck> checks = HealthCheck.getAll(universeUUID);
+      List<HealthCheck> checks = HealthCheck.getPage(universeUUID, after, before, limit);
       for (HealthCheck check : checks) {
         detailsList.add(check.detailsJson);
       }
@@ -0,0 +1,55 @@
+/*
+ * Copyright 2021 YugaByte, Inc. and Contributors
+ *
+ * Licensed under the Polyform Free Trial License 1.0.0 (the "License"); you
+ * may not use this file except in compliance with the License. You
+ * may obtain a copy of the License at
+ *
+ * http://github.com/YugaByte/yugabyte-db/blob/master/licenses/POLYFORM-FREE-TRIAL-LICENSE-1.0.0.txt
+ */
+package com.yugabyte.yw.forms.filters;
+
+import com.yugabyte.yw.models.Audit;
+import com.yugabyte.yw.models.filters.AuditFilter;
+import java.util.Date;
+import java.util.Set;
+import java.util.UUID;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.apache.commons.collections.CollectionUtils;
+import org.apache.commons.lang3.StringUtils;
+
+@Data
+@NoArgsConstructor
+public class AuditApiFilter {
+
+  private UUID userUUID;
+  private Set<Audit.TargetType> targets;
+  private String targetID;
+  private Set<Audit.ActionType> actions;
+  private Date dateRangeStart;
+  private Date dateRangeEnd;
+
+  public AuditFilter toFilter() {
+    AuditFilter.AuditFilterBuilder builder = AuditFilter.builder();
+    if (userUUID != null) {
+      builder.userUUID(userUUID);
+    }
+    if (!CollectionUtils.isEmpty(targets)) {
+      builder.targets(targets);
+    }
+    if (StringUtils.isNotEmpty(targetID)) {
+      builder.targetID(targetID);
+    }
+    if (!CollectionUtils.isEmpty(actions)) {
+      builder.actions(actions);
+    }
+    if (dateRangeStart != null) {
+      builder.dateRangeStart(dateRangeStart);
+    }
+    if (dateRangeEnd != null) {
+      builder.dateRangeEnd(dateRangeEnd);
+    }
+    return builder.build();
+  }
+}
@@ -0,0 +1,37 @@
+/*
+ * Copyright 2021 YugaByte, Inc. and Contributors
+ *
+ * Licensed under the Polyform Free Trial License 1.0.0 (the "License"); you
+ * may not use this file except in compliance with the License. You
+ * may obtain a copy of the License at
+ *
+ * http://github.com/YugaByte/yugabyte-db/blob/master/licenses/POLYFORM-FREE-TRIAL-LICENSE-1.0.0.txt
+ */
+package com.yugabyte.yw.forms.filters;
+
+import java.util.Set;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.apache.commons.collections.CollectionUtils;
+import org.apache.commons.lang3.StringUtils;
+import org.yb.CommonTypes.TableType;
+import org.yb.master.MasterTypes.RelationType;
+
+@Data
+@NoArgsConstructor
+public class TableApiFilter {
+
+  private String keySpace;
+  // Matches the tables with the name containing it, ignoring case.
+  private String tableName;
+  private Set<TableType> tableTypes;
+  private Set<RelationType> relationTypes;
+
+  public boolean matches(
+      String tableKeySpace, String name, TableType tableType, RelationType relationType) {
+    return (StringUtils.isEmpty(keySpace) || keySpace.equals(tableKeySpace))
+        && (StringUtils.isEmpty(tableName) || StringUtils.containsIgnoreCase(name, tableName))
+        && (CollectionUtils.isEmpty(tableTypes) || tableTypes.contains(tableType))
+        && (CollectionUtils.isEmpty(relationTypes) || relationTypes.contains(relationType));
+  }
+}
@@ -0,0 +1,16 @@
+// Copyright (c) YugaByte, Inc.
+
+package com.yugabyte.yw.forms.paging;
+
+import com.yugabyte.yw.forms.filters.AuditApiFilter;
+import com.yugabyte.yw.models.Audit;
+import com.yugabyte.yw.models.paging.PagedQuery;
+import lombok.Data;
+import lombok.EqualsAndHashCode;
+
+@Data
+@EqualsAndHashCode(callSuper = true)
+public class AuditPagedApiQuery extends PagedQuery<AuditApiFilter, Audit.SortBy> {
+  // See AuditPagedQuery.lastAuditId.
+  Long lastAuditId;
+}
@@ -0,0 +1,35 @@
+// Copyright (c) YugaByte, Inc.
+
+package com.yugabyte.yw.forms.paging;
+
+import com.yugabyte.yw.forms.filters.TableApiFilter;
+import com.yugabyte.yw.models.paging.PagedQuery;
+import lombok.Data;
+import lombok.EqualsAndHashCode;
+
+@Data
+@EqualsAndHashCode(callSuper = true)
+public class TablePagedApiQuery extends PagedQuery<TableApiFilter, TablePagedApiQuery.SortBy> {
+
+  public enum SortBy implements PagedQuery.SortByIF {
+    tableName("tableName"),
+    keySpace("keySpace"),
+    sizeBytes("sizeBytes"),
+    tableUUID("tableUUID");
+
+    private final String sortField;
+
+    SortBy(String sortField) {
+      this.sortField = sortField;
+    }
+
+    public String getSortField() {
+      return sortField;
+    }
+
+    @Override
+    public SortByIF getOrderField() {
+      return SortBy.tableUUID;
+    }
+  }
+}
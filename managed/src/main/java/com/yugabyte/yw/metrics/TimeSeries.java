@@ -0,0 +1,239 @@
+// Copyright (c) YugaByte, Inc.
+package com.yugabyte.yw.metrics;
+
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * A metric time series in timestamp order, stored column-wise in primitive arrays so that the math
+ * over all the points of all the tservers of a universe doesn't box each of them. Timestamps are
+ * in seconds. Series are immutable once built.
+ */
+final class TimeSeries {
+
+  static final TimeSeries EMPTY = new TimeSeries(new long[0], new double[0], 0);
+
+  private final long[] timestamps;
+  private final double[] values;
+  private final int size;
+
+  private TimeSeries(long[] timestamps, double[] values, int size) {
+    this.timestamps = timestamps;
+    this.values = values;
+    this.size = size;
+  }
+
+  int size() {
+    return size;
+  }
+
+  long timestamp(int i) {
+    return timestamps[i];
+  }
+
+  double value(int i) {
+    return values[i];
+  }
+
+  /**
+   * Per second rate of change of a counter, between each two consecutive points. The rate is put
+   * at the timestamp of the later point.
+   */
+  TimeSeries rate() {
+    if (size < 2) {
+      return EMPTY;
+    }
+    long[] rateTimestamps = new long[size - 1];
+    double[] rates = new double[size - 1];
+    int n = 0;
+    for (int i = 1; i < size; i++) {
+      long interval = timestamps[i] - timestamps[i - 1];
+      if (interval > 0) {
+        rateTimestamps[n] = timestamps[i];
+        rates[n] = (values[i] - values[i - 1]) / interval;
+        n++;
+      }
+    }
+    return new TimeSeries(rateTimestamps, rates, n);
+  }
+
+  /** Divides every value by the given constant. */
+  TimeSeries divide(double denominator) {
+    double[] quotients = new double[size];
+    for (int i = 0; i < size; i++) {
+      quotients[i] = values[i] / denominator;
+    }
+    return new TimeSeries(timestamps, quotients, size);
+  }
+
+  /** Divides the values by the values of the other series, at the timestamps both of them have. */
+  TimeSeries divide(TimeSeries denominator) {
+    int capacity = Math.min(size, denominator.size);
+    long[] quotientTimestamps = new long[capacity];
+    double[] quotients = new double[capacity];
+    int n = 0;
+    int i = 0;
+    int j = 0;
+    while (i < size && j < denominator.size) {
+      long ts = timestamps[i];
+      long denominatorTs = denominator.timestamps[j];
+      if (ts < denominatorTs) {
+        i++;
+      } else if (ts > denominatorTs) {
+        j++;
+      } else {
+        quotientTimestamps[n] = ts;
+        quotients[n] = values[i] / denominator.values[j];
+        n++;
+        i++;
+        j++;
+      }
+    }
+    return new TimeSeries(quotientTimestamps, quotients, n);
+  }
+
+  /**
+   * Adds up the given series, multiplied by the scale, in buckets of bucketSecs. Buckets are
+   * aligned to multiples of bucketSecs so that the points of different tservers, scraped at
+   * slightly different times, fall into the same bucket. A bucket is present in the result if any
+   * of the series has a point in it; its timestamp is the start of the bucket.
+   */
+  static TimeSeries sumAligned(List<TimeSeries> series, int bucketSecs, double scale) {
+    long minBucket = Long.MAX_VALUE;
+    long maxBucket = Long.MIN_VALUE;
+    for (TimeSeries s : series) {
+      if (s.size > 0) {
+        minBucket = Math.min(minBucket, Math.floorDiv(s.timestamps[0], bucketSecs));
+        maxBucket = Math.max(maxBucket, Math.floorDiv(s.timestamps[s.size - 1], bucketSecs));
+      }
+    }
+    if (minBucket > maxBucket) {
+      return EMPTY;
+    }
+    int numBuckets = (int) (maxBucket - minBucket + 1);
+    double[] sums = new double[numBuckets];
+    boolean[] present = new boolean[numBuckets];
+    for (TimeSeries s : series) {
+      for (int i = 0; i < s.size; i++) {
+        int bucket = (int) (Math.floorDiv(s.timestamps[i], bucketSecs) - minBucket);
+        sums[bucket] += s.values[i] * scale;
+        present[bucket] = true;
+      }
+    }
+    int n = 0;
+    for (boolean p : present) {
+      if (p) {
+        n++;
+      }
+    }
+    long[] bucketTimestamps = new long[n];
+    double[] bucketSums = new double[n];
+    n = 0;
+    for (int bucket = 0; bucket < numBuckets; bucket++) {
+      if (present[bucket]) {
+        bucketTimestamps[n] = (minBucket + bucket) * bucketSecs;
+        bucketSums[n] = sums[bucket];
+        n++;
+      }
+    }
+    return new TimeSeries(bucketTimestamps, bucketSums, n);
+  }
+
+  /** Merges the points of the given series. For equal timestamps, the last series wins. */
+  static TimeSeries merge(List<TimeSeries> series) {
+    if (series.isEmpty()) {
+      return EMPTY;
+    }
+    // Merge pairwise so that every point is copied log(number of series) times.
+    List<TimeSeries> merged = series;
+    while (merged.size() > 1) {
+      List<TimeSeries> next = new ArrayList<>((merged.size() + 1) / 2);
+      for (int i = 0; i < merged.size(); i += 2) {
+        next.add(i + 1 < merged.size() ? merge(merged.get(i), merged.get(i + 1)) : merged.get(i));
+      }
+      merged = next;
+    }
+    return merged.get(0);
+  }
+
+  private static TimeSeries merge(TimeSeries first, TimeSeries second) {
+    long[] mergedTimestamps = new long[first.size + second.size];
+    double[] mergedValues = new double[first.size + second.size];
+    int n = 0;
+    int i = 0;
+    int j = 0;
+    while (i < first.size || j < second.size) {
+      if (j == second.size || (i < first.size && first.timestamps[i] < second.timestamps[j])) {
+        mergedTimestamps[n] = first.timestamps[i];
+        mergedValues[n] = first.values[i];
+        i++;
+      } else {
+        if (i < first.size && first.timestamps[i] == second.timestamps[j]) {
+          i++;
+        }
+        mergedTimestamps[n] = second.timestamps[j];
+        mergedValues[n] = second.values[j];
+        j++;
+      }
+      n++;
+    }
+    return new TimeSeries(mergedTimestamps, mergedValues, n);
+  }
+
+  /** Appends the points to the array in the Prometheus format: [timestamp, "value"]. */
+  void writeTo(ArrayNode array) {
+    for (int i = 0; i < size; i++) {
+      array.addArray().add(timestamps[i]).add(Double.toString(values[i]));
+    }
+  }
+
+  /**
+   * Collects the points of a series. Points need to be added in timestamp order, either ascending
+   * or descending.
+   */
+  static class Builder {
+    private long[] timestamps;
+    private double[] values;
+    private int size;
+
+    Builder() {
+      this(64);
+    }
+
+    Builder(int expectedSize) {
+      timestamps = new long[Math.max(expectedSize, 1)];
+      values = new double[Math.max(expectedSize, 1)];
+    }
+
+    Builder add(long timestamp, double value) {
+      if (size == timestamps.length) {
+        timestamps = Arrays.copyOf(timestamps, size * 2);
+        values = Arrays.copyOf(values, size * 2);
+      }
+      timestamps[size] = timestamp;
+      values[size] = value;
+      size++;
+      return this;
+    }
+
+    TimeSeries build() {
+      if (size > 1 && timestamps[0] > timestamps[size - 1]) {
+        for (int i = 0, j = size - 1; i < j; i++, j--) {
+          long ts = timestamps[i];
+          timestamps[i] = timestamps[j];
+          timestamps[j] = ts;
+          double value = values[i];
+          values[i] = values[j];
+          values[j] = value;
+        }
+      }
+      TimeSeries series = new TimeSeries(timestamps, values, size);
+      // The builder must not modify the arrays of the series.
+      timestamps = null;
+      values = null;
+      return series;
+    }
+  }
+}
@@ -3,9 +3,12 @@ package com.yugabyte.yw.metrics;
 
 import com.datastax.driver.core.Cluster;
 import com.datastax.driver.core.ResultSet;
+import com.datastax.driver.core.ResultSetFuture;
 import com.datastax.driver.core.Row;
 import com.datastax.driver.core.Session;
 import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
 import com.google.inject.Inject;
 import com.google.inject.Singleton;
 import com.yugabyte.yw.common.SslHelper;
@@ -16,20 +19,21 @@ import com.yugabyte.yw.models.helpers.NodeDetails;
 import java.net.InetSocketAddress;
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
 import java.util.Date;
 import java.util.HashMap;
-import java.util.Iterator;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Map.Entry;
-import java.util.NavigableMap;
-import java.util.TreeMap;
 import java.util.UUID;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.yb.client.ListTabletServersResponse;
 import org.yb.client.YBClient;
 import org.yb.util.ServerInfo;
+import play.libs.Json;
 
 @Singleton
 public class YBMetricQueryComponent {
@@ -40,36 +44,30 @@ public class YBMetricQueryComponent {
   // table records the metrics.
   private static final Integer TIMESTAMP_RANGE_SECS = 30;
 
-  // Each data entry needs to be of the format:
-  // [Timestamp, value]
-  private static final String DATA_ENTRY_FORMAT = "[%d,\"%f\"]";
+  // Each data entry is of the format:
+  // [Timestamp, "value"]
 
-  // Each metric needs to be in the following format for each service method.
+  // Each metric is in the following format for each service method.
   /*
   {
    "metric":{
       "service_method": <method_name>
    },
-   "values": List of DATA_ENTRY_FORMAT
+   "values": List of data entries
   }
   */
-  private static final String SERVICE_METRIC_FORMAT =
-      "{\"metric\":{\"service_method\":\"%s\"}," + "\"values\":%s}";
-  private static final String NODE_METRIC_FORMAT =
-      "{\"metric\": {\"node_prefix\": \"%s:%d\"}," + "\"values\":%s} ";
+  // and for node_up, in the same format with "node_prefix": "<ip>:<port>" as the metric.
 
-  // The final return format needs to be as follows:
+  // The final return format is as follows:
   /*
   {
      "status":"success",
      "data":{
         "resultType":"matrix",
-        "result": List of METRIC_DATA_FORMAT
+        "result": List of metrics
      }
   }
   */
-  private static final String RESPONSE_FORMAT =
-      "{\"status\":\"success\"," + "\"data\":{\"resultType\":\"matrix\"," + "\"result\":%s}}";
 
   private static final String METRICS_TABLE = "system.metrics";
   private static final String QUERY_FORMAT =
@@ -121,7 +119,7 @@ public class YBMetricQueryComponent {
     return cc;
   }
 
-  private Double getValue(Row r) {
+  private double getValue(Row r) {
     if (METRICS_WITH_DETAILS_VALUE.contains(r.getString("metric"))) {
       return Util.convertStringToJson(r.getString("details")).get("value").asDouble();
     } else {
@@ -170,161 +168,110 @@ public class YBMetricQueryComponent {
     return new TServerMappings(nameToUUID, uuidToIP);
   }
 
-  private ResultSet cassandraTserverSelectQuery(
+  private ResultSetFuture cassandraTserverSelectQuery(
       String metric, String tserverUUID, Session session, long startMs, long endMs) {
     String queryString =
         String.format(
             QUERY_FORMAT, METRICS_TABLE, metric, tserverUUID, (startMs * 1000), (endMs * 1000));
-    return session.execute(queryString);
+    return session.executeAsync(queryString);
   }
 
-  // Convert the map to the required output format.
-  private List<String> mapToStringList(Map<Long, Double> metrics) {
-    List<String> vals = new ArrayList<>();
-    for (Entry<Long, Double> entry : metrics.entrySet()) {
-      vals.add(String.format(DATA_ENTRY_FORMAT, entry.getKey(), entry.getValue()));
+  private TimeSeries toTimeSeries(ResultSet rs) {
+    TimeSeries.Builder builder = new TimeSeries.Builder(rs.getAvailableWithoutFetching());
+    for (Row row : rs) {
+      builder.add(row.getTimestamp("ts").getTime() / 1000, getValue(row));
     }
-    return vals;
+    return builder.build();
   }
 
-  private double compute(Function function, double initialVal, double valToUpdate, int count) {
+  /**
+   * Rate of the counter, added up over the tservers in aligned buckets of TIMESTAMP_RANGE_SECS.
+   * Average divides the sum by the number of tservers.
+   */
+  public TimeSeries calculateRate(Collection<TimeSeries> results, Function function) {
+    List<TimeSeries> rates = new ArrayList<>(results.size());
+    for (TimeSeries series : results) {
+      rates.add(series.rate());
+    }
     switch (function) {
       case Sum:
-        return initialVal + valToUpdate;
+        return TimeSeries.sumAligned(rates, TIMESTAMP_RANGE_SECS, 1.0);
       case Average:
-        return initialVal + (valToUpdate / count);
+        return TimeSeries.sumAligned(rates, TIMESTAMP_RANGE_SECS, 1.0 / results.size());
       default:
         throw new RuntimeException("Function not supported.");
     }
   }
 
-  public NavigableMap<Long, Double> calculateRate(
-      List<ResultSet> results, Function function, int numTservers) {
-    NavigableMap<Long, Double> timeRangeMap = new TreeMap<>();
-    for (ResultSet rs : results) {
-      long currTimestampSec;
-      long prevTimestampSec = 0;
-      double currRate;
-      double currVal;
-      double prevVal = 0;
-      boolean start = true;
-      Iterator<Row> rowIter = rs.iterator();
-      while (rowIter.hasNext()) {
-        Row row = rowIter.next();
-        currTimestampSec = row.getTimestamp("ts").getTime() / 1000;
-        currVal = getValue(row);
-        if (start) {
-          if (!rowIter.hasNext()) {
-            return timeRangeMap;
-          }
-          row = rowIter.next();
-          prevVal = currVal;
-          prevTimestampSec = currTimestampSec;
-          currTimestampSec = row.getTimestamp("ts").getTime() / 1000;
-          currVal = getValue(row);
-          start = false;
-        }
-        if (!rowIter.hasNext()) {
-          break;
-        } else {
-          currRate = (prevVal - currVal) / (prevTimestampSec - currTimestampSec);
-        }
-        Entry<Long, Double> entry = timeRangeMap.floorEntry(currTimestampSec);
-        // In case there is no entry lower than that, or the entry lower than the key
-        // is older than the range for the same timestamped metric.
-        if (entry == null || currTimestampSec - entry.getKey() > TIMESTAMP_RANGE_SECS) {
-          double calcVal = compute(function, 0.0, currRate, numTservers);
-          timeRangeMap.put(currTimestampSec, calcVal);
-        } else {
-          double calcVal = compute(function, entry.getValue(), currRate, numTservers);
-          timeRangeMap.put(entry.getKey(), calcVal);
-        }
-        prevVal = currVal;
-        prevTimestampSec = currTimestampSec;
-      }
-    }
-    return timeRangeMap;
-  }
-
-  private TreeMap<Long, Double> metricDivide(
-      NavigableMap<Long, Double> metricsNum, NavigableMap<Long, Double> metricsDenom) {
-    TreeMap<Long, Double> timeToVal = new TreeMap<>();
-    for (Entry<Long, Double> entry : metricsNum.entrySet()) {
-      Entry<Long, Double> entry2 = metricsDenom.floorEntry(entry.getKey());
-      if (entry2 != null && Math.abs(entry.getKey() - entry2.getKey()) < TIMESTAMP_RANGE_SECS) {
-        Double val = entry.getValue() / entry2.getValue();
-        // Due to the metrics being written and read into/from a user table, we get
-        // some rpcs when no workload is running. This causes the latency
-        // graph to be jittery. The following code can be uncommented if we want
-        // to get rid of the jitters/mark the values only when the RPC count is
-        // significant.
-        /*
-        Double val = 0.0;
-        if (entry2.getValue() > 10) {
-          val = entry.getValue() / entry2.getValue();
-        }
-        */
-        timeToVal.put(entry2.getKey(), val);
-      }
-    }
-    return timeToVal;
+  private TimeSeries metricDivide(TimeSeries metricsNum, TimeSeries metricsDenom) {
+    // Due to the metrics being written and read into/from a user table, we get
+    // some rpcs when no workload is running. This causes the latency
+    // graph to be jittery. We could mark the values only when the RPC count is
+    // significant (say more than 10) if we wanted to get rid of the jitters.
+    return metricsNum.divide(metricsDenom);
   }
 
-  private NavigableMap<Long, Double> convertToGb(List<ResultSet> results) {
+  private TimeSeries convertToGb(Collection<TimeSeries> results) {
     return divideByConstant(results, BYTES_IN_GB);
   }
 
-  private NavigableMap<Long, Double> divideByConstant(List<ResultSet> results, double denom) {
-    NavigableMap<Long, Double> timeRangeMap = new TreeMap<>();
-    for (ResultSet rs : results) {
-      for (Row row : rs) {
-        long timestampSec = row.getTimestamp("ts").getTime() / 1000;
-        double val = getValue(row) / denom;
-        timeRangeMap.put(timestampSec, val);
-      }
-    }
-    return timeRangeMap;
+  private TimeSeries divideByConstant(Collection<TimeSeries> results, double denom) {
+    return TimeSeries.merge(new ArrayList<>(results)).divide(denom);
   }
 
-  private List<ResultSet> queryRunner(
+  /**
+   * Runs the query for each tserver, or only the one given by the exported_instance filter.
+   *
+   * @return the series of each tserver that has data, by tserver UUID
+   */
+  private Map<String, TimeSeries> queryRunner(
       String metricName,
       Session session,
       Map<String, String> tserverMap,
       JsonNode params,
       long start,
       long end) {
-    List<ResultSet> results = new ArrayList<>();
+    Collection<String> tserverUUIDs;
     // Check if metric needs to be reported for only a single tserver.
     if (params.has("exported_instance")) {
       String tserverName = params.path("exported_instance").asText();
-      ResultSet rs =
-          cassandraTserverSelectQuery(metricName, tserverMap.get(tserverName), session, start, end);
-      if (rs != null && rs.iterator().hasNext()) {
-        results.add(rs);
-      }
+      tserverUUIDs = Collections.singletonList(tserverMap.get(tserverName));
     } else {
-      // TODO: Maybe query for all tservers and split here rather than make more
-      // database calls.
-      for (Entry<String, String> entry : tserverMap.entrySet()) {
-        ResultSet rs =
-            cassandraTserverSelectQuery(metricName, entry.getValue(), session, start, end);
-        if (rs != null && rs.iterator().hasNext()) {
-          results.add(rs);
-        }
+      tserverUUIDs = tserverMap.values();
+    }
+    // Issue the queries for all the tservers at once, rather than waiting for each of them in
+    // turn.
+    Map<String, ResultSetFuture> futures = new LinkedHashMap<>();
+    for (String tserverUUID : tserverUUIDs) {
+      futures.put(
+          tserverUUID, cassandraTserverSelectQuery(metricName, tserverUUID, session, start, end));
+    }
+    Map<String, TimeSeries> results = new LinkedHashMap<>();
+    for (Entry<String, ResultSetFuture> entry : futures.entrySet()) {
+      TimeSeries series = toTimeSeries(entry.getValue().getUninterruptibly());
+      if (series.size() > 0) {
+        results.put(entry.getKey(), series);
       }
     }
     return results;
   }
 
   /** Utility function for inserting calculated metrics with the proper formatting. */
-  private void insertMetrics(List<String> totalMetrics, Map<Long, Double> newVals, String method) {
-    if (!newVals.isEmpty()) {
-      totalMetrics.add(String.format(SERVICE_METRIC_FORMAT, method, mapToStringList(newVals)));
-      // Note that we are passing a List<String> to the %s parameter and expecting
-      // it to be serialized as [ s1, s2 ], which also matches the json array format
+  private void insertMetrics(ArrayNode totalMetrics, TimeSeries newVals, String method) {
+    if (newVals.size() > 0) {
+      ObjectNode metric = totalMetrics.addObject();
+      metric.putObject("metric").put("service_method", method);
+      newVals.writeTo(metric.putArray("values"));
     }
   }
 
+  private void insertNodeMetrics(
+      ArrayNode totalMetrics, TimeSeries newVals, String node, int port) {
+    ObjectNode metric = totalMetrics.addObject();
+    metric.putObject("metric").put("node_prefix", node + ":" + port);
+    newVals.writeTo(metric.putArray("values"));
+  }
+
   /**
    * Query the metrics table in YB for a given metricType and query params
    *
@@ -336,7 +283,7 @@ public class YBMetricQueryComponent {
 
     // total_rpcs_per_sec
     // tserver_ops_latency
-    List<String> metricResults = new ArrayList<>();
+    ArrayNode metricResults = Json.newArray();
     String queryKey = queryParam.get("queryKey");
     Date date = new Date();
     long startTime = Long.parseLong(queryParam.getOrDefault("start", "0"));
@@ -367,11 +314,10 @@ public class YBMetricQueryComponent {
           }
           for (String method : serviceMethods) {
             String metricName = String.format(COUNT_METRIC_STRING, method);
-            List<ResultSet> results =
+            Map<String, TimeSeries> results =
                 queryRunner(
                     metricName, cc.session, tserverMaps.nameToUUID, params, startTime, endTime);
-            NavigableMap<Long, Double> metricsVals =
-                calculateRate(results, Function.Sum, results.size());
+            TimeSeries metricsVals = calculateRate(results.values(), Function.Sum);
             insertMetrics(metricResults, metricsVals, method);
           }
           break;
@@ -383,17 +329,15 @@ public class YBMetricQueryComponent {
           for (String method : serviceMethods) {
             String metricCount = String.format(COUNT_METRIC_STRING, method);
             String metricSum = String.format(SUM_METRIC_STRING, method);
-            List<ResultSet> resultCount =
+            Map<String, TimeSeries> resultCount =
                 queryRunner(
                     metricCount, cc.session, tserverMaps.nameToUUID, params, startTime, endTime);
-            List<ResultSet> resultSum =
+            Map<String, TimeSeries> resultSum =
                 queryRunner(
                     metricSum, cc.session, tserverMaps.nameToUUID, params, startTime, endTime);
-            NavigableMap<Long, Double> metricsCount =
-                calculateRate(resultCount, Function.Average, resultCount.size());
-            NavigableMap<Long, Double> metricsSum =
-                calculateRate(resultSum, Function.Average, resultSum.size());
-            TreeMap<Long, Double> metricsVals = metricDivide(metricsSum, metricsCount);
+            TimeSeries metricsCount = calculateRate(resultCount.values(), Function.Average);
+            TimeSeries metricsSum = calculateRate(resultSum.values(), Function.Average);
+            TimeSeries metricsVals = metricDivide(metricsSum, metricsCount);
             insertMetrics(metricResults, metricsVals, method);
           }
           break;
@@ -402,7 +346,7 @@ public class YBMetricQueryComponent {
           if (cc.session == null) {
             return null;
           }
-          List<ResultSet> totalDiskRaw =
+          Map<String, TimeSeries> totalDiskRaw =
               queryRunner(
                   TOTAL_DISK_STRING,
                   cc.session,
@@ -410,11 +354,11 @@ public class YBMetricQueryComponent {
                   params,
                   startTime,
                   endTime);
-          List<ResultSet> freeDiskRaw =
+          Map<String, TimeSeries> freeDiskRaw =
               queryRunner(
                   FREE_DISK_STRING, cc.session, tserverMaps.nameToUUID, params, startTime, endTime);
-          NavigableMap<Long, Double> totalDiskMetrics = convertToGb(totalDiskRaw);
-          NavigableMap<Long, Double> freeDiskMetrics = convertToGb(freeDiskRaw);
+          TimeSeries totalDiskMetrics = convertToGb(totalDiskRaw.values());
+          TimeSeries freeDiskMetrics = convertToGb(freeDiskRaw.values());
           insertMetrics(metricResults, totalDiskMetrics, "size");
           insertMetrics(metricResults, freeDiskMetrics, "free");
           break;
@@ -423,7 +367,7 @@ public class YBMetricQueryComponent {
           if (cc.session == null) {
             return null;
           }
-          List<ResultSet> userCpuRaw =
+          Map<String, TimeSeries> userCpuRaw =
               queryRunner(
                   CPU_USAGE_USER_STRING,
                   cc.session,
@@ -431,7 +375,7 @@ public class YBMetricQueryComponent {
                   params,
                   startTime,
                   endTime);
-          List<ResultSet> systemCpuRaw =
+          Map<String, TimeSeries> systemCpuRaw =
               queryRunner(
                   CPU_USAGE_SYSTEM_STRING,
                   cc.session,
@@ -439,8 +383,8 @@ public class YBMetricQueryComponent {
                   params,
                   startTime,
                   endTime);
-          NavigableMap<Long, Double> userCpuMetrics = divideByConstant(userCpuRaw, 0.01);
-          NavigableMap<Long, Double> systemCpuMetrics = divideByConstant(systemCpuRaw, 0.01);
+          TimeSeries userCpuMetrics = divideByConstant(userCpuRaw.values(), 0.01);
+          TimeSeries systemCpuMetrics = divideByConstant(systemCpuRaw.values(), 0.01);
           insertMetrics(metricResults, userCpuMetrics, "user");
           insertMetrics(metricResults, systemCpuMetrics, "system");
           break;
@@ -449,41 +393,24 @@ public class YBMetricQueryComponent {
           if (cc.session == null) {
             return null;
           }
-          List<ResultSet> results =
+          Map<String, TimeSeries> results =
               queryRunner(
                   "node_up", cc.session, tserverMaps.nameToUUID, params, startTime, endTime);
-          Map<String, List<String>> nodeUpMetrics = new HashMap<>();
-          for (ResultSet rs : results) {
-            for (Row row : rs) {
-              String nodeIP = tserverMaps.uuidToIP.get(row.getString("node"));
-
-              if (null != nodeIP) {
-                long timestampSec = row.getTimestamp("ts").getTime() / 1000;
-                double val = getValue(row);
-                String valStr = String.format(DATA_ENTRY_FORMAT, timestampSec, val);
-
-                nodeUpMetrics.putIfAbsent(nodeIP, new ArrayList<>());
-                nodeUpMetrics.get(nodeIP).add(valStr);
-              }
+          for (Entry<String, TimeSeries> nodeUpMetric : results.entrySet()) {
+            String nodeIP = tserverMaps.uuidToIP.get(nodeUpMetric.getKey());
+            if (null != nodeIP) {
+              insertNodeMetrics(
+                  metricResults,
+                  nodeUpMetric.getValue(),
+                  nodeIP,
+                  universe.getUniverseDetails().communicationPorts.masterHttpPort);
+              insertNodeMetrics(
+                  metricResults,
+                  nodeUpMetric.getValue(),
+                  nodeIP,
+                  universe.getUniverseDetails().communicationPorts.tserverHttpPort);
             }
           }
-
-          for (Entry<String, List<String>> nodeUpMetric : nodeUpMetrics.entrySet()) {
-            metricResults.add(
-                String.format(
-                    NODE_METRIC_FORMAT,
-                    nodeUpMetric.getKey(),
-                    universe.getUniverseDetails().communicationPorts.masterHttpPort,
-                    nodeUpMetric.getValue()));
-            metricResults.add(
-                String.format(
-                    NODE_METRIC_FORMAT,
-                    nodeUpMetric.getKey(),
-                    universe.getUniverseDetails().communicationPorts.tserverHttpPort,
-                    nodeUpMetric.getValue()));
-            // Note that we are passing a List<String> to the %s parameter and expecting
-            // it to be serialized as [ s1, s2 ], which also matches the json array format
-          }
           break;
         default:
           LOG.warn("Query: " + queryKey + " not supported.");
@@ -492,9 +419,13 @@ public class YBMetricQueryComponent {
         if (cc.session != null) cc.session.close();
         if (cc.cluster != null) cc.cluster.close();
       }
-      if (!metricResults.isEmpty()) {
-        String returnJson = String.format(RESPONSE_FORMAT, metricResults);
-        return Util.convertStringToJson(returnJson);
+      if (metricResults.size() > 0) {
+        ObjectNode response = Json.newObject();
+        response.put("status", "success");
+        ObjectNode data = response.putObject("data");
+        data.put("resultType", "matrix");
+        data.set("result", metricResults);
+        return response;
       }
     }
     return null;
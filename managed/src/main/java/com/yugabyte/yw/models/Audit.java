@@ -2,13 +2,24 @@
 
 package com.yugabyte.yw.models;
 
+import static com.yugabyte.yw.models.helpers.CommonUtils.appendInClause;
+import static com.yugabyte.yw.models.helpers.CommonUtils.performPagedQuery;
 import static io.swagger.annotations.ApiModelProperty.AccessMode.READ_ONLY;
 import static play.mvc.Http.Status.BAD_REQUEST;
 
 import com.fasterxml.jackson.databind.JsonNode;
 import com.yugabyte.yw.common.PlatformServiceException;
+import com.yugabyte.yw.models.filters.AuditFilter;
+import com.yugabyte.yw.models.paging.AuditPagedQuery;
+import com.yugabyte.yw.models.paging.AuditPagedResponse;
+import com.yugabyte.yw.models.paging.PagedQuery;
+import com.yugabyte.yw.models.paging.PagedQuery.SortByIF;
+import com.yugabyte.yw.models.paging.PagedQuery.SortDirection;
+import io.ebean.ExpressionList;
 import io.ebean.Finder;
 import io.ebean.Model;
+import io.ebean.PersistenceContextScope;
+import io.ebean.Query;
 import io.ebean.annotation.EnumValue;
 import io.ebean.annotation.CreatedTimestamp;
 import io.ebean.annotation.DbJson;
@@ -379,6 +390,26 @@ public class Audit extends Model {
     DeleteInstanceType
   }
 
+  public enum SortBy implements PagedQuery.SortByIF {
+    id("id"),
+    timestamp("timestamp");
+
+    private final String sortField;
+
+    SortBy(String sortField) {
+      this.sortField = sortField;
+    }
+
+    public String getSortField() {
+      return sortField;
+    }
+
+    @Override
+    public SortByIF getOrderField() {
+      return SortBy.id;
+    }
+  }
+
   // An auto incrementing, user-friendly ID for the audit entry.
   @ApiModelProperty(
       value = "Audit UID",
@@ -528,6 +559,26 @@ public class Audit extends Model {
       ActionType action,
       JsonNode body,
       UUID taskUUID) {
+    Audit entry =
+        newEntry(user, apiCall, apiMethod, target, targetID, action, body, taskUUID);
+    entry.save();
+    return entry;
+  }
+
+  /**
+   * Builds a new audit entry without saving it, for callers that write entries in batches.
+   *
+   * @return New Audit table entry, not saved yet.
+   */
+  public static Audit newEntry(
+      Users user,
+      String apiCall,
+      String apiMethod,
+      TargetType target,
+      String targetID,
+      ActionType action,
+      JsonNode body,
+      UUID taskUUID) {
     Audit entry = new Audit();
     entry.customerUUID = user.customerUUID;
     entry.userUUID = user.uuid;
@@ -539,7 +590,6 @@ public class Audit extends Model {
     entry.action = action;
     entry.taskUUID = taskUUID;
     entry.payload = body;
-    entry.save();
     return entry;
   }
 
@@ -569,4 +619,53 @@ public class Audit extends Model {
   public static void forEachEntry(Consumer<Audit> consumer) {
     find.query().findEach(consumer);
   }
+
+  public static AuditPagedResponse pagedList(AuditPagedQuery pagedQuery) {
+    if (pagedQuery.getSortBy() == null) {
+      pagedQuery.setSortBy(SortBy.id);
+      pagedQuery.setDirection(SortDirection.DESC);
+    }
+    ExpressionList<Audit> expressionList = createQueryByFilter(pagedQuery.getFilter());
+    Long lastAuditId = pagedQuery.getLastAuditId();
+    if (lastAuditId != null) {
+      if (pagedQuery.getSortBy() != SortBy.id) {
+        throw new PlatformServiceException(
+            BAD_REQUEST, "lastAuditId is only supported when sorting by id");
+      }
+      // Keyset paging: continue after the last entry returned instead of skipping rows.
+      if (pagedQuery.getDirection() == SortDirection.DESC) {
+        expressionList.lt("id", lastAuditId);
+      } else {
+        expressionList.gt("id", lastAuditId);
+      }
+      pagedQuery.setOffset(0);
+    }
+    Query<Audit> query = expressionList.query();
+    AuditPagedResponse response = performPagedQuery(query, pagedQuery, AuditPagedResponse.class);
+    if (lastAuditId != null) {
+      response.setHasPrev(true);
+    }
+    return response;
+  }
+
+  public static ExpressionList<Audit> createQueryByFilter(AuditFilter filter) {
+    ExpressionList<Audit> query =
+        find.query().setPersistenceContextScope(PersistenceContextScope.QUERY).where();
+    query.eq("customer_uuid", filter.getCustomerUUID());
+    if (filter.getUserUUID() != null) {
+      query.eq("user_uuid", filter.getUserUUID());
+    }
+    appendInClause(query, "target", filter.getTargets());
+    if (filter.getTargetID() != null) {
+      query.eq("target_id", filter.getTargetID());
+    }
+    appendInClause(query, "action", filter.getActions());
+    if (filter.getDateRangeStart() != null) {
+      query.ge("timestamp", filter.getDateRangeStart());
+    }
+    if (filter.getDateRangeEnd() != null) {
+      query.le("timestamp", filter.getDateRangeEnd());
+    }
+    return query;
+  }
 }
@@ -456,7 +456,7 @@ public class Backup extends Model {
     }
   }
 
-  public void setBackupSizeInBackupList(int idx, long backupSize) {
+  public synchronized void setBackupSizeInBackupList(int idx, long backupSize) {
     int backupListLen = this.backupInfo.backupList.size();
     if (idx >= backupListLen) {
       LOG.error("Index {} not present in backup list of length {}", idx, backupListLen);
@@ -493,6 +493,27 @@ public class Backup extends Model {
     return backupList;
   }
 
+  /**
+   * Backups queued for deletion along with the ones whose deletion was interrupted, e.g. by a
+   * restart of the platform. Deleting the objects of a backup can be done again, so the latter are
+   * simply picked up from where they were left.
+   */
+  public static List<Backup> findAllBackupsPendingDeletion(UUID customerUUID) {
+    return find.query()
+        .where()
+        .eq("customer_uuid", customerUUID)
+        .in("state", BackupState.QueuedForDeletion, BackupState.DeleteInProgress)
+        .findList();
+  }
+
+  public static List<Backup> findAllBackupsPendingDeletionWithCustomerConfig(
+      UUID customerConfigUUID, UUID customerUUID) {
+    return findAllBackupsPendingDeletion(customerUUID)
+        .stream()
+        .filter(b -> customerConfigUUID.equals(b.getBackupInfo().storageConfigUUID))
+        .collect(Collectors.toList());
+  }
+
   public static List<Backup> findAllFinishedBackupsWithCustomerConfig(UUID customerConfigUUID) {
     List<Backup> backupList =
         find.query()
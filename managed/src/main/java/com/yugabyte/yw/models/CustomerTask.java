@@ -2,6 +2,7 @@
 
 package com.yugabyte.yw.models;
 
+import static com.yugabyte.yw.models.helpers.CommonUtils.appendInClause;
 import static io.swagger.annotations.ApiModelProperty.AccessMode.READ_ONLY;
 import static play.mvc.Http.Status.BAD_REQUEST;
 
@@ -9,8 +10,11 @@ import com.fasterxml.jackson.annotation.JsonFormat;
 import com.google.common.annotations.VisibleForTesting;
 import com.google.common.base.Preconditions;
 import com.yugabyte.yw.common.PlatformServiceException;
+import io.ebean.Ebean;
+import io.ebean.ExpressionList;
 import io.ebean.Finder;
 import io.ebean.Model;
+import io.ebean.Transaction;
 import io.ebean.annotation.EnumValue;
 import io.ebean.annotation.Transactional;
 import io.swagger.annotations.ApiModel;
@@ -18,9 +22,14 @@ import io.swagger.annotations.ApiModelProperty;
 import java.lang.reflect.Field;
 import java.time.Duration;
 import java.time.Instant;
+import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collection;
 import java.util.Date;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 import java.util.UUID;
 import java.util.stream.Collectors;
 import javax.annotation.Nullable;
@@ -549,6 +558,97 @@ public class CustomerTask extends Model {
     return 2 + subTasks.size();
   }
 
+  /** Numbers of rows deleted and of tasks skipped by a cascadeDeleteCompleted of many tasks. */
+  public static class DeletedTasks {
+    public int numCustomerTasks;
+    public int numTaskInfos;
+    public int numSkipped;
+  }
+
+  /**
+   * Same as cascadeDeleteCompleted for each of the given tasks, with the same checks, but with a
+   * fixed number of statements for all of them, in one transaction. The tasks which fail the
+   * checks are skipped and counted, rather than failing the others.
+   *
+   * @return numbers of customer_task and task_info rows deleted and of tasks skipped.
+   */
+  public static DeletedTasks cascadeDeleteCompleted(Collection<CustomerTask> customerTasks) {
+    DeletedTasks deleted = new DeletedTasks();
+    if (customerTasks.isEmpty()) {
+      return deleted;
+    }
+    Set<UUID> rootTaskUUIDs =
+        customerTasks
+            .stream()
+            .map(CustomerTask::getTaskUUID)
+            .filter(taskUUID -> taskUUID != null)
+            .collect(Collectors.toSet());
+    try (Transaction transaction = Ebean.beginTransaction()) {
+      Map<UUID, TaskInfo> rootTaskInfos =
+          TaskInfo.find(rootTaskUUIDs)
+              .stream()
+              .collect(Collectors.toMap(TaskInfo::getTaskUUID, taskInfo -> taskInfo));
+      Set<UUID> successfulRootTaskUUIDs =
+          rootTaskInfos
+              .values()
+              .stream()
+              .filter(taskInfo -> taskInfo.getTaskState() == TaskInfo.State.Success)
+              .map(TaskInfo::getTaskUUID)
+              .collect(Collectors.toSet());
+      Set<UUID> withIncompleteSubTasks = new HashSet<>();
+      if (!successfulRootTaskUUIDs.isEmpty()) {
+        ExpressionList<TaskInfo> incompleteSubTasks =
+            TaskInfo.find
+                .query()
+                .select("parentUuid")
+                .setDistinct(true)
+                .where()
+                .in("task_state", TaskInfo.INCOMPLETE_STATES);
+        appendInClause(incompleteSubTasks, "parent_uuid", successfulRootTaskUUIDs);
+        withIncompleteSubTasks.addAll(incompleteSubTasks.findSingleAttributeList());
+      }
+
+      List<Long> ids = new ArrayList<>();
+      Set<UUID> taskUUIDs = new HashSet<>();
+      for (CustomerTask customerTask : customerTasks) {
+        TaskInfo rootTaskInfo = rootTaskInfos.get(customerTask.taskUUID);
+        if (customerTask.completionTime == null || rootTaskInfo == null) {
+          LOG.warn(
+              "CustomerTask(id:{}, type:{}) has not completed or has no task_info",
+              customerTask.id,
+              customerTask.type);
+          deleted.numSkipped++;
+        } else if (!rootTaskInfo.hasCompleted()) {
+          LOG.warn(
+              "Completed CustomerTask(id:{}, type:{}) has incomplete task_info {}",
+              customerTask.id,
+              customerTask.type,
+              rootTaskInfo);
+          deleted.numSkipped++;
+        } else if (withIncompleteSubTasks.contains(rootTaskInfo.getTaskUUID())) {
+          LOG.warn(
+              "For a customer_task.id: {}, Successful task_info.uuid ({}) has incomplete subtasks",
+              customerTask.id,
+              rootTaskInfo.getTaskUUID());
+          deleted.numSkipped++;
+        } else {
+          ids.add(customerTask.id);
+          taskUUIDs.add(rootTaskInfo.getTaskUUID());
+        }
+      }
+      if (!ids.isEmpty()) {
+        // Note: delete leaf nodes first to preserve referential integrity.
+        deleted.numTaskInfos +=
+            appendInClause(TaskInfo.find.query().where(), "parent_uuid", taskUUIDs).delete();
+        deleted.numTaskInfos +=
+            appendInClause(TaskInfo.find.query().where(), "uuid", taskUUIDs).delete();
+        deleted.numCustomerTasks = appendInClause(find.query().where(), "id", ids).delete();
+      }
+      transaction.commit();
+    }
+    return deleted;
+  }
+
   public static CustomerTask findByTaskUUID(UUID taskUUID) {
     return find.query().where().eq("task_uuid", taskUUID).findOne();
   }
@@ -562,6 +662,23 @@ public class CustomerTask extends Model {
         .findList();
   }
 
+  /**
+   * Returns up to limit of the tasks completed before duration ago, ordered by id, with an id
+   * greater than afterId, for the tasks to be read in chunks.
+   */
+  public static List<CustomerTask> findOlderThan(
+      Customer customer, Duration duration, long afterId, int limit) {
+    Date cutoffDate = new Date(Instant.now().minus(duration).toEpochMilli());
+    return find.query()
+        .where()
+        .eq("customerUUID", customer.uuid)
+        .le("completion_time", cutoffDate)
+        .gt("id", afterId)
+        .orderBy("id")
+        .setMaxRows(limit)
+        .findList();
+  }
+
   public static List<CustomerTask> findIncompleteByTargetUUID(UUID targetUUID) {
     return find.query().where().eq("target_uuid", targetUUID).isNull("completion_time").findList();
   }
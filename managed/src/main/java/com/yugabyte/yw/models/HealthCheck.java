@@ -4,12 +4,19 @@ package com.yugabyte.yw.models;
 
 import com.fasterxml.jackson.annotation.JsonAlias;
 import com.fasterxml.jackson.annotation.JsonFormat;
+import com.yugabyte.yw.models.HealthCheck.Details.NodeData;
+import io.ebean.Ebean;
+import io.ebean.ExpressionList;
 import io.ebean.Finder;
 import io.ebean.Model;
+import io.ebean.Transaction;
 import io.ebean.annotation.DbJson;
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.Date;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.UUID;
 import javax.persistence.Column;
 import javax.persistence.EmbeddedId;
@@ -51,6 +58,8 @@ public class HealthCheck extends Model {
   // The max number of records to keep per universe.
   public static final int RECORD_LIMIT = 10;
 
+  private static final int BATCH_SIZE = 100;
+
   @EmbeddedId @Constraints.Required public HealthCheckKey idKey;
 
   // The customer id, needed only to enforce unique universe names for a customer.
@@ -74,42 +83,134 @@ public class HealthCheck extends Model {
       new Finder<UUID, HealthCheck>(HealthCheck.class) {};
 
   /**
-   * Creates an empty universe.
+   * Saves the output of a health check run and prunes the old ones. The results of the nodes are
+   * saved as rows of their own, in one batch, only the summary of the run goes in the details.
    *
-   * @param universeUUID: UUID of the universe..
-   * @param customerId: UUID of the customer creating the universe.
-   * @param details: The details that will describe the universe.
-   * @return the newly created universe
+   * @param universeUUID: UUID of the universe checked.
+   * @param customerId: id of the customer of the universe.
+   * @param details: The output of the health check script.
+   * @return the newly created health check, with the results of the nodes
    */
   public static HealthCheck addAndPrune(UUID universeUUID, Long customerId, String details) {
+    Details parsed = Json.fromJson(Json.parse(details), Details.class);
     // Create the HealthCheck object.
     HealthCheck check = new HealthCheck();
     check.idKey = HealthCheckKey.create(universeUUID);
     check.customerId = customerId;
-    check.detailsJson = Json.fromJson(Json.parse(details), Details.class);
-    // Save the object.
-    check.save();
-    keepOnlyLast(universeUUID, RECORD_LIMIT);
+    check.detailsJson = parsed;
+    List<NodeData> data = parsed.data;
+    List<HealthCheckNodeResult> results = new ArrayList<>(data.size());
+    for (int i = 0; i < data.size(); i++) {
+      results.add(HealthCheckNodeResult.create(check.idKey, i, data.get(i)));
+    }
+    try (Transaction transaction = Ebean.beginTransaction()) {
+      parsed.data = new ArrayList<>();
+      check.save();
+      if (!results.isEmpty()) {
+        transaction.setBatchMode(true);
+        transaction.setBatchSize(BATCH_SIZE);
+        Ebean.insertAll(results);
+        transaction.flush();
+      }
+      keepOnlyLast(universeUUID, RECORD_LIMIT);
+      transaction.commit();
+    } finally {
+      parsed.data = data;
+    }
     return check;
   }
 
+  /** Deletes all but the last numChecks checks of the universe, with their node results. */
   public static void keepOnlyLast(UUID universeUUID, int numChecks) {
-    List<HealthCheck> checks = getAll(universeUUID);
-    for (int i = 0; i < checks.size() - numChecks; ++i) {
-      checks.get(i).delete();
+    HealthCheck firstToDelete =
+        find.query()
+            .where()
+            .eq("universe_uuid", universeUUID)
+            .orderBy("check_time desc")
+            .setFirstRow(numChecks)
+            .setMaxRows(1)
+            .findOne();
+    if (firstToDelete == null) {
+      return;
     }
+    Date deleteUntil = firstToDelete.idKey.checkTime;
+    HealthCheckNodeResult.find
+        .query()
+        .where()
+        .eq("universe_uuid", universeUUID)
+        .le("check_time", deleteUntil)
+        .delete();
+    find.query().where().eq("universe_uuid", universeUUID).le("check_time", deleteUntil).delete();
   }
 
   /**
-   * Returns the HealthCheck object for a certain universe.
+   * Returns the HealthCheck objects for a certain universe, with the results of the nodes.
    *
    * @param universeUUID
-   * @return the HealthCheck object
+   * @return the HealthCheck objects, oldest first
    */
   public static List<HealthCheck> getAll(UUID universeUUID) {
-    return find.query().where().eq("universe_uuid", universeUUID).orderBy("check_time").findList();
+    return withNodeResults(
+        universeUUID,
+        find.query().where().eq("universe_uuid", universeUUID).orderBy("check_time").findList());
+  }
+
+  /**
+   * Returns a page of the HealthCheck objects for a certain universe, with the results of the
+   * nodes.
+   *
+   * @param universeUUID
+   * @param after only checks made after this time are returned, if set.
+   * @param before only checks made before this time are returned, if set. The check time of the
+   *     oldest check of a page gets the previous page.
+   * @param limit the max number of checks returned, the most recent ones.
+   * @return the HealthCheck objects, oldest first
+   */
+  public static List<HealthCheck> getPage(UUID universeUUID, Date after, Date before, int limit) {
+    ExpressionList<HealthCheck> query = find.query().where().eq("universe_uuid", universeUUID);
+    if (after != null) {
+      query.gt("check_time", after);
+    }
+    if (before != null) {
+      query.lt("check_time", before);
+    }
+    List<HealthCheck> checks = query.orderBy("check_time desc").setMaxRows(limit).findList();
+    Collections.reverse(checks);
+    return withNodeResults(universeUUID, checks);
   }
 
+  // Fills the details of the checks with the results of their nodes, read in a single query.
+  private static List<HealthCheck> withNodeResults(UUID universeUUID, List<HealthCheck> checks) {
+    if (checks.isEmpty()) {
+      return checks;
+    }
+    Map<Long, List<NodeData>> nodeData = new HashMap<>();
+    HealthCheckNodeResult.find
+        .query()
+        .where()
+        .eq("universe_uuid", universeUUID)
+        .ge("check_time", checks.get(0).idKey.checkTime)
+        .le("check_time", checks.get(checks.size() - 1).idKey.checkTime)
+        .orderBy("check_time, idx")
+        .findEach(
+            result ->
+                nodeData
+                    .computeIfAbsent(result.checkTime.getTime(), k -> new ArrayList<>())
+                    .add(result.toNodeData()));
+    for (HealthCheck check : checks) {
+      List<NodeData> data = nodeData.get(check.idKey.checkTime.getTime());
+      // Checks saved before the node results had their own rows keep them in the details.
+      if (data != null) {
+        check.detailsJson.data = data;
+      }
+    }
+    return checks;
+  }
+
+  /**
+   * Returns the last check of a universe, without the results of the nodes unless it was saved with
+   * them in its details.
+   */
   public static HealthCheck getLatest(UUID universeUUID) {
     List<HealthCheck> checks =
         find.query()
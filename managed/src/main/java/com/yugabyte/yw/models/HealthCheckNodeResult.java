@@ -0,0 +1,84 @@
+// Copyright (c) YugaByte, Inc.
+
+package com.yugabyte.yw.models;
+
+import com.yugabyte.yw.models.HealthCheck.Details.NodeData;
+import io.ebean.Finder;
+import io.ebean.Model;
+import io.ebean.annotation.DbJson;
+import java.util.Date;
+import java.util.List;
+import java.util.UUID;
+import javax.persistence.Column;
+import javax.persistence.Entity;
+import javax.persistence.Id;
+
+/**
+ * The result of one of the checks of a node in a health check run. Stored in a row of its own, for
+ * a run to be written in one batch and the history of a universe to be read without parsing the
+ * output of whole runs. Deleted along with its health check.
+ */
+@Entity
+public class HealthCheckNodeResult extends Model {
+
+  @Id public UUID uuid;
+
+  public UUID universeUUID;
+
+  public Date checkTime;
+
+  // Position of the result in the output of the run.
+  public int idx;
+
+  public String node;
+
+  public String nodeName;
+
+  public String process;
+
+  @Column(columnDefinition = "TEXT")
+  public String message;
+
+  public Boolean hasError;
+
+  public Boolean hasWarning;
+
+  public Date timestamp;
+
+  @DbJson
+  @Column(columnDefinition = "TEXT")
+  public List<String> details;
+
+  public static final Finder<UUID, HealthCheckNodeResult> find =
+      new Finder<UUID, HealthCheckNodeResult>(HealthCheckNodeResult.class) {};
+
+  static HealthCheckNodeResult create(HealthCheckKey key, int idx, NodeData data) {
+    HealthCheckNodeResult result = new HealthCheckNodeResult();
+    result.uuid = UUID.randomUUID();
+    result.universeUUID = key.universeUUID;
+    result.checkTime = key.checkTime;
+    result.idx = idx;
+    result.node = data.node;
+    result.nodeName = data.node_name;
+    result.process = data.process;
+    result.message = data.message;
+    result.hasError = data.has_error;
+    result.hasWarning = data.has_warning;
+    result.timestamp = data.timestamp;
+    result.details = data.details;
+    return result;
+  }
+
+  NodeData toNodeData() {
+    NodeData data = new NodeData();
+    data.node = node;
+    data.node_name = nodeName;
+    data.process = process;
+    data.message = message;
+    data.has_error = hasError;
+    data.has_warning = hasWarning;
+    data.timestamp = timestamp;
+    data.details = details;
+    return data;
+  }
+}
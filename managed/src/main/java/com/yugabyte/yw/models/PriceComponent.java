@@ -2,16 +2,21 @@
 package com.yugabyte.yw.models;
 
 import com.yugabyte.yw.models.helpers.ProviderAndRegion;
+import io.ebean.Ebean;
 import io.ebean.ExpressionList;
 import io.ebean.Finder;
 import io.ebean.Junction;
 import io.ebean.Model;
+import io.ebean.Transaction;
+import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
 import java.util.UUID;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 import javax.persistence.Column;
 import javax.persistence.EmbeddedId;
@@ -28,6 +33,8 @@ import play.libs.Json;
 public class PriceComponent extends Model {
   public static final Logger LOG = LoggerFactory.getLogger(PriceComponent.class);
 
+  private static final int BATCH_SIZE = 500;
+
   @EmbeddedId @Constraints.Required private PriceComponentKey idKey;
 
   // ManyToOne for provider is kept outside of PriceComponentKey
@@ -178,6 +185,43 @@ public class PriceComponent extends Model {
     return component;
   }
 
+  /**
+   * Create or update pricing components in one transaction. The existing components are read with
+   * one query and the changes are written in batches, instead of a read and a write per component.
+   *
+   * @param priceDetails The pricing details of each component, by the key of the component.
+   */
+  public static void upsertAll(Map<PriceComponentKey, PriceDetails> priceDetails) {
+    if (priceDetails.isEmpty()) {
+      return;
+    }
+    Map<PriceComponentKey, PriceComponent> existing =
+        findByProvidersAndRegions(
+                priceDetails
+                    .keySet()
+                    .stream()
+                    .map(key -> new ProviderAndRegion(key.providerUuid, key.regionCode))
+                    .collect(Collectors.toSet()))
+            .stream()
+            .collect(Collectors.toMap(PriceComponent::getIdKey, Function.identity()));
+    List<PriceComponent> components = new ArrayList<>(priceDetails.size());
+    for (Map.Entry<PriceComponentKey, PriceDetails> entry : priceDetails.entrySet()) {
+      PriceComponent component = existing.get(entry.getKey());
+      if (component == null) {
+        component = new PriceComponent();
+        component.idKey = entry.getKey();
+      }
+      component.priceDetailsJson = Json.stringify(Json.toJson(entry.getValue()));
+      components.add(component);
+    }
+    try (Transaction transaction = Ebean.beginTransaction()) {
+      transaction.setBatchMode(true);
+      transaction.setBatchSize(BATCH_SIZE);
+      Ebean.saveAll(components);
+      transaction.commit();
+    }
+  }
+
   /** The actual details of the pricing component. */
   public static class PriceDetails {
 
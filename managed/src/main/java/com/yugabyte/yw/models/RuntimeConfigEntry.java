@@ -6,8 +6,11 @@ import static play.mvc.Http.Status.NOT_FOUND;
 import com.google.common.collect.ImmutableSet;
 import com.yugabyte.yw.common.PlatformServiceException;
 import com.yugabyte.yw.models.helpers.CommonUtils;
+import io.ebean.Ebean;
 import io.ebean.Finder;
 import io.ebean.Model;
+import io.ebean.Transaction;
+import io.ebean.TransactionCallbackAdapter;
 import io.ebean.annotation.Transactional;
 import java.nio.charset.StandardCharsets;
 import java.util.HashMap;
@@ -15,6 +18,7 @@ import java.util.List;
 import java.util.Map;
 import java.util.Set;
 import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
 import javax.persistence.EmbeddedId;
 import javax.persistence.Entity;
 import org.slf4j.Logger;
@@ -26,6 +30,10 @@ public class RuntimeConfigEntry extends Model {
   private static final Set<String> sensitiveKeys =
       ImmutableSet.of("yb.security.ldap.ldap_service_account_password", "yb.security.secret");
 
+  // Bumped once a change to the entries of a scope is committed, for the configs read from them to
+  // be read again.
+  private static final Map<UUID, Long> scopeVersions = new ConcurrentHashMap<>();
+
   @EmbeddedId private final RuntimeConfigEntryKey idKey;
 
   private byte[] value;
@@ -87,6 +95,43 @@ public class RuntimeConfigEntry extends Model {
     return map;
   }
 
+  /**
+   * Returns the version of the entries of the scope, which changes whenever a change to them is
+   * committed. Entries read after getting the version are at least as recent as that version.
+   */
+  public static long getScopeVersion(UUID scope) {
+    return scopeVersions.getOrDefault(scope, 0L);
+  }
+
+  @Override
+  public void save() {
+    super.save();
+    onChange();
+  }
+
+  @Override
+  public boolean delete() {
+    boolean deleted = super.delete();
+    onChange();
+    return deleted;
+  }
+
+  private void onChange() {
+    UUID scope = idKey.getScopeUUID();
+    Transaction transaction = Ebean.currentTransaction();
+    if (transaction == null) {
+      scopeVersions.merge(scope, 1L, Long::sum);
+      return;
+    }
+    transaction.register(
+        new TransactionCallbackAdapter() {
+          @Override
+          public void postCommit() {
+            scopeVersions.merge(scope, 1L, Long::sum);
+          }
+        });
+  }
+
   private static RuntimeConfigEntry upsertInternal(
       UUID uuid, String path, String value, Runnable ensure) {
     RuntimeConfigEntry config = get(uuid, path);
@@ -18,18 +18,27 @@ import com.yugabyte.yw.models.paging.SchedulePagedQuery;
 import com.yugabyte.yw.models.paging.SchedulePagedResponse;
 import com.yugabyte.yw.models.paging.PagedQuery.SortByIF;
 import com.yugabyte.yw.models.paging.PagedQuery.SortDirection;
+import io.ebean.Ebean;
 import io.ebean.Finder;
 import io.ebean.Model;
 import io.ebean.Query;
 import io.ebean.PersistenceContextScope;
 import io.ebean.ExpressionList;
+import io.ebean.Transaction;
+import io.ebean.TransactionCallbackAdapter;
 import io.ebean.annotation.DbJson;
 import io.ebean.annotation.EnumValue;
 import io.swagger.annotations.ApiModel;
 import io.swagger.annotations.ApiModelProperty;
 import java.text.SimpleDateFormat;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Iterator;
 import java.util.List;
+import java.util.Set;
 import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.stream.Collectors;
 import javax.persistence.Column;
 import javax.persistence.Entity;
@@ -79,6 +88,10 @@ public class Schedule extends Model {
 
   private static final int MAX_FAIL_COUNT = 3;
 
+  // Schedules changed since the scheduler last read them, for it to update their next fire time
+  // without reading all the schedules. Added once the change is committed.
+  private static final Set<UUID> changedSchedules = ConcurrentHashMap.newKeySet();
+
   @Id
   @ApiModelProperty(value = "Schedule UUID", accessMode = READ_ONLY)
   public UUID scheduleUUID;
@@ -201,7 +214,51 @@ public class Schedule extends Model {
 
   public void setRunningState(boolean state) {
     this.runningState = state;
-    save();
+    // Set by the scheduler itself and does not change when the schedule fires.
+    super.save();
+  }
+
+  @Override
+  public void save() {
+    super.save();
+    onChange();
+  }
+
+  @Override
+  public boolean delete() {
+    boolean deleted = super.delete();
+    onChange();
+    return deleted;
+  }
+
+  private void onChange() {
+    UUID uuid = scheduleUUID;
+    Transaction transaction = Ebean.currentTransaction();
+    if (transaction == null) {
+      changedSchedules.add(uuid);
+      return;
+    }
+    transaction.register(
+        new TransactionCallbackAdapter() {
+          @Override
+          public void postCommit() {
+            changedSchedules.add(uuid);
+          }
+        });
+  }
+
+  /**
+   * Returns the schedules created, changed or deleted since the previous call. Schedules read after
+   * the call are at least as recent as the changes returned.
+   */
+  public static Set<UUID> drainChangedSchedules() {
+    Set<UUID> changed = new HashSet<>();
+    Iterator<UUID> iterator = changedSchedules.iterator();
+    while (iterator.hasNext()) {
+      changed.add(iterator.next());
+      iterator.remove();
+    }
+    return changed;
   }
 
   public static final Finder<UUID, Schedule> find = new Finder<UUID, Schedule>(Schedule.class) {};
@@ -262,6 +319,15 @@ public class Schedule extends Model {
     return find.query().where().eq("status", "Active").findList();
   }
 
+  public static List<Schedule> getAll(Collection<UUID> scheduleUUIDs) {
+    if (scheduleUUIDs.isEmpty()) {
+      return Collections.emptyList();
+    }
+    ExpressionList<Schedule> query = find.query().where();
+    appendInClause(query, "scheduleUUID", scheduleUUIDs);
+    return query.findList();
+  }
+
   public static List<Schedule> getActiveBackupSchedules(UUID customerUUID) {
     return find.query()
         .where()
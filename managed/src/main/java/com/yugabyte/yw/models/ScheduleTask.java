@@ -3,10 +3,14 @@
 package com.yugabyte.yw.models;
 
 import com.fasterxml.jackson.annotation.JsonFormat;
+import io.ebean.Ebean;
 import io.ebean.Finder;
 import io.ebean.Model;
+import io.ebean.SqlRow;
 import java.util.Date;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.UUID;
 import javax.persistence.Column;
 import javax.persistence.Entity;
@@ -73,6 +77,7 @@ public class ScheduleTask extends Model {
             .where()
             .eq("schedule_uuid", scheduleUUID)
             .orderBy("scheduled_time desc")
+            .setMaxRows(1)
             .findList();
     if (tasks.isEmpty()) {
       return null;
@@ -80,6 +85,20 @@ public class ScheduleTask extends Model {
     return tasks.get(0);
   }
 
+  /** Returns the scheduled time of the last task of each schedule that ran at least once. */
+  public static Map<UUID, Date> getLastScheduledTimes() {
+    List<SqlRow> rows =
+        Ebean.createSqlQuery(
+                "SELECT schedule_uuid, max(scheduled_time) AS last_scheduled_time"
+                    + " FROM schedule_task GROUP BY schedule_uuid")
+            .findList();
+    Map<UUID, Date> lastScheduledTimes = new HashMap<>();
+    for (SqlRow row : rows) {
+      lastScheduledTimes.put(row.getUUID("schedule_uuid"), row.getTimestamp("last_scheduled_time"));
+    }
+    return lastScheduledTimes;
+  }
+
   public static List<ScheduleTask> getAllTasks(UUID scheduleUUID) {
     return find.query().where().eq("schedule_uuid", scheduleUUID).findList();
   }
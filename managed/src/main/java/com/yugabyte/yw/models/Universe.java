@@ -7,6 +7,7 @@ import static play.mvc.Http.Status.BAD_REQUEST;
 import com.fasterxml.jackson.annotation.JsonFormat;
 import com.fasterxml.jackson.annotation.JsonIgnore;
 import com.fasterxml.jackson.databind.JsonNode;
+import com.google.common.base.Throwables;
 import com.google.common.collect.ImmutableSet;
 import com.google.common.net.HostAndPort;
 import com.yugabyte.yw.commissioner.tasks.UniverseDefinitionTaskBase.PortType;
@@ -30,6 +31,7 @@ import io.ebean.SqlQuery;
 import io.ebean.annotation.DbJson;
 import java.util.ArrayList;
 import java.util.Collection;
+import java.util.Collections;
 import java.util.Comparator;
 import java.util.Date;
 import java.util.HashMap;
@@ -39,6 +41,9 @@ import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
 import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.atomic.AtomicReference;
 import java.util.stream.Collectors;
 import javax.persistence.Column;
@@ -67,6 +72,14 @@ public class Universe extends Model {
   // This is a key lock for Universe by UUID.
   public static final KeyLock<UUID> UNIVERSE_KEY_LOCK = new KeyLock<UUID>();
 
+  // Updates waiting for the universe lock, see saveDetails. Only taken out by a holder of the lock.
+  private static final Map<UUID, List<PendingUpdate>> PENDING_UPDATES = new ConcurrentHashMap<>();
+
+  // Universes whose updaters are running on the thread, which holds their lock. The updates the
+  // updaters make themselves to those universes are applied right away.
+  private static final ThreadLocal<Set<UUID>> APPLYING_UPDATES =
+      ThreadLocal.withInitial(HashSet::new);
+
   private static void checkUniverseInCustomer(UUID universeUUID, Customer customer) {
     if (!customer.getUniverseUUIDs().contains(universeUUID)) {
       throw new PlatformServiceException(
@@ -334,26 +347,148 @@ public class Universe extends Model {
     return Universe.saveDetails(universeUUID, updater, true);
   }
 
+  /**
+   * Updates the details of the universe using the update lambda function.
+   *
+   * <p>Updates of the same universe made concurrently are group committed: the thread which gets
+   * the universe lock first loads the universe, runs all the updaters waiting for the lock in the
+   * order they came, and saves the universe once for all of them, incrementing the version once per
+   * updater which asked for it. Updaters waiting for the lock then return without touching the DB,
+   * with the universe saved by the group. That universe is shared by the updaters of the group,
+   * which run on the thread of the lock holder. Updates made within a transaction are not grouped,
+   * they are applied in that transaction, by the calling thread.
+   *
+   * <p>If an updater of a group throws, nothing of the group is saved, the updater fails with its
+   * exception and the other updaters of the group are run again without it. Updaters should then
+   * only change the universe and the DB, the changes which are rolled back.
+   *
+   * @param universeUUID : the universe UUID that we want to update
+   * @param updater : lambda which updated the details of this universe when invoked.
+   * @param incrementVersion : the version is incremented if it is set.
+   * @return the updated version of the object if successful, or throws an exception.
+   */
   public static Universe saveDetails(
       UUID universeUUID, UniverseUpdater updater, boolean incrementVersion) {
+    PendingUpdate update = new PendingUpdate(updater, incrementVersion);
+    if (APPLYING_UPDATES.get().contains(universeUUID)) {
+      // Called from an updater of the universe, whose lock this thread already holds.
+      return saveDetails(universeUUID, Collections.singletonList(update), new AtomicReference<>());
+    }
+    if (Ebean.currentTransaction() != null) {
+      // The updates of other threads must not be part of a transaction which may still roll back.
+      UNIVERSE_KEY_LOCK.acquireLock(universeUUID);
+      try {
+        return saveDetails(
+            universeUUID, Collections.singletonList(update), new AtomicReference<>());
+      } finally {
+        UNIVERSE_KEY_LOCK.releaseLock(universeUUID);
+      }
+    }
+    PENDING_UPDATES.compute(
+        universeUUID,
+        (uuid, updates) -> {
+          List<PendingUpdate> result = updates == null ? new ArrayList<>() : updates;
+          result.add(update);
+          return result;
+        });
     UNIVERSE_KEY_LOCK.acquireLock(universeUUID);
     try {
-      // Perform the below code block in transaction.
-      AtomicReference<Universe> universeRef = new AtomicReference<>();
+      // Unless a previous lock holder applied it already, the update is still pending.
+      if (!update.result.isDone()) {
+        List<PendingUpdate> updates = PENDING_UPDATES.remove(universeUUID);
+        try {
+          applyUpdates(universeUUID, updates);
+        } finally {
+          // In case of an error, the threads waiting for the lock must not wait for the updates.
+          updates.forEach(
+              u -> u.result.completeExceptionally(new IllegalStateException("Update not applied")));
+        }
+      }
+    } finally {
+      UNIVERSE_KEY_LOCK.releaseLock(universeUUID);
+    }
+    try {
+      return update.result.join();
+    } catch (CompletionException e) {
+      Throwables.throwIfUnchecked(e.getCause());
+      throw e;
+    }
+  }
+
+  private static class PendingUpdate {
+    private final UniverseUpdater updater;
+    private final boolean incrementVersion;
+    private final CompletableFuture<Universe> result = new CompletableFuture<>();
+
+    private PendingUpdate(UniverseUpdater updater, boolean incrementVersion) {
+      this.updater = updater;
+      this.incrementVersion = incrementVersion;
+    }
+  }
+
+  private static void applyUpdates(UUID universeUUID, List<PendingUpdate> updates) {
+    List<PendingUpdate> remaining = new ArrayList<>(updates);
+    while (!remaining.isEmpty()) {
+      AtomicReference<PendingUpdate> failedUpdate = new AtomicReference<>();
+      try {
+        Universe universe = saveDetails(universeUUID, remaining, failedUpdate);
+        remaining.forEach(u -> u.result.complete(universe));
+        return;
+      } catch (RuntimeException e) {
+        PendingUpdate failed = failedUpdate.get();
+        if (failed == null) {
+          // Failed to load or save the universe, which fails all the updates.
+          remaining.forEach(u -> u.result.completeExceptionally(e));
+          return;
+        }
+        failed.result.completeExceptionally(e);
+        remaining.remove(failed);
+        if (!remaining.isEmpty()) {
+          LOG.debug(
+              "Update of universe {} failed, applying the {} other updates of its group again",
+              universeUUID,
+              remaining.size());
+        }
+      }
+    }
+  }
+
+  /**
+   * Applies the updates in one transaction. If an updater throws, it is set to failedUpdate and
+   * nothing is saved.
+   */
+  private static Universe saveDetails(
+      UUID universeUUID,
+      List<PendingUpdate> updates,
+      AtomicReference<PendingUpdate> failedUpdate) {
+    // Perform the below code block in transaction.
+    AtomicReference<Universe> universeRef = new AtomicReference<>();
+    boolean alreadyApplying = !APPLYING_UPDATES.get().add(universeUUID);
+    try {
       TransactionUtil.doInTxn(
           () -> {
             Universe universe = Universe.getOrBadRequest(universeUUID);
             // Update the universe object which is supplied as a lambda function.
             // The lambda function can have DB changes.
-            updater.run(universe);
-            universe.save(incrementVersion);
+            for (PendingUpdate update : updates) {
+              failedUpdate.set(update);
+              update.updater.run(universe);
+              // Incremented as if each update was saved, for the next updaters checking it.
+              if (update.incrementVersion) {
+                universe.version++;
+              }
+            }
+            failedUpdate.set(null);
+            universe.save(false);
             universeRef.set(universe);
           },
           TransactionUtil.DEFAULT_RETRY_CONFIG);
-      return universeRef.get();
     } finally {
-      UNIVERSE_KEY_LOCK.releaseLock(universeUUID);
+      if (!alreadyApplying) {
+        APPLYING_UPDATES.get().remove(universeUUID);
+      }
     }
+    return universeRef.get();
   }
 
   /**
@@ -76,6 +76,11 @@ public enum PlatformMetrics {
   ALERT_QUERY_NEW_ALERTS("Number of raised alerts", Unit.COUNT),
   ALERT_QUERY_UPDATED_ALERTS("Number of updated active alerts", Unit.COUNT),
   ALERT_QUERY_RESOLVED_ALERTS("Number of resolved alerts", Unit.COUNT),
+  ALERT_QUERY_UNCHANGED_ALERTS("Number of active alerts, which did not change", Unit.COUNT),
+  ALERT_QUERY_DB_READS(
+      "Number of DB queries for alerts, definitions and configurations during alert query",
+      Unit.COUNT),
+  ALERT_QUERY_DURATION("Alert query duration", Unit.MILLISECOND),
   ALERT_CONFIG_WRITER_STATUS("Alerting rules configuration writer status", Unit.STATUS),
   ALERT_MAINTENANCE_WINDOW_PROCESSOR_STATUS(
       "Maintenance windows alert processor status", Unit.STATUS),
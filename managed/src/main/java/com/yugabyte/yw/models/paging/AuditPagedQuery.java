@@ -0,0 +1,17 @@
+// Copyright (c) YugaByte, Inc.
+
+package com.yugabyte.yw.models.paging;
+
+import com.yugabyte.yw.models.Audit;
+import com.yugabyte.yw.models.filters.AuditFilter;
+import lombok.Data;
+import lombok.EqualsAndHashCode;
+
+@Data
+@EqualsAndHashCode(callSuper = true)
+public class AuditPagedQuery extends PagedQuery<AuditFilter, Audit.SortBy> {
+  // Audit id of the last entry of the previous page. When set, the page starts right after that
+  // entry instead of at the offset, so that deep pages don't have to skip over all the rows before
+  // them. Only supported when sorting by id.
+  Long lastAuditId;
+}
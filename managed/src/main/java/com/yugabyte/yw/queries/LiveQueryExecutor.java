@@ -7,19 +7,16 @@ import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.databind.node.ArrayNode;
 import com.fasterxml.jackson.databind.node.ObjectNode;
-import com.yugabyte.yw.common.ApiHelper;
 import com.yugabyte.yw.forms.LiveQueriesParams;
 import java.util.UUID;
-import java.util.concurrent.Callable;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
-import play.api.Play;
 import play.libs.Json;
 
-public class LiveQueryExecutor implements Callable<JsonNode> {
+/** Gets the live queries of one of the query layers of a node from its /rpcz endpoint. */
+public class LiveQueryExecutor {
   public static final Logger LOG = LoggerFactory.getLogger(LiveQueryExecutor.class);
 
-  private final ApiHelper apiHelper;
   // hostname can be either IP address or DNS
   private String hostName;
   private String nodeName;
@@ -31,28 +28,28 @@ public class LiveQueryExecutor implements Callable<JsonNode> {
     this.hostName = hostName;
     this.port = port;
     this.apiType = api;
-    this.apiHelper = Play.current().injector().instanceOf(ApiHelper.class);
   }
 
-  @Override
-  public JsonNode call() throws Exception {
-    String url = String.format("http://%s:%d/rpcz", hostName, port);
-    try {
-      JsonNode response = apiHelper.getRequest(url);
-      if (apiType == QueryHelper.QueryApi.YSQL) {
-        return processYSQLRowData(response);
-      } else {
-        return processYCQLRowData(response);
-      }
-    } catch (Exception e) {
-      LOG.error("Exception while fetching url: {}; message: {}", url, e.getStackTrace());
-      ObjectNode errorJson = Json.newObject();
-      errorJson.put("error", e.getMessage());
-      errorJson.put("type", apiType == QueryHelper.QueryApi.YSQL ? "ysql" : "ycql");
-      return errorJson;
+  public String getUrl() {
+    return String.format("http://%s:%d/rpcz", hostName, port);
+  }
+
+  public JsonNode processResponse(JsonNode response) {
+    if (apiType == QueryHelper.QueryApi.YSQL) {
+      return processYSQLRowData(response);
+    } else {
+      return processYCQLRowData(response);
     }
   }
 
+  public JsonNode processError(Throwable error) {
+    LOG.error("Exception while fetching url: {}; message: {}", getUrl(), error.getMessage());
+    ObjectNode errorJson = Json.newObject();
+    errorJson.put("error", error.getMessage());
+    errorJson.put("type", apiType == QueryHelper.QueryApi.YSQL ? "ysql" : "ycql");
+    return errorJson;
+  }
+
   // Processes YSQL connection data from /rpcz endpoint and transforms to row data
   private JsonNode processYSQLRowData(JsonNode response) {
     ObjectNode responseJson = Json.newObject();
@@ -4,22 +4,30 @@ package com.yugabyte.yw.queries;
 import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.node.ArrayNode;
 import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
 import com.google.inject.Inject;
 import com.google.inject.Singleton;
+import com.typesafe.config.Config;
+import com.yugabyte.yw.common.NodeFanoutClient;
+import com.yugabyte.yw.common.PlatformExecutorFactory;
 import com.yugabyte.yw.common.YsqlQueryExecutor;
 import com.yugabyte.yw.forms.RunQueryFormData;
 import com.yugabyte.yw.models.Universe;
 import com.yugabyte.yw.models.helpers.NodeDetails;
+import java.time.Duration;
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.HashMap;
 import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.Set;
 import java.util.concurrent.Callable;
 import java.util.concurrent.ExecutionException;
 import java.util.concurrent.ExecutorService;
-import java.util.concurrent.Executors;
 import java.util.concurrent.Future;
+import java.util.concurrent.ThreadFactory;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import play.libs.Json;
@@ -27,7 +35,7 @@ import play.libs.Json;
 @Singleton
 public class QueryHelper {
   public static final Logger LOG = LoggerFactory.getLogger(QueryHelper.class);
-  public static final Integer QUERY_EXECUTOR_THREAD_POOL = 5;
+  public static final String QUERY_NODE_TIMEOUT = "yb.queries.node_timeout";
 
   private static final String SLOW_QUERY_STATS_SQL =
       "SELECT a.rolname, t.datname, t.queryid, "
@@ -44,6 +52,25 @@ public class QueryHelper {
 
   @Inject YsqlQueryExecutor ysqlQueryExecutor;
 
+  private final NodeFanoutClient nodeFanoutClient;
+
+  private final Duration nodeTimeout;
+
+  // Shared by the slow queries of all the universes, which run SQL against every tserver.
+  private final ExecutorService slowQueryExecutor;
+
+  @Inject
+  public QueryHelper(
+      Config config,
+      NodeFanoutClient nodeFanoutClient,
+      PlatformExecutorFactory platformExecutorFactory) {
+    this.nodeFanoutClient = nodeFanoutClient;
+    this.nodeTimeout = config.getDuration(QUERY_NODE_TIMEOUT);
+    ThreadFactory namedThreadFactory =
+        new ThreadFactoryBuilder().setNameFormat("SlowQuery-Pool-%d").build();
+    this.slowQueryExecutor = platformExecutorFactory.createExecutor("queries", namedThreadFactory);
+  }
+
   public JsonNode liveQueries(Universe universe) {
     return query(universe, false, null, null);
   }
@@ -63,8 +90,6 @@ public class QueryHelper {
   public JsonNode query(
       Universe universe, boolean fetchSlowQueries, String username, String password)
       throws IllegalArgumentException {
-    ExecutorService threadPool = Executors.newFixedThreadPool(QUERY_EXECUTOR_THREAD_POOL);
-    Set<Future<JsonNode>> futures = new HashSet<>();
     ObjectNode responseJson = Json.newObject();
     ObjectNode ysqlJson = Json.newObject();
     ysqlJson.put("errorCount", 0);
@@ -72,39 +97,47 @@ public class QueryHelper {
     ObjectNode ycqlJson = Json.newObject();
     ycqlJson.put("errorCount", 0);
     ycqlJson.putArray("queries");
+    List<Future<JsonNode>> slowQueryFutures = new ArrayList<>();
+    Map<LiveQueryExecutor, String> liveQueryUrls = new LinkedHashMap<>();
     for (NodeDetails node : universe.getNodes()) {
       if (node.isActive() && node.isTserver) {
         String ip =
             node.cloudInfo.private_ip == null
                 ? node.cloudInfo.private_dns
                 : node.cloudInfo.private_ip;
-        Callable<JsonNode> callable;
 
         if (fetchSlowQueries) {
-          callable =
+          Callable<JsonNode> callable =
               new SlowQueryExecutor(
                   ip, node.ysqlServerRpcPort, universe, SLOW_QUERY_STATS_SQL, username, password);
-          Future<JsonNode> future = threadPool.submit(callable);
-          futures.add(future);
+          slowQueryFutures.add(slowQueryExecutor.submit(callable));
         } else {
-          callable =
+          LiveQueryExecutor executor =
               new LiveQueryExecutor(node.nodeName, ip, node.ysqlServerHttpPort, QueryApi.YSQL);
-
-          Future<JsonNode> future = threadPool.submit(callable);
-          futures.add(future);
-
-          callable =
+          liveQueryUrls.put(executor, executor.getUrl());
+          executor =
               new LiveQueryExecutor(node.nodeName, ip, node.yqlServerHttpPort, QueryApi.YCQL);
-          future = threadPool.submit(callable);
-          futures.add(future);
+          liveQueryUrls.put(executor, executor.getUrl());
         }
       }
     }
 
     try {
+      // Live queries are processed as the nodes respond, a node not responding within the timeout
+      // only counts as an error.
+      List<JsonNode> responses =
+          nodeFanoutClient
+              .getAll(
+                  liveQueryUrls,
+                  nodeTimeout,
+                  LiveQueryExecutor::processResponse,
+                  LiveQueryExecutor::processError)
+              .get();
+      for (Future<JsonNode> future : slowQueryFutures) {
+        responses.add(future.get());
+      }
       Map<String, JsonNode> queryMap = new HashMap<>();
-      for (Future<JsonNode> future : futures) {
-        JsonNode response = future.get();
+      for (JsonNode response : responses) {
         if (response.has("error")) {
           String errorMessage = response.get("error").toString();
           // If Login Credentials are incorrect we receive
@@ -197,14 +230,11 @@ public class QueryHelper {
     } catch (ExecutionException e) {
       LOG.error("Error fetching live query data", e);
       e.printStackTrace();
-    } finally {
-      threadPool.shutdown();
     }
 
     responseJson.set("ysql", ysqlJson);
     responseJson.set("ycql", ycqlJson);
 
-    threadPool.shutdown();
     return responseJson;
   }
 
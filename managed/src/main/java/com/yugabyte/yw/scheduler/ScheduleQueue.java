@@ -0,0 +1,90 @@
+/*
+ * Copyright 2021 YugaByte, Inc. and Contributors
+ *
+ * Licensed under the Polyform Free Trial License 1.0.0 (the "License"); you
+ * may not use this file except in compliance with the License. You
+ * may obtain a copy of the License at
+ *
+ *     https://github.com/YugaByte/yugabyte-db/blob/master/licenses/POLYFORM-FREE-TRIAL-LICENSE-1
+ * .0.0.txt
+ */
+
+package com.yugabyte.yw.scheduler;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.UUID;
+
+/**
+ * Next fire time of each schedule, ordered by it. Rescheduled and removed schedules leave their
+ * previous entry in the heap, which is skipped when it is polled. Not thread safe, only the
+ * scheduler thread uses it.
+ */
+class ScheduleQueue {
+
+  private static class Entry {
+    private final UUID scheduleUUID;
+    private final Instant fireTime;
+
+    private Entry(UUID scheduleUUID, Instant fireTime) {
+      this.scheduleUUID = scheduleUUID;
+      this.fireTime = fireTime;
+    }
+  }
+
+  private final PriorityQueue<Entry> heap =
+      new PriorityQueue<>(Comparator.comparing((Entry entry) -> entry.fireTime));
+
+  private final Map<UUID, Entry> entries = new HashMap<>();
+
+  /** Sets the next fire time of the schedule, replacing the previous one. */
+  void put(UUID scheduleUUID, Instant fireTime) {
+    Entry entry = new Entry(scheduleUUID, fireTime);
+    entries.put(scheduleUUID, entry);
+    heap.add(entry);
+    if (heap.size() > 2 * entries.size() + 16) {
+      compact();
+    }
+  }
+
+  void remove(UUID scheduleUUID) {
+    entries.remove(scheduleUUID);
+  }
+
+  Instant getFireTime(UUID scheduleUUID) {
+    Entry entry = entries.get(scheduleUUID);
+    return entry == null ? null : entry.fireTime;
+  }
+
+  /** Removes and returns the schedules with a fire time not after now, earliest first. */
+  List<UUID> pollDue(Instant now) {
+    List<UUID> due = new ArrayList<>();
+    while (!heap.isEmpty() && !heap.peek().fireTime.isAfter(now)) {
+      Entry entry = heap.poll();
+      if (entries.get(entry.scheduleUUID) == entry) {
+        entries.remove(entry.scheduleUUID);
+        due.add(entry.scheduleUUID);
+      }
+    }
+    return due;
+  }
+
+  int size() {
+    return entries.size();
+  }
+
+  void clear() {
+    heap.clear();
+    entries.clear();
+  }
+
+  private void compact() {
+    heap.clear();
+    heap.addAll(entries.values());
+  }
+}
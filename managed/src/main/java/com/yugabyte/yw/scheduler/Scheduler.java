@@ -14,7 +14,6 @@ package com.yugabyte.yw.scheduler;
 import static com.cronutils.model.CronType.UNIX;
 
 import akka.actor.ActorSystem;
-import com.cronutils.model.Cron;
 import com.cronutils.model.definition.CronDefinitionBuilder;
 import com.cronutils.model.time.ExecutionTime;
 import com.cronutils.parser.CronParser;
@@ -48,6 +47,8 @@ import java.util.Date;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
 import java.util.UUID;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicBoolean;
@@ -66,8 +67,16 @@ public class Scheduler {
   private final ActorSystem actorSystem;
   private final ExecutionContext executionContext;
 
+  private static final CronParser CRON_PARSER =
+      new CronParser(CronDefinitionBuilder.instanceDefinitionFor(UNIX));
+
   private final AtomicBoolean running = new AtomicBoolean(false);
 
+  // Only used by the scheduler thread, under running.
+  private final ScheduleQueue queue = new ScheduleQueue();
+  private boolean queueLoaded = false;
+  private Instant lastRunTime;
+
   private final Commissioner commissioner;
 
   @Inject
@@ -100,7 +109,7 @@ public class Scheduler {
             });
   }
 
-  /** Iterates through all the schedule entries and runs the tasks that are due to be scheduled. */
+  /** Runs the tasks that are due to be scheduled and deletes the expired backups. */
   @VisibleForTesting
   void scheduleRunner() {
     if (!running.compareAndSet(false, true)) {
@@ -111,98 +120,13 @@ public class Scheduler {
     try {
       if (HighAvailabilityConfig.isFollower()) {
         log.debug("Skipping scheduler for follower platform");
+        // Schedules may change through the leader meanwhile, read them again once promoted.
+        queueLoaded = false;
         return;
       }
 
       log.info("Running scheduler");
-      for (Schedule schedule : Schedule.getAllActive()) {
-        Date currentTime = new Date();
-        long frequency = schedule.getFrequency();
-        String cronExpression = schedule.getCronExpression();
-        if (cronExpression == null && frequency == 0) {
-          log.error(
-              "Scheduled task does not have a recurrence specified {}", schedule.getScheduleUUID());
-          continue;
-        }
-        try {
-          schedule.setRunningState(true);
-          TaskType taskType = schedule.getTaskType();
-          // TODO: Come back and maybe address if using relations between schedule and
-          //  schedule_task is
-          // a better approach.
-          ScheduleTask lastTask = ScheduleTask.getLastTask(schedule.getScheduleUUID());
-          Date lastScheduledTime = null;
-          Date lastCompletedTime = null;
-          if (lastTask != null) {
-            lastScheduledTime = lastTask.getScheduledTime();
-            lastCompletedTime = lastTask.getCompletedTime();
-          }
-          boolean shouldRunTask = false;
-          boolean alreadyRunning = false;
-          long diff = 0;
-
-          // Check if task needs to be scheduled again.
-          if (lastScheduledTime != null) {
-            diff = Math.abs(currentTime.getTime() - lastScheduledTime.getTime());
-            if (lastCompletedTime == null) {
-              alreadyRunning = true;
-            }
-          } else {
-            diff = Long.MAX_VALUE;
-          }
-          // If frequency if specified, check if the task needs to be scheduled.
-          // The check sees the difference between the last scheduled task and the current
-          // time. If the diff is greater than the frequency, means we need to run the task
-          // again.
-          if (frequency != 0L && diff > frequency) {
-            shouldRunTask = true;
-          }
-          // In the case frequency is not defined and we have a cron expression, we compute
-          // solely in accordance to the cron execution time. If the execution time is within the
-          // scheduler interval, we run the task.
-          else if (cronExpression != null) {
-            CronParser unixCronParser =
-                new CronParser(CronDefinitionBuilder.instanceDefinitionFor(UNIX));
-            Cron parsedUnixCronExpression = unixCronParser.parse(cronExpression);
-            Instant now = Instant.now();
-            // LocalDateTime now = LocalDateTime.ofInstant(Instant.now(), ZoneId.of("UTC"));
-            ZonedDateTime utcNow = now.atZone(ZoneId.of("UTC"));
-            ExecutionTime executionTime = ExecutionTime.forCron(parsedUnixCronExpression);
-            long timeFromLastExecution =
-                executionTime.timeFromLastExecution(utcNow).get().getSeconds();
-            if (timeFromLastExecution < YB_SCHEDULER_INTERVAL * MIN_TO_SEC) {
-              // In case the last task was completed, or the last task was never even scheduled,
-              // we run the task. If the task was scheduled, but didn't complete, we skip this
-              // iteration completely.
-              shouldRunTask = true;
-              if (lastScheduledTime != null && lastCompletedTime == null) {
-                log.warn(
-                    "Previous scheduled task still running, skipping this iteration's task. "
-                        + "Will try again next at {}.",
-                    executionTime.nextExecution(utcNow).get());
-              }
-            }
-          }
-          if (shouldRunTask) {
-            if (taskType == TaskType.BackupUniverse) {
-              this.runBackupTask(schedule, alreadyRunning);
-            }
-            if (taskType == TaskType.MultiTableBackup) {
-              this.runMultiTableBackupsTask(schedule, alreadyRunning);
-            }
-            if (taskType == TaskType.ExternalScript && !alreadyRunning) {
-              this.runExternalScriptTask(schedule);
-            }
-            if (taskType == TaskType.CreateBackup) {
-              this.runCreateBackupTask(schedule, alreadyRunning);
-            }
-          }
-        } catch (Exception e) {
-          log.error("Error runnning schedule {} ", schedule.scheduleUUID, e);
-        } finally {
-          schedule.setRunningState(false);
-        }
-      }
+      runDueSchedules(Instant.now());
       Map<Customer, List<Backup>> expiredBackups = Backup.getExpiredBackups();
       expiredBackups.forEach(
           (customer, backups) -> {
@@ -215,6 +139,141 @@ public class Scheduler {
     }
   }
 
+  /**
+   * Runs the schedules with a fire time not after now. The next fire time of every active schedule
+   * is kept in the queue, which is read from the DB on the first run and then only updated with
+   * the schedules created, changed or deleted since the previous run.
+   *
+   * @return the number of schedules that were due.
+   */
+  @VisibleForTesting
+  int runDueSchedules(Instant now) {
+    if (!queueLoaded) {
+      loadQueue(now.minusSeconds(YB_SCHEDULER_INTERVAL * MIN_TO_SEC));
+    } else {
+      updateQueue(Schedule.drainChangedSchedules(), lastRunTime);
+    }
+    lastRunTime = now;
+
+    List<UUID> dueScheduleUUIDs = queue.pollDue(now);
+    if (dueScheduleUUIDs.isEmpty()) {
+      return 0;
+    }
+    log.info(
+        "Running {} due schedules out of {}",
+        dueScheduleUUIDs.size(),
+        queue.size() + dueScheduleUUIDs.size());
+    for (Schedule schedule : Schedule.getAll(dueScheduleUUIDs)) {
+      if (schedule.getStatus() != Schedule.State.Active) {
+        continue;
+      }
+      try {
+        schedule.setRunningState(true);
+        // The last task was scheduled, but didn't complete yet.
+        ScheduleTask lastTask = ScheduleTask.getLastTask(schedule.getScheduleUUID());
+        boolean alreadyRunning = lastTask != null && lastTask.getCompletedTime() == null;
+        runTask(schedule, alreadyRunning);
+      } catch (Exception e) {
+        log.error("Error runnning schedule {} ", schedule.scheduleUUID, e);
+      } finally {
+        schedule.setRunningState(false);
+      }
+      enqueue(schedule, ScheduleTask.getLastTask(schedule.getScheduleUUID()), now);
+    }
+    return dueScheduleUUIDs.size();
+  }
+
+  private void runTask(Schedule schedule, boolean alreadyRunning) {
+    TaskType taskType = schedule.getTaskType();
+    if (taskType == TaskType.BackupUniverse) {
+      this.runBackupTask(schedule, alreadyRunning);
+    }
+    if (taskType == TaskType.MultiTableBackup) {
+      this.runMultiTableBackupsTask(schedule, alreadyRunning);
+    }
+    if (taskType == TaskType.ExternalScript && !alreadyRunning) {
+      this.runExternalScriptTask(schedule);
+    }
+    if (taskType == TaskType.CreateBackup) {
+      this.runCreateBackupTask(schedule, alreadyRunning);
+    }
+  }
+
+  private void loadQueue(Instant from) {
+    queue.clear();
+    // Changes from now on are applied by the next runs.
+    Schedule.drainChangedSchedules();
+    Map<UUID, Date> lastScheduledTimes = ScheduleTask.getLastScheduledTimes();
+    for (Schedule schedule : Schedule.getAllActive()) {
+      enqueue(schedule, lastScheduledTimes.get(schedule.getScheduleUUID()), from);
+    }
+    queueLoaded = true;
+    log.info("Loaded {} active schedules", queue.size());
+  }
+
+  private void updateQueue(Set<UUID> changedScheduleUUIDs, Instant from) {
+    if (changedScheduleUUIDs.isEmpty()) {
+      return;
+    }
+    changedScheduleUUIDs.forEach(queue::remove);
+    for (Schedule schedule : Schedule.getAll(changedScheduleUUIDs)) {
+      if (schedule.getStatus() == Schedule.State.Active) {
+        enqueue(schedule, ScheduleTask.getLastTask(schedule.getScheduleUUID()), from);
+      }
+    }
+  }
+
+  private void enqueue(Schedule schedule, ScheduleTask lastTask, Instant from) {
+    enqueue(schedule, lastTask == null ? null : lastTask.getScheduledTime(), from);
+  }
+
+  private void enqueue(Schedule schedule, Date lastScheduledTime, Instant from) {
+    Instant fireTime;
+    try {
+      fireTime = nextFireTime(schedule, lastScheduledTime, from);
+    } catch (Exception e) {
+      log.error("Error computing next run of schedule {} ", schedule.scheduleUUID, e);
+      return;
+    }
+    if (fireTime == null) {
+      log.error(
+          "Scheduled task does not have a recurrence specified {}", schedule.getScheduleUUID());
+      return;
+    }
+    queue.put(schedule.getScheduleUUID(), fireTime);
+  }
+
+  /**
+   * Returns the first time after from the schedule should run at, or null if it has no recurrence.
+   * A frequency runs the task once more than the frequency passed since the last task was
+   * scheduled, and right away if it never was. A cron expression runs it at the next execution
+   * after from, in UTC. With both, the earliest of the two is taken.
+   */
+  @VisibleForTesting
+  static Instant nextFireTime(Schedule schedule, Date lastScheduledTime, Instant from) {
+    Instant fireTime = null;
+    long frequency = schedule.getFrequency();
+    if (frequency != 0L) {
+      fireTime =
+          lastScheduledTime == null
+              ? from
+              : lastScheduledTime.toInstant().plusMillis(frequency + 1);
+    }
+    String cronExpression = schedule.getCronExpression();
+    if (cronExpression != null) {
+      ExecutionTime executionTime = ExecutionTime.forCron(CRON_PARSER.parse(cronExpression));
+      Optional<ZonedDateTime> nextExecution =
+          executionTime.nextExecution(from.atZone(ZoneId.of("UTC")));
+      if (nextExecution.isPresent()) {
+        Instant cronFireTime = nextExecution.get().toInstant();
+        if (fireTime == null || cronFireTime.isBefore(fireTime)) {
+          fireTime = cronFireTime;
+        }
+      }
+    }
+    return fireTime;
+  }
+
   private void deleteExpiredBackupsForCustomer(Customer customer, List<Backup> expiredBackups) {
     Map<UUID, List<Backup>> expiredBackupsPerSchedule = new HashMap<>();
     List<Backup> backupsToDelete = new ArrayList<>();
@@ -0,0 +1,5 @@
+-- Copyright (c) YugaByte, Inc.
+
+CREATE INDEX IF NOT EXISTS audit_customer_uuid_id_idx ON audit (customer_uuid, id);
+CREATE INDEX IF NOT EXISTS audit_customer_uuid_timestamp_idx ON audit (customer_uuid, timestamp);
+CREATE INDEX IF NOT EXISTS audit_user_uuid_id_idx ON audit (user_uuid, id);
@@ -0,0 +1,21 @@
+-- Copyright (c) YugaByte, Inc.
+
+create table if not exists health_check_node_result (
+  uuid                          uuid primary key,
+  universe_uuid                 uuid not null,
+  check_time                    timestamp not null,
+  idx                           integer not null,
+  node                          varchar(255),
+  node_name                     varchar(255),
+  process                       varchar(255),
+  message                       TEXT,
+  has_error                     boolean,
+  has_warning                   boolean,
+  timestamp                     timestamp,
+  details                       TEXT,
+  constraint fk_health_check_node_result_check foreign key (universe_uuid, check_time)
+    references health_check (universe_uuid, check_time) on delete cascade on update cascade
+);
+
+create index if not exists ix_health_check_node_result_check
+  on health_check_node_result (universe_uuid, check_time, idx);
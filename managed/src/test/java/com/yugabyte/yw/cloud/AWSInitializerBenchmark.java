@@ -0,0 +1,160 @@
+// Copyright (c) YugaByte, Inc.
+
+package com.yugabyte.yw.cloud;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.yugabyte.yw.common.FakeDBApplication;
+import com.yugabyte.yw.common.ModelFactory;
+import com.yugabyte.yw.models.Customer;
+import com.yugabyte.yw.models.Provider;
+import com.yugabyte.yw.models.Region;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryPoolMXBean;
+import java.lang.management.MemoryType;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import org.apache.commons.compress.archivers.tar.TarArchiveEntry;
+import org.apache.commons.compress.archivers.tar.TarArchiveInputStream;
+import org.apache.commons.compress.compressors.gzip.GzipCompressorInputStream;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import play.Application;
+import play.libs.Json;
+import play.test.Helpers;
+
+/**
+ * Importing the bundled aws_pricing archives of all the regions. "streaming" and "tree" only parse
+ * the files, the first the way AWSInitializer does and the second into a whole JsonNode tree per
+ * region, as it did before. "initialize" is the whole import of a provider with all the regions
+ * into the in-memory test DB. The peak heap usage of each iteration is printed after it, the
+ * allocations are reported by the gc profiler. Run with:
+ *
+ * <pre>
+ * sbt "Test/runMain org.openjdk.jmh.Main AWSInitializerBenchmark -prof gc"
+ * </pre>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class AWSInitializerBenchmark {
+
+  private Application app;
+  private AWSInitializer awsInitializer;
+  private Customer customer;
+  private Provider provider;
+  private List<String> regionCodes;
+
+  @Setup(Level.Trial)
+  public void setUp() throws Exception {
+    File pricingDir = new File(getClass().getClassLoader().getResource("aws_pricing").toURI());
+    regionCodes =
+        Arrays.stream(pricingDir.list())
+            .map(fileName -> fileName.replace(".tar.gz", ""))
+            .sorted()
+            .collect(Collectors.toList());
+
+    app = new FakeDBApplication().provideApplication();
+    Helpers.start(app);
+    awsInitializer = app.injector().instanceOf(AWSInitializer.class);
+    customer = ModelFactory.testCustomer();
+    provider = ModelFactory.awsProvider(customer);
+    for (String regionCode : regionCodes) {
+      // Products are matched to the region by its name.
+      String regionName;
+      try (InputStream pricingStream = openPricingFile(regionCode)) {
+        regionName =
+            AWSInitializer.parseRegionPricing(pricingStream)
+                .products
+                .stream()
+                .map(productAttrs -> productAttrs.get("location"))
+                .findFirst()
+                .orElse(regionCode);
+      }
+      Region.create(provider, regionCode, regionName, "yb-image-1");
+    }
+  }
+
+  @TearDown(Level.Trial)
+  public void tearDown() {
+    Helpers.stop(app);
+  }
+
+  @Setup(Level.Iteration)
+  public void resetPeakHeap() {
+    heapPools().forEach(MemoryPoolMXBean::resetPeakUsage);
+  }
+
+  @TearDown(Level.Iteration)
+  public void printPeakHeap() {
+    long peakBytes = heapPools().stream().mapToLong(pool -> pool.getPeakUsage().getUsed()).sum();
+    System.out.println("Peak heap: " + (peakBytes >> 20) + " MB");
+  }
+
+  private static List<MemoryPoolMXBean> heapPools() {
+    return ManagementFactory.getMemoryPoolMXBeans()
+        .stream()
+        .filter(pool -> pool.getType() == MemoryType.HEAP)
+        .collect(Collectors.toList());
+  }
+
+  private InputStream openPricingFile(String regionCode) throws IOException {
+    InputStream pricingStream =
+        getClass().getClassLoader().getResourceAsStream("aws_pricing/" + regionCode + ".tar.gz");
+    TarArchiveInputStream regionStream =
+        new TarArchiveInputStream(new GzipCompressorInputStream(pricingStream));
+    TarArchiveEntry currentEntry;
+    while ((currentEntry = regionStream.getNextTarEntry()) != null) {
+      if (currentEntry.getName().equals(regionCode)) {
+        return regionStream;
+      }
+    }
+    regionStream.close();
+    throw new IOException("No pricing file for region " + regionCode);
+  }
+
+  @Benchmark
+  public int streaming() throws IOException {
+    int numProducts = 0;
+    for (String regionCode : regionCodes) {
+      try (InputStream pricingStream = openPricingFile(regionCode)) {
+        numProducts += AWSInitializer.parseRegionPricing(pricingStream).products.size();
+      }
+    }
+    return numProducts;
+  }
+
+  @Benchmark
+  public int tree() throws IOException {
+    ObjectMapper mapper = Json.mapper();
+    int numProducts = 0;
+    for (String regionCode : regionCodes) {
+      try (InputStream pricingStream = openPricingFile(regionCode)) {
+        numProducts += mapper.readTree(pricingStream).get("products").size();
+      }
+    }
+    return numProducts;
+  }
+
+  @Benchmark
+  public void initialize() {
+    awsInitializer.initialize(customer.uuid, provider.uuid);
+  }
+}
@@ -0,0 +1,108 @@
+// Copyright (c) YugaByte, Inc.
+
+package com.yugabyte.yw.cloud;
+
+import static com.yugabyte.yw.cloud.PublicCloudConstants.GP2_SIZE;
+import static com.yugabyte.yw.cloud.PublicCloudConstants.GP3_PIOPS;
+import static com.yugabyte.yw.cloud.PublicCloudConstants.GP3_SIZE;
+import static com.yugabyte.yw.cloud.PublicCloudConstants.GP3_THROUGHPUT;
+import static com.yugabyte.yw.cloud.PublicCloudConstants.IO1_PIOPS;
+import static com.yugabyte.yw.cloud.PublicCloudConstants.IO1_SIZE;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertTrue;
+
+import com.google.common.collect.ImmutableList;
+import com.yugabyte.yw.cloud.AWSInitializer.RegionPricing;
+import com.yugabyte.yw.common.FakeDBApplication;
+import com.yugabyte.yw.common.ModelFactory;
+import com.yugabyte.yw.models.Customer;
+import com.yugabyte.yw.models.InstanceType;
+import com.yugabyte.yw.models.PriceComponent;
+import com.yugabyte.yw.models.PriceComponent.PriceDetails;
+import com.yugabyte.yw.models.Provider;
+import com.yugabyte.yw.models.Region;
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import org.junit.Before;
+import org.junit.Test;
+
+public class AWSInitializerTest extends FakeDBApplication {
+
+  private Customer customer;
+  private Provider provider;
+  private AWSInitializer awsInitializer;
+
+  @Before
+  public void setUp() {
+    customer = ModelFactory.testCustomer();
+    provider = ModelFactory.awsProvider(customer);
+    Region.create(provider, "us-west-2", "US West (Oregon)", "yb-image-1");
+    Region.create(provider, "us-east-1", "US East (N. Virginia)", "yb-image-1");
+    awsInitializer = app.injector().instanceOf(AWSInitializer.class);
+  }
+
+  @Test
+  public void testInitialize() {
+    awsInitializer.initialize(customer.uuid, provider.uuid);
+
+    for (String regionCode : ImmutableList.of("us-west-2", "us-east-1")) {
+      PriceComponent instancePrice = PriceComponent.get(provider.uuid, regionCode, "c5.large");
+      assertNotNull(instancePrice);
+      assertEquals(PriceDetails.Unit.Hours, instancePrice.priceDetails.unit);
+      assertTrue(instancePrice.priceDetails.pricePerHour > 0.0);
+      for (String ebsComponent :
+          ImmutableList.of(IO1_SIZE, IO1_PIOPS, GP2_SIZE, GP3_SIZE, GP3_PIOPS, GP3_THROUGHPUT)) {
+        assertNotNull(ebsComponent, PriceComponent.get(provider.uuid, regionCode, ebsComponent));
+      }
+    }
+    PriceDetails io1Size = PriceComponent.get(provider.uuid, "us-west-2", IO1_SIZE).priceDetails;
+    assertEquals(PriceDetails.Unit.GBMonth, io1Size.unit);
+    assertEquals(io1Size.pricePerMonth, io1Size.pricePerUnit, 0.0);
+
+    InstanceType instanceType = InstanceType.get(provider.uuid, "c5.large");
+    assertEquals(2.0, instanceType.numCores, 0.0);
+    assertEquals(4.0, instanceType.memSizeGB, 0.0);
+
+    // Initializing again updates the same rows.
+    int numPriceComponents = PriceComponent.findByProvider(provider).size();
+    awsInitializer.initialize(customer.uuid, provider.uuid);
+    assertEquals(numPriceComponents, PriceComponent.findByProvider(provider).size());
+  }
+
+  @Test
+  public void testParseRegionPricing() throws Exception {
+    String pricingJson =
+        "{\"formatVersion\": \"v1.0\","
+            + " \"products\": {"
+            + "  \"SKU1\": {\"sku\": \"SKU1\", \"productFamily\": \"Compute Instance\","
+            + "   \"attributes\": {\"instanceType\": \"c5.large\", \"vcpu\": \"2\"}},"
+            + "  \"SKU2\": {\"sku\": \"SKU2\", \"productFamily\": \"Data Transfer\","
+            + "   \"attributes\": {\"transferType\": \"IntraRegion\"}}},"
+            + " \"terms\": {"
+            + "  \"Reserved\": {\"SKU1\": {}},"
+            + "  \"OnDemand\": {"
+            + "   \"SKU1\": {"
+            + "    \"SKU1.T1\": {\"effectiveDate\": \"2022-01-01T00:00:00Z\","
+            + "     \"priceDimensions\": {\"SKU1.T1.D1\": {\"unit\": \"Hrs\","
+            + "      \"description\": \"first\", \"pricePerUnit\": {\"USD\": \"0.085\"}}}},"
+            + "    \"SKU1.T2\": {\"effectiveDate\": \"2022-02-01T00:00:00Z\","
+            + "     \"priceDimensions\": {\"SKU1.T2.D1\": {\"unit\": \"Hrs\","
+            + "      \"description\": \"second\", \"pricePerUnit\": {\"USD\": \"1.0\"}}}}},"
+            + "   \"SKU2\": {}}}}";
+    RegionPricing pricing =
+        AWSInitializer.parseRegionPricing(
+            new ByteArrayInputStream(pricingJson.getBytes(StandardCharsets.UTF_8)));
+
+    assertEquals(1, pricing.products.size());
+    assertEquals("SKU1", pricing.products.get(0).get("sku"));
+    assertEquals("c5.large", pricing.products.get(0).get("instanceType"));
+    assertEquals(1, pricing.onDemandPrices.size());
+    AWSInitializer.OnDemandPrice price = pricing.onDemandPrices.get("SKU1");
+    assertEquals("USD", price.currency);
+    assertEquals("0.085", price.pricePerUnit);
+    assertEquals("HRS", price.unit);
+    assertEquals("first", price.description);
+    assertEquals("2022-01-01T00:00:00Z", price.effectiveDate);
+  }
+}
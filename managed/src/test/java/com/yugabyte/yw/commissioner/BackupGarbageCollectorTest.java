@@ -13,6 +13,10 @@ import static play.mvc.Http.Status.BAD_REQUEST;
 
 import akka.actor.ActorSystem;
 import akka.actor.Scheduler;
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableMap;
+import com.google.common.util.concurrent.MoreExecutors;
+import com.typesafe.config.ConfigFactory;
 import com.yugabyte.yw.common.AWSUtil;
 import com.yugabyte.yw.common.GCPUtil;
 import com.yugabyte.yw.common.AZUtil;
@@ -31,7 +35,15 @@ import com.yugabyte.yw.models.Universe;
 import com.yugabyte.yw.models.Backup.BackupState;
 import com.yugabyte.yw.models.CustomerConfig.ConfigState;
 import com.yugabyte.yw.common.config.RuntimeConfigFactory;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
 import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
 import org.junit.After;
 import org.junit.Before;
 import org.junit.Test;
@@ -76,6 +88,7 @@ public class BackupGarbageCollectorTest extends FakeDBApplication {
     mockGCPUtil = Mockito.mockStatic(GCPUtil.class);
     mockAZUtil = Mockito.mockStatic(AZUtil.class);
     mockBackupUtil = mock(BackupUtil.class);
+    when(mockRuntimeConfigFactory.staticApplicationConf()).thenReturn(app.config());
     backupGC =
         new BackupGarbageCollector(
             mockExecutionContext,
@@ -83,7 +96,13 @@ public class BackupGarbageCollectorTest extends FakeDBApplication {
             customerConfigService,
             mockRuntimeConfigFactory,
             tableManagerYb,
-            mockBackupUtil);
+            mockBackupUtil) {
+          // Static mocks only apply to the test thread.
+          @Override
+          ExecutorService newExecutor(String nameFormat, int threads) {
+            return MoreExecutors.newDirectExecutorService();
+          }
+        };
   }
 
   @After
@@ -284,4 +303,80 @@ public class BackupGarbageCollectorTest extends FakeDBApplication {
     backup.refresh();
     assertEquals(BackupState.FailedToDelete, backup.state);
   }
+
+  @Test
+  public void testResumeInterruptedBackupDeletion() {
+    CustomerConfig customerConfig = ModelFactory.createS3StorageConfig(defaultCustomer, "TEST12");
+    BackupTableParams bp = new BackupTableParams();
+    bp.storageConfigUUID = customerConfig.configUUID;
+    bp.universeUUID = UUID.randomUUID();
+    Backup backup = Backup.create(defaultCustomer.uuid, bp);
+    backup.transitionState(BackupState.QueuedForDeletion);
+    // As left behind by a restart in the middle of the deletion.
+    backup.transitionState(BackupState.DeleteInProgress);
+    backupGC.scheduleRunner();
+    mockAWSUtil.verify(() -> AWSUtil.deleteStorage(any(), any(), any()));
+    assertThrows(
+        PlatformServiceException.class,
+        () -> Backup.getOrBadRequest(defaultCustomer.uuid, backup.backupUUID));
+  }
+
+  @Test
+  public void testDeleteBackupsInParallelWithStorageConfigLimit() throws Exception {
+    when(mockRuntimeConfigFactory.staticApplicationConf())
+        .thenReturn(
+            ConfigFactory.parseMap(
+                    ImmutableMap.of(
+                        "yb.backupGC.parallelism", 4, "yb.backupGC.storage_config_parallelism", 2))
+                .withFallback(app.config()));
+    BackupGarbageCollector parallelBackupGC =
+        new BackupGarbageCollector(
+            mockExecutionContext,
+            mockActorSystem,
+            customerConfigService,
+            mockRuntimeConfigFactory,
+            tableManagerYb,
+            mockBackupUtil);
+    List<Backup> backups = new ArrayList<>();
+    for (String configName : ImmutableList.of("TEST13", "TEST14")) {
+      CustomerConfig customerConfig =
+          ModelFactory.createNfsStorageConfig(defaultCustomer, configName);
+      for (int i = 0; i < 4; i++) {
+        BackupTableParams bp = new BackupTableParams();
+        bp.storageConfigUUID = customerConfig.configUUID;
+        bp.universeUUID = defaultUniverse.universeUUID;
+        Backup backup = Backup.create(defaultCustomer.uuid, bp);
+        backup.transitionState(BackupState.QueuedForDeletion);
+        backups.add(backup);
+      }
+    }
+    // Both storage configs get 2 workers, so the first 4 deletes all run at the same time.
+    CountDownLatch allRunning = new CountDownLatch(4);
+    Map<UUID, AtomicInteger> runningByConfig = new ConcurrentHashMap<>();
+    AtomicInteger maxRunningByConfig = new AtomicInteger();
+    ShellResponse shellResponse = new ShellResponse();
+    shellResponse.message = "{\"success\": true}";
+    shellResponse.code = 0;
+    when(mockTableManagerYb.deleteBackup(any()))
+        .thenAnswer(
+            invocation -> {
+              BackupTableParams params = invocation.getArgument(0);
+              AtomicInteger running =
+                  runningByConfig.computeIfAbsent(
+                      params.storageConfigUUID, k -> new AtomicInteger());
+              maxRunningByConfig.accumulateAndGet(running.incrementAndGet(), Math::max);
+              allRunning.countDown();
+              allRunning.await(10, TimeUnit.SECONDS);
+              running.decrementAndGet();
+              return shellResponse;
+            });
+    parallelBackupGC.scheduleRunner();
+    assertEquals(0, allRunning.getCount());
+    assertEquals(2, maxRunningByConfig.get());
+    for (Backup backup : backups) {
+      assertThrows(
+          PlatformServiceException.class,
+          () -> Backup.getOrBadRequest(defaultCustomer.uuid, backup.backupUUID));
+    }
+  }
 }
@@ -5,10 +5,14 @@ import static com.yugabyte.yw.commissioner.TaskGarbageCollector.CUSTOMER_UUID_LA
 import static com.yugabyte.yw.commissioner.TaskGarbageCollector.NUM_TASK_GC_ERRORS;
 import static com.yugabyte.yw.commissioner.TaskGarbageCollector.NUM_TASK_GC_RUNS;
 import static com.yugabyte.yw.commissioner.TaskGarbageCollector.TASK_INFO_METRIC_NAME;
+import static com.yugabyte.yw.commissioner.TaskGarbageCollector.YB_TASK_GC_DELETE_CHUNK_PAUSE;
+import static com.yugabyte.yw.commissioner.TaskGarbageCollector.YB_TASK_GC_DELETE_CHUNK_SIZE;
 import static com.yugabyte.yw.commissioner.TaskGarbageCollector.YB_TASK_GC_GC_CHECK_INTERVAL;
 import static io.prometheus.client.CollectorRegistry.defaultRegistry;
+import static org.junit.Assert.assertEquals;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.eq;
+import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.verifyZeroInteractions;
@@ -17,22 +21,23 @@ import static org.mockito.Mockito.when;
 import akka.actor.ActorSystem;
 import akka.actor.Scheduler;
 import com.typesafe.config.Config;
+import com.yugabyte.yw.common.FakeDBApplication;
+import com.yugabyte.yw.common.ModelFactory;
 import com.yugabyte.yw.common.config.RuntimeConfigFactory;
 import com.yugabyte.yw.models.Customer;
 import com.yugabyte.yw.models.CustomerTask;
+import com.yugabyte.yw.models.TaskInfo;
+import com.yugabyte.yw.models.helpers.TaskType;
+import io.ebean.Ebean;
+import io.ebean.Transaction;
 import java.time.Duration;
-import java.util.Collections;
 import java.util.UUID;
-import junit.framework.TestCase;
 import org.junit.Before;
 import org.junit.Test;
-import org.junit.runner.RunWith;
-import org.mockito.Mock;
-import org.mockito.junit.MockitoJUnitRunner;
+import play.libs.Json;
 import scala.concurrent.ExecutionContext;
 
-@RunWith(MockitoJUnitRunner.class)
-public class TaskGarbageCollectorTest extends TestCase {
+public class TaskGarbageCollectorTest extends FakeDBApplication {
 
   private void checkCounters(
       UUID customerUuid,
@@ -58,79 +63,145 @@ public class TaskGarbageCollectorTest extends TestCase {
             new String[] {customerUuid.toString()}));
   }
 
-  @Mock ActorSystem mockActorSystem;
+  private ActorSystem mockActorSystem;
 
-  @Mock Scheduler mockScheduler;
+  private Scheduler mockScheduler;
 
-  @Mock Config mockAppConfig;
+  private ExecutionContext mockExecutionContext;
 
-  @Mock RuntimeConfigFactory mockRuntimeConfigFactory;
+  private Customer customer;
 
-  @Mock ExecutionContext mockExecutionContext;
-
-  @Mock Customer mockCustomer;
-
-  @Mock CustomerTask mockCustomerTask;
+  private RuntimeConfigFactory runtimeConfigFactory;
 
   private TaskGarbageCollector taskGarbageCollector;
 
   @Before
   public void setUp() {
-    when(mockRuntimeConfigFactory.staticApplicationConf()).thenReturn(mockAppConfig);
+    mockActorSystem = mock(ActorSystem.class);
+    mockScheduler = mock(Scheduler.class);
+    mockExecutionContext = mock(ExecutionContext.class);
     when(mockActorSystem.scheduler()).thenReturn(mockScheduler);
+    customer = ModelFactory.testCustomer();
+    runtimeConfigFactory = app.injector().instanceOf(RuntimeConfigFactory.class);
     taskGarbageCollector =
-        new TaskGarbageCollector(mockActorSystem, mockRuntimeConfigFactory, mockExecutionContext);
+        new TaskGarbageCollector(mockActorSystem, runtimeConfigFactory, mockExecutionContext);
     defaultRegistry.clear();
     TaskGarbageCollector.registerMetrics();
   }
 
+  private TaskGarbageCollector newTaskGarbageCollector(Duration gcInterval) {
+    Config mockAppConfig = mock(Config.class);
+    RuntimeConfigFactory mockRuntimeConfigFactory = mock(RuntimeConfigFactory.class);
+    when(mockRuntimeConfigFactory.staticApplicationConf()).thenReturn(mockAppConfig);
+    when(mockAppConfig.getDuration(YB_TASK_GC_GC_CHECK_INTERVAL)).thenReturn(gcInterval);
+    return new TaskGarbageCollector(
+        mockActorSystem, mockRuntimeConfigFactory, mockExecutionContext);
+  }
+
+  private TaskInfo createTaskInfo(UUID parentUuid, TaskInfo.State state) {
+    TaskInfo taskInfo = new TaskInfo(TaskType.CreateUniverse);
+    taskInfo.setTaskUUID(UUID.randomUUID());
+    taskInfo.setTaskDetails(Json.newObject());
+    taskInfo.setOwner("");
+    taskInfo.setTaskState(state);
+    if (parentUuid != null) {
+      taskInfo.setParentUuid(parentUuid);
+    }
+    taskInfo.save();
+    return taskInfo;
+  }
+
+  // A completed customer task with a task_info tree of the root and 2 subtasks.
+  private void createCompletedTask(TaskInfo.State rootState, TaskInfo.State subTaskState) {
+    TaskInfo root = createTaskInfo(null, rootState);
+    createTaskInfo(root.getTaskUUID(), subTaskState);
+    createTaskInfo(root.getTaskUUID(), TaskInfo.State.Success);
+    CustomerTask.create(
+            customer,
+            UUID.randomUUID(),
+            root.getTaskUUID(),
+            CustomerTask.TargetType.Universe,
+            CustomerTask.TaskType.Create,
+            "Foo")
+        .markAsCompleted();
+  }
+
   @Test
   public void testStart_disabled() {
-    when(mockAppConfig.getDuration(YB_TASK_GC_GC_CHECK_INTERVAL)).thenReturn(Duration.ZERO);
-    taskGarbageCollector.start();
+    newTaskGarbageCollector(Duration.ZERO).start();
     verifyZeroInteractions(mockScheduler);
   }
 
   @Test
   public void testStart_enabled() {
-    when(mockAppConfig.getDuration(YB_TASK_GC_GC_CHECK_INTERVAL)).thenReturn(Duration.ofDays(1));
-    taskGarbageCollector.start();
+    newTaskGarbageCollector(Duration.ofDays(1)).start();
     verify(mockScheduler, times(1))
         .schedule(eq(Duration.ZERO), eq(Duration.ofDays(1)), any(), eq(mockExecutionContext));
   }
 
   @Test
   public void testPurge_noneStale() {
-    UUID customerUuid = UUID.randomUUID();
+    createCompletedTask(TaskInfo.State.Success, TaskInfo.State.Success);
 
-    taskGarbageCollector.purgeStaleTasks(mockCustomer, Collections.emptyList());
+    taskGarbageCollector.purgeStaleTasks(customer, Duration.ofDays(1));
 
-    checkCounters(customerUuid, 1.0, 0.0, null, null);
+    checkCounters(customer.uuid, 1.0, 0.0, null, null);
+    assertEquals(1, CustomerTask.find.all().size());
   }
 
   @Test
   public void testPurge() {
-    UUID customerUuid = UUID.randomUUID();
-    when(mockCustomer.getUuid()).thenReturn(customerUuid);
-    // Pretend we deleted 5 rows in all:
-    when(mockCustomerTask.cascadeDeleteCompleted()).thenReturn(5);
+    createCompletedTask(TaskInfo.State.Success, TaskInfo.State.Success);
 
-    taskGarbageCollector.purgeStaleTasks(mockCustomer, Collections.singletonList(mockCustomerTask));
+    taskGarbageCollector.purgeStaleTasks(customer, Duration.ZERO);
 
-    checkCounters(customerUuid, 1.0, 0.0, 1.0, 4.0);
+    checkCounters(customer.uuid, 1.0, 0.0, 1.0, 3.0);
+    assertEquals(0, CustomerTask.find.all().size());
+    assertEquals(0, TaskInfo.find.all().size());
   }
 
   // Test that if we do not delete when there are referential integrity issues; then we report such
   // error in counter.
   @Test
   public void testPurge_invalidData() {
-    UUID customerUuid = UUID.randomUUID();
-    // Pretend we deleted 5 rows in all:
-    when(mockCustomerTask.cascadeDeleteCompleted()).thenReturn(0);
+    // Successful task with an incomplete subtask.
+    createCompletedTask(TaskInfo.State.Success, TaskInfo.State.Running);
 
-    taskGarbageCollector.purgeStaleTasks(mockCustomer, Collections.singletonList(mockCustomerTask));
+    taskGarbageCollector.purgeStaleTasks(customer, Duration.ZERO);
 
-    checkCounters(customerUuid, 1.0, 1.0, null, null);
+    checkCounters(customer.uuid, 1.0, 1.0, null, null);
+    assertEquals(1, CustomerTask.find.all().size());
+    assertEquals(3, TaskInfo.find.all().size());
+  }
+
+  @Test
+  public void testPurge_largeHistory() {
+    runtimeConfigFactory.globalRuntimeConf().setValue(YB_TASK_GC_DELETE_CHUNK_SIZE, "100");
+    runtimeConfigFactory.globalRuntimeConf().setValue(YB_TASK_GC_DELETE_CHUNK_PAUSE, "0s");
+    try (Transaction transaction = Ebean.beginTransaction()) {
+      for (int i = 0; i < 2000; i++) {
+        if (i % 100 == 50) {
+          // Spread among the chunks, which still have to be deleted around them.
+          createCompletedTask(TaskInfo.State.Running, TaskInfo.State.Success);
+        } else if (i % 2 == 0) {
+          createCompletedTask(TaskInfo.State.Success, TaskInfo.State.Success);
+        } else {
+          // Failed tasks are deleted even with incomplete subtasks.
+          createCompletedTask(TaskInfo.State.Failure, TaskInfo.State.Running);
+        }
+      }
+      transaction.commit();
+    }
+
+    taskGarbageCollector.purgeStaleTasks(customer, Duration.ZERO);
+
+    checkCounters(customer.uuid, 1.0, 20.0, 1980.0, 1980.0 * 3);
+    assertEquals(20, CustomerTask.find.all().size());
+    assertEquals(60, TaskInfo.find.all().size());
+
+    // The skipped tasks are checked again by the next run.
+    taskGarbageCollector.purgeStaleTasks(customer, Duration.ZERO);
+    checkCounters(customer.uuid, 2.0, 40.0, 1980.0, 1980.0 * 3);
   }
 
   private String getTotalCounterName(String name) {
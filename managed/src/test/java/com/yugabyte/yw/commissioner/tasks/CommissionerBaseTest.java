@@ -18,6 +18,7 @@ import com.yugabyte.yw.commissioner.TaskExecutor;
 import com.yugabyte.yw.common.AccessManager;
 import com.yugabyte.yw.common.ApiHelper;
 import com.yugabyte.yw.common.CloudQueryHelper;
+import com.yugabyte.yw.common.ClusterConfigCache;
 import com.yugabyte.yw.common.ConfigHelper;
 import com.yugabyte.yw.common.DnsManager;
 import com.yugabyte.yw.common.ShellKubernetesManager;
@@ -28,6 +29,7 @@ import com.yugabyte.yw.common.NodeUniverseManager;
 import com.yugabyte.yw.common.PlatformExecutorFactory;
 import com.yugabyte.yw.common.PlatformGuiceApplicationBaseTest;
 import com.yugabyte.yw.common.SwamperHelper;
+import com.yugabyte.yw.common.TableCatalogCache;
 import com.yugabyte.yw.common.TableManager;
 import com.yugabyte.yw.common.TableManagerYb;
 import com.yugabyte.yw.common.YcqlQueryExecutor;
@@ -115,6 +117,10 @@ public abstract class CommissionerBaseTest extends PlatformGuiceApplicationBaseT
     when(mockBaseTaskDependencies.getEnvironment())
         .thenReturn(app.injector().instanceOf(Environment.class));
     when(mockBaseTaskDependencies.getYbService()).thenReturn(mockYBClient);
+    when(mockBaseTaskDependencies.getClusterConfigCache())
+        .thenReturn(app.injector().instanceOf(ClusterConfigCache.class));
+    when(mockBaseTaskDependencies.getTableCatalogCache())
+        .thenReturn(app.injector().instanceOf(TableCatalogCache.class));
     when(mockBaseTaskDependencies.getTableManager()).thenReturn(mockTableManager);
     when(mockBaseTaskDependencies.getTableManagerYb()).thenReturn(mockTableManagerYb);
     when(mockBaseTaskDependencies.getMetricService()).thenReturn(metricService);
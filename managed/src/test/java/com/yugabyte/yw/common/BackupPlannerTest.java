@@ -0,0 +1,216 @@
+// Copyright (c) YugaByte, Inc.
+
+package com.yugabyte.yw.common;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+import static org.mockito.Mockito.mock;
+
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableMap;
+import com.typesafe.config.Config;
+import com.typesafe.config.ConfigFactory;
+import com.yugabyte.yw.forms.BackupTableParams;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.Before;
+import org.junit.Test;
+import org.yb.CommonTypes.TableType;
+import play.inject.ApplicationLifecycle;
+
+public class BackupPlannerTest {
+
+  private static final UUID UNIVERSE_UUID = UUID.randomUUID();
+  private static final UUID STORAGE_CONFIG_UUID = UUID.randomUUID();
+
+  private BackupPlanner planner;
+
+  @Before
+  public void setUp() {
+    Config config =
+        ConfigFactory.parseMap(
+            ImmutableMap.<String, Object>builder()
+                .put(BackupPlanner.NODE_PARALLELISM, 3)
+                .put(BackupPlanner.STORAGE_CONFIG_PARALLELISM, 4)
+                .put("yb.backup.core_threads", 1)
+                .put("yb.backup.max_threads", 200)
+                .put("yb.backup.thread_ttl", "1 minute")
+                .put("yb.backup.queue_capacity", 1000)
+                .build());
+    planner =
+        new BackupPlanner(
+            config, new PlatformExecutorFactory(config, mock(ApplicationLifecycle.class)));
+  }
+
+  private static BackupTableParams params(UUID universeUUID, String keyspace, String table) {
+    BackupTableParams params = new BackupTableParams();
+    params.universeUUID = universeUUID;
+    params.storageConfigUUID = STORAGE_CONFIG_UUID;
+    params.backupType = TableType.YQL_TABLE_TYPE;
+    params.setKeyspace(keyspace);
+    if (table != null) {
+      params.setTableName(table);
+      params.tableUUID = UUID.randomUUID();
+    }
+    return params;
+  }
+
+  @Test
+  public void testGroupByKeyspace() {
+    List<BackupTableParams> grouped =
+        BackupPlanner.groupByKeyspace(
+            ImmutableList.of(
+                params(UNIVERSE_UUID, "ks1", "t1"),
+                params(UNIVERSE_UUID, "ks2", "t2"),
+                params(UNIVERSE_UUID, "ks1", "t3"),
+                params(UNIVERSE_UUID, "ks3", null)));
+    assertEquals(3, grouped.size());
+    assertEquals("ks1", grouped.get(0).getKeyspace());
+    assertEquals(ImmutableList.of("t1", "t3"), grouped.get(0).tableNameList);
+    assertEquals(2, grouped.get(0).tableUUIDList.size());
+    assertNull(grouped.get(0).tableUUID);
+    assertEquals("t2", grouped.get(1).getTableName());
+    assertNull(grouped.get(1).tableNameList);
+    assertEquals("ks3", grouped.get(2).getKeyspace());
+  }
+
+  @Test
+  public void testRunAllWithinNodeLimit() {
+    List<BackupTableParams> backupList = new ArrayList<>();
+    for (int i = 0; i < 20; i++) {
+      backupList.add(params(UNIVERSE_UUID, "ks" + i, null));
+    }
+    AtomicInteger running = new AtomicInteger();
+    AtomicInteger maxRunning = new AtomicInteger();
+    Map<Integer, Long> completed = new ConcurrentHashMap<>();
+    long totalSize =
+        planner.runAll(
+            backupList,
+            params -> {
+              maxRunning.accumulateAndGet(running.incrementAndGet(), Math::max);
+              sleep(10);
+              running.decrementAndGet();
+              return 100;
+            },
+            completed::put);
+    assertEquals(2000, totalSize);
+    assertEquals(20, completed.size());
+    assertTrue(maxRunning.get() <= 3);
+  }
+
+  @Test
+  public void testStorageConfigLimitAcrossUniverses() throws Exception {
+    ExecutorService executor = Executors.newFixedThreadPool(4);
+    AtomicInteger running = new AtomicInteger();
+    AtomicInteger maxRunning = new AtomicInteger();
+    List<Future<Long>> results = new ArrayList<>();
+    // 4 universes running up to 3 backups each, all to the same storage config.
+    for (int u = 0; u < 4; u++) {
+      List<BackupTableParams> backupList = new ArrayList<>();
+      UUID universeUUID = UUID.randomUUID();
+      for (int i = 0; i < 6; i++) {
+        backupList.add(params(universeUUID, "ks" + i, null));
+      }
+      results.add(
+          executor.submit(
+              () ->
+                  planner.runAll(
+                      backupList,
+                      params -> {
+                        maxRunning.accumulateAndGet(running.incrementAndGet(), Math::max);
+                        sleep(10);
+                        running.decrementAndGet();
+                        return 1;
+                      },
+                      (idx, size) -> {})));
+    }
+    for (Future<Long> result : results) {
+      assertEquals(6L, (long) result.get(30, TimeUnit.SECONDS));
+    }
+    executor.shutdown();
+    assertTrue(maxRunning.get() <= 4);
+  }
+
+  @Test
+  public void testUniversesRunConcurrently() throws Exception {
+    int numUniverses = 4;
+    ExecutorService executor = Executors.newFixedThreadPool(numUniverses);
+    // Every universe uses its whole node limit, the runs only complete if they all run at once.
+    CountDownLatch allRunning = new CountDownLatch(numUniverses * 3);
+    List<Future<Long>> results = new ArrayList<>();
+    for (int u = 0; u < numUniverses; u++) {
+      List<BackupTableParams> backupList = new ArrayList<>();
+      UUID universeUUID = UUID.randomUUID();
+      for (int i = 0; i < 3; i++) {
+        BackupTableParams params = params(universeUUID, "ks" + i, null);
+        // Not limited by the storage config.
+        params.storageConfigUUID = null;
+        backupList.add(params);
+      }
+      results.add(
+          executor.submit(
+              () ->
+                  planner.runAll(
+                      backupList,
+                      params -> {
+                        allRunning.countDown();
+                        try {
+                          return allRunning.await(30, TimeUnit.SECONDS) ? 1 : 0;
+                        } catch (InterruptedException e) {
+                          throw new RuntimeException(e);
+                        }
+                      },
+                      (idx, size) -> {})));
+    }
+    for (Future<Long> result : results) {
+      assertEquals(3L, (long) result.get(60, TimeUnit.SECONDS));
+    }
+    executor.shutdown();
+  }
+
+  @Test
+  public void testRunAllSkipsRemainingEntriesOnFailure() {
+    List<BackupTableParams> backupList = new ArrayList<>();
+    for (int i = 0; i < 20; i++) {
+      backupList.add(params(UNIVERSE_UUID, "ks" + i, null));
+    }
+    AtomicInteger started = new AtomicInteger();
+    try {
+      planner.runAll(
+          backupList,
+          params -> {
+            started.incrementAndGet();
+            if (params.getKeyspace().equals("ks0")) {
+              throw new RuntimeException("Backup failed");
+            }
+            sleep(100);
+            return 1;
+          },
+          (idx, size) -> {});
+      fail();
+    } catch (RuntimeException e) {
+      assertEquals("Backup failed", e.getMessage());
+    }
+    // The entries started with the failing one, at most.
+    assertTrue(started.get() <= 3);
+  }
+
+  private static void sleep(long millis) {
+    try {
+      Thread.sleep(millis);
+    } catch (InterruptedException e) {
+      throw new RuntimeException(e);
+    }
+  }
+}
@@ -0,0 +1,155 @@
+// Copyright (c) YugaByte, Inc.
+
+package com.yugabyte.yw.common;
+
+import com.google.common.util.concurrent.MoreExecutors;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.NavigableSet;
+import java.util.concurrent.ConcurrentSkipListSet;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import org.apache.commons.io.FileUtils;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Deleting a backup the way the cloud storage utils do, against a local stand-in for an object
+ * store: objects are files in a temporary directory, listed in pages of 1000 keys in key order
+ * like S3 does, and every list or bulk delete request takes the given round trip time. "pipelined"
+ * lists the next page while the previous one is deleted, "sequential" is what was done before.
+ * Run with:
+ *
+ * <pre>
+ * sbt "Test/runMain org.openjdk.jmh.Main BulkDeletePipelineBenchmark"
+ * </pre>
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2)
+@Measurement(iterations = 10)
+@Fork(1)
+public class BulkDeletePipelineBenchmark {
+
+  private static final int PAGE_SIZE = 1000;
+
+  @Param({"10000"})
+  private int numObjects;
+
+  @Param({"5", "20"})
+  private int roundTripMs;
+
+  private ExecutorService deleteExecutor;
+  private LocalObjectStore store;
+
+  @Setup(Level.Trial)
+  public void setUpExecutor() {
+    deleteExecutor = Executors.newFixedThreadPool(4);
+  }
+
+  @Setup(Level.Iteration)
+  public void setUpStore() throws IOException {
+    store = new LocalObjectStore(Files.createTempDirectory("bulk-delete-benchmark"), roundTripMs);
+    for (int i = 0; i < numObjects; i++) {
+      store.put(String.format("backup/table-%03d/part-%06d.sst", i % 100, i));
+    }
+  }
+
+  @TearDown(Level.Iteration)
+  public void tearDownStore() throws IOException {
+    FileUtils.deleteDirectory(store.root.toFile());
+  }
+
+  @TearDown(Level.Trial)
+  public void tearDownExecutor() {
+    deleteExecutor.shutdownNow();
+  }
+
+  @Benchmark
+  public void pipelined() throws Exception {
+    deleteAll(deleteExecutor);
+  }
+
+  @Benchmark
+  public void sequential() throws Exception {
+    deleteAll(MoreExecutors.directExecutor());
+  }
+
+  private void deleteAll(Executor executor) throws Exception {
+    BulkDeletePipeline pipeline = new BulkDeletePipeline(executor);
+    String startAfter = "";
+    List<String> page;
+    do {
+      page = store.list("backup/", startAfter, PAGE_SIZE);
+      if (!page.isEmpty()) {
+        List<String> keys = page;
+        pipeline.submit(Collections.singletonList(() -> store.delete(keys)));
+        startAfter = page.get(page.size() - 1);
+      }
+    } while (page.size() == PAGE_SIZE);
+    pipeline.await();
+    if (!store.keys.isEmpty()) {
+      throw new IllegalStateException(store.keys.size() + " objects left");
+    }
+  }
+
+  /** Objects are files named after the escaped key, the key index is kept sorted in memory. */
+  private static class LocalObjectStore {
+    private final Path root;
+    private final int roundTripMs;
+    private final NavigableSet<String> keys = new ConcurrentSkipListSet<>();
+
+    private LocalObjectStore(Path root, int roundTripMs) {
+      this.root = root;
+      this.roundTripMs = roundTripMs;
+    }
+
+    private void put(String key) throws IOException {
+      Files.write(file(key), key.getBytes());
+      keys.add(key);
+    }
+
+    private List<String> list(String prefix, String startAfter, int maxKeys)
+        throws InterruptedException {
+      Thread.sleep(roundTripMs);
+      List<String> page = new ArrayList<>(maxKeys);
+      for (String key : keys.tailSet(startAfter, false)) {
+        if (!key.startsWith(prefix) || page.size() == maxKeys) {
+          break;
+        }
+        page.add(key);
+      }
+      return page;
+    }
+
+    private void delete(List<String> deleteKeys) throws IOException, InterruptedException {
+      Thread.sleep(roundTripMs);
+      for (String key : deleteKeys) {
+        Files.deleteIfExists(file(key));
+        keys.remove(key);
+      }
+    }
+
+    private Path file(String key) {
+      return root.resolve(key.replace('/', '_'));
+    }
+  }
+}
@@ -0,0 +1,97 @@
+// Copyright (c) YugaByte, Inc.
+
+package com.yugabyte.yw.common;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import com.google.common.collect.ImmutableList;
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+public class BulkDeletePipelineTest {
+
+  private ExecutorService executor;
+
+  @Before
+  public void setUp() {
+    executor = Executors.newFixedThreadPool(4);
+  }
+
+  @After
+  public void tearDown() {
+    executor.shutdownNow();
+  }
+
+  @Test
+  public void testSubmitDoesNotWaitForItsPage() throws Exception {
+    BulkDeletePipeline pipeline = new BulkDeletePipeline(executor);
+    CountDownLatch release = new CountDownLatch(1);
+    List<String> deleted = new CopyOnWriteArrayList<>();
+    pipeline.submit(
+        ImmutableList.of(
+            () -> {
+              release.await();
+              deleted.add("page1");
+            }));
+    // Back to listing the next page while the first one is being deleted.
+    assertTrue(deleted.isEmpty());
+    release.countDown();
+    pipeline.submit(ImmutableList.of(() -> deleted.add("page2a"), () -> deleted.add("page2b")));
+    // The first page must be done before the second one is started.
+    assertEquals("page1", deleted.get(0));
+    pipeline.await();
+    assertEquals(3, deleted.size());
+  }
+
+  @Test
+  public void testDeletesOfPageRunInParallel() throws Exception {
+    BulkDeletePipeline pipeline = new BulkDeletePipeline(executor);
+    CountDownLatch allRunning = new CountDownLatch(3);
+    BulkDeletePipeline.Delete delete =
+        () -> {
+          allRunning.countDown();
+          assertTrue(allRunning.await(10, TimeUnit.SECONDS));
+        };
+    pipeline.submit(ImmutableList.of(delete, delete, delete));
+    pipeline.await();
+    assertEquals(0, allRunning.getCount());
+  }
+
+  @Test
+  public void testFailureIsRethrown() throws Exception {
+    BulkDeletePipeline pipeline = new BulkDeletePipeline(executor);
+    IOException failure = new IOException("delete failed");
+    CountDownLatch otherDone = new CountDownLatch(1);
+    pipeline.submit(
+        ImmutableList.of(
+            () -> {
+              throw failure;
+            },
+            otherDone::countDown));
+    try {
+      pipeline.submit(ImmutableList.of(() -> fail("Must not be started after a failure")));
+      fail("Expected the failure of the previous page");
+    } catch (IOException e) {
+      assertSame(failure, e);
+    }
+    // The other deletes of the failed page are not abandoned.
+    assertEquals(0, otherDone.getCount());
+    try {
+      pipeline.await();
+      fail("Expected the failure to be rethrown");
+    } catch (IOException e) {
+      assertSame(failure, e);
+    }
+  }
+}
@@ -0,0 +1,109 @@
+// Copyright (c) YugaByte, Inc.
+
+package com.yugabyte.yw.common;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.google.common.collect.ImmutableMap;
+import com.typesafe.config.ConfigFactory;
+import java.util.UUID;
+import org.junit.Before;
+import org.junit.Test;
+import org.yb.WireProtocol.AppStatusPB;
+import org.yb.WireProtocol.AppStatusPB.ErrorCode;
+import org.yb.client.GetMasterClusterConfigResponse;
+import org.yb.client.YBClient;
+import org.yb.master.CatalogEntityInfo.SysClusterConfigEntryPB;
+import org.yb.master.MasterTypes.MasterErrorPB;
+
+public class ClusterConfigCacheTest {
+
+  private static final UUID UNIVERSE_UUID = UUID.randomUUID();
+
+  private ClusterConfigCache cache;
+  private YBClient client;
+
+  @Before
+  public void setUp() {
+    cache = newCache("1 minute");
+    client = mock(YBClient.class);
+  }
+
+  private static ClusterConfigCache newCache(String ttl) {
+    return new ClusterConfigCache(
+        ConfigFactory.parseMap(ImmutableMap.of(ClusterConfigCache.CACHE_TTL, ttl)));
+  }
+
+  private static GetMasterClusterConfigResponse response(int version) {
+    return new GetMasterClusterConfigResponse(
+        0, "", SysClusterConfigEntryPB.newBuilder().setVersion(version).build(), null);
+  }
+
+  @Test
+  public void testGetFetchesOnce() throws Exception {
+    when(client.getMasterClusterConfig()).thenReturn(response(1));
+    SysClusterConfigEntryPB config = cache.get(UNIVERSE_UUID, client);
+    assertEquals(1, config.getVersion());
+    assertSame(config, cache.get(UNIVERSE_UUID, client));
+    verify(client, times(1)).getMasterClusterConfig();
+  }
+
+  @Test
+  public void testInvalidate() throws Exception {
+    when(client.getMasterClusterConfig()).thenReturn(response(1), response(2));
+    assertEquals(1, cache.get(UNIVERSE_UUID, client).getVersion());
+    cache.invalidate(UNIVERSE_UUID, "test");
+    assertEquals(2, cache.get(UNIVERSE_UUID, client).getVersion());
+    assertEquals(2, cache.get(UNIVERSE_UUID, client).getVersion());
+    verify(client, times(2)).getMasterClusterConfig();
+  }
+
+  @Test
+  public void testRefreshKeepsHigherVersion() throws Exception {
+    when(client.getMasterClusterConfig()).thenReturn(response(2), response(3), response(1));
+    cache.refresh(UNIVERSE_UUID, client);
+    assertEquals(3, cache.refresh(UNIVERSE_UUID, client).getConfig().getVersion());
+    // An older config, like one read from a master which has not caught up, is not cached.
+    assertEquals(1, cache.refresh(UNIVERSE_UUID, client).getConfig().getVersion());
+    assertEquals(3, cache.get(UNIVERSE_UUID, client).getVersion());
+    verify(client, times(3)).getMasterClusterConfig();
+  }
+
+  @Test
+  public void testErrorIsNotCached() throws Exception {
+    MasterErrorPB error =
+        MasterErrorPB.newBuilder()
+            .setCode(MasterErrorPB.Code.UNKNOWN_ERROR)
+            .setStatus(
+                AppStatusPB.newBuilder().setMessage("error").setCode(ErrorCode.UNKNOWN_ERROR))
+            .build();
+    when(client.getMasterClusterConfig())
+        .thenReturn(
+            new GetMasterClusterConfigResponse(
+                0, "", SysClusterConfigEntryPB.getDefaultInstance(), error),
+            response(1));
+    try {
+      cache.get(UNIVERSE_UUID, client);
+      fail();
+    } catch (RuntimeException e) {
+      assertTrue(e.getMessage().startsWith("Failed to get cluster config"));
+    }
+    assertEquals(1, cache.get(UNIVERSE_UUID, client).getVersion());
+  }
+
+  @Test
+  public void testDisabled() throws Exception {
+    cache = newCache("0s");
+    when(client.getMasterClusterConfig()).thenReturn(response(1));
+    cache.get(UNIVERSE_UUID, client);
+    cache.get(UNIVERSE_UUID, client);
+    verify(client, times(2)).getMasterClusterConfig();
+  }
+}
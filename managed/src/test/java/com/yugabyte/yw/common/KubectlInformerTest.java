@@ -0,0 +1,149 @@
+// Copyright (c) YugaByte, Inc.
+
+package com.yugabyte.yw.common;
+
+import static com.yugabyte.yw.common.TestHelper.createTempFile;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableMap;
+import io.fabric8.kubernetes.api.model.Pod;
+import java.io.File;
+import java.io.IOException;
+import java.util.List;
+import java.util.Map;
+import java.util.function.BooleanSupplier;
+import java.util.stream.Collectors;
+import org.apache.commons.io.FileUtils;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import play.libs.Json;
+
+public class KubectlInformerTest {
+
+  static final String TMP_PATH = "/tmp/yugaware_tests/KubectlInformerTest";
+
+  // Prints the watch events in the file given by the env var, then waits to be stopped like a
+  // kubectl watch does.
+  static final String FAKE_KUBECTL = "#!/bin/bash\ncat \"$FAKE_KUBECTL_EVENTS\"\nexec sleep 60\n";
+
+  private KubectlInformer<Pod> informer;
+
+  @Before
+  public void setUp() {
+    new File(TMP_PATH).mkdirs();
+  }
+
+  @After
+  public void tearDown() throws IOException {
+    if (informer != null) {
+      informer.stop();
+    }
+    FileUtils.deleteDirectory(new File(TMP_PATH));
+  }
+
+  static String createFakeKubectl(String basePath) {
+    String kubectl = createTempFile(basePath, "kubectl", FAKE_KUBECTL);
+    new File(kubectl).setExecutable(true);
+    return kubectl;
+  }
+
+  static String podJson(String name, String release, long resourceVersion, String phase) {
+    return String.format(
+        "{\"apiVersion\": \"v1\", \"kind\": \"Pod\", \"metadata\": {\"name\": \"%s\","
+            + " \"resourceVersion\": \"%d\", \"labels\": {\"release\": \"%s\"}},"
+            + " \"status\": {\"phase\": \"%s\"}}",
+        name, resourceVersion, release, phase);
+  }
+
+  static String watchEvent(String type, String objectJson) {
+    return String.format("{\"type\": \"%s\", \"object\": %s}\n", type, objectJson);
+  }
+
+  static void waitFor(BooleanSupplier condition) throws InterruptedException {
+    long deadline = System.currentTimeMillis() + 10000;
+    while (!condition.getAsBoolean()) {
+      assertTrue("Timed out waiting", System.currentTimeMillis() < deadline);
+      Thread.sleep(50);
+    }
+  }
+
+  private static Pod pod(String name, long resourceVersion, String phase) {
+    return Json.fromJson(Json.parse(podJson(name, "rel", resourceVersion, phase)), Pod.class);
+  }
+
+  private Map<String, String> getPhases() {
+    List<Pod> pods = informer.list();
+    return pods == null
+        ? null
+        : pods.stream()
+            .collect(
+                Collectors.toMap(
+                    pod -> pod.getMetadata().getName(), pod -> pod.getStatus().getPhase()));
+  }
+
+  @Test
+  public void testWatch() throws Exception {
+    String events =
+        // Older than the listed pods, from before the list.
+        watchEvent("MODIFIED", podJson("yb-tserver-0", "rel", 5, "Failed"))
+            + watchEvent("DELETED", podJson("yb-tserver-1", "rel", 8, "Running"))
+            // Newer ones.
+            + watchEvent("MODIFIED", podJson("yb-tserver-0", "rel", 11, "Running"))
+            + watchEvent("DELETED", podJson("yb-master-0", "rel", 12, "Running"))
+            + watchEvent("ADDED", podJson("yb-tserver-2", "rel", 13, "Pending"));
+    String eventsFile = createTempFile(TMP_PATH, "events.json", events);
+    informer =
+        new KubectlInformer<>(
+            createFakeKubectl(TMP_PATH),
+            ImmutableMap.of("FAKE_KUBECTL_EVENTS", eventsFile),
+            null /* devopsHome */,
+            "ns",
+            "pods",
+            Pod.class,
+            () ->
+                ImmutableList.of(
+                    pod("yb-tserver-0", 10, "Pending"),
+                    pod("yb-tserver-1", 10, "Running"),
+                    pod("yb-master-0", 10, "Running")));
+    assertNull(informer.list());
+
+    informer.start(0);
+    waitFor(() -> informer.get("yb-tserver-2") != null);
+    assertEquals(
+        ImmutableMap.of(
+            "yb-tserver-0", "Running", "yb-tserver-1", "Running", "yb-tserver-2", "Pending"),
+        getPhases());
+    assertEquals("Running", informer.get("yb-tserver-0").getStatus().getPhase());
+    assertNull(informer.get("yb-master-0"));
+
+    informer.stop();
+    waitFor(() -> !informer.isRunning());
+    assertFalse(informer.isSynced());
+    assertNull(informer.list());
+  }
+
+  @Test
+  public void testListFailure() throws Exception {
+    String eventsFile = createTempFile(TMP_PATH, "events.json", "");
+    informer =
+        new KubectlInformer<>(
+            createFakeKubectl(TMP_PATH),
+            ImmutableMap.of("FAKE_KUBECTL_EVENTS", eventsFile),
+            null /* devopsHome */,
+            "ns",
+            "pods",
+            Pod.class,
+            () -> {
+              throw new RuntimeException("kubectl get failed");
+            });
+
+    informer.start(0);
+    waitFor(() -> !informer.isRunning());
+    assertNull(informer.list());
+  }
+}
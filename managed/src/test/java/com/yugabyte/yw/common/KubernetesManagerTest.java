@@ -2,11 +2,20 @@
 
 package com.yugabyte.yw.common;
 
+import static com.yugabyte.yw.common.KubectlInformerTest.createFakeKubectl;
+import static com.yugabyte.yw.common.KubectlInformerTest.podJson;
+import static com.yugabyte.yw.common.KubectlInformerTest.waitFor;
+import static com.yugabyte.yw.common.KubectlInformerTest.watchEvent;
+import static com.yugabyte.yw.common.ShellKubernetesManager.WATCH_CACHE_ENABLED;
+import static com.yugabyte.yw.common.ShellKubernetesManager.WATCH_CACHE_IDLE_TIMEOUT;
 import static com.yugabyte.yw.common.TestHelper.createTempFile;
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
 import static org.mockito.Matchers.anyList;
+import static org.mockito.Matchers.anyLong;
 import static org.mockito.Matchers.anyMap;
 import static org.mockito.Matchers.anyString;
+import static org.mockito.Matchers.eq;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.when;
 
@@ -19,7 +28,9 @@ import java.io.File;
 import java.io.IOException;
 import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
+import java.util.stream.Collectors;
 import org.apache.commons.io.FileUtils;
 import org.junit.After;
 import org.junit.Before;
@@ -403,4 +414,63 @@ public class KubernetesManagerTest extends FakeDBApplication {
     assertEquals(
         ImmutableList.of("kubectl", "get", "secret", "pull-sec", "-o", "json"), command.getValue());
   }
+
+  private List<String> getPodNames(String universePrefix, String namespace) {
+    return kubernetesManager
+        .getPodInfos(configProvider, universePrefix, namespace)
+        .stream()
+        .map(pod -> pod.getMetadata().getName())
+        .sorted()
+        .collect(Collectors.toList());
+  }
+
+  @Test
+  public void getPodInfosFromWatchCache() throws Exception {
+    when(mockAppConfig.getBoolean(WATCH_CACHE_ENABLED, false)).thenReturn(true);
+    when(mockAppConfig.getMilliseconds(eq(WATCH_CACHE_IDLE_TIMEOUT), anyLong()))
+        .thenReturn(600000L);
+    String podList =
+        String.format(
+            "{\"items\": [%s, %s]}",
+            podJson("yb-tserver-0", "demo-universe", 10, "Running"),
+            podJson("yb-tserver-0-other", "other-universe", 10, "Running"));
+    when(shellProcessHandler.run(anyList(), anyMap(), anyString()))
+        .thenReturn(ShellResponse.create(0, podList));
+    kubernetesManager.kubectl = createFakeKubectl(TMP_CHART_PATH);
+    String events =
+        watchEvent("ADDED", podJson("yb-tserver-1", "demo-universe", 11, "Pending"))
+            + watchEvent("MODIFIED", podJson("yb-tserver-1", "demo-universe", 12, "Running"));
+    configProvider.put(
+        "FAKE_KUBECTL_EVENTS", createTempFile(TMP_CHART_PATH, "events.json", events));
+
+    try {
+      // Runs kubectl until the watch is synced.
+      waitFor(
+          () ->
+              getPodNames("demo-universe", "demo-ns")
+                  .equals(ImmutableList.of("yb-tserver-0", "yb-tserver-1")));
+      Mockito.verify(shellProcessHandler, Mockito.atLeastOnce())
+          .run(command.capture(), (Map<String, String>) config.capture(), description.capture());
+      // The pods of the namespace are listed when the watch starts.
+      assertTrue(
+          command
+              .getAllValues()
+              .contains(
+                  ImmutableList.of(
+                      "kubectl", "get", "pods", "--namespace", "demo-ns", "-o", "json")));
+      int numCommands = command.getAllValues().size();
+
+      assertEquals(
+          ImmutableList.of("yb-tserver-0", "yb-tserver-1"),
+          getPodNames("demo-universe", "demo-ns"));
+      assertEquals(
+          ImmutableList.of("yb-tserver-0-other"), getPodNames("other-universe", "demo-ns"));
+      assertEquals(
+          "Running",
+          kubernetesManager.getPodStatus(configProvider, "demo-ns", "yb-tserver-1").getPhase());
+      Mockito.verify(shellProcessHandler, times(numCommands)).run(anyList(), anyMap(), anyString());
+    } finally {
+      kubernetesManager.deleteNamespace(configProvider, "demo-ns");
+    }
+  }
 }
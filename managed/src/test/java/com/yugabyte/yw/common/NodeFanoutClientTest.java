@@ -0,0 +1,110 @@
+// Copyright (c) YugaByte, Inc.
+
+package com.yugabyte.yw.common;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertSame;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.google.common.collect.ImmutableMap;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeoutException;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.Mock;
+import org.mockito.junit.MockitoJUnitRunner;
+import play.libs.Json;
+import play.libs.ws.WSClient;
+import play.libs.ws.WSRequest;
+import play.libs.ws.WSResponse;
+
+@RunWith(MockitoJUnitRunner.class)
+public class NodeFanoutClientTest {
+
+  private static final Duration TIMEOUT = Duration.ofSeconds(5);
+
+  @Mock WSClient mockClient;
+
+  private NodeFanoutClient client;
+
+  @Before
+  public void setUp() {
+    client = new NodeFanoutClient(mockClient);
+  }
+
+  private CompletableFuture<WSResponse> mockGet(String url) {
+    CompletableFuture<WSResponse> response = new CompletableFuture<>();
+    WSRequest request = mock(WSRequest.class);
+    when(mockClient.url(url)).thenReturn(request);
+    when(request.setRequestTimeout(any(Duration.class))).thenReturn(request);
+    when(request.get()).thenReturn(response);
+    return response;
+  }
+
+  private static WSResponse jsonResponse(String json) {
+    WSResponse response = mock(WSResponse.class);
+    when(response.asJson()).thenReturn(Json.parse(json));
+    return response;
+  }
+
+  @Test
+  public void testConcurrentRequestsAreCollapsed() throws Exception {
+    CompletableFuture<WSResponse> response = mockGet("http://node1:9000/rpcz");
+    CompletableFuture<JsonNode> first = client.getJson("http://node1:9000/rpcz", TIMEOUT);
+    CompletableFuture<JsonNode> second = client.getJson("http://node1:9000/rpcz", TIMEOUT);
+    assertFalse(first.isDone());
+    response.complete(jsonResponse("{\"connections\": []}"));
+    assertSame(first.get(), second.get());
+    verify(mockClient, times(1)).url("http://node1:9000/rpcz");
+
+    // Once the response is received the next request goes to the node again.
+    mockGet("http://node1:9000/rpcz").complete(jsonResponse("{}"));
+    client.getJson("http://node1:9000/rpcz", TIMEOUT).get();
+    verify(mockClient, times(2)).url("http://node1:9000/rpcz");
+  }
+
+  @Test
+  public void testPartialResultsOnTimeout() throws Exception {
+    CompletableFuture<WSResponse> node1 = mockGet("http://node1:9000/rpcz");
+    CompletableFuture<WSResponse> node2 = mockGet("http://node2:9000/rpcz");
+    CompletableFuture<List<String>> results =
+        client.getAll(
+            ImmutableMap.of("node1", "http://node1:9000/rpcz", "node2", "http://node2:9000/rpcz"),
+            TIMEOUT,
+            (node, json) -> node + ":" + json.get("count").asInt(),
+            (node, error) -> node + ":" + error.getClass().getSimpleName());
+    node2.complete(jsonResponse("{\"count\": 2}"));
+    assertFalse(results.isDone());
+    node1.completeExceptionally(new TimeoutException("Request timeout"));
+    assertEquals("node1:TimeoutException", results.get().get(0));
+    assertEquals("node2:2", results.get().get(1));
+  }
+
+  @Test
+  public void testInvalidJsonFailsOnlyItsNode() throws Exception {
+    WSResponse invalid = mock(WSResponse.class);
+    when(invalid.asJson()).thenThrow(new RuntimeException("Incorrect JSON"));
+    mockGet("http://node1:9000/rpcz").complete(invalid);
+    mockGet("http://node2:9000/rpcz").complete(jsonResponse("{\"count\": 1}"));
+    List<String> results =
+        client
+            .getAll(
+                ImmutableMap.of(
+                    "node1", "http://node1:9000/rpcz", "node2", "http://node2:9000/rpcz"),
+                TIMEOUT,
+                (node, json) -> node + ":" + json.get("count").asInt(),
+                (node, error) -> node + ":" + error.getMessage())
+            .get();
+    assertEquals("node1:Incorrect JSON", results.get(0));
+    assertEquals("node2:1", results.get(1));
+  }
+}
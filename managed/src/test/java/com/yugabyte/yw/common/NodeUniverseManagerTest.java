@@ -0,0 +1,113 @@
+// Copyright (c) YugaByte, Inc.
+
+package com.yugabyte.yw.common;
+
+import static org.junit.Assert.assertEquals;
+import static org.mockito.ArgumentMatchers.anyBoolean;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyMap;
+import static org.mockito.Mockito.when;
+
+import com.google.common.collect.ImmutableMap;
+import com.yugabyte.yw.forms.UniverseDefinitionTaskParams.UserIntent;
+import com.yugabyte.yw.models.AccessKey;
+import com.yugabyte.yw.models.Customer;
+import com.yugabyte.yw.models.Provider;
+import com.yugabyte.yw.models.Universe;
+import com.yugabyte.yw.models.helpers.NodeDetails;
+import io.prometheus.client.CollectorRegistry;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.Before;
+import org.junit.Test;
+import play.Application;
+
+public class NodeUniverseManagerTest extends FakeDBApplication {
+
+  private static final String ACCESS_KEY_CODE = "node-key";
+
+  private NodeUniverseManager nodeUniverseManager;
+  private Universe universe;
+
+  // Actions running on each node and on all of them, and the max seen.
+  private final Map<String, AtomicInteger> runningOnNode = new ConcurrentHashMap<>();
+  private final Map<String, Integer> maxRunningOnNode = new ConcurrentHashMap<>();
+  private final AtomicInteger running = new AtomicInteger();
+  private final AtomicInteger maxRunning = new AtomicInteger();
+
+  @Override
+  protected Application provideApplication() {
+    return provideApplication(
+        ImmutableMap.<String, Object>of(
+            NodeUniverseManager.PER_NODE_PARALLELISM, 1, NodeUniverseManager.MAX_PARALLELISM, 2));
+  }
+
+  @Before
+  public void setUp() {
+    Customer customer = ModelFactory.testCustomer();
+    Provider provider = ModelFactory.awsProvider(customer);
+    AccessKey.KeyInfo keyInfo = new AccessKey.KeyInfo();
+    keyInfo.privateKey = "/tmp/node-key.pem";
+    keyInfo.sshPort = 22;
+    AccessKey.create(provider.uuid, ACCESS_KEY_CODE, keyInfo);
+    UserIntent userIntent = ApiUtils.getDefaultUserIntent(provider);
+    userIntent.accessKeyCode = ACCESS_KEY_CODE;
+    universe = ModelFactory.createUniverse(customer.getCustomerId());
+    universe =
+        Universe.saveDetails(universe.universeUUID, ApiUtils.mockUniverseUpdater(userIntent));
+    nodeUniverseManager = app.injector().instanceOf(NodeUniverseManager.class);
+
+    // Fake node action script, which takes a while on any node.
+    when(mockShellProcessHandler.run(anyList(), anyMap(), anyBoolean()))
+        .thenAnswer(
+            invocation -> {
+              List<String> command = invocation.getArgument(0);
+              String nodeName = command.get(command.indexOf("--node_name") + 1);
+              AtomicInteger onNode =
+                  runningOnNode.computeIfAbsent(nodeName, k -> new AtomicInteger());
+              maxRunningOnNode.merge(nodeName, onNode.incrementAndGet(), Math::max);
+              maxRunning.accumulateAndGet(running.incrementAndGet(), Math::max);
+              Thread.sleep(300);
+              running.decrementAndGet();
+              onNode.decrementAndGet();
+              return ShellResponse.create(0, "ok");
+            });
+  }
+
+  @Test
+  public void testNodesRunInParallelWithinLimits() throws Exception {
+    ExecutorService executor = Executors.newFixedThreadPool(6);
+    List<Future<ShellResponse>> responses = new ArrayList<>();
+    // Two commands on each of the 3 nodes.
+    for (int i = 0; i < 2; i++) {
+      for (NodeDetails node : universe.getNodes()) {
+        responses.add(
+            executor.submit(() -> nodeUniverseManager.runCommand(node, universe, "true")));
+      }
+    }
+    for (Future<ShellResponse> response : responses) {
+      assertEquals(0, response.get(30, TimeUnit.SECONDS).code);
+    }
+    executor.shutdown();
+
+    // Commands on different nodes ran at the same time, up to the global limit.
+    assertEquals(2, maxRunning.get());
+    assertEquals(3, maxRunningOnNode.size());
+    maxRunningOnNode.values().forEach(max -> assertEquals(1, (int) max));
+
+    NodeDetails node = universe.getNodes().iterator().next();
+    Double count =
+        CollectorRegistry.defaultRegistry.getSampleValue(
+            "ybp_node_action_execution_sec_count",
+            new String[] {"universe_uuid", "node_name", "action"},
+            new String[] {universe.universeUUID.toString(), node.nodeName, "run_command"});
+    assertEquals(2.0, count, 0.0);
+  }
+}
@@ -0,0 +1,93 @@
+// Copyright (c) YugaByte, Inc.
+
+package com.yugabyte.yw.common;
+
+import akka.util.ByteString;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * Rewriting the links of a proxied tserver metrics page of the given size, received in chunks of
+ * 64KB. "replaceAll" is how the whole page was rewritten before, "streaming" is the rewriter the
+ * proxy now uses for HTML pages. Metrics pages are not HTML and are now passed through untouched,
+ * so this is also the cost saved on every scrape. Run with:
+ *
+ * <pre>
+ * sbt "Test/runMain org.openjdk.jmh.Main ProxyLinkRewriterBenchmark -prof gc"
+ * </pre>
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ProxyLinkRewriterBenchmark {
+
+  private static final int CHUNK_SIZE = 64 * 1024;
+  private static final UUID UNIVERSE_UUID = UUID.randomUUID();
+  private static final String ADDR = "10.0.0.1:9000";
+
+  @Param({"1", "20"})
+  private int pageSizeMb;
+
+  private List<ByteString> chunks;
+
+  @Setup
+  public void setUp() {
+    StringBuilder page = new StringBuilder();
+    for (int i = 0; page.length() < pageSizeMb * 1024 * 1024; i++) {
+      page.append("handler_latency_yb_tserver_TabletServerService_Write{quantile=\"0.99\",")
+          .append("metric_id=\"yb.tabletserver\",exported_instance=\"yb-tserver-")
+          .append(i % 3)
+          .append("\",table_id=\"")
+          .append(i)
+          .append("\"} ")
+          .append(i * 7)
+          .append(" 1638316800000\n");
+    }
+    ByteString bytes = ByteString.fromString(page.toString());
+    chunks = new ArrayList<>();
+    for (int from = 0; from < bytes.size(); from += CHUNK_SIZE) {
+      chunks.add(bytes.slice(from, Math.min(from + CHUNK_SIZE, bytes.size())).compact());
+    }
+  }
+
+  @Benchmark
+  public String replaceAll() {
+    ByteString page = ByteString.empty();
+    for (ByteString chunk : chunks) {
+      page = page.concat(chunk);
+    }
+    String prefix = String.format("/universes/%s/proxy/%s/", UNIVERSE_UUID.toString(), ADDR);
+    return page.utf8String()
+        .replaceAll("src='/", String.format("src='%s", prefix))
+        .replaceAll("src=\"/", String.format("src=\"%s", prefix))
+        .replaceAll("href=\"/", String.format("href=\"%s", prefix))
+        .replaceAll("href='/", String.format("href='%s", prefix))
+        .replaceAll("http://", String.format("/universes/%s/proxy/", UNIVERSE_UUID.toString()));
+  }
+
+  @Benchmark
+  public void streaming(Blackhole blackhole) {
+    ProxyLinkRewriter rewriter = new ProxyLinkRewriter(UNIVERSE_UUID, ADDR);
+    for (ByteString chunk : chunks) {
+      blackhole.consume(rewriter.rewrite(chunk));
+    }
+    blackhole.consume(rewriter.finish());
+  }
+}
@@ -0,0 +1,76 @@
+// Copyright (c) YugaByte, Inc.
+
+package com.yugabyte.yw.common;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import akka.util.ByteString;
+import java.util.UUID;
+import org.junit.Test;
+
+public class ProxyLinkRewriterTest {
+
+  private static final UUID UNIVERSE_UUID = UUID.randomUUID();
+  private static final String ADDR = "10.0.0.1:7000";
+
+  private static final String PAGE =
+      "<html><head><link href=\"/bootstrap/css/bootstrap.min.css\" rel='stylesheet'>"
+          + "<script src='/js/jquery.js'></script><script src=\"/js/yb.js\"></script></head>"
+          + "<body><a href='/tablet-servers'>Tablet Servers</a>"
+          + "<a href=\"http://10.0.0.2:9000/\">10.0.0.2</a> hre sr htt h s"
+          + "<img src=\"logo.png\"/> <a href=\"tables\">Tables – UTF-8 ✓</a>"
+          + "<a href=\"/\">Home</a><a href=\"http://10.0.0.3:9000/\">10.0.0.3</a>"
+          + "</body></html> href=\"/";
+
+  // What the page was rewritten with before it was streamed.
+  private static String replaceAll(String page) {
+    String prefix = String.format("/universes/%s/proxy/%s/", UNIVERSE_UUID, ADDR);
+    return page.replaceAll("src='/", String.format("src='%s", prefix))
+        .replaceAll("src=\"/", String.format("src=\"%s", prefix))
+        .replaceAll("href=\"/", String.format("href=\"%s", prefix))
+        .replaceAll("href='/", String.format("href='%s", prefix))
+        .replaceAll("http://", String.format("/universes/%s/proxy/", UNIVERSE_UUID));
+  }
+
+  @Test
+  public void testRewriteWholePage() {
+    String rewritten = ProxyLinkRewriter.rewrite(PAGE, UNIVERSE_UUID, ADDR);
+    assertEquals(replaceAll(PAGE), rewritten);
+    String universeProxy = "/universes/" + UNIVERSE_UUID + "/proxy/";
+    assertTrue(rewritten.contains("<a href=\"" + universeProxy + "10.0.0.2:9000/\">"));
+    assertTrue(rewritten.contains("<script src='" + universeProxy + ADDR + "/js/jquery.js'>"));
+  }
+
+  @Test
+  public void testRewriteKeepsPartialLinkAtEnd() {
+    String page = "<a href=\"tables\">Tables</a><a hre";
+    assertEquals(page, ProxyLinkRewriter.rewrite(page, UNIVERSE_UUID, ADDR));
+  }
+
+  @Test
+  public void testRewriteLinksSplitBetweenChunks() {
+    ByteString page = ByteString.fromString(PAGE);
+    for (int split = 0; split <= page.size(); split++) {
+      ProxyLinkRewriter rewriter = new ProxyLinkRewriter(UNIVERSE_UUID, ADDR);
+      ByteString rewritten =
+          rewriter
+              .rewrite(page.slice(0, split))
+              .concat(rewriter.rewrite(page.slice(split, page.size())))
+              .concat(rewriter.finish());
+      assertEquals("split at " + split, replaceAll(PAGE), rewritten.utf8String());
+    }
+  }
+
+  @Test
+  public void testRewriteByteByByte() {
+    ByteString page = ByteString.fromString(PAGE);
+    ProxyLinkRewriter rewriter = new ProxyLinkRewriter(UNIVERSE_UUID, ADDR);
+    ByteString rewritten = ByteString.empty();
+    for (int i = 0; i < page.size(); i++) {
+      rewritten = rewritten.concat(rewriter.rewrite(page.slice(i, i + 1)));
+    }
+    rewritten = rewritten.concat(rewriter.finish());
+    assertEquals(replaceAll(PAGE), rewritten.utf8String());
+  }
+}
@@ -0,0 +1,121 @@
+// Copyright (c) YugaByte, Inc.
+
+package com.yugabyte.yw.common;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.fail;
+
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableMap;
+import com.typesafe.config.ConfigFactory;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.Test;
+import org.yb.master.MasterDdlOuterClass.ListTablesResponsePB.TableInfo;
+
+public class TableCatalogCacheTest {
+
+  private static final UUID UNIVERSE_UUID = UUID.randomUUID();
+
+  private final AtomicInteger numLoads = new AtomicInteger();
+
+  private static TableCatalogCache newCache(String ttl) {
+    return new TableCatalogCache(
+        ConfigFactory.parseMap(
+            ImmutableMap.of(
+                TableCatalogCache.CACHE_TTL, ttl, TableCatalogCache.SIZES_CACHE_TTL, ttl)));
+  }
+
+  private List<TableInfo> loadTables() {
+    numLoads.incrementAndGet();
+    return ImmutableList.of(TableInfo.newBuilder().setName("table").build());
+  }
+
+  @Test
+  public void testGetTablesLoadsOnce() {
+    TableCatalogCache cache = newCache("1 minute");
+    List<TableInfo> tables = cache.getTables(UNIVERSE_UUID, this::loadTables);
+    assertSame(tables, cache.getTables(UNIVERSE_UUID, this::loadTables));
+    assertEquals(1, numLoads.get());
+    cache.getTables(UUID.randomUUID(), this::loadTables);
+    assertEquals(2, numLoads.get());
+  }
+
+  @Test
+  public void testConcurrentGetTablesLoadOnce() throws Exception {
+    TableCatalogCache cache = newCache("1 minute");
+    CountDownLatch loading = new CountDownLatch(1);
+    ExecutorService executor = Executors.newFixedThreadPool(8);
+    try {
+      List<Future<List<TableInfo>>> futures = new ArrayList<>();
+      for (int i = 0; i < 8; i++) {
+        futures.add(
+            executor.submit(
+                () ->
+                    cache.getTables(
+                        UNIVERSE_UUID,
+                        () -> {
+                          // Slow, like listing the tables of a large universe.
+                          loading.await(10, TimeUnit.SECONDS);
+                          return loadTables();
+                        })));
+      }
+      Thread.sleep(200);
+      loading.countDown();
+      for (Future<List<TableInfo>> future : futures) {
+        assertEquals("table", future.get().get(0).getName());
+      }
+    } finally {
+      executor.shutdownNow();
+    }
+    assertEquals(1, numLoads.get());
+  }
+
+  @Test
+  public void testInvalidate() {
+    TableCatalogCache cache = newCache("1 minute");
+    cache.getTables(UNIVERSE_UUID, this::loadTables);
+    cache.getTableSizes(UNIVERSE_UUID, () -> ImmutableMap.of("table", 1.0));
+    cache.invalidate(UNIVERSE_UUID);
+    cache.getTables(UNIVERSE_UUID, this::loadTables);
+    assertEquals(2, numLoads.get());
+    // The sizes are only refreshed by their TTL.
+    assertEquals(
+        ImmutableMap.of("table", 1.0),
+        cache.getTableSizes(UNIVERSE_UUID, () -> ImmutableMap.of("table", 2.0)));
+  }
+
+  @Test
+  public void testErrorIsNotCached() {
+    TableCatalogCache cache = newCache("1 minute");
+    try {
+      cache.getTables(
+          UNIVERSE_UUID,
+          () -> {
+            throw new PlatformServiceException(500, "Failed to list tables");
+          });
+      fail();
+    } catch (PlatformServiceException e) {
+      assertEquals("Failed to list tables", e.getMessage());
+    }
+    cache.getTables(UNIVERSE_UUID, this::loadTables);
+    cache.getTables(UNIVERSE_UUID, this::loadTables);
+    assertEquals(1, numLoads.get());
+  }
+
+  @Test
+  public void testDisabled() {
+    TableCatalogCache cache = newCache("0s");
+    cache.getTables(UNIVERSE_UUID, this::loadTables);
+    cache.getTables(UNIVERSE_UUID, this::loadTables);
+    assertEquals(2, numLoads.get());
+  }
+}
@@ -0,0 +1,108 @@
+// Copyright (c) YugaByte, Inc.
+
+package com.yugabyte.yw.common.alerts;
+
+import static org.junit.Assert.assertEquals;
+
+import com.google.common.collect.ImmutableSet;
+import com.yugabyte.yw.common.FakeDBApplication;
+import com.yugabyte.yw.common.ModelFactory;
+import com.yugabyte.yw.models.AlertConfiguration;
+import com.yugabyte.yw.models.AlertDefinition;
+import com.yugabyte.yw.models.Customer;
+import com.yugabyte.yw.models.Universe;
+import com.yugabyte.yw.models.filters.AlertConfigurationFilter;
+import com.yugabyte.yw.models.filters.AlertDefinitionFilter;
+import io.ebean.Ebean;
+import io.ebean.Transaction;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import org.junit.Before;
+import org.junit.Test;
+
+public class FiringAlertIndexTest extends FakeDBApplication {
+
+  private FiringAlertIndex firingAlertIndex;
+
+  private AlertConfiguration configuration;
+
+  private AlertDefinition definition;
+
+  @Before
+  public void setUp() {
+    firingAlertIndex = app.injector().instanceOf(FiringAlertIndex.class);
+    Customer customer = ModelFactory.testCustomer("Customer");
+    Universe universe = ModelFactory.createUniverse();
+    configuration = ModelFactory.createAlertConfiguration(customer, universe);
+    definition = ModelFactory.createAlertDefinition(customer, universe, configuration);
+  }
+
+  private List<AlertDefinition> loadDefinitions(Set<UUID> uuids) {
+    return alertDefinitionService.list(AlertDefinitionFilter.builder().uuids(uuids).build());
+  }
+
+  private List<AlertConfiguration> loadConfigurations(Set<UUID> uuids) {
+    return alertConfigurationService.list(AlertConfigurationFilter.builder().uuids(uuids).build());
+  }
+
+  private AlertDefinition getDefinition() {
+    return firingAlertIndex
+        .getDefinitions(ImmutableSet.of(definition.getUuid()), this::loadDefinitions)
+        .get(definition.getUuid());
+  }
+
+  private AlertConfiguration getConfiguration() {
+    return firingAlertIndex
+        .getConfigurations(ImmutableSet.of(configuration.getUuid()), this::loadConfigurations)
+        .get(configuration.getUuid());
+  }
+
+  private void updateQuery(String query) {
+    AlertDefinition updated = loadDefinitions(ImmutableSet.of(definition.getUuid())).get(0);
+    updated.setQuery(query);
+    alertDefinitionService.save(updated);
+  }
+
+  @Test
+  public void testDefinitionInvalidatedOnCommit() {
+    String query = getDefinition().getQuery();
+    try (Transaction transaction = Ebean.beginTransaction()) {
+      updateQuery("new_query");
+      assertEquals(query, getDefinition().getQuery());
+      transaction.commit();
+    }
+    assertEquals("new_query", getDefinition().getQuery());
+  }
+
+  @Test
+  public void testDefinitionKeptOnRollback() {
+    String query = getDefinition().getQuery();
+    try (Transaction transaction = Ebean.beginTransaction()) {
+      updateQuery("new_query");
+      transaction.rollback();
+    }
+    assertEquals(query, getDefinition().getQuery());
+  }
+
+  @Test
+  public void testDefinitionInvalidatedWithoutTransaction() {
+    getDefinition();
+    updateQuery("new_query");
+    assertEquals("new_query", getDefinition().getQuery());
+  }
+
+  @Test
+  public void testConfigurationInvalidatedOnCommit() {
+    String name = getConfiguration().getName();
+    try (Transaction transaction = Ebean.beginTransaction()) {
+      AlertConfiguration updated =
+          loadConfigurations(ImmutableSet.of(configuration.getUuid())).get(0);
+      updated.setName("New name");
+      alertConfigurationService.save(updated);
+      assertEquals(name, getConfiguration().getName());
+      transaction.commit();
+    }
+    assertEquals("New name", getConfiguration().getName());
+  }
+}
@@ -5,6 +5,7 @@ package com.yugabyte.yw.common.alerts;
 import static org.hamcrest.MatcherAssert.assertThat;
 import static org.hamcrest.Matchers.contains;
 import static org.hamcrest.Matchers.empty;
+import static org.hamcrest.Matchers.equalTo;
 import static org.hamcrest.Matchers.hasSize;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.when;
@@ -120,7 +121,8 @@ public class QueryAlertsTest extends FakeDBApplication {
             metricService,
             alertDefinitionService,
             alertConfigurationService,
-            alertManager);
+            alertManager,
+            app.injector().instanceOf(FiringAlertIndex.class));
 
     universe = ModelFactory.createUniverse(customer.getCustomerId());
     when(configFactory.forUniverse(universe)).thenReturn(universeConfig);
@@ -300,6 +302,74 @@ public class QueryAlertsTest extends FakeDBApplication {
         0.0);
   }
 
+  @Test
+  public void testQueryAlertsUnchangedAlertNotReadAgain() {
+    when(queryHelper.isPrometheusManagementEnabled()).thenReturn(true);
+    ZonedDateTime raisedTime = ZonedDateTime.parse("2018-07-04T20:27:12.60602144+02:00");
+    when(queryHelper.queryAlerts()).thenReturn(ImmutableList.of(createAlertData(raisedTime)));
+
+    queryAlerts.scheduleRunner();
+    // Alert, definition and configuration lookups, then the resolved alerts.
+    AssertHelper.assertMetricValue(
+        metricService,
+        MetricKey.builder().name(PlatformMetrics.ALERT_QUERY_DB_READS.getMetricName()).build(),
+        4.0);
+
+    queryAlerts.scheduleRunner();
+
+    AlertFilter alertFilter =
+        AlertFilter.builder()
+            .customerUuid(customer.getUuid())
+            .definitionUuid(definition.getUuid())
+            .build();
+    List<Alert> alerts = alertService.list(alertFilter);
+    assertThat(alerts, hasSize(1));
+    assertThat(alerts.get(0).getState(), equalTo(State.ACTIVE));
+
+    AssertHelper.assertMetricValue(
+        metricService,
+        MetricKey.builder()
+            .name(PlatformMetrics.ALERT_QUERY_UNCHANGED_ALERTS.getMetricName())
+            .build(),
+        1.0);
+    AssertHelper.assertMetricValue(
+        metricService,
+        MetricKey.builder()
+            .name(PlatformMetrics.ALERT_QUERY_UPDATED_ALERTS.getMetricName())
+            .build(),
+        0.0);
+    // Only the resolved alerts are looked up.
+    AssertHelper.assertMetricValue(
+        metricService,
+        MetricKey.builder().name(PlatformMetrics.ALERT_QUERY_DB_READS.getMetricName()).build(),
+        1.0);
+  }
+
+  @Test
+  public void testQueryAlertsConfigurationChangeInvalidatesIndex() {
+    when(queryHelper.isPrometheusManagementEnabled()).thenReturn(true);
+    ZonedDateTime raisedTime = ZonedDateTime.parse("2018-07-04T20:27:12.60602144+02:00");
+    when(queryHelper.queryAlerts()).thenReturn(ImmutableList.of(createAlertData(raisedTime)));
+
+    queryAlerts.scheduleRunner();
+
+    AlertConfiguration configuration =
+        alertConfigurationService.get(definition.getConfigurationUUID());
+    configuration.setActive(false);
+    alertConfigurationService.save(configuration);
+
+    queryAlerts.scheduleRunner();
+
+    AlertFilter alertFilter =
+        AlertFilter.builder()
+            .customerUuid(customer.getUuid())
+            .definitionUuid(definition.getUuid())
+            .build();
+    List<Alert> alerts = alertService.list(alertFilter);
+    assertThat(alerts, hasSize(1));
+    assertThat(alerts.get(0).getState(), equalTo(State.RESOLVED));
+  }
+
   private void copyNotificationFields(Alert expectedAlert, Alert alert) {
     expectedAlert
         .setNotificationAttemptTime(alert.getNotificationAttemptTime())
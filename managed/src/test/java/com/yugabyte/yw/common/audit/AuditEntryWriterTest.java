@@ -0,0 +1,143 @@
+// Copyright (c) Yugabyte, Inc.
+
+package com.yugabyte.yw.common.audit;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import com.yugabyte.yw.common.FakeDBApplication;
+import com.yugabyte.yw.common.ModelFactory;
+import com.yugabyte.yw.models.Audit;
+import com.yugabyte.yw.models.Customer;
+import com.yugabyte.yw.models.Users;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.junit.Before;
+import org.junit.Test;
+
+public class AuditEntryWriterTest extends FakeDBApplication {
+
+  private Customer customer;
+  private Users user;
+
+  @Before
+  public void setUp() {
+    customer = ModelFactory.testCustomer("tc1", "Test Customer 1");
+    user = ModelFactory.testUser(customer);
+  }
+
+  private static class RecordingWriter extends AuditEntryWriter {
+    private final List<Integer> batchSizes = Collections.synchronizedList(new ArrayList<>());
+
+    private RecordingWriter(int queueCapacity, int batchSize) {
+      super(queueCapacity, batchSize);
+    }
+
+    @Override
+    void insertBatch(List<Audit> batch) {
+      batchSizes.add(batch.size());
+      super.insertBatch(batch);
+    }
+  }
+
+  private Audit newEntry() {
+    return Audit.newEntry(user, "/test/api/call", "PUT", null, null, null, null, null);
+  }
+
+  private Thread writeInBackground(AuditEntryWriter writer) {
+    Thread thread = new Thread(() -> writer.write(newEntry()));
+    thread.start();
+    return thread;
+  }
+
+  private static void waitUntilBlocked(Thread thread) {
+    long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+    while (thread.getState() != Thread.State.WAITING) {
+      assertTrue("Writer not blocked on the full queue", System.nanoTime() < deadline);
+      Thread.yield();
+    }
+  }
+
+  private int numEntries() {
+    return Audit.getAll(customer.uuid).size();
+  }
+
+  @Test
+  public void testWritesInBatches() {
+    RecordingWriter writer = new RecordingWriter(100, 10);
+    for (int i = 0; i < 25; i++) {
+      writer.write(newEntry());
+    }
+    assertEquals(25, writer.getQueueSize());
+    writer.start();
+    assertTrue(writer.flush(10000));
+    assertEquals(Arrays.asList(10, 10, 5), writer.batchSizes);
+    assertEquals(25, numEntries());
+    writer.stop(10000);
+  }
+
+  @Test
+  public void testWriteBlocksWhenQueueIsFull() throws Exception {
+    AuditEntryWriter writer = new AuditEntryWriter(2, 10);
+    writer.write(newEntry());
+    writer.write(newEntry());
+    Thread blocked = writeInBackground(writer);
+    waitUntilBlocked(blocked);
+    assertEquals(2, writer.getQueueSize());
+    // Waits for the blocked entry as well, without being blocked by the full queue.
+    assertFalse(writer.flush(100));
+    writer.start();
+    blocked.join();
+    assertTrue(writer.flush(10000));
+    assertEquals(3, numEntries());
+    writer.stop(10000);
+  }
+
+  @Test
+  public void testFlushWaitsForQueuedEntries() {
+    AuditEntryWriter writer = new AuditEntryWriter(100, 10);
+    assertTrue(writer.flush(0));
+    writer.write(newEntry());
+    assertFalse(writer.flush(100));
+    assertEquals(0, numEntries());
+    writer.start();
+    assertTrue(writer.flush(10000));
+    assertEquals(1, numEntries());
+    writer.stop(10000);
+  }
+
+  @Test
+  public void testStopWritesQueuedEntries() {
+    AuditEntryWriter writer = new AuditEntryWriter(100, 10);
+    writer.start();
+    for (int i = 0; i < 3; i++) {
+      writer.write(newEntry());
+    }
+    writer.stop(10000);
+    assertEquals(3, numEntries());
+    assertEquals(0, writer.getQueueSize());
+    // Written synchronously once stopped.
+    writer.write(newEntry());
+    assertEquals(4, numEntries());
+    assertTrue(writer.flush(0));
+  }
+
+  @Test
+  public void testWriteRacingWithStop() throws Exception {
+    // The writer thread is never started, stop() writes what is queued by itself.
+    AuditEntryWriter writer = new AuditEntryWriter(1, 10);
+    writer.write(newEntry());
+    Thread blocked = writeInBackground(writer);
+    waitUntilBlocked(blocked);
+    // Makes room for the blocked entry, which is queued once stop() has written the others.
+    writer.stop(10000);
+    blocked.join();
+    assertEquals(0, writer.getQueueSize());
+    assertEquals(2, numEntries());
+    assertTrue(writer.flush(0));
+  }
+}
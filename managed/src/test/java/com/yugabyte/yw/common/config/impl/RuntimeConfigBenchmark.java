@@ -0,0 +1,88 @@
+// Copyright (c) YugaByte, Inc.
+
+package com.yugabyte.yw.common.config.impl;
+
+import static com.yugabyte.yw.models.ScopedRuntimeConfig.GLOBAL_SCOPE_UUID;
+
+import com.typesafe.config.Config;
+import com.yugabyte.yw.common.FakeDBApplication;
+import com.yugabyte.yw.common.ModelFactory;
+import com.yugabyte.yw.common.config.RuntimeConfigFactory;
+import com.yugabyte.yw.models.Customer;
+import com.yugabyte.yw.models.Universe;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import play.Application;
+import play.test.Helpers;
+
+/**
+ * Looking up a key in the runtime config of a universe, the way tasks and health checks do for
+ * each node, against the in-memory test DB. "cached" goes through the factory, which only reads
+ * the scopes changed since the last lookup, none here. "uncached" resolves the config like the
+ * factory did before caching it: one query for the customer and one for each of the universe,
+ * customer and global scopes, so 4 DB round trips per lookup. Run with:
+ *
+ * <pre>
+ * sbt "Test/runMain org.openjdk.jmh.Main RuntimeConfigBenchmark -prof gc"
+ * </pre>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class RuntimeConfigBenchmark {
+
+  private static final String KEY = "yb.health.max_num_parallel_checks";
+
+  private Application app;
+  private SettableRuntimeConfigFactory factory;
+  private Universe universe;
+
+  @Setup(Level.Trial)
+  public void setUp() {
+    app = new FakeDBApplication().provideApplication();
+    Helpers.start(app);
+    factory =
+        (SettableRuntimeConfigFactory) app.injector().instanceOf(RuntimeConfigFactory.class);
+    Customer customer = ModelFactory.testCustomer();
+    universe = ModelFactory.createUniverse(customer.getCustomerId());
+    factory.globalRuntimeConf().setValue("yb.runtime.global", "global");
+    factory.forCustomer(customer).setValue("yb.runtime.customer", "customer");
+    factory.forUniverse(universe).setValue(KEY, "10");
+  }
+
+  @TearDown(Level.Trial)
+  public void tearDown() {
+    Helpers.stop(app);
+  }
+
+  @Benchmark
+  public int cached() {
+    return factory.forUniverse(universe).getInt(KEY);
+  }
+
+  @Benchmark
+  public int uncached() {
+    Customer customer = Customer.get(universe.customerId);
+    Config config =
+        factory
+            .readConfigForScope(universe.universeUUID, "universe")
+            .withFallback(factory.readConfigForScope(customer.uuid, "customer"))
+            .withFallback(factory.readConfigForScope(GLOBAL_SCOPE_UUID, "global"))
+            .withFallback(factory.staticApplicationConf());
+    return config.getInt(KEY);
+  }
+}
@@ -12,6 +12,12 @@ package com.yugabyte.yw.common.config.impl;
 
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertFalse;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.spy;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
 
 import com.google.common.collect.ImmutableMap;
 import com.google.common.collect.ImmutableSet;
@@ -21,6 +27,7 @@ import com.yugabyte.yw.common.FakeDBApplication;
 import com.yugabyte.yw.common.ModelFactory;
 import com.yugabyte.yw.models.Customer;
 import com.yugabyte.yw.models.Provider;
+import com.yugabyte.yw.models.RuntimeConfigEntry;
 import com.yugabyte.yw.models.Universe;
 import io.ebean.Model;
 import java.util.Map;
@@ -208,6 +215,28 @@ public class SettableRuntimeConfigFactoryTest extends FakeDBApplication {
     assertEquals(2L, configFactory.forUniverse(universe2).getDuration(TASK_GC_FREQUENCY).toDays());
   }
 
+  @Test
+  public void testCachedUntilChanged() {
+    setupUniverseConfig();
+    // Reads the scopes changed by setupUniverseConfig.
+    validateUniverseValues(configFactory.forUniverse(defaultUniverse));
+    SettableRuntimeConfigFactory factory = spy(configFactory);
+    validateUniverseValues(factory.forUniverse(defaultUniverse));
+    validateCustomerValues(factory.forCustomer(defaultCustomer));
+    verify(factory, never()).readConfigForScope(any(), any());
+
+    // Changed without going through the factory.
+    RuntimeConfigEntry.upsert(defaultUniverse, YB_UNIVERSE_RUNTIME_ONLY_KEY, "changed");
+    assertEquals(
+        "changed", factory.forUniverse(defaultUniverse).getString(YB_UNIVERSE_RUNTIME_ONLY_KEY));
+    verify(factory, times(1)).readConfigForScope(eq(defaultUniverse.universeUUID), any());
+    verify(factory, times(1)).readConfigForScope(any(), any());
+
+    RuntimeConfigEntry.get(defaultUniverse.universeUUID, YB_UNIVERSE_RUNTIME_ONLY_KEY).delete();
+    assertFalse(factory.forUniverse(defaultUniverse).hasPath(YB_UNIVERSE_RUNTIME_ONLY_KEY));
+    verify(factory, times(2)).readConfigForScope(any(), any());
+  }
+
   private RuntimeConfig<Model> setupGlobalConfig() {
     RuntimeConfig<Model> runtimeConfig = configFactory.globalRuntimeConf();
     globalConfigSet.forEach(s -> runtimeConfig.setValue(s, Scope.GLOBAL.name()));
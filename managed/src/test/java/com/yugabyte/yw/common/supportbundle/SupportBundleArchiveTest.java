@@ -0,0 +1,161 @@
+/*
+ * Copyright 2021 YugaByte, Inc. and Contributors
+ *
+ * Licensed under the Polyform Free Trial License 1.0.0 (the "License"); you
+ * may not use this file except in compliance with the License. You
+ * may obtain a copy of the License at
+ *
+ * http://github.com/YugaByte/yugabyte-db/blob/master/licenses/POLYFORM-FREE-TRIAL-LICENSE-1.0.0.txt
+ */
+
+package com.yugabyte.yw.common.supportbundle;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import com.yugabyte.yw.models.helpers.NodeDetails;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+import java.util.zip.GZIPInputStream;
+import org.apache.commons.compress.archivers.tar.TarArchiveEntry;
+import org.apache.commons.compress.archivers.tar.TarArchiveInputStream;
+import org.apache.commons.io.IOUtils;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+public class SupportBundleArchiveTest {
+
+  private static final int NUM_NODES = 3;
+
+  @Rule public TemporaryFolder folder = new TemporaryFolder();
+
+  private ExecutorService executor;
+  private Path archivePath;
+  private Path stagingDir;
+  private List<NodeDetails> nodes;
+
+  @Before
+  public void setUp() throws IOException {
+    executor = Executors.newFixedThreadPool(NUM_NODES);
+    archivePath = folder.getRoot().toPath().resolve("bundle.tar.gz");
+    stagingDir = folder.newFolder("bundle").toPath();
+    nodes = new ArrayList<>();
+    for (int i = 1; i <= NUM_NODES; i++) {
+      NodeDetails node = new NodeDetails();
+      node.nodeName = "host-n" + i;
+      nodes.add(node);
+    }
+  }
+
+  @After
+  public void tearDown() {
+    executor.shutdownNow();
+  }
+
+  private SupportBundleArchive newArchive() throws IOException {
+    return new SupportBundleArchive(archivePath, "bundle", stagingDir, executor);
+  }
+
+  private Map<String, String> readArchive() throws IOException {
+    Map<String, String> entries = new LinkedHashMap<>();
+    try (InputStream is = Files.newInputStream(archivePath);
+        TarArchiveInputStream tarIS = new TarArchiveInputStream(new GZIPInputStream(is))) {
+      TarArchiveEntry entry;
+      while ((entry = tarIS.getNextTarEntry()) != null) {
+        entries.put(
+            entry.getName(),
+            entry.isDirectory() ? null : IOUtils.toString(tarIS, StandardCharsets.UTF_8));
+      }
+    }
+    return entries;
+  }
+
+  private void assertStagingDirEmpty() throws IOException {
+    try (Stream<Path> paths = Files.walk(stagingDir)) {
+      assertTrue(paths.allMatch(Files::isDirectory));
+    }
+  }
+
+  @Test
+  public void testDownloadFromNodes() throws IOException {
+    Path localFile = folder.newFile("application.log").toPath();
+    Files.write(localFile, "local".getBytes(StandardCharsets.UTF_8));
+    try (SupportBundleArchive archive = newArchive()) {
+      archive.downloadFromNodes(
+          "gflags",
+          nodes,
+          (node, targetFile) ->
+              Files.write(targetFile, node.nodeName.getBytes(StandardCharsets.UTF_8)));
+      archive.addFile("application_logs", localFile, "application.log");
+
+      assertEquals(NUM_NODES, archive.getProgress().get("gflags").getFiles());
+      assertEquals(1, archive.getProgress().get("application_logs").getFiles());
+      assertEquals(5L, archive.getProgress().get("application_logs").getBytes());
+    }
+
+    Map<String, String> entries = readArchive();
+    assertTrue(entries.containsKey("bundle/"));
+    assertTrue(entries.containsKey("bundle/gflags/"));
+    for (NodeDetails node : nodes) {
+      assertEquals(node.nodeName, entries.get("bundle/gflags/" + node.nodeName + ".tar.gz"));
+    }
+    assertEquals("local", entries.get("bundle/application_logs/application.log"));
+    assertEquals(7, entries.size());
+    // Downloaded files are removed once archived, local ones are left alone.
+    assertStagingDirEmpty();
+    assertTrue(Files.exists(localFile));
+  }
+
+  @Test
+  public void testNodesDownloadedInParallel() throws IOException {
+    CountDownLatch allStarted = new CountDownLatch(NUM_NODES);
+    try (SupportBundleArchive archive = newArchive()) {
+      archive.downloadFromNodes(
+          "universe_logs",
+          nodes,
+          (node, targetFile) -> {
+            allStarted.countDown();
+            if (!allStarted.await(10, TimeUnit.SECONDS)) {
+              throw new IllegalStateException("Downloads were not run in parallel");
+            }
+            Files.write(targetFile, node.nodeName.getBytes(StandardCharsets.UTF_8));
+          });
+    }
+    assertEquals(NUM_NODES + 2, readArchive().size());
+  }
+
+  @Test
+  public void testFailedDownload() throws IOException {
+    try (SupportBundleArchive archive = newArchive()) {
+      archive.downloadFromNodes(
+          "instance",
+          nodes,
+          (node, targetFile) -> {
+            Files.write(targetFile, node.nodeName.getBytes(StandardCharsets.UTF_8));
+            if (node.nodeName.equals("host-n2")) {
+              throw new IOException("Connection refused");
+            }
+          });
+      fail("Expected the failed download to fail the component");
+    } catch (IOException e) {
+      assertEquals("Connection refused", e.getMessage());
+    }
+    assertStagingDirEmpty();
+  }
+}
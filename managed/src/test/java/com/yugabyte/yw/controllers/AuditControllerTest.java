@@ -3,7 +3,9 @@
 package com.yugabyte.yw.controllers;
 
 import static com.yugabyte.yw.common.AssertHelper.assertPlatformException;
+import static com.yugabyte.yw.common.FakeApiHelper.doRequestWithAuthTokenAndBody;
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertTrue;
 import static play.mvc.Http.Status.BAD_REQUEST;
 import static play.mvc.Http.Status.FORBIDDEN;
@@ -16,10 +18,15 @@ import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.node.ObjectNode;
 import com.yugabyte.yw.common.FakeDBApplication;
 import com.yugabyte.yw.common.ModelFactory;
+import com.yugabyte.yw.forms.filters.AuditApiFilter;
+import com.yugabyte.yw.forms.paging.AuditPagedApiQuery;
 import com.yugabyte.yw.models.Audit;
 import com.yugabyte.yw.models.Customer;
 import com.yugabyte.yw.models.Users;
+import com.yugabyte.yw.models.paging.PagedQuery;
 import java.io.IOException;
+import java.util.Collections;
+import java.util.Date;
 import java.util.UUID;
 import org.junit.Before;
 import org.junit.Test;
@@ -137,4 +144,93 @@ public class AuditControllerTest extends FakeDBApplication {
     JsonNode json = Json.parse(contentAsString(result));
     assertEquals(BAD_REQUEST, result.status());
   }
+
+  private AuditPagedApiQuery pageQuery(AuditApiFilter filter, int limit) {
+    AuditPagedApiQuery query = new AuditPagedApiQuery();
+    query.setSortBy(Audit.SortBy.id);
+    query.setDirection(PagedQuery.SortDirection.DESC);
+    query.setFilter(filter);
+    query.setLimit(limit);
+    query.setNeedTotalCount(true);
+    return query;
+  }
+
+  private Result pageAuditList(UUID customerUUID, String authToken, AuditPagedApiQuery query) {
+    return doRequestWithAuthTokenAndBody(
+        "POST",
+        String.format(baseRoute + "audit/page", customerUUID),
+        authToken,
+        Json.toJson(query));
+  }
+
+  private void assertAuditIds(JsonNode entities, Audit... expected) {
+    assertEquals(expected.length, entities.size());
+    for (int i = 0; i < expected.length; i++) {
+      assertEquals(expected[i].getAuditID().longValue(), entities.get(i).path("auditID").asLong());
+    }
+  }
+
+  @Test
+  public void testPageAuditList() {
+    Result result = pageAuditList(customer1.uuid, authToken1, pageQuery(new AuditApiFilter(), 2));
+    assertEquals(OK, result.status());
+    JsonNode json = Json.parse(contentAsString(result));
+    assertAuditIds(json.get("entities"), audit5, audit2);
+    assertTrue(json.get("hasNext").asBoolean());
+    assertFalse(json.get("hasPrev").asBoolean());
+    assertEquals(3, json.get("totalCount").asInt());
+  }
+
+  @Test
+  public void testPageAuditListAfterLastAuditId() {
+    AuditPagedApiQuery query = pageQuery(new AuditApiFilter(), 2);
+    query.setLastAuditId(audit5.getAuditID());
+    Result result = pageAuditList(customer1.uuid, authToken1, query);
+    assertEquals(OK, result.status());
+    JsonNode json = Json.parse(contentAsString(result));
+    assertAuditIds(json.get("entities"), audit2, audit1);
+    assertFalse(json.get("hasNext").asBoolean());
+    assertTrue(json.get("hasPrev").asBoolean());
+
+    query.setDirection(PagedQuery.SortDirection.ASC);
+    query.setLastAuditId(audit1.getAuditID());
+    result = pageAuditList(customer1.uuid, authToken1, query);
+    json = Json.parse(contentAsString(result));
+    assertAuditIds(json.get("entities"), audit2, audit5);
+  }
+
+  @Test
+  public void testPageAuditListLastAuditIdRequiresIdSort() {
+    AuditPagedApiQuery query = pageQuery(new AuditApiFilter(), 2);
+    query.setSortBy(Audit.SortBy.timestamp);
+    query.setLastAuditId(audit5.getAuditID());
+    Result result =
+        assertPlatformException(() -> pageAuditList(customer1.uuid, authToken1, query));
+    assertEquals(BAD_REQUEST, result.status());
+  }
+
+  @Test
+  public void testPageAuditListFiltered() {
+    AuditApiFilter filter = new AuditApiFilter();
+    filter.setTargets(Collections.singleton(Audit.TargetType.Universe));
+    Result result = pageAuditList(customer2.uuid, authToken2, pageQuery(filter, 10));
+    assertEquals(OK, result.status());
+    assertAuditIds(Json.parse(contentAsString(result)).get("entities"), audit6);
+
+    filter = new AuditApiFilter();
+    filter.setUserUUID(user1.uuid);
+    filter.setActions(Collections.singleton(Audit.ActionType.Create));
+    result = pageAuditList(customer1.uuid, authToken1, pageQuery(filter, 10));
+    assertAuditIds(Json.parse(contentAsString(result)).get("entities"), audit5);
+
+    filter = new AuditApiFilter();
+    filter.setDateRangeStart(audit1.getTimestamp());
+    result = pageAuditList(customer1.uuid, authToken1, pageQuery(filter, 10));
+    assertAuditIds(Json.parse(contentAsString(result)).get("entities"), audit5, audit2, audit1);
+
+    filter.setDateRangeStart(null);
+    filter.setDateRangeEnd(new Date(audit1.getTimestamp().getTime() - 1));
+    result = pageAuditList(customer1.uuid, authToken1, pageQuery(filter, 10));
+    assertAuditIds(Json.parse(contentAsString(result)).get("entities"));
+  }
 }
@@ -50,12 +50,15 @@ import com.yugabyte.yw.common.FakeApiHelper;
 import com.yugabyte.yw.common.FakeDBApplication;
 import com.yugabyte.yw.common.ModelFactory;
 import com.yugabyte.yw.common.PlatformServiceException;
+import com.yugabyte.yw.common.TableCatalogCache;
 import com.yugabyte.yw.common.audit.AuditService;
 import com.yugabyte.yw.common.customer.config.CustomerConfigService;
 import com.yugabyte.yw.common.services.YBClientService;
 import com.yugabyte.yw.forms.BackupTableParams;
 import com.yugabyte.yw.forms.BulkImportParams;
 import com.yugabyte.yw.forms.TableDefinitionTaskParams;
+import com.yugabyte.yw.forms.filters.TableApiFilter;
+import com.yugabyte.yw.forms.paging.TablePagedApiQuery;
 import com.yugabyte.yw.metrics.MetricQueryHelper;
 import com.yugabyte.yw.models.Customer;
 import com.yugabyte.yw.models.CustomerConfig;
@@ -66,6 +69,7 @@ import com.yugabyte.yw.models.Users;
 import com.yugabyte.yw.models.extended.UserWithFeatures;
 import com.yugabyte.yw.models.helpers.ColumnDetails;
 import com.yugabyte.yw.models.helpers.TaskType;
+import com.yugabyte.yw.models.paging.PagedQuery;
 import java.io.IOException;
 import java.util.ArrayList;
 import java.util.Arrays;
@@ -131,7 +135,12 @@ public class TablesControllerTest extends FakeDBApplication {
     CustomerConfigService customerConfigService =
         app.injector().instanceOf(CustomerConfigService.class);
     tablesController =
-        new TablesController(commissioner, mockService, metricQueryHelper, customerConfigService);
+        new TablesController(
+            commissioner,
+            mockService,
+            metricQueryHelper,
+            customerConfigService,
+            app.injector().instanceOf(TableCatalogCache.class));
     tablesController.setAuditService(auditService);
   }
 
@@ -212,6 +221,69 @@ public class TablesControllerTest extends FakeDBApplication {
     assertAuditEntry(0, customer.uuid);
   }
 
+  private static TableInfo tableInfo(String keySpace, String name, TableType tableType) {
+    return TableInfo.newBuilder()
+        .setName(name)
+        .setNamespace(MasterTypes.NamespaceIdentifierPB.newBuilder().setName(keySpace))
+        .setId(ByteString.copyFromUtf8(UUID.randomUUID().toString().replace("-", "")))
+        .setTableType(tableType)
+        .setRelationType(RelationType.USER_TABLE_RELATION)
+        .build();
+  }
+
+  @Test
+  public void testPageTablesOfLargeUniverse() throws Exception {
+    List<TableInfo> tableInfoList = new ArrayList<>();
+    for (int i = 0; i < 5000; i++) {
+      tableInfoList.add(
+          tableInfo(
+              i % 2 == 0 ? "ks_even" : "ks_odd",
+              String.format("table_%04d", i),
+              TableType.YQL_TABLE_TYPE));
+    }
+    when(mockListTablesResponse.getTableInfoList()).thenReturn(tableInfoList);
+    when(mockClient.getTablesList()).thenReturn(mockListTablesResponse);
+    // The controller handling the requests gets the client service of the application.
+    YBClientService appService = app.injector().instanceOf(YBClientService.class);
+    when(appService.getClient(any(), any())).thenReturn(mockClient);
+    Customer customer = ModelFactory.testCustomer();
+    Users user = ModelFactory.testUser(customer);
+    Universe universe = createUniverse(customer.getCustomerId());
+    universe = Universe.saveDetails(universe.universeUUID, ApiUtils.mockUniverseUpdater());
+    String url =
+        "/api/customers/" + customer.uuid + "/universes/" + universe.universeUUID + "/tables";
+
+    TablePagedApiQuery query = new TablePagedApiQuery();
+    TableApiFilter filter = new TableApiFilter();
+    filter.setKeySpace("ks_odd");
+    filter.setTableName("TABLE_1");
+    query.setFilter(filter);
+    query.setSortBy(TablePagedApiQuery.SortBy.tableName);
+    query.setDirection(PagedQuery.SortDirection.DESC);
+    query.setOffset(10);
+    query.setLimit(20);
+    query.setNeedTotalCount(true);
+    Result result =
+        FakeApiHelper.doRequestWithAuthTokenAndBody(
+            "POST", url + "/page", user.createAuthToken(), Json.toJson(query));
+    assertOk(result);
+    JsonNode json = Json.parse(contentAsString(result));
+    // The odd tables from table_1001 to table_1999.
+    assertEquals(500, json.get("totalCount").asInt());
+    assertTrue(json.get("hasPrev").asBoolean());
+    assertTrue(json.get("hasNext").asBoolean());
+    JsonNode entities = json.get("entities");
+    assertEquals(20, entities.size());
+    assertEquals("table_1979", entities.get(0).get("tableName").asText());
+    assertEquals("table_1941", entities.get(19).get("tableName").asText());
+
+    result = FakeApiHelper.doRequestWithAuthToken("GET", url, user.createAuthToken());
+    assertOk(result);
+    assertEquals(5000, Json.parse(contentAsString(result)).size());
+    // The requests are answered from the table list cached by the first one.
+    verify(mockClient, times(1)).getTablesList();
+  }
+
   @Test
   public void testUniverseListMastersNotQueryable() {
     Customer customer = ModelFactory.testCustomer();
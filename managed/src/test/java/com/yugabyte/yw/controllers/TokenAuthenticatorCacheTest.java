@@ -0,0 +1,102 @@
+// Copyright (c) YugaByte, Inc.
+
+package com.yugabyte.yw.controllers;
+
+import static com.yugabyte.yw.common.FakeApiHelper.doRequestWithAuthToken;
+import static com.yugabyte.yw.common.FakeApiHelper.doRequestWithCustomHeaders;
+import static org.junit.Assert.assertEquals;
+import static play.mvc.Http.Status.FORBIDDEN;
+import static play.mvc.Http.Status.OK;
+
+import com.google.common.collect.ImmutableMap;
+import com.yugabyte.yw.common.FakeDBApplication;
+import com.yugabyte.yw.common.ModelFactory;
+import com.yugabyte.yw.models.Customer;
+import com.yugabyte.yw.models.Users;
+import com.yugabyte.yw.models.Users.Role;
+import io.prometheus.client.CollectorRegistry;
+import org.junit.Before;
+import org.junit.Test;
+import play.Application;
+import play.mvc.Result;
+
+public class TokenAuthenticatorCacheTest extends FakeDBApplication {
+
+  private Customer customer;
+  private Users user;
+  private String authToken;
+
+  @Override
+  protected Application provideApplication() {
+    return provideApplication(
+        ImmutableMap.<String, Object>of("yb.security.token_cache.ttl", "1 minute"));
+  }
+
+  @Before
+  public void setUp() {
+    customer = ModelFactory.testCustomer();
+    user = ModelFactory.testUser(customer);
+    authToken = user.createAuthToken();
+  }
+
+  private static double cacheRequests(String result) {
+    Double value =
+        CollectorRegistry.defaultRegistry.getSampleValue(
+            "ybp_auth_token_cache_requests_total", new String[] {"result"}, new String[] {result});
+    return value == null ? 0 : value;
+  }
+
+  private Result getCustomer(String token) {
+    return doRequestWithAuthToken("GET", "/api/customers/" + customer.uuid, token);
+  }
+
+  @Test
+  public void testRepeatedRequestsAreServedFromCache() {
+    double hits = cacheRequests("hit");
+    double misses = cacheRequests("miss");
+    for (int i = 0; i < 200; i++) {
+      assertEquals(OK, getCustomer(authToken).status());
+    }
+    assertEquals(1, cacheRequests("miss") - misses, 0);
+    assertEquals(199, cacheRequests("hit") - hits, 0);
+  }
+
+  @Test
+  public void testLogoutInvalidatesToken() {
+    assertEquals(OK, getCustomer(authToken).status());
+    assertEquals(OK, doRequestWithAuthToken("GET", "/api/logout", authToken).status());
+    assertEquals(FORBIDDEN, getCustomer(authToken).status());
+  }
+
+  @Test
+  public void testApiTokenRotationInvalidatesOldToken() {
+    String apiToken = user.upsertApiToken();
+    ImmutableMap<String, String> headers =
+        ImmutableMap.of(TokenAuthenticator.API_TOKEN_HEADER, apiToken);
+    String url = "/api/customers/" + customer.uuid;
+    assertEquals(OK, doRequestWithCustomHeaders("GET", url, headers).status());
+    Result result =
+        doRequestWithAuthToken("PUT", "/api/customers/" + customer.uuid + "/api_token", authToken);
+    assertEquals(OK, result.status());
+    assertEquals(FORBIDDEN, doRequestWithCustomHeaders("GET", url, headers).status());
+  }
+
+  @Test
+  public void testRoleChangeInvalidatesUser() {
+    Users otherUser = ModelFactory.testUser(customer, "other@customer.com", Role.Admin);
+    String otherToken = otherUser.createAuthToken();
+    assertEquals(OK, getCustomer(otherToken).status());
+    Result result =
+        doRequestWithAuthToken(
+            "PUT",
+            "/api/customers/" + customer.uuid + "/users/" + otherUser.uuid + "?role=ReadOnly",
+            authToken);
+    assertEquals(OK, result.status());
+    // Read only users can still read, but not change the customer.
+    assertEquals(OK, getCustomer(otherToken).status());
+    result =
+        doRequestWithAuthToken(
+            "DELETE", "/api/customers/" + customer.uuid + "/users/" + user.uuid, otherToken);
+    assertEquals(FORBIDDEN, result.status());
+  }
+}
@@ -0,0 +1,147 @@
+// Copyright (c) YugaByte, Inc.
+
+package com.yugabyte.yw.metrics;
+
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map.Entry;
+import java.util.NavigableMap;
+import java.util.Random;
+import java.util.TreeMap;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import play.libs.Json;
+
+/**
+ * The native metrics math of {@link YBMetricQueryComponent} for a day of Read RPC counters and
+ * latency sums scraped every 30 seconds from each tserver. "boxed" is the TreeMap based
+ * implementation the component used before, for comparison. Run with:
+ *
+ * <pre>
+ * sbt "Test/runMain org.openjdk.jmh.Main TimeSeriesBenchmark -prof gc"
+ * </pre>
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class TimeSeriesBenchmark {
+
+  private static final int BUCKET_SECS = 30;
+  private static final int POINTS_PER_TSERVER = 24 * 60 * 2;
+
+  @Param({"10", "50", "100"})
+  private int numTservers;
+
+  private List<TimeSeries> counts;
+  private List<TimeSeries> sums;
+
+  @Setup
+  public void setUp() {
+    Random random = new Random(42);
+    long start = System.currentTimeMillis() / 1000 - POINTS_PER_TSERVER * BUCKET_SECS;
+    counts = new ArrayList<>();
+    sums = new ArrayList<>();
+    for (int t = 0; t < numTservers; t++) {
+      // Each tserver is scraped at its own offset within the interval, newest point first as
+      // read from the metrics table.
+      long offset = random.nextInt(BUCKET_SECS);
+      TimeSeries.Builder count = new TimeSeries.Builder(POINTS_PER_TSERVER);
+      TimeSeries.Builder sum = new TimeSeries.Builder(POINTS_PER_TSERVER);
+      long countValue = 0;
+      long sumValue = 0;
+      for (int i = POINTS_PER_TSERVER - 1; i >= 0; i--) {
+        countValue += 1000 + random.nextInt(1000);
+        sumValue += 100000 + random.nextInt(100000);
+        count.add(start + i * BUCKET_SECS + offset, 1_000_000_000_000L - countValue);
+        sum.add(start + i * BUCKET_SECS + offset, 1_000_000_000_000L - sumValue);
+      }
+      counts.add(count.build());
+      sums.add(sum.build());
+    }
+  }
+
+  @Benchmark
+  public ArrayNode totalRpcs() {
+    ArrayNode values = Json.newArray();
+    TimeSeries.sumAligned(rates(counts), BUCKET_SECS, 1.0).writeTo(values);
+    return values;
+  }
+
+  @Benchmark
+  public ArrayNode opsLatency() {
+    ArrayNode values = Json.newArray();
+    double scale = 1.0 / numTservers;
+    TimeSeries count = TimeSeries.sumAligned(rates(counts), BUCKET_SECS, scale);
+    TimeSeries sum = TimeSeries.sumAligned(rates(sums), BUCKET_SECS, scale);
+    sum.divide(count).writeTo(values);
+    return values;
+  }
+
+  @Benchmark
+  public String totalRpcsBoxed() {
+    return toJsonString(boxedRate(counts, 1));
+  }
+
+  @Benchmark
+  public String opsLatencyBoxed() {
+    NavigableMap<Long, Double> count = boxedRate(counts, numTservers);
+    NavigableMap<Long, Double> sum = boxedRate(sums, numTservers);
+    TreeMap<Long, Double> quotient = new TreeMap<>();
+    for (Entry<Long, Double> entry : sum.entrySet()) {
+      Entry<Long, Double> denominator = count.floorEntry(entry.getKey());
+      if (denominator != null && entry.getKey() - denominator.getKey() < BUCKET_SECS) {
+        quotient.put(denominator.getKey(), entry.getValue() / denominator.getValue());
+      }
+    }
+    return toJsonString(quotient);
+  }
+
+  private static List<TimeSeries> rates(List<TimeSeries> series) {
+    List<TimeSeries> rates = new ArrayList<>(series.size());
+    for (TimeSeries s : series) {
+      rates.add(s.rate());
+    }
+    return rates;
+  }
+
+  // What the component did before: rates summed into a TreeMap with floorEntry lookups, and the
+  // JSON built with String.format.
+  private static NavigableMap<Long, Double> boxedRate(List<TimeSeries> series, int divisor) {
+    NavigableMap<Long, Double> timeRangeMap = new TreeMap<>();
+    for (TimeSeries s : series) {
+      for (int i = 1; i < s.size(); i++) {
+        long ts = s.timestamp(i);
+        double rate = (s.value(i) - s.value(i - 1)) / (ts - s.timestamp(i - 1)) / divisor;
+        Entry<Long, Double> entry = timeRangeMap.floorEntry(ts);
+        if (entry == null || ts - entry.getKey() > BUCKET_SECS) {
+          timeRangeMap.put(ts, rate);
+        } else {
+          timeRangeMap.put(entry.getKey(), entry.getValue() + rate);
+        }
+      }
+    }
+    return timeRangeMap;
+  }
+
+  private static String toJsonString(NavigableMap<Long, Double> values) {
+    List<String> entries = new ArrayList<>(values.size());
+    for (Entry<Long, Double> entry : values.entrySet()) {
+      entries.add(String.format("[%d,\"%f\"]", entry.getKey(), entry.getValue()));
+    }
+    return entries.toString();
+  }
+}
@@ -0,0 +1,82 @@
+// Copyright (c) YugaByte, Inc.
+
+package com.yugabyte.yw.metrics;
+
+import static org.junit.Assert.assertEquals;
+
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import java.util.Arrays;
+import java.util.Collections;
+import org.junit.Test;
+import play.libs.Json;
+
+public class TimeSeriesTest {
+
+  private static TimeSeries series(long... timestampsAndValues) {
+    TimeSeries.Builder builder = new TimeSeries.Builder(1);
+    for (int i = 0; i < timestampsAndValues.length; i += 2) {
+      builder.add(timestampsAndValues[i], timestampsAndValues[i + 1]);
+    }
+    return builder.build();
+  }
+
+  private static void assertSeries(TimeSeries series, double... timestampsAndValues) {
+    assertEquals(timestampsAndValues.length / 2, series.size());
+    for (int i = 0; i < series.size(); i++) {
+      assertEquals((long) timestampsAndValues[2 * i], series.timestamp(i));
+      assertEquals(timestampsAndValues[2 * i + 1], series.value(i), 1e-9);
+    }
+  }
+
+  @Test
+  public void testBuilderReversesDescendingSeries() {
+    assertSeries(series(90, 3, 60, 2, 30, 1), 30, 1, 60, 2, 90, 3);
+    assertSeries(series(30, 1, 60, 2, 90, 3), 30, 1, 60, 2, 90, 3);
+  }
+
+  @Test
+  public void testRate() {
+    assertSeries(series(0, 100, 30, 160, 60, 160, 90, 250), 30, 2, 60, 0, 90, 3);
+    assertSeries(series(0, 100).rate());
+    assertSeries(TimeSeries.EMPTY.rate());
+  }
+
+  @Test
+  public void testSumAligned() {
+    TimeSeries first = series(30, 1, 60, 2, 95, 3);
+    // Scraped at slightly different times than the first one.
+    TimeSeries second = series(32, 10, 61, 20, 150, 30);
+    assertSeries(
+        TimeSeries.sumAligned(Arrays.asList(first, second), 30, 1.0),
+        30, 11, 60, 22, 90, 3, 150, 30);
+    assertSeries(
+        TimeSeries.sumAligned(Arrays.asList(first, second), 30, 0.5),
+        30, 5.5, 60, 11, 90, 1.5, 150, 15);
+    assertSeries(TimeSeries.sumAligned(Collections.emptyList(), 30, 1.0));
+  }
+
+  @Test
+  public void testDivide() {
+    TimeSeries numerator = series(30, 10, 60, 20, 90, 30, 150, 50);
+    TimeSeries denominator = series(0, 1, 60, 4, 90, 5, 120, 6, 150, 10);
+    assertSeries(numerator.divide(denominator), 60, 5, 90, 6, 150, 5);
+    assertSeries(numerator.divide(10), 30, 1, 60, 2, 90, 3, 150, 5);
+  }
+
+  @Test
+  public void testMerge() {
+    TimeSeries first = series(30, 1, 60, 1);
+    TimeSeries second = series(60, 2, 90, 2);
+    TimeSeries third = series(0, 3, 90, 3);
+    assertSeries(
+        TimeSeries.merge(Arrays.asList(first, second, third)), 0, 3, 30, 1, 60, 2, 90, 3);
+    assertSeries(TimeSeries.merge(Collections.emptyList()));
+  }
+
+  @Test
+  public void testWriteTo() {
+    ArrayNode array = Json.newArray();
+    series(30, 1, 60, 2).divide(4).writeTo(array);
+    assertEquals("[[30,\"0.25\"],[60,\"0.5\"]]", array.toString());
+  }
+}
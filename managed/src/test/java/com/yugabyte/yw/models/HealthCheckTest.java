@@ -9,6 +9,9 @@ import static org.junit.Assert.assertTrue;
 
 import com.yugabyte.yw.common.FakeDBApplication;
 import com.yugabyte.yw.common.ModelFactory;
+import com.yugabyte.yw.models.HealthCheck.Details.NodeData;
+import java.util.ArrayList;
+import java.util.Collections;
 import java.util.Date;
 import java.util.List;
 import java.util.UUID;
@@ -97,6 +100,78 @@ public class HealthCheckTest extends FakeDBApplication {
     assertFalse(falseError.hasError());
   }
 
+  private static String detailsWithNodes(String... nodes) {
+    StringBuilder data = new StringBuilder();
+    for (String node : nodes) {
+      if (data.length() > 0) {
+        data.append(",");
+      }
+      data.append("{\"node\": \"")
+          .append(node)
+          .append("\", \"process\": \"tserver\", \"has_error\": false,")
+          .append(" \"details\": [\"ok\"]}");
+    }
+    return "{\"has_error\": false, \"data\": [" + data + "]}";
+  }
+
+  @Test
+  public void testNodeResults() {
+    UUID universeUUID = UUID.randomUUID();
+    HealthCheck check = addCheck(universeUUID, detailsWithNodes("10.0.0.1", "10.0.0.2"));
+    assertEquals(2, check.detailsJson.data.size());
+    assertEquals(
+        2,
+        HealthCheckNodeResult.find.query().where().eq("universe_uuid", universeUUID).findCount());
+
+    List<HealthCheck> checks = HealthCheck.getAll(universeUUID);
+    assertEquals(1, checks.size());
+    List<NodeData> data = checks.get(0).detailsJson.data;
+    assertEquals(2, data.size());
+    assertEquals("10.0.0.1", data.get(0).node);
+    assertEquals("10.0.0.2", data.get(1).node);
+    assertEquals("tserver", data.get(1).process);
+    assertEquals(Collections.singletonList("ok"), data.get(1).details);
+  }
+
+  @Test
+  public void testPruneNodeResults() {
+    UUID universeUUID = UUID.randomUUID();
+    for (int i = 0; i < HealthCheck.RECORD_LIMIT + 5; i++) {
+      addCheck(universeUUID, detailsWithNodes("10.0.0.1", "10.0.0.2"));
+    }
+    assertEquals(HealthCheck.RECORD_LIMIT, HealthCheck.getAll(universeUUID).size());
+    assertEquals(
+        2 * HealthCheck.RECORD_LIMIT,
+        HealthCheckNodeResult.find.query().where().eq("universe_uuid", universeUUID).findCount());
+  }
+
+  @Test
+  public void testGetPage() {
+    UUID universeUUID = UUID.randomUUID();
+    List<HealthCheck> added = new ArrayList<>();
+    for (int i = 0; i < 5; i++) {
+      added.add(addCheck(universeUUID, detailsWithNodes("10.0.0." + i)));
+    }
+
+    List<HealthCheck> page = HealthCheck.getPage(universeUUID, null, null, 2);
+    assertEquals(2, page.size());
+    assertEquals(added.get(3).idKey.checkTime, page.get(0).idKey.checkTime);
+    assertEquals(added.get(4).idKey.checkTime, page.get(1).idKey.checkTime);
+    assertEquals("10.0.0.4", page.get(1).detailsJson.data.get(0).node);
+
+    page = HealthCheck.getPage(universeUUID, null, page.get(0).idKey.checkTime, 2);
+    assertEquals(2, page.size());
+    assertEquals(added.get(1).idKey.checkTime, page.get(0).idKey.checkTime);
+    assertEquals("10.0.0.2", page.get(1).detailsJson.data.get(0).node);
+
+    page =
+        HealthCheck.getPage(
+            universeUUID, added.get(0).idKey.checkTime, added.get(4).idKey.checkTime, 10);
+    assertEquals(3, page.size());
+    assertEquals(added.get(1).idKey.checkTime, page.get(0).idKey.checkTime);
+    assertEquals(1, page.get(2).detailsJson.data.size());
+  }
+
   @Test(expected = RuntimeException.class)
   public void testInvalidDetailsJson() {
     HealthCheck shouldThrow = addCheck(UUID.randomUUID(), "invalid_json");
@@ -0,0 +1,112 @@
+// Copyright (c) YugaByte, Inc.
+
+package com.yugabyte.yw.models;
+
+import com.yugabyte.yw.common.FakeDBApplication;
+import com.yugabyte.yw.common.ModelFactory;
+import com.yugabyte.yw.models.helpers.NodeDetails;
+import com.yugabyte.yw.models.helpers.NodeDetails.NodeState;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import play.Application;
+import play.test.Helpers;
+
+/**
+ * Updating the state of each node of a 100 node universe, the way the tasks of a universe wide
+ * operation do, against the in-memory test DB. "concurrent" makes the 100 updates from 100
+ * threads, which are group committed. "sequential" makes them one after the other, which costs
+ * a load, a serialization of the universe details and a commit per update, like concurrent
+ * updates did before. Run with:
+ *
+ * <pre>
+ * sbt "Test/runMain org.openjdk.jmh.Main UniverseSaveDetailsBenchmark -prof gc"
+ * </pre>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class UniverseSaveDetailsBenchmark {
+
+  private static final int NUM_NODES = 100;
+
+  private Application app;
+  private ExecutorService executor;
+  private UUID universeUUID;
+  private int round;
+
+  @Setup(Level.Trial)
+  public void setUp() {
+    app = new FakeDBApplication().provideApplication();
+    Helpers.start(app);
+    executor = Executors.newFixedThreadPool(NUM_NODES);
+    Customer customer = ModelFactory.testCustomer();
+    universeUUID = ModelFactory.createUniverse(customer.getCustomerId()).universeUUID;
+    Universe.saveDetails(
+        universeUUID,
+        universe -> {
+          for (int i = 0; i < NUM_NODES; i++) {
+            NodeDetails node = new NodeDetails();
+            node.nodeName = "host-n" + i;
+            node.nodeIdx = i;
+            node.state = NodeState.Live;
+            universe.getUniverseDetails().nodeDetailsSet.add(node);
+          }
+        });
+  }
+
+  @TearDown(Level.Trial)
+  public void tearDown() {
+    executor.shutdownNow();
+    Helpers.stop(app);
+  }
+
+  private Universe updateNodeState(int nodeIdx, NodeState state) {
+    return Universe.saveDetails(
+        universeUUID, universe -> universe.getNode("host-n" + nodeIdx).state = state);
+  }
+
+  private NodeState nextState() {
+    return round++ % 2 == 0 ? NodeState.Stopping : NodeState.Live;
+  }
+
+  @Benchmark
+  public void concurrent() throws Exception {
+    NodeState state = nextState();
+    List<Future<Universe>> updates = new ArrayList<>(NUM_NODES);
+    for (int i = 0; i < NUM_NODES; i++) {
+      int nodeIdx = i;
+      updates.add(executor.submit(() -> updateNodeState(nodeIdx, state)));
+    }
+    for (Future<Universe> update : updates) {
+      update.get();
+    }
+  }
+
+  @Benchmark
+  public void sequential() {
+    NodeState state = nextState();
+    for (int i = 0; i < NUM_NODES; i++) {
+      updateNodeState(i, state);
+    }
+  }
+}
@@ -24,6 +24,7 @@ import com.google.common.collect.ImmutableMap;
 import com.google.common.collect.ImmutableSet;
 import com.google.common.collect.Sets;
 import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import com.google.common.util.concurrent.Uninterruptibles;
 import com.yugabyte.yw.cloud.PublicCloudConstants;
 import com.yugabyte.yw.cloud.UniverseResourceDetails;
 import com.yugabyte.yw.cloud.UniverseResourceDetails.Context;
@@ -53,10 +54,16 @@ import java.util.List;
 import java.util.Map;
 import java.util.Set;
 import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 import java.util.concurrent.LinkedBlockingQueue;
 import java.util.concurrent.ThreadFactory;
 import java.util.concurrent.ThreadPoolExecutor;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicIntegerArray;
 import junitparams.JUnitParamsRunner;
 import junitparams.Parameters;
 import org.apache.commons.lang3.StringUtils;
@@ -161,6 +168,112 @@ public class UniverseTest extends FakeDBApplication {
     assertEquals(numNodes + 1, updUniv.version);
   }
 
+  @Test
+  public void testParallelSaveDetailsFailingUpdaters() throws Exception {
+    int numNodes = 20;
+    Universe u = createUniverse(defaultCustomer.getCustomerId());
+    ExecutorService executor = Executors.newFixedThreadPool(numNodes);
+    // Holds the universe lock while the other updates are waiting for it, to group them.
+    CountDownLatch firstUpdateStarted = new CountDownLatch(1);
+    CountDownLatch othersSubmitted = new CountDownLatch(1);
+    Future<Universe> first =
+        executor.submit(
+            () ->
+                Universe.saveDetails(
+                    u.universeUUID,
+                    universe -> {
+                      firstUpdateStarted.countDown();
+                      Uninterruptibles.awaitUninterruptibly(othersSubmitted);
+                    }));
+    firstUpdateStarted.await();
+    CountDownLatch othersStarted = new CountDownLatch(numNodes);
+    AtomicIntegerArray runs = new AtomicIntegerArray(numNodes);
+    List<Future<Universe>> updates = new ArrayList<>();
+    for (int i = 0; i < numNodes; i++) {
+      int nodeIdx = i;
+      updates.add(
+          executor.submit(
+              () -> {
+                othersStarted.countDown();
+                return Universe.saveDetails(
+                    u.universeUUID,
+                    universe -> {
+                      runs.incrementAndGet(nodeIdx);
+                      if (nodeIdx % 5 == 0) {
+                        throw new IllegalStateException("Failed update " + nodeIdx);
+                      }
+                      NodeDetails node = new NodeDetails();
+                      node.nodeName = "host-n" + nodeIdx;
+                      universe.getUniverseDetails().nodeDetailsSet.add(node);
+                    });
+              }));
+    }
+    othersStarted.await();
+    othersSubmitted.countDown();
+    first.get();
+    for (int i = 0; i < numNodes; i++) {
+      try {
+        Universe updated = updates.get(i).get();
+        assertNotNull(updated.getNode("host-n" + i));
+        assertFalse(i % 5 == 0);
+      } catch (ExecutionException e) {
+        assertTrue(i % 5 == 0);
+        assertEquals("Failed update " + i, e.getCause().getMessage());
+        // Failed updaters are not run again.
+        assertEquals(1, runs.get(i));
+      }
+    }
+    executor.shutdown();
+    Universe updUniv = Universe.getOrBadRequest(u.universeUUID);
+    assertEquals(numNodes - numNodes / 5, updUniv.getNodes().size());
+    // Incremented by the first update and each successful one.
+    assertEquals(1 + 1 + numNodes - numNodes / 5, updUniv.version);
+  }
+
+  @Test
+  public void testSaveDetailsOfOtherUniverseFromUpdater() throws Exception {
+    Universe u1 = createUniverse("Universe 1", defaultCustomer.getCustomerId());
+    Universe u2 = createUniverse("Universe 2", defaultCustomer.getCustomerId());
+    ExecutorService executor = Executors.newFixedThreadPool(2);
+    CountDownLatch u2Locked = new CountDownLatch(1);
+    CountDownLatch u2Released = new CountDownLatch(1);
+    Future<Universe> u2Update =
+        executor.submit(
+            () ->
+                Universe.saveDetails(
+                    u2.universeUUID,
+                    universe -> {
+                      u2Locked.countDown();
+                      Uninterruptibles.awaitUninterruptibly(u2Released);
+                      NodeDetails node = new NodeDetails();
+                      node.nodeName = "host-n1";
+                      universe.getUniverseDetails().nodeDetailsSet.add(node);
+                    }));
+    u2Locked.await();
+    // The update of the second universe made by the updater of the first one waits for its lock.
+    Future<Universe> u1Update =
+        executor.submit(
+            () ->
+                Universe.saveDetails(
+                    u1.universeUUID,
+                    universe ->
+                        Universe.saveDetails(
+                            u2.universeUUID,
+                            other -> {
+                              NodeDetails node = new NodeDetails();
+                              node.nodeName = "host-n2";
+                              other.getUniverseDetails().nodeDetailsSet.add(node);
+                            })));
+    u2Released.countDown();
+    u2Update.get();
+    u1Update.get();
+    executor.shutdown();
+    Universe updUniv = Universe.getOrBadRequest(u2.universeUUID);
+    assertNotNull(updUniv.getNode("host-n1"));
+    assertNotNull(updUniv.getNode("host-n2"));
+    assertEquals(3, updUniv.version);
+  }
+
   @Test
   public void testSaveDetails() {
     Universe u = createUniverse(defaultCustomer.getCustomerId());
@@ -3,6 +3,7 @@
 package com.yugabyte.yw.scheduler;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.times;
@@ -13,14 +14,22 @@ import akka.actor.ActorSystem;
 import com.yugabyte.yw.commissioner.Commissioner;
 import com.yugabyte.yw.common.FakeDBApplication;
 import com.yugabyte.yw.common.ModelFactory;
+import com.yugabyte.yw.forms.BackupTableParams;
 import com.yugabyte.yw.forms.UniverseDefinitionTaskParams;
 import com.yugabyte.yw.models.Backup;
 import com.yugabyte.yw.models.Customer;
 import com.yugabyte.yw.models.CustomerConfig;
 import com.yugabyte.yw.models.CustomerTask;
 import com.yugabyte.yw.models.Schedule;
+import com.yugabyte.yw.models.ScheduleTask;
 import com.yugabyte.yw.models.Universe;
+import com.yugabyte.yw.models.helpers.TaskType;
+import io.ebean.Ebean;
+import io.ebean.Transaction;
+import java.time.Instant;
+import java.util.Date;
 import java.util.UUID;
+import java.util.concurrent.TimeUnit;
 import org.junit.Before;
 import org.junit.Test;
 import org.junit.runner.RunWith;
@@ -132,6 +141,135 @@ public class SchedulerTest extends FakeDBApplication {
     verify(mockCommissioner, times(5)).submit(any(), any());
   }
 
+  @Test
+  public void nextFireTime_frequency() {
+    Schedule s =
+        Schedule.create(
+            defaultCustomer.uuid, new BackupTableParams(), TaskType.BackupUniverse, 60000, null);
+    Instant from = Instant.parse("2021-01-01T10:15:00Z");
+
+    // Never ran, so it runs right away.
+    assertEquals(from, Scheduler.nextFireTime(s, null, from));
+    // Once more than the frequency passed since the last task was scheduled.
+    Date lastScheduledTime = Date.from(Instant.parse("2021-01-01T10:14:30Z"));
+    assertEquals(
+        Instant.parse("2021-01-01T10:15:30.001Z"),
+        Scheduler.nextFireTime(s, lastScheduledTime, from));
+  }
+
+  @Test
+  public void nextFireTime_cron() {
+    Schedule s =
+        Schedule.create(
+            defaultCustomer.uuid, new BackupTableParams(), TaskType.BackupUniverse, 0, "0 * * * *");
+    Instant from = Instant.parse("2021-01-01T10:15:00Z");
+    Date lastScheduledTime = Date.from(Instant.parse("2021-01-01T10:00:00Z"));
+
+    assertEquals(Instant.parse("2021-01-01T11:00:00Z"), Scheduler.nextFireTime(s, null, from));
+    assertEquals(
+        Instant.parse("2021-01-01T11:00:00Z"),
+        Scheduler.nextFireTime(s, lastScheduledTime, from));
+    // Strictly after from.
+    assertEquals(
+        Instant.parse("2021-01-01T12:00:00Z"),
+        Scheduler.nextFireTime(s, lastScheduledTime, Instant.parse("2021-01-01T11:00:00Z")));
+
+    // The earliest of the frequency and the cron expression.
+    s.setFrequency(TimeUnit.MINUTES.toMillis(10));
+    assertEquals(
+        Instant.parse("2021-01-01T10:10:00.001Z"),
+        Scheduler.nextFireTime(s, lastScheduledTime, from));
+    s.setFrequency(TimeUnit.HOURS.toMillis(2));
+    assertEquals(
+        Instant.parse("2021-01-01T11:00:00Z"),
+        Scheduler.nextFireTime(s, lastScheduledTime, from));
+  }
+
+  @Test
+  public void nextFireTime_noRecurrence() {
+    Schedule s =
+        Schedule.create(
+            defaultCustomer.uuid, new BackupTableParams(), TaskType.BackupUniverse, 0, null);
+    assertNull(Scheduler.nextFireTime(s, null, Instant.now()));
+  }
+
+  @Test
+  public void runDueSchedules_runsOnlyWhenDue() {
+    when(mockCommissioner.submit(Matchers.any(), Matchers.any()))
+        .thenAnswer(invocation -> UUID.randomUUID());
+    Universe universe = ModelFactory.createUniverse(defaultCustomer.getCustomerId());
+    Schedule s =
+        ModelFactory.createScheduleBackup(
+            defaultCustomer.uuid, universe.universeUUID, s3StorageConfig.configUUID);
+
+    Instant now = Instant.now();
+    assertEquals(1, scheduler.runDueSchedules(now));
+    assertEquals(1, ScheduleTask.getAllTasks(s.getScheduleUUID()).size());
+    // Not due again before its frequency of 1 second passes.
+    assertEquals(0, scheduler.runDueSchedules(now));
+    ScheduleTask.getLastTask(s.getScheduleUUID()).setCompletedTime();
+    assertEquals(1, scheduler.runDueSchedules(now.plusSeconds(10)));
+    assertEquals(2, ScheduleTask.getAllTasks(s.getScheduleUUID()).size());
+    verify(mockCommissioner, times(2)).submit(any(), any());
+  }
+
+  @Test
+  public void runDueSchedules_scheduleChanges() {
+    when(mockCommissioner.submit(Matchers.any(), Matchers.any()))
+        .thenAnswer(invocation -> UUID.randomUUID());
+    Universe universe = ModelFactory.createUniverse(defaultCustomer.getCustomerId());
+    Instant now = Instant.now();
+    assertEquals(0, scheduler.runDueSchedules(now));
+
+    // Created after the schedules were read.
+    Schedule s =
+        ModelFactory.createScheduleBackup(
+            defaultCustomer.uuid, universe.universeUUID, s3StorageConfig.configUUID);
+    assertEquals(1, scheduler.runDueSchedules(now.plusSeconds(1)));
+    ScheduleTask.getLastTask(s.getScheduleUUID()).setCompletedTime();
+
+    s.updateFrequency(TimeUnit.DAYS.toMillis(1));
+    assertEquals(0, scheduler.runDueSchedules(now.plusSeconds(10)));
+
+    s.stopSchedule();
+    assertEquals(0, scheduler.runDueSchedules(now.plusSeconds(TimeUnit.DAYS.toSeconds(2))));
+    verify(mockCommissioner, times(1)).submit(any(), any());
+  }
+
+  @Test
+  public void runDueSchedules_manySchedules() {
+    when(mockCommissioner.submit(Matchers.any(), Matchers.any()))
+        .thenAnswer(invocation -> UUID.randomUUID());
+    Universe universe = ModelFactory.createUniverse(defaultCustomer.getCustomerId());
+    BackupTableParams params = new BackupTableParams();
+    params.universeUUID = universe.universeUUID;
+    params.storageConfigUUID = s3StorageConfig.configUUID;
+    try (Transaction transaction = Ebean.beginTransaction()) {
+      for (int i = 0; i < 2000; i++) {
+        Schedule s =
+            Schedule.create(
+                defaultCustomer.uuid,
+                params,
+                TaskType.BackupUniverse,
+                TimeUnit.DAYS.toMillis(1),
+                null);
+        ScheduleTask.create(UUID.randomUUID(), s.getScheduleUUID()).setCompletedTime();
+      }
+      transaction.commit();
+    }
+    for (int i = 0; i < 2; i++) {
+      ModelFactory.createScheduleBackup(
+          defaultCustomer.uuid, universe.universeUUID, s3StorageConfig.configUUID);
+    }
+
+    // Only the due schedules are run, and each of them once.
+    Instant now = Instant.now();
+    assertEquals(2, scheduler.runDueSchedules(now));
+    assertEquals(0, scheduler.runDueSchedules(now));
+    verify(mockCommissioner, times(2)).submit(any(), any());
+    assertEquals(2002, ScheduleTask.find.all().size());
+  }
+
   public static void setUniversePaused(boolean value, Universe universe) {
     Universe.UniverseUpdater updater =
         new Universe.UniverseUpdater() {